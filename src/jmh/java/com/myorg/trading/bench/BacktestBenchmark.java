@@ -0,0 +1,78 @@
+package com.myorg.trading.bench;
+
+import com.myorg.trading.broker.registry.BrokerRegistry;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.backtest.BacktestRequest;
+import com.myorg.trading.service.strategy.backtest.BacktestService;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.indicators.TechnicalIndicators;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full backtests over preloaded candles (broker fetch stubbed out): the vectorized SMA
+ * crossover and the event-driven template engine.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BacktestBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int candles;
+
+    private BacktestService backtestService;
+    private BacktestRequest request;
+    private BacktestRequest templateRequest;
+
+    @Setup
+    public void setup() {
+        List<OHLCV> data = SyntheticData.candles(candles, SyntheticData.DEFAULT_SEED);
+        backtestService = new BacktestService(new TechnicalIndicators(), new PreloadedFetcher(data));
+
+        request = new BacktestRequest();
+        request.setSymbol("BENCH");
+        request.setInterval("1M");
+        request.setCandleCount(candles);
+        request.setInitialCapital(BigDecimal.valueOf(100_000));
+        request.setFastPeriod(9);
+        request.setSlowPeriod(21);
+
+        templateRequest = new BacktestRequest();
+        templateRequest.setSymbol("BENCH");
+        templateRequest.setInterval("1M");
+        templateRequest.setCandleCount(candles);
+        templateRequest.setInitialCapital(BigDecimal.valueOf(100_000));
+        templateRequest.setTemplateId("macd_momentum");
+    }
+
+    @Benchmark
+    public Object smaCrossover() {
+        return backtestService.runBacktest(1L, request);
+    }
+
+    @Benchmark
+    public Object macdMomentumTemplate() {
+        return backtestService.runBacktest(1L, templateRequest);
+    }
+
+    static final class PreloadedFetcher extends MarketDataFetcher {
+        private final List<OHLCV> candles;
+
+        PreloadedFetcher(List<OHLCV> candles) {
+            super(new BrokerRegistry(List.of()), null);
+            this.candles = candles;
+        }
+
+        @Override
+        public List<OHLCV> fetchHistoricalData(Long userId, String symbol, String interval, int candleCount) {
+            return candles;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.myorg.trading.bench;
+
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import com.myorg.trading.service.strategy.indicators.FastIndicators;
+import com.myorg.trading.service.strategy.indicators.SupportResistance;
+import com.myorg.trading.service.strategy.indicators.TechnicalIndicators;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primitive kernels vs the BigDecimal adapter API across series sizes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int candles;
+
+    private List<OHLCV> ohlcv;
+    private CandleSeries series;
+    private double[] out1;
+    private double[] out2;
+    private double[] out3;
+    private final TechnicalIndicators indicators = new TechnicalIndicators();
+
+    @Setup
+    public void setup() {
+        ohlcv = SyntheticData.candles(candles, SyntheticData.DEFAULT_SEED);
+        series = CandleSeries.of(ohlcv);
+        out1 = new double[candles];
+        out2 = new double[candles];
+        out3 = new double[candles];
+    }
+
+    @Benchmark
+    public double[] sma200() {
+        return FastIndicators.sma(series.close(), series.size(), 200, out1);
+    }
+
+    @Benchmark
+    public double[] ema21() {
+        return FastIndicators.ema(series.close(), series.size(), 21, out1);
+    }
+
+    @Benchmark
+    public double[] rsi14() {
+        return FastIndicators.rsi(series.close(), series.size(), 14, out1);
+    }
+
+    @Benchmark
+    public void macd12269(Blackhole bh) {
+        FastIndicators.macd(series.close(), series.size(), 12, 26, 9, out1, out2, out3);
+        bh.consume(out3);
+    }
+
+    @Benchmark
+    public void bollinger200(Blackhole bh) {
+        FastIndicators.bollinger(series.close(), series.size(), 200, 2.0, out1, out2, out3);
+        bh.consume(out2);
+    }
+
+    @Benchmark
+    public double[] supportResistance10() {
+        return SupportResistance.levels(series, 10, 2 * SupportResistance.NSE_TICK_SIZE);
+    }
+
+    @Benchmark
+    public CandleSeries buildSeries() {
+        return CandleSeries.of(ohlcv);
+    }
+
+    @Benchmark
+    public List<BigDecimal> smaBigDecimalApi() {
+        return indicators.calculateSMA(ohlcv, 200);
+    }
+
+    @Benchmark
+    public TechnicalIndicators.BollingerBands bollingerBigDecimalApi() {
+        return indicators.calculateBollingerBands(ohlcv, 200, 2.0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.myorg.trading.bench;
+
+import com.myorg.trading.broker.api.MarketDataTick;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible synthetic market data for benchmarks (fixed seeds, no I/O).
+ */
+public final class SyntheticData {
+
+    public static final long DEFAULT_SEED = 20240101L;
+    private static final Instant START = Instant.parse("2024-01-01T03:45:00Z"); // 09:15 IST
+
+    private SyntheticData() {
+    }
+
+    /**
+     * 1-minute random-walk candles with mild volatility clustering.
+     */
+    public static List<OHLCV> candles(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<OHLCV> candles = new ArrayList<>(count);
+        double price = 1_000.0;
+        double vol = 0.001;
+        for (int i = 0; i < count; i++) {
+            vol = Math.min(0.01, Math.max(0.0002, vol * (0.9 + random.nextDouble() * 0.2)));
+            double open = price;
+            price = Math.max(1.0, price * (1 + (random.nextDouble() - 0.5) * 2 * vol));
+            double high = Math.max(open, price) * (1 + random.nextDouble() * vol / 2);
+            double low = Math.min(open, price) * (1 - random.nextDouble() * vol / 2);
+            candles.add(OHLCV.builder()
+                    .timestamp(START.plusSeconds(60L * i))
+                    .open(round(open))
+                    .high(round(high))
+                    .low(round(low))
+                    .close(round(price))
+                    .volume(1_000L + random.nextInt(100_000))
+                    .build());
+        }
+        return candles;
+    }
+
+    public static CandleSeries series(int count, long seed) {
+        return CandleSeries.of(candles(count, seed));
+    }
+
+    /**
+     * Tick stream for one instrument, ~4 ticks per second.
+     */
+    public static MarketDataTick[] ticks(String instrumentToken, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        MarketDataTick[] ticks = new MarketDataTick[count];
+        double price = 1_000.0;
+        long volume = 0;
+        for (int i = 0; i < count; i++) {
+            price = Math.max(1.0, price + (random.nextInt(5) - 2) * 0.05);
+            volume += 1 + random.nextInt(500);
+            ticks[i] = new MarketDataTick(instrumentToken, round(price), round(price - 0.05),
+                    round(price + 0.05), volume, START.plusMillis(250L * i));
+        }
+        return ticks;
+    }
+
+    private static BigDecimal round(double v) {
+        return BigDecimal.valueOf(v).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,56 @@
+package com.myorg.trading.bench;
+
+import com.myorg.trading.broker.api.MarketDataTick;
+import com.myorg.trading.service.marketdata.MarketDataService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.Disposable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MarketDataService.pushTick fan-out to N synchronous subscribers of one instrument.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickFanoutBenchmark {
+
+    private static final String TOKEN = "2885";
+    private static final int TICKS = 65_536;
+
+    @Param({"1", "10", "100"})
+    public int subscribers;
+
+    private MarketDataService marketDataService;
+    private MarketDataTick[] ticks;
+    private final List<Disposable> subscriptions = new ArrayList<>();
+    private int cursor;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        marketDataService = new MarketDataService();
+        ticks = SyntheticData.ticks(TOKEN, TICKS, SyntheticData.DEFAULT_SEED);
+        for (int i = 0; i < subscribers; i++) {
+            subscriptions.add(marketDataService.streamFor(TOKEN).subscribe(bh::consume));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        subscriptions.forEach(Disposable::dispose);
+        subscriptions.clear();
+    }
+
+    @Benchmark
+    public void pushTick() {
+        MarketDataTick tick = ticks[cursor];
+        cursor = (cursor + 1) & (TICKS - 1);
+        marketDataService.pushTick(TOKEN, tick);
+    }
+}
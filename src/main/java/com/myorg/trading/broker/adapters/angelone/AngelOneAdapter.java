@@ -323,23 +323,11 @@ public class AngelOneAdapter implements BrokerClient {
                                     .bodyValue(requestBody)
                                     .retrieve()
                                     .bodyToMono(JsonNode.class)
-                                    .flatMap(response -> {
+                                    .map(response -> {
                                         log.info("📥 Angel API Response: {}", response.toString());
-                                        List<OHLCV> candles = parseHistoricalData(response);
-
-                                        // 🔥 CRITICAL FIX: If no data and market is closed, return mock data
-                                        if (candles.isEmpty()) {
-                                            log.warn("⚠️ No candles from Angel API. Generating sample data for display.");
-                                            return Mono.just(generateSampleCandles(from, to, interval));
-                                        }
-
-                                        return Mono.just(candles);
+                                        return parseHistoricalData(response);
                                     })
-                                    .onErrorResume(e -> {
-                                        log.error("❌ Angel Historical Data Error: {}", e.getMessage());
-                                        // Return sample data on error instead of empty list
-                                        return Mono.just(generateSampleCandles(from, to, interval));
-                                    });
+                                    .doOnError(e -> log.error("❌ Angel Historical Data Error: {}", e.getMessage()));
                         })
                 );
     }
@@ -351,8 +339,9 @@ public class AngelOneAdapter implements BrokerClient {
         String message = root.path("message").asText();
 
         if (!status) {
+            // Surface as an error: callers (and the candle store) must not mistake this for "no trades"
             log.warn("📉 Historical data fetch failed: {}", message);
-            return candles; // Return empty, caller will generate mock data
+            throw new IllegalStateException("Angel historical data request failed: " + message);
         }
 
         JsonNode dataNode = root.path("data");
@@ -384,67 +373,6 @@ public class AngelOneAdapter implements BrokerClient {
         return candles;
     }
 
-    /**
-     * 🔥 NEW METHOD: Generate sample candles for testing/demo when market is closed
-     * This ensures the chart always displays something meaningful
-     */
-    private List<OHLCV> generateSampleCandles(Instant from, Instant to, String interval) {
-        List<OHLCV> candles = new ArrayList<>();
-
-        // Base price (typical stock price)
-        BigDecimal basePrice = new BigDecimal("2850.50");
-
-        // Calculate interval in seconds
-        long intervalSeconds = switch (interval.toUpperCase()) {
-            case "1M", "ONE_MINUTE" -> 60;
-            case "5M", "FIVE_MINUTE" -> 300;
-            case "15M", "FIFTEEN_MINUTE" -> 900;
-            case "1H", "ONE_HOUR" -> 3600;
-            case "1D", "ONE_DAY" -> 86400;
-            default -> 300;
-        };
-
-        // Generate candles from 'from' to 'to'
-        long currentTime = from.getEpochSecond();
-        long endTime = to.getEpochSecond();
-
-        // Use random for realistic price movements
-        java.util.Random random = new java.util.Random();
-        BigDecimal currentPrice = basePrice;
-
-        while (currentTime <= endTime && candles.size() < 100) { // Limit to 100 candles
-            BigDecimal open = currentPrice;
-
-            // Random price movement (-2% to +2%)
-            double changePercent = -0.02 + (random.nextDouble() * 0.04);
-            BigDecimal priceChange = open.multiply(new BigDecimal(changePercent));
-            BigDecimal close = open.add(priceChange);
-
-            // High and low based on close
-            BigDecimal high = (close.compareTo(open) > 0 ? close : open)
-                    .multiply(new BigDecimal(1.0 + random.nextDouble() * 0.005));
-            BigDecimal low = (close.compareTo(open) < 0 ? close : open)
-                    .multiply(new BigDecimal(1.0 - random.nextDouble() * 0.005));
-
-            long volume = 10000 + random.nextInt(50000);
-
-            candles.add(OHLCV.builder()
-                    .timestamp(Instant.ofEpochSecond(currentTime))
-                    .open(open)
-                    .high(high)
-                    .low(low)
-                    .close(close)
-                    .volume(volume)
-                    .build());
-
-            currentPrice = close; // Next candle starts at current close
-            currentTime += intervalSeconds;
-        }
-
-        log.info("🎭 Generated {} sample candles for display", candles.size());
-        return candles;
-    }
-
     private String mapInterval(String interval) {
         // Map our standard intervals to Angel's format
         return switch (interval.toUpperCase()) {
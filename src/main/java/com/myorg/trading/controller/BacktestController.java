@@ -0,0 +1,94 @@
+package com.myorg.trading.controller;
+
+import com.myorg.trading.service.strategy.backtest.BacktestRequest;
+import com.myorg.trading.service.strategy.backtest.BacktestResult;
+import com.myorg.trading.service.strategy.backtest.BacktestService;
+import com.myorg.trading.service.strategy.backtest.PortfolioBacktestRequest;
+import com.myorg.trading.service.strategy.backtest.PortfolioBacktestResult;
+import com.myorg.trading.service.strategy.backtest.PortfolioBacktestService;
+import com.myorg.trading.service.strategy.backtest.SweepRequest;
+import com.myorg.trading.service.strategy.backtest.SweepResult;
+import com.myorg.trading.service.strategy.backtest.TickReplayRequest;
+import com.myorg.trading.service.strategy.backtest.TickReplayResult;
+import com.myorg.trading.service.strategy.backtest.TickReplayService;
+import com.myorg.trading.service.strategy.backtest.WalkForwardRequest;
+import com.myorg.trading.service.strategy.backtest.WalkForwardResult;
+import com.myorg.trading.service.strategy.backtest.WalkForwardService;
+import com.myorg.trading.service.user.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/backtests")
+public class BacktestController {
+
+    private final BacktestService backtestService;
+    private final PortfolioBacktestService portfolioBacktestService;
+    private final WalkForwardService walkForwardService;
+    private final TickReplayService tickReplayService;
+    private final UserService userService;
+
+    public BacktestController(BacktestService backtestService,
+                              PortfolioBacktestService portfolioBacktestService,
+                              WalkForwardService walkForwardService,
+                              TickReplayService tickReplayService,
+                              UserService userService) {
+        this.backtestService = backtestService;
+        this.portfolioBacktestService = portfolioBacktestService;
+        this.walkForwardService = walkForwardService;
+        this.tickReplayService = tickReplayService;
+        this.userService = userService;
+    }
+
+    @PostMapping
+    public ResponseEntity<BacktestResult> runBacktest(@AuthenticationPrincipal UserDetails user,
+                                                      @RequestBody BacktestRequest request) {
+        Long userId = userService.getUserIdForUsername(user.getUsername());
+        return ResponseEntity.ok(backtestService.runBacktest(userId, request));
+    }
+
+    /**
+     * Parameter sweep: ranges for fast/slow periods, results ranked by the requested metric
+     */
+    @PostMapping("/sweep")
+    public ResponseEntity<SweepResult> runSweep(@AuthenticationPrincipal UserDetails user,
+                                                @RequestBody SweepRequest request) {
+        Long userId = userService.getUserIdForUsername(user.getUsername());
+        return ResponseEntity.ok(backtestService.runSweep(userId, request));
+    }
+
+    /**
+     * Multi-symbol backtest with a shared capital ledger
+     */
+    @PostMapping("/portfolio")
+    public ResponseEntity<PortfolioBacktestResult> runPortfolio(@AuthenticationPrincipal UserDetails user,
+                                                                @RequestBody PortfolioBacktestRequest request) {
+        Long userId = userService.getUserIdForUsername(user.getUsername());
+        return ResponseEntity.ok(portfolioBacktestService.runPortfolioBacktest(userId, request));
+    }
+
+    /**
+     * Walk-forward optimization: rolling in-sample optimization, out-of-sample scoring
+     */
+    @PostMapping("/walk-forward")
+    public ResponseEntity<WalkForwardResult> runWalkForward(@AuthenticationPrincipal UserDetails user,
+                                                            @RequestBody WalkForwardRequest request) {
+        Long userId = userService.getUserIdForUsername(user.getUsername());
+        return ResponseEntity.ok(walkForwardService.runWalkForward(userId, request));
+    }
+
+    /**
+     * Tick-level replay of recorded market data with intrabar stop/target exits, at full speed.
+     * Paced replays hold a thread for up to the recorded session, so they run as jobs
+     * (POST /jobs/replay) under the per-user limit.
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<TickReplayResult> runReplay(@RequestBody TickReplayRequest request) {
+        if (request.getSpeed() > 0) {
+            throw new IllegalArgumentException("Paced replays (speed > 0) must be submitted to /api/v1/backtests/jobs/replay");
+        }
+        return ResponseEntity.ok(tickReplayService.replay(request));
+    }
+}
@@ -0,0 +1,84 @@
+package com.myorg.trading.controller;
+
+import com.myorg.trading.service.strategy.backtest.BacktestJob;
+import com.myorg.trading.service.strategy.backtest.BacktestJobService;
+import com.myorg.trading.service.strategy.backtest.BacktestRequest;
+import com.myorg.trading.service.strategy.backtest.PortfolioBacktestRequest;
+import com.myorg.trading.service.strategy.backtest.SweepRequest;
+import com.myorg.trading.service.strategy.backtest.TickReplayRequest;
+import com.myorg.trading.service.strategy.backtest.WalkForwardRequest;
+import com.myorg.trading.service.user.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Asynchronous backtests: submit returns the job immediately (202), progress is pushed to
+ * /topic/backtests/{jobId} and the result is fetched with GET /jobs/{jobId}.
+ */
+@RestController
+@RequestMapping("/api/v1/backtests/jobs")
+public class BacktestJobController {
+
+    private final BacktestJobService jobService;
+    private final UserService userService;
+
+    public BacktestJobController(BacktestJobService jobService, UserService userService) {
+        this.jobService = jobService;
+        this.userService = userService;
+    }
+
+    @PostMapping
+    public ResponseEntity<BacktestJob> submitBacktest(@AuthenticationPrincipal UserDetails user,
+                                                      @RequestBody BacktestRequest request) {
+        return ResponseEntity.accepted().body(jobService.submitBacktest(userId(user), request));
+    }
+
+    @PostMapping("/sweep")
+    public ResponseEntity<BacktestJob> submitSweep(@AuthenticationPrincipal UserDetails user,
+                                                   @RequestBody SweepRequest request) {
+        return ResponseEntity.accepted().body(jobService.submitSweep(userId(user), request));
+    }
+
+    @PostMapping("/portfolio")
+    public ResponseEntity<BacktestJob> submitPortfolio(@AuthenticationPrincipal UserDetails user,
+                                                       @RequestBody PortfolioBacktestRequest request) {
+        return ResponseEntity.accepted().body(jobService.submitPortfolio(userId(user), request));
+    }
+
+    @PostMapping("/walk-forward")
+    public ResponseEntity<BacktestJob> submitWalkForward(@AuthenticationPrincipal UserDetails user,
+                                                         @RequestBody WalkForwardRequest request) {
+        return ResponseEntity.accepted().body(jobService.submitWalkForward(userId(user), request));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<BacktestJob> submitReplay(@AuthenticationPrincipal UserDetails user,
+                                                    @RequestBody TickReplayRequest request) {
+        return ResponseEntity.accepted().body(jobService.submitReplay(userId(user), request));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BacktestJob>> listJobs(@AuthenticationPrincipal UserDetails user) {
+        return ResponseEntity.ok(jobService.getJobs(userId(user)));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BacktestJob> getJob(@AuthenticationPrincipal UserDetails user,
+                                              @PathVariable String jobId) {
+        return ResponseEntity.ok(jobService.getJob(userId(user), jobId));
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<BacktestJob> cancelJob(@AuthenticationPrincipal UserDetails user,
+                                                 @PathVariable String jobId) {
+        return ResponseEntity.ok(jobService.cancel(userId(user), jobId));
+    }
+
+    private Long userId(UserDetails user) {
+        return userService.getUserIdForUsername(user.getUsername());
+    }
+}
@@ -7,6 +7,7 @@ import com.myorg.trading.domain.entity.BrokerAccount;
 import com.myorg.trading.domain.model.OHLCV;
 import com.myorg.trading.domain.model.SecurityMaster;
 import com.myorg.trading.service.broker.BrokerAccountService;
+import com.myorg.trading.service.marketdata.BarAggregationService;
 import com.myorg.trading.service.marketdata.MarketDataService;
 import com.myorg.trading.service.marketdata.SecurityMasterService;
 import com.myorg.trading.service.user.UserService;
@@ -25,6 +26,7 @@ import java.util.List;
 public class MarketDataController {
 
     private final MarketDataService marketDataService;
+    private final BarAggregationService barAggregationService;
     private final SecurityMasterService securityMasterService;
     private final BrokerRegistry brokerRegistry;
     private final BrokerAccountService brokerAccountService;
@@ -32,11 +34,13 @@ public class MarketDataController {
 
     public MarketDataController(
             MarketDataService marketDataService,
+            BarAggregationService barAggregationService,
             SecurityMasterService securityMasterService,
             BrokerRegistry brokerRegistry,
             BrokerAccountService brokerAccountService,
             UserService userService) {
         this.marketDataService = marketDataService;
+        this.barAggregationService = barAggregationService;
         this.securityMasterService = securityMasterService;
         this.brokerRegistry = brokerRegistry;
         this.brokerAccountService = brokerAccountService;
@@ -59,6 +63,15 @@ public class MarketDataController {
         return marketDataService.streamFor(instrumentToken);
     }
 
+    /**
+     * Live candles built from the tick feed, one event per completed bar (Server-Sent Events)
+     */
+    @GetMapping(value = "/stream/{instrumentToken}/bars", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<OHLCV> streamBars(@PathVariable String instrumentToken,
+                                  @RequestParam(defaultValue = "1M") String interval) {
+        return barAggregationService.bars(instrumentToken, interval);
+    }
+
     /**
      * Fetch historical candlestick data for charting
      *
@@ -0,0 +1,25 @@
+package com.myorg.trading.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "backtest_results")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BacktestResultRecord {
+    @Id
+    @Column(length = 64)
+    private String fingerprint; // SHA-256 of request + candle data hash
+
+    @Column(name = "result_json", columnDefinition = "LONGTEXT", nullable = false)
+    private String resultJson;
+
+    @CreationTimestamp
+    private Instant createdAt;
+}
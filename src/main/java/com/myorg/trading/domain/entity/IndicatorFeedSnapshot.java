@@ -0,0 +1,32 @@
+package com.myorg.trading.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "indicator_feed_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IndicatorFeedSnapshot {
+    @Id
+    @Column(name = "feed_key", length = 100)
+    private String feedKey; // instrument|interval
+
+    @Column(name = "last_bar_time", nullable = false)
+    private Long lastBarTime; // epoch millis of the newest bar
+
+    @Column(name = "bar_count", nullable = false)
+    private Integer barCount;
+
+    @Lob
+    @Column(name = "bars", columnDefinition = "MEDIUMBLOB", nullable = false)
+    private byte[] bars; // columnar, see StrategySnapshots
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.myorg.trading.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "strategy_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StrategyLease {
+    @Id
+    @Column(name = "strategy_id")
+    private Long strategyId;
+
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode; // null = free
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+}
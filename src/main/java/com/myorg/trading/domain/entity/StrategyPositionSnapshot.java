@@ -0,0 +1,38 @@
+package com.myorg.trading.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "strategy_position_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StrategyPositionSnapshot {
+    @Id
+    @Column(name = "strategy_id")
+    private Long strategyId;
+
+    @Column(nullable = false)
+    private Boolean holding;
+
+    @Column(name = "trading_day")
+    private LocalDate tradingDay; // IST session of the position
+
+    @Column(name = "entry_price")
+    private Double entryPrice;
+
+    @Column(name = "stop_price")
+    private Double stopPrice; // null = no stop
+
+    @Column(name = "target_price")
+    private Double targetPrice; // null = no target
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
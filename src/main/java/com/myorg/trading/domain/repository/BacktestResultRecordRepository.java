@@ -0,0 +1,12 @@
+package com.myorg.trading.domain.repository;
+
+import com.myorg.trading.domain.entity.BacktestResultRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface BacktestResultRecordRepository extends JpaRepository<BacktestResultRecord, String> {
+    @Transactional
+    long deleteByCreatedAtBefore(Instant cutoff);
+}
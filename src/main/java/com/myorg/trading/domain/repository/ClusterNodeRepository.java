@@ -0,0 +1,29 @@
+package com.myorg.trading.domain.repository;
+
+import com.myorg.trading.domain.entity.ClusterNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ClusterNodeRepository extends JpaRepository<ClusterNode, String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO cluster_nodes (node_id, started_at, heartbeat_at) VALUES (:nodeId, NOW(3), NOW(3)) "
+            + "ON DUPLICATE KEY UPDATE heartbeat_at = NOW(3)", nativeQuery = true)
+    int heartbeat(@Param("nodeId") String nodeId);
+
+    @Query(value = "SELECT node_id FROM cluster_nodes "
+            + "WHERE heartbeat_at > NOW(3) - INTERVAL :ttlMillis * 1000 MICROSECOND ORDER BY node_id", nativeQuery = true)
+    List<String> findLiveNodeIds(@Param("ttlMillis") long ttlMillis);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM cluster_nodes WHERE heartbeat_at < NOW(3) - INTERVAL :ageMillis * 1000 MICROSECOND",
+            nativeQuery = true)
+    int deleteSilentFor(@Param("ageMillis") long ageMillis);
+}
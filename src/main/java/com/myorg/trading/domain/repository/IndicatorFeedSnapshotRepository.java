@@ -0,0 +1,7 @@
+package com.myorg.trading.domain.repository;
+
+import com.myorg.trading.domain.entity.IndicatorFeedSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IndicatorFeedSnapshotRepository extends JpaRepository<IndicatorFeedSnapshot, String> {
+}
@@ -0,0 +1,61 @@
+package com.myorg.trading.domain.repository;
+
+import com.myorg.trading.domain.entity.StrategyLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Lease rows are changed only by these conditional updates, each a single statement, so two
+ * nodes can never both hold a lease: the row lock decides.
+ */
+public interface StrategyLeaseRepository extends JpaRepository<StrategyLease, Long> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO strategy_leases (strategy_id, fencing_token) VALUES (:strategyId, 0)",
+            nativeQuery = true)
+    int createIfAbsent(@Param("strategyId") Long strategyId);
+
+    /** Take a free or expired lease under a new fencing token. 1 if taken. */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE strategy_leases SET owner_node = :nodeId, fencing_token = fencing_token + 1, "
+            + "expires_at = NOW(3) + INTERVAL :ttlMillis * 1000 MICROSECOND "
+            + "WHERE strategy_id = :strategyId AND (owner_node IS NULL OR expires_at IS NULL OR expires_at < NOW(3))",
+            nativeQuery = true)
+    int acquire(@Param("strategyId") Long strategyId, @Param("nodeId") String nodeId,
+                @Param("ttlMillis") long ttlMillis);
+
+    /**
+     * Extend a lease still held under {@code token}. An expired lease nobody has taken since is
+     * extended too: its token is unchanged, so no other node has placed orders under it.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE strategy_leases SET expires_at = NOW(3) + INTERVAL :ttlMillis * 1000 MICROSECOND "
+            + "WHERE strategy_id = :strategyId AND owner_node = :nodeId AND fencing_token = :token",
+            nativeQuery = true)
+    int renew(@Param("strategyId") Long strategyId, @Param("nodeId") String nodeId, @Param("token") long token,
+              @Param("ttlMillis") long ttlMillis);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE strategy_leases SET owner_node = NULL, expires_at = NULL "
+            + "WHERE strategy_id = :strategyId AND owner_node = :nodeId AND fencing_token = :token",
+            nativeQuery = true)
+    int release(@Param("strategyId") Long strategyId, @Param("nodeId") String nodeId, @Param("token") long token);
+
+    /**
+     * 1 if the lease is held under {@code token} for at least {@code marginMillis} more and the
+     * strategy is still active.
+     */
+    @Query(value = "SELECT COUNT(*) FROM strategy_leases l JOIN strategies s ON s.id = l.strategy_id "
+            + "WHERE l.strategy_id = :strategyId AND l.owner_node = :nodeId AND l.fencing_token = :token "
+            + "AND l.expires_at > NOW(3) + INTERVAL :marginMillis * 1000 MICROSECOND AND s.active = TRUE",
+            nativeQuery = true)
+    long countValid(@Param("strategyId") Long strategyId, @Param("nodeId") String nodeId, @Param("token") long token,
+                    @Param("marginMillis") long marginMillis);
+}
@@ -0,0 +1,7 @@
+package com.myorg.trading.domain.repository;
+
+import com.myorg.trading.domain.entity.StrategyPositionSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StrategyPositionSnapshotRepository extends JpaRepository<StrategyPositionSnapshot, Long> {
+}
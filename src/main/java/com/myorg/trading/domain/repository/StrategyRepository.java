@@ -7,4 +7,5 @@ import java.util.List;
 public interface StrategyRepository extends JpaRepository<Strategy, Long> {
     List<Strategy> findByUserId(Long userId);
     List<Strategy> findByUserIdAndActive(Long userId, Boolean active);
+    List<Strategy> findByActive(Boolean active);
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.myorg.trading.service.marketdata;
+
+import com.myorg.trading.broker.api.MarketDataTick;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.BarBuilder;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.data.NseSession;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds live candles from the tick feed: one open bar per (instrument, interval), updated in
+ * place on every tick and closed on session-aligned boundaries (09:15 IST based).
+ *
+ * A bar is closed by the first tick of the next bar, or by a once-a-second sweep once its end
+ * plus a grace period has passed, so quiet instruments still publish on time. Late ticks for a
+ * closed bar are dropped. Completed bars are published per (instrument, interval).
+ */
+@Service
+@Slf4j
+public class BarAggregationService {
+
+    private final List<String> intervals;
+    private final long[] intervalMillis;
+    private final long closeGraceMillis;
+
+    private final Map<String, InstrumentBars> instruments = new ConcurrentHashMap<>();
+    private final Map<String, Sinks.Many<OHLCV>> sinks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    // Guarded by its own monitor: ticks and the sweep both close bars
+    private static final class InstrumentBars {
+        final BarBuilder[] builders;
+
+        InstrumentBars(long[] intervalMillis) {
+            builders = new BarBuilder[intervalMillis.length];
+            for (int i = 0; i < intervalMillis.length; i++) {
+                builders[i] = new BarBuilder(intervalMillis[i]);
+            }
+        }
+    }
+
+    public BarAggregationService(@Value("${app.bar-aggregation.intervals:1M,5M,15M,1H}") List<String> intervals,
+                                 @Value("${app.bar-aggregation.close-grace:2s}") Duration closeGrace) {
+        this.intervals = intervals.stream().map(MarketDataFetcher::canonicalInterval).toList();
+        this.intervalMillis = this.intervals.stream().mapToLong(NseSession::intervalMillis).toArray();
+        this.closeGraceMillis = closeGrace.toMillis();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "bar-aggregation-sweep");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleAtFixedRate(() -> {
+            try {
+                closeExpired(System.currentTimeMillis());
+            } catch (Exception e) {
+                log.error("Bar sweep failed: {}", e.getMessage(), e);
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Completed bars of one instrument and interval (e.g. "5M"), as they close.
+     */
+    public Flux<OHLCV> bars(String instrumentToken, String interval) {
+        return sink(instrumentToken, MarketDataFetcher.canonicalInterval(interval)).asFlux();
+    }
+
+    public List<String> intervals() {
+        return intervals;
+    }
+
+    /**
+     * Called for every tick pushed to MarketDataService.
+     */
+    public void onTick(String instrumentToken, MarketDataTick tick) {
+        if (tick.getLastPrice() == null) return;
+        long time = tick.getTimestamp() != null ? tick.getTimestamp().toEpochMilli() : System.currentTimeMillis();
+        double price = tick.getLastPrice().doubleValue();
+
+        InstrumentBars bars = instruments.computeIfAbsent(instrumentToken, k -> new InstrumentBars(intervalMillis));
+        synchronized (bars) {
+            for (int i = 0; i < bars.builders.length; i++) {
+                BarBuilder b = bars.builders[i];
+                if (b.update(time, price, tick.getVolume())) {
+                    publish(instrumentToken, i, b);
+                }
+            }
+        }
+    }
+
+    /**
+     * Close every open bar that ended at least the grace period before {@code nowMillis}.
+     */
+    void closeExpired(long nowMillis) {
+        instruments.forEach((token, bars) -> {
+            synchronized (bars) {
+                for (int i = 0; i < bars.builders.length; i++) {
+                    BarBuilder b = bars.builders[i];
+                    long open = b.openTime();
+                    if (open != Long.MIN_VALUE && barEnd(open, intervalMillis[i]) + closeGraceMillis <= nowMillis
+                            && b.flush()) {
+                        publish(token, i, b);
+                    }
+                }
+            }
+        });
+    }
+
+    // The last hourly bar of the day (15:15) ends at the session close, not an hour later
+    private static long barEnd(long barStart, long intervalMillis) {
+        long end = barStart + intervalMillis;
+        long day = NseSession.tradingDay(barStart);
+        long close = day * NseSession.MILLIS_PER_DAY - NseSession.IST_OFFSET_MILLIS
+                + NseSession.CLOSE_MINUTE * 60_000L;
+        return barStart < close && end > close ? close : end;
+    }
+
+    private void publish(String token, int intervalIndex, BarBuilder b) {
+        Sinks.Many<OHLCV> sink = sinks.get(token + '|' + intervals.get(intervalIndex));
+        if (sink == null) return; // nobody has asked for this series
+        sink.tryEmitNext(OHLCV.builder()
+                .timestamp(Instant.ofEpochMilli(b.barTime()))
+                .open(BigDecimal.valueOf(b.barOpen()))
+                .high(BigDecimal.valueOf(b.barHigh()))
+                .low(BigDecimal.valueOf(b.barLow()))
+                .close(BigDecimal.valueOf(b.barClose()))
+                .volume(b.barVolume())
+                .build());
+    }
+
+    private Sinks.Many<OHLCV> sink(String token, String interval) {
+        if (!intervals.contains(interval)) {
+            throw new IllegalArgumentException("Live bars are not built for interval " + interval
+                    + " (available: " + intervals + ")");
+        }
+        // Never terminates when the last subscriber leaves, so a series can be re-subscribed after a stop;
+        // bars published while nobody listens are dropped rather than replayed stale
+        return sinks.computeIfAbsent(token + '|' + interval, k -> Sinks.many().multicast().directBestEffort());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
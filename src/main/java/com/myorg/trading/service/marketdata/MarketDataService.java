@@ -1,6 +1,8 @@
 package com.myorg.trading.service.marketdata;
 
 import com.myorg.trading.broker.api.MarketDataTick;
+import com.myorg.trading.service.strategy.data.TickStore;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
@@ -16,6 +18,18 @@ import java.util.concurrent.ConcurrentHashMap;
 public class MarketDataService {
 
     private final Map<String, Sinks.Many<MarketDataTick>> registry = new ConcurrentHashMap<>();
+    private final TickStore tickStore;
+    private final BarAggregationService barAggregation;
+
+    @Autowired
+    public MarketDataService(TickStore tickStore, BarAggregationService barAggregation) {
+        this.tickStore = tickStore;
+        this.barAggregation = barAggregation;
+    }
+
+    public MarketDataService() {
+        this(null, null);
+    }
 
     public Flux<MarketDataTick> streamFor(String instrumentToken) {
         Sinks.Many<MarketDataTick> sink = registry.computeIfAbsent(instrumentToken, k -> Sinks.many().multicast().onBackpressureBuffer());
@@ -28,5 +42,11 @@ public class MarketDataService {
     public void pushTick(String instrumentToken, MarketDataTick tick) {
         Sinks.Many<MarketDataTick> sink = registry.computeIfAbsent(instrumentToken, k -> Sinks.many().multicast().onBackpressureBuffer());
         sink.tryEmitNext(tick);
+        if (barAggregation != null) {
+            barAggregation.onTick(instrumentToken, tick);
+        }
+        if (tickStore != null) {
+            tickStore.record(instrumentToken, tick);
+        }
     }
 }
@@ -0,0 +1,302 @@
+package com.myorg.trading.service.strategy;
+
+import com.myorg.trading.domain.entity.Strategy;
+import com.myorg.trading.domain.repository.ClusterNodeRepository;
+import com.myorg.trading.domain.repository.StrategyLeaseRepository;
+import com.myorg.trading.domain.repository.StrategyRepository;
+import com.myorg.trading.service.strategy.engine.OrderFence;
+import com.myorg.trading.service.strategy.engine.StrategyExecutor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shards active strategies across app nodes, so each runs on exactly one node.
+ *
+ * Every node heartbeats into cluster_nodes and, on each heartbeat, computes the owner of every
+ * active strategy by rendezvous hashing over the live nodes: all nodes agree without talking to
+ * each other, and a node joining or dying moves only the strategies it gains or loses. Ownership
+ * is then made exclusive by a lease row per strategy:
+ * <ul>
+ *   <li>a node takes a lease only when it is free or expired, under a new fencing token, and
+ *       then starts the strategy locally on a separate pool, so heartbeats and renewals never
+ *       wait for history loads;</li>
+ *   <li>it renews the leases it holds on every heartbeat, and stops a strategy whose lease was
+ *       taken over;</li>
+ *   <li>on a rebalance the old owner stops the strategy before releasing its lease, so the new
+ *       owner starts it only after;</li>
+ *   <li>before every order the strategy checks that its lease is still held under its token,
+ *       with time to spare ({@link OrderFence}), so a paused or partitioned owner whose lease
+ *       expired cannot place orders alongside its successor.</li>
+ * </ul>
+ * A dead node's strategies move once its heartbeat and leases expire, resuming from their saved
+ * positions and indicator snapshots. Off by default: a single node runs every active strategy
+ * itself (see StrategyRecoveryService).
+ */
+@Service
+@Slf4j
+public class StrategyLeaseCoordinator {
+
+    private final StrategyRepository strategyRepository;
+    private final StrategyLeaseRepository leaseRepository;
+    private final ClusterNodeRepository nodeRepository;
+    private final StrategyExecutor strategyExecutor;
+    private final boolean enabled;
+    private final String nodeId;
+    private final long heartbeatMillis;
+    private final long leaseMillis;
+    private final Executor starter;
+    // Strategy id -> fencing token of the lease this node holds and runs it under
+    private final Map<Long, Long> owned = new ConcurrentHashMap<>();
+    private ScheduledExecutorService heartbeat;
+    private volatile boolean stopping;
+
+    public StrategyLeaseCoordinator(StrategyRepository strategyRepository,
+                                    StrategyLeaseRepository leaseRepository,
+                                    ClusterNodeRepository nodeRepository,
+                                    StrategyExecutor strategyExecutor,
+                                    @Value("${app.cluster.enabled:false}") boolean enabled,
+                                    @Value("${app.cluster.node-id:}") String nodeId,
+                                    @Value("${app.cluster.heartbeat-interval:10s}") Duration heartbeatInterval,
+                                    @Value("${app.cluster.lease-duration:30s}") Duration leaseDuration,
+                                    @Value("${app.strategy-recovery.parallelism:8}") int startParallelism) {
+        this(strategyRepository, leaseRepository, nodeRepository, strategyExecutor, enabled, nodeId,
+                heartbeatInterval, leaseDuration, enabled ? startPool(startParallelism) : Runnable::run);
+    }
+
+    StrategyLeaseCoordinator(StrategyRepository strategyRepository,
+                             StrategyLeaseRepository leaseRepository,
+                             ClusterNodeRepository nodeRepository,
+                             StrategyExecutor strategyExecutor,
+                             boolean enabled, String nodeId,
+                             Duration heartbeatInterval, Duration leaseDuration,
+                             Executor starter) {
+        this.strategyRepository = strategyRepository;
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.strategyExecutor = strategyExecutor;
+        this.enabled = enabled;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.leaseMillis = leaseDuration.toMillis();
+        this.starter = starter;
+        if (enabled && leaseMillis < 2 * heartbeatMillis) {
+            throw new IllegalArgumentException("app.cluster.lease-duration must be at least twice the heartbeat interval");
+        }
+    }
+
+    private static ExecutorService startPool(int parallelism) {
+        AtomicInteger index = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread t = new Thread(r, "strategy-lease-start-" + index.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /** Strategies this node currently holds the lease for. */
+    public int ownedCount() {
+        return owned.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) return;
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "strategy-leases");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleWithFixedDelay(() -> {
+            try {
+                rebalance();
+            } catch (Exception e) {
+                log.error("Strategy lease heartbeat failed: {}", e.getMessage(), e);
+            }
+        }, 0, heartbeatMillis, TimeUnit.MILLISECONDS);
+        log.info("Strategy leases enabled on node {} (heartbeat {} ms, lease {} ms)", nodeId, heartbeatMillis,
+                leaseMillis);
+    }
+
+    // One heartbeat: announce this node, drop what moved away, renew the rest, take what moved here
+    void rebalance() {
+        if (stopping) return;
+        nodeRepository.heartbeat(nodeId);
+        List<String> nodes = new ArrayList<>(nodeRepository.findLiveNodeIds(leaseMillis));
+        if (!nodes.contains(nodeId)) nodes.add(nodeId);
+
+        Map<Long, Strategy> mine = new HashMap<>();
+        for (Strategy strategy : strategyRepository.findByActive(true)) {
+            if (nodeId.equals(ownerOf(strategy.getId(), nodes))) {
+                mine.put(strategy.getId(), strategy);
+            }
+        }
+
+        for (Map.Entry<Long, Long> lease : owned.entrySet()) {
+            Long id = lease.getKey();
+            long token = lease.getValue();
+            if (!mine.containsKey(id)) {
+                handOver(id, token);
+            } else if (leaseRepository.renew(id, nodeId, token, leaseMillis) == 0) {
+                log.warn("Lease on strategy {} was taken over, stopping it on {}", id, nodeId);
+                owned.remove(id);
+                strategyExecutor.stopStrategy(id);
+            }
+        }
+
+        for (Strategy strategy : mine.values()) {
+            Long id = strategy.getId();
+            if (owned.containsKey(id)) continue;
+            leaseRepository.createIfAbsent(id);
+            if (leaseRepository.acquire(id, nodeId, leaseMillis) == 0) continue; // previous owner still holds it
+            long token = leaseRepository.findById(id).orElseThrow().getFencingToken();
+            owned.put(id, token);
+            starter.execute(() -> start(strategy, token));
+        }
+        nodeRepository.deleteSilentFor(leaseMillis * 10);
+    }
+
+    private void handOver(Long id, long token) {
+        owned.remove(id);
+        strategyExecutor.stopStrategy(id);
+        leaseRepository.release(id, nodeId, token);
+        log.info("Strategy {} handed over by {}", id, nodeId);
+    }
+
+    private boolean holds(Long id, long token) {
+        Long current = owned.get(id);
+        return current != null && current == token;
+    }
+
+    /*
+     * Runs on the starter pool: starts load indicator history and can outlast several heartbeats,
+     * which keep renewing meanwhile. A start that loses its lease midway is stopped again (its
+     * fence already refuses orders); a failed start frees the lease for the next heartbeat.
+     */
+    private void start(Strategy strategy, long token) {
+        Long id = strategy.getId();
+        if (!holds(id, token)) return;
+        try {
+            strategyExecutor.startStrategy(strategy, fence(id, token));
+        } catch (Exception e) {
+            log.error("Could not start strategy {} on {}: {}", id, nodeId, e.getMessage(), e);
+            if (owned.remove(id, token)) {
+                leaseRepository.release(id, nodeId, token);
+            }
+            return;
+        }
+        if (!holds(id, token)) {
+            strategyExecutor.stopStrategy(id);
+            return;
+        }
+        log.info("Strategy {} started on {} under lease token {}", id, nodeId, token);
+    }
+
+    // Fails closed: no order unless the lease is confirmed with a third of its duration left
+    private OrderFence fence(Long strategyId, long token) {
+        long margin = leaseMillis / 3;
+        return new OrderFence() {
+            @Override
+            public boolean permits() {
+                if (stopping || !holds(strategyId, token)) return false;
+                try {
+                    return leaseRepository.countValid(strategyId, nodeId, token, margin) > 0;
+                } catch (Exception e) {
+                    log.error("Could not confirm lease on strategy {}: {}", strategyId, e.getMessage());
+                    return false;
+                }
+            }
+
+            @Override
+            public long token() {
+                return token;
+            }
+        };
+    }
+
+    /**
+     * Owner of a strategy among {@code nodes}: the node with the highest hash of (strategy, node).
+     * Removing a node moves only its own strategies; adding one takes about 1/n from each.
+     */
+    static String ownerOf(long strategyId, List<String> nodes) {
+        String owner = null;
+        long best = 0;
+        for (String node : nodes) {
+            long score = mix(strategyId * 0x9E3779B97F4A7C15L ^ mix(node.hashCode()));
+            if (owner == null || Long.compareUnsigned(score, best) > 0
+                    || (score == best && node.compareTo(owner) < 0)) {
+                owner = node;
+                best = score;
+            }
+        }
+        return owner;
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Stop owned strategies and free their leases, so other nodes take them over without waiting for expiry. */
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) return;
+        stopping = true;
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+        }
+        if (starter instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+        for (Map.Entry<Long, Long> lease : owned.entrySet()) {
+            try {
+                handOver(lease.getKey(), lease.getValue());
+            } catch (Exception e) {
+                log.warn("Could not release lease on strategy {}: {}", lease.getKey(), e.getMessage());
+            }
+        }
+        try {
+            nodeRepository.deleteById(nodeId);
+        } catch (Exception e) {
+            log.warn("Could not deregister node {}: {}", nodeId, e.getMessage());
+        }
+    }
+}
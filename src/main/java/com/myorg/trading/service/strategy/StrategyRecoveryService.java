@@ -0,0 +1,99 @@
+package com.myorg.trading.service.strategy;
+
+import com.myorg.trading.domain.entity.Strategy;
+import com.myorg.trading.domain.repository.StrategyRepository;
+import com.myorg.trading.service.strategy.engine.StrategyExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Restarts the strategies that were active when the application stopped.
+ *
+ * Runs once the application is ready, starting strategies in parallel: each start resolves a
+ * broker account and acquires shared indicators, whose feeds warm up from their saved snapshot
+ * plus the bars missed since (see IndicatorRegistry). A strategy that fails to start is logged and
+ * left active, to be started again from the UI or on the next boot.
+ *
+ * With cluster leases enabled this does nothing: StrategyLeaseCoordinator starts each strategy
+ * on the node that owns it.
+ */
+@Service
+@Slf4j
+public class StrategyRecoveryService {
+
+    private final StrategyRepository strategyRepository;
+    private final StrategyExecutor strategyExecutor;
+    private final StrategyLeaseCoordinator leases;
+    private final boolean enabled;
+    private final int parallelism;
+
+    public StrategyRecoveryService(StrategyRepository strategyRepository,
+                                   StrategyExecutor strategyExecutor,
+                                   StrategyLeaseCoordinator leases,
+                                   @Value("${app.strategy-recovery.enabled:true}") boolean enabled,
+                                   @Value("${app.strategy-recovery.parallelism:8}") int parallelism) {
+        this.strategyRepository = strategyRepository;
+        this.strategyExecutor = strategyExecutor;
+        this.leases = leases;
+        this.enabled = enabled;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled && !leases.isEnabled()) {
+            recover();
+        }
+    }
+
+    /**
+     * Start every active strategy that is not already running; blocks until all have been tried.
+     *
+     * @return the number started
+     */
+    public int recover() {
+        List<Strategy> active = strategyRepository.findByActive(true);
+        if (active.isEmpty()) return 0;
+
+        long started = System.nanoTime();
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, active.size()), r -> {
+            Thread t = new Thread(r, "strategy-recovery");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<CompletableFuture<Void>> starts = new ArrayList<>(active.size());
+            for (Strategy strategy : active) {
+                starts.add(CompletableFuture.runAsync(() -> {
+                    if (strategyExecutor.isRunning(strategy.getId())) return;
+                    try {
+                        strategyExecutor.startStrategy(strategy);
+                        ok.incrementAndGet();
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.error("Could not recover strategy {} ({}): {}", strategy.getId(), strategy.getName(),
+                                e.getMessage(), e);
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(starts.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            pool.shutdown();
+        }
+        log.info("Recovered {} of {} active strategies in {} ms ({} failed)", ok.get(), active.size(),
+                (System.nanoTime() - started) / 1_000_000, failed.get());
+        return ok.get();
+    }
+}
@@ -16,11 +16,14 @@ public class StrategyService {
 
     private final StrategyRepository strategyRepository;
     private final StrategyExecutor strategyExecutor;
+    private final StrategyLeaseCoordinator leases;
 
     public StrategyService(StrategyRepository strategyRepository,
-                           StrategyExecutor strategyExecutor) {
+                           StrategyExecutor strategyExecutor,
+                           StrategyLeaseCoordinator leases) {
         this.strategyRepository = strategyRepository;
         this.strategyExecutor = strategyExecutor;
+        this.leases = leases;
     }
 
     public List<Strategy> getStrategiesForUser(Long userId) {
@@ -52,11 +55,14 @@ public class StrategyService {
 
                 // Start/Stop execution
                 try {
-                    if (updates.getActive()) {
+                    if (updates.getActive() && leases.isEnabled()) {
+                        // Started by whichever node owns it, on that node's next heartbeat
+                        log.info("Strategy {} will start on its owning node", id);
+                    } else if (updates.getActive()) {
                         strategyExecutor.startStrategy(strategy);
                         log.info("Strategy {} started successfully", id);
                     } else {
-                        strategyExecutor.stopStrategy(strategy.getId());
+                        strategyExecutor.deactivateStrategy(strategy.getId());
                         log.info("Strategy {} stopped successfully", id);
                     }
                 } catch (Exception e) {
@@ -77,7 +83,7 @@ public class StrategyService {
     public void deleteStrategy(Long id) {
         Strategy strategy = getStrategy(id);
         if (strategy.getActive()) {
-            strategyExecutor.stopStrategy(id);
+            strategyExecutor.deactivateStrategy(id);
         }
         strategyRepository.deleteById(id);
     }
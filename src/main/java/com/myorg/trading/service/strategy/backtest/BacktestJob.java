@@ -0,0 +1,51 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A submitted backtest. Updated by the job thread and read by API callers, hence the volatile
+ * fields; state transitions go through {@link BacktestJobService}.
+ */
+@Getter
+public class BacktestJob {
+    private final String id;
+    @JsonIgnore
+    private final Long userId;
+    private final BacktestJobType type;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile BacktestJobStatus status = BacktestJobStatus.QUEUED;
+    private volatile double progress;       // 0..100
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Object result;
+    private final List<Object> partialResults = new CopyOnWriteArrayList<>();
+
+    @JsonIgnore
+    private volatile Runnable task;      // as queued on the job executor
+    @JsonIgnore
+    private Thread runner;               // guarded by this, set while the job runs
+
+    BacktestJob(String id, Long userId, BacktestJobType type) {
+        this.id = id;
+        this.userId = userId;
+        this.type = type;
+    }
+
+    void setStatus(BacktestJobStatus status) { this.status = status; }
+    void setProgress(double progress) { this.progress = progress; }
+    void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+    void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+    void setError(String error) { this.error = error; }
+    void setResult(Object result) { this.result = result; }
+    void setTask(Runnable task) { this.task = task; }
+    void setRunner(Thread runner) { this.runner = runner; }
+
+    boolean isCancelled() { return status == BacktestJobStatus.CANCELLED; }
+}
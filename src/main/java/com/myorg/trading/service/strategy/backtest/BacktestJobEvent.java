@@ -0,0 +1,21 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pushed to /topic/backtests/{jobId} on every state change or partial result.
+ * The full result is fetched with GET /api/v1/backtests/jobs/{jobId} once COMPLETED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestJobEvent {
+    private String jobId;
+    private BacktestJobType type;
+    private BacktestJobStatus status;
+    private double progress;
+    private Object partial;
+    private String error;
+}
@@ -0,0 +1,271 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs backtests off the request thread.
+ *
+ * - Jobs run on a dedicated bounded executor; a full queue rejects new submissions.
+ * - Each user may have a limited number of queued/running jobs. A slot is held until the job's
+ *   thread has actually stopped, so cancelling cannot be used to run more jobs than the limit.
+ * - State changes, progress and partial results (walk-forward windows) are pushed to
+ *   /topic/backtests/{id}.
+ * - Finished jobs are kept in memory for later retrieval until they expire.
+ */
+@Service
+@Slf4j
+public class BacktestJobService {
+
+    private final BacktestService backtestService;
+    private final PortfolioBacktestService portfolioBacktestService;
+    private final WalkForwardService walkForwardService;
+    private final TickReplayService tickReplayService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final int perUserLimit;
+    private final int maxRetained;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, BacktestJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> activeByUser = new ConcurrentHashMap<>();
+
+    public BacktestJobService(BacktestService backtestService,
+                              PortfolioBacktestService portfolioBacktestService,
+                              WalkForwardService walkForwardService,
+                              TickReplayService tickReplayService,
+                              SimpMessagingTemplate messagingTemplate,
+                              @Value("${app.backtest-jobs.threads:4}") int threads,
+                              @Value("${app.backtest-jobs.queue-capacity:100}") int queueCapacity,
+                              @Value("${app.backtest-jobs.per-user-limit:2}") int perUserLimit,
+                              @Value("${app.backtest-jobs.max-retained:1000}") int maxRetained,
+                              @Value("${app.backtest-jobs.retention:1h}") Duration retention) {
+        this.backtestService = backtestService;
+        this.portfolioBacktestService = portfolioBacktestService;
+        this.walkForwardService = walkForwardService;
+        this.tickReplayService = tickReplayService;
+        this.messagingTemplate = messagingTemplate;
+        this.perUserLimit = perUserLimit;
+        this.maxRetained = maxRetained;
+        this.retention = retention;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "backtest-job-" + threadIndex.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public BacktestJob submitBacktest(Long userId, BacktestRequest request) {
+        return submit(userId, BacktestJobType.SINGLE, job -> () -> backtestService.runBacktest(
+                userId, request, job::isCancelled, progress(job)));
+    }
+
+    public BacktestJob submitSweep(Long userId, SweepRequest request) {
+        return submit(userId, BacktestJobType.SWEEP, job -> () -> backtestService.runSweep(
+                userId, request, job::isCancelled, progress(job)));
+    }
+
+    public BacktestJob submitPortfolio(Long userId, PortfolioBacktestRequest request) {
+        return submit(userId, BacktestJobType.PORTFOLIO,
+                job -> () -> portfolioBacktestService.runPortfolioBacktest(
+                        userId, request, job::isCancelled, progress(job)));
+    }
+
+    public BacktestJob submitWalkForward(Long userId, WalkForwardRequest request) {
+        return submit(userId, BacktestJobType.WALK_FORWARD, job -> () -> walkForwardService.runWalkForward(
+                userId, request, (window, completed, total) -> {
+                    job.getPartialResults().add(window);
+                    job.setProgress(completed * 100.0 / total);
+                    publish(job, window);
+                }, job::isCancelled));
+    }
+
+    /**
+     * Tick replays, including paced ones (speed > 0) that can take as long as the recorded session;
+     * cancelling stops the pacing within {@link TickReplayEngine#PACE_SLICE_NANOS}.
+     */
+    public BacktestJob submitReplay(Long userId, TickReplayRequest request) {
+        return submit(userId, BacktestJobType.REPLAY, job -> () -> tickReplayService.replay(
+                request, job::isCancelled, progress(job)));
+    }
+
+    public BacktestJob getJob(Long userId, String jobId) {
+        BacktestJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("Backtest job not found");
+        }
+        return job;
+    }
+
+    public List<BacktestJob> getJobs(Long userId) {
+        purgeExpired();
+        return jobs.values().stream()
+                .filter(job -> job.getUserId().equals(userId))
+                .sorted(Comparator.comparing(BacktestJob::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * Marks the job cancelled right away. A queued job is dropped from the queue; a running one is
+     * interrupted and its loops stop at their next cancellation check, releasing the slot then.
+     */
+    public BacktestJob cancel(Long userId, String jobId) {
+        BacktestJob job = getJob(userId, jobId);
+        if (!finish(job, BacktestJobStatus.CANCELLED, null, null)) return job;
+        if (job.getTask() != null && executor.remove(job.getTask())) {
+            release(userId); // never started, so run() will not release it
+        } else {
+            synchronized (job) {
+                if (job.getRunner() != null) job.getRunner().interrupt();
+            }
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param work builds the job body; it gets the job so it can report progress
+     */
+    private BacktestJob submit(Long userId, BacktestJobType type,
+                               Function<BacktestJob, Supplier<Object>> work) {
+        purgeExpired();
+        activeByUser.compute(userId, (id, active) -> {
+            int count = active == null ? 0 : active;
+            if (count >= perUserLimit) {
+                throw new RejectedExecutionException(
+                        "Too many running backtests (limit " + perUserLimit + "), wait for one to finish");
+            }
+            return count + 1;
+        });
+
+        BacktestJob job = new BacktestJob(UUID.randomUUID().toString(), userId, type);
+        Supplier<Object> body = work.apply(job);
+        jobs.put(job.getId(), job);
+        Runnable task = () -> run(job, body);
+        job.setTask(task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            release(userId);
+            throw new RejectedExecutionException("Backtest queue is full, try again later");
+        }
+        log.info("Queued {} backtest job {} for user {}", type, job.getId(), userId);
+        publish(job, null);
+        return job;
+    }
+
+    // The only place a started job's slot is released: after its work has returned or thrown
+    private void run(BacktestJob job, Supplier<Object> body) {
+        try {
+            synchronized (job) {
+                if (job.getStatus() != BacktestJobStatus.QUEUED) return; // cancelled while queued
+                job.setStatus(BacktestJobStatus.RUNNING);
+                job.setStartedAt(Instant.now());
+                job.setRunner(Thread.currentThread());
+            }
+            publish(job, null);
+            try {
+                Object result = body.get();
+                finish(job, BacktestJobStatus.COMPLETED, result, null);
+            } catch (Exception e) {
+                if (!job.isCancelled()) {
+                    log.warn("Backtest job {} failed: {}", job.getId(), e.getMessage());
+                }
+                finish(job, BacktestJobStatus.FAILED, null, e.getMessage() != null ? e.getMessage() : e.toString());
+            }
+        } finally {
+            synchronized (job) {
+                job.setRunner(null);
+            }
+            Thread.interrupted(); // a late cancel must not leak into the pool thread's next job
+            release(job.getUserId());
+        }
+    }
+
+    /**
+     * First terminal transition wins.
+     */
+    private boolean finish(BacktestJob job, BacktestJobStatus status, Object result, String error) {
+        synchronized (job) {
+            if (job.getStatus().isFinished()) return false;
+            job.setResult(result);
+            job.setError(error);
+            job.setStatus(status);
+            if (status == BacktestJobStatus.COMPLETED) job.setProgress(100);
+            job.setFinishedAt(Instant.now());
+        }
+        publish(job, null);
+        log.info("Backtest job {} {}", job.getId(), status);
+        return true;
+    }
+
+    /**
+     * Progress of a running job, published whenever it moves by a whole percent. Parallel loops
+     * report out of order, so it only ever moves forward.
+     */
+    private Progress progress(BacktestJob job) {
+        return percent -> {
+            synchronized (job) {
+                if (job.getStatus() != BacktestJobStatus.RUNNING || percent < job.getProgress() + 1) return;
+                job.setProgress(Math.min(100, percent));
+            }
+            publish(job, null);
+        };
+    }
+
+    private void release(Long userId) {
+        activeByUser.computeIfPresent(userId, (id, active) -> active <= 1 ? null : active - 1);
+    }
+
+    private void publish(BacktestJob job, Object partial) {
+        try {
+            messagingTemplate.convertAndSend("/topic/backtests/" + job.getId(), new BacktestJobEvent(
+                    job.getId(), job.getType(), job.getStatus(), job.getProgress(), partial, job.getError()));
+        } catch (Exception e) {
+            log.debug("Could not publish backtest job event {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+
+        int excess = jobs.size() - maxRetained;
+        if (excess > 0) {
+            jobs.values().stream()
+                    .filter(job -> job.getFinishedAt() != null)
+                    .sorted(Comparator.comparing(BacktestJob::getFinishedAt))
+                    .limit(excess)
+                    .toList()
+                    .forEach(job -> jobs.remove(job.getId()));
+        }
+    }
+}
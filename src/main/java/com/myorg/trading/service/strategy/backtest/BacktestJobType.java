@@ -0,0 +1,9 @@
+package com.myorg.trading.service.strategy.backtest;
+
+public enum BacktestJobType {
+    SINGLE,
+    SWEEP,
+    PORTFOLIO,
+    WALK_FORWARD,
+    REPLAY
+}
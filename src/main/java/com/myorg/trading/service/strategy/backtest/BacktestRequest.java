@@ -1,5 +1,6 @@
 package com.myorg.trading.service.strategy.backtest;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -12,4 +13,17 @@ public class BacktestRequest {
     private BigDecimal initialCapital;
     private int fastPeriod;
     private int slowPeriod;
+
+    // Optional: run a strategy template (same ids/params as live strategies) instead of the
+    // fast/slow SMA crossover above
+    private String templateId;
+    private JsonNode params;
+
+    private int equityCurvePoints = 500; // upper bound on returned equity curve points
+
+    // Optional Monte Carlo stage over the resulting trades (0 iterations = off)
+    private int monteCarloIterations;
+    private MonteCarloMethod monteCarloMethod = MonteCarloMethod.BOOTSTRAP;
+    private double ruinThresholdPercent = 50;
+    private Long monteCarloSeed;
 }
@@ -6,7 +6,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Data
-class BacktestResult {
+public class BacktestResult {
     private int totalTrades;
     private int winningTrades;
     private int losingTrades;
@@ -16,5 +16,15 @@ class BacktestResult {
     private BigDecimal totalReturn;
     private BigDecimal returnPercent;
     private BigDecimal profitFactor;
+
+    // Bar-level statistics (mark-to-market equity), not set for portfolio aggregates
+    private double maxDrawdown;
+    private double maxDrawdownPercent;
+    private double sharpeRatio;     // annualized
+    private double sortinoRatio;    // annualized
+    private double exposurePercent;
+    private List<EquityPoint> equityCurve;
+
     private List<Trade> trades;
+    private MonteCarloResult monteCarlo; // null unless requested
 }
@@ -0,0 +1,136 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.myorg.trading.domain.entity.BacktestResultRecord;
+import com.myorg.trading.domain.repository.BacktestResultRecordRepository;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Memoized backtest results.
+ *
+ * The key is a SHA-256 over the full request (template, params, symbol, interval, candle count,
+ * capital, ...) and the content hash of the candles the backtest actually ran on. New or revised
+ * candles therefore produce a different key, so stale results are never served and simply age
+ * out of the LRU. Backtests run on completed bars only ({@link BacktestService#completedBars}),
+ * so repeated intraday requests hit until the next bar completes.
+ *
+ * Results are kept as JSON and every hit returns a fresh copy, so a caller changing its result
+ * cannot alter what later hits see. Optionally persisted to backtest_results so hits survive
+ * restarts.
+ */
+@Component
+@Slf4j
+public class BacktestResultCache {
+
+    private static final int PURGE_EVERY_WRITES = 100;
+
+    private final boolean persist;
+    private final Duration persistTtl;
+    private final BacktestResultRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper keyMapper;
+    private final Map<String, String> entries; // key -> result JSON
+    private final AtomicInteger writes = new AtomicInteger();
+
+    public BacktestResultCache(@Value("${app.backtest-cache.max-entries:500}") int maxEntries,
+                               @Value("${app.backtest-cache.persist:false}") boolean persist,
+                               @Value("${app.backtest-cache.persist-ttl:7d}") Duration persistTtl,
+                               BacktestResultRecordRepository repository,
+                               ObjectMapper objectMapper) {
+        this.persist = persist && repository != null;
+        this.persistTtl = persistTtl;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.keyMapper = objectMapper.copy().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public String key(BacktestRequest request, CandleSeries series) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(keyMapper.writeValueAsBytes(request));
+            digest.update(ByteBuffer.allocate(12).putLong(series.contentHash()).putInt(series.size()).array());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint backtest request", e);
+        }
+    }
+
+    /**
+     * A copy of the cached result, or null.
+     */
+    public BacktestResult get(String key) {
+        String json = entries.get(key);
+        if (json == null && persist) {
+            try {
+                json = repository.findById(key).map(BacktestResultRecord::getResultJson).orElse(null);
+            } catch (Exception e) {
+                log.warn("Backtest result lookup failed: {}", e.getMessage());
+                return null;
+            }
+            if (json != null) {
+                entries.put(key, json);
+            }
+        }
+        return json != null ? read(json) : null;
+    }
+
+    public void put(String key, BacktestResult result) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot cache backtest result {}: {}", key, e.getMessage());
+            return;
+        }
+        entries.put(key, json);
+        if (!persist) {
+            return;
+        }
+        try {
+            repository.save(BacktestResultRecord.builder()
+                    .fingerprint(key)
+                    .resultJson(json)
+                    .build());
+            if (writes.incrementAndGet() % PURGE_EVERY_WRITES == 0) {
+                long purged = repository.deleteByCreatedAtBefore(Instant.now().minus(persistTtl));
+                log.debug("Purged {} expired backtest results", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to persist backtest result {}: {}", key, e.getMessage());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private BacktestResult read(String json) {
+        try {
+            return objectMapper.readValue(json, BacktestResult.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt cached backtest result", e);
+        }
+    }
+}
@@ -1,81 +1,333 @@
 package com.myorg.trading.service.strategy.backtest;
 
 import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.CandleSeries;
 import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.data.NseSession;
+import com.myorg.trading.service.strategy.engine.BarStrategies;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.engine.ParamReader;
 import com.myorg.trading.service.strategy.indicators.TechnicalIndicators;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 @Service
 @Slf4j
 public class BacktestService {
 
+    static final int MAX_MONTE_CARLO_ITERATIONS = 1_000_000;
+    static final int MAX_EQUITY_CURVE_POINTS = 10_000;
+    static final int MAX_GRID_CANDLES = 100_000;
+    static final int MAX_GRID_PERIOD = ParamReader.MAX_PERIOD;
+    static final int MAX_GRID_COMBINATIONS = 10_000;
+
     private final TechnicalIndicators indicators;
     private final MarketDataFetcher dataFetcher;
+    private final BacktestResultCache resultCache;
 
-    public BacktestService(TechnicalIndicators indicators, MarketDataFetcher dataFetcher) {
+    // Dedicated pool so sweeps don't starve other users of the common pool
+    private final ForkJoinPool sweepPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    @Autowired
+    public BacktestService(TechnicalIndicators indicators, MarketDataFetcher dataFetcher,
+                           BacktestResultCache resultCache) {
         this.indicators = indicators;
         this.dataFetcher = dataFetcher;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Without result memoization, used by tests and benchmarks.
+     */
+    public BacktestService(TechnicalIndicators indicators, MarketDataFetcher dataFetcher) {
+        this(indicators, dataFetcher, null);
     }
 
     public BacktestResult runBacktest(Long userId, BacktestRequest request) {
-        List<OHLCV> candles = dataFetcher.fetchHistoricalData(
+        return runBacktest(userId, request, Cancellation.NONE, Progress.NONE);
+    }
+
+    /**
+     * Progress: candles fetched, bars simulated, then Monte Carlo chunks (the bulk when requested).
+     */
+    BacktestResult runBacktest(Long userId, BacktestRequest request, Cancellation cancellation,
+                               Progress progress) {
+        if (request.getTemplateId() == null) {
+            checkGrid(request.getCandleCount(),
+                    new ParamRange(request.getFastPeriod(), request.getFastPeriod(), 1),
+                    new ParamRange(request.getSlowPeriod(), request.getSlowPeriod(), 1));
+        } else {
+            checkGrid(request.getCandleCount()); // template periods are bounded when params compile
+        }
+        List<OHLCV> candles = completedBars(dataFetcher.fetchHistoricalData(
                 userId,
                 request.getSymbol(),
                 request.getInterval(),
                 request.getCandleCount()
-        );
+        ), request.getInterval());
+        CandleSeries series = CandleSeries.of(candles);
+        int n = series.size();
+        cancellation.check();
+        double simulated = request.getMonteCarloIterations() > 0 ? 20 : 100;
+        progress.report(simulated / 2);
 
-        List<Trade> trades = new ArrayList<>();
+        // Unseeded Monte Carlo is random by design, everything else is a pure function of request + data
+        boolean cacheable = resultCache != null
+                && (request.getMonteCarloIterations() == 0 || request.getMonteCarloSeed() != null);
+        String cacheKey = cacheable ? resultCache.key(request, series) : null;
+        if (cacheKey != null) {
+            BacktestResult cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                log.debug("Backtest cache hit for {} {}", request.getSymbol(), request.getInterval());
+                return cached;
+            }
+        }
+
+        int[] entries = new int[CrossoverSimulator.maxTrades(n)];
+        int[] exits = new int[entries.length];
+        StatisticsAccumulator stats = new StatisticsAccumulator(request.getInitialCapital().doubleValue(),
+                Math.max(2, Math.min(MAX_EQUITY_CURVE_POINTS, request.getEquityCurvePoints())));
+        CrossoverSimulator.Outcome outcome;
+        if (request.getTemplateId() != null) {
+            BarStrategy strategy = BarStrategies.create(request.getTemplateId(), request.getParams());
+            outcome = BarBacktestEngine.run(series, 0, n, strategy,
+                    request.getInitialCapital().doubleValue(), entries, exits, stats);
+        } else {
+            // Vectorized SMA crossover, same kernel and bars as the sweep so results line up with it
+            double[] fastSMA = indicators.sma(series, request.getFastPeriod());
+            double[] slowSMA = indicators.sma(series, request.getSlowPeriod());
+            outcome = CrossoverSimulator.run(
+                    series.close(), n, fastSMA, slowSMA, request.getSlowPeriod(),
+                    request.getInitialCapital().doubleValue(), entries, exits, stats);
+        }
+
+        progress.report(simulated);
+
+        // Replay the recorded fills in BigDecimal so reported prices and P&L stay exact
+        List<Trade> trades = new ArrayList<>(outcome.trades);
         BigDecimal capital = request.getInitialCapital();
-        Trade openTrade = null;
-
-        // Calculate indicators
-        List<BigDecimal> fastSMA = indicators.calculateSMA(candles, request.getFastPeriod());
-        List<BigDecimal> slowSMA = indicators.calculateSMA(candles, request.getSlowPeriod());
-
-        for (int i = request.getSlowPeriod(); i < candles.size() - 1; i++) {
-            if (fastSMA.get(i) == null || slowSMA.get(i) == null) continue;
-
-            BigDecimal currentFast = fastSMA.get(i);
-            BigDecimal currentSlow = slowSMA.get(i);
-            BigDecimal prevFast = fastSMA.get(i - 1);
-            BigDecimal prevSlow = slowSMA.get(i - 1);
-
-            // Detect crossover
-            boolean bullishCross = prevFast.compareTo(prevSlow) < 0 && currentFast.compareTo(currentSlow) > 0;
-            boolean bearishCross = prevFast.compareTo(prevSlow) > 0 && currentFast.compareTo(currentSlow) < 0;
-
-            // Entry
-            if (openTrade == null && bullishCross) {
-                openTrade = new Trade();
-                openTrade.setEntryTime(candles.get(i).getTimestamp());
-                openTrade.setEntryPrice(candles.get(i).getClose());
-                openTrade.setQuantity(capital.divide(candles.get(i).getClose(), 0, RoundingMode.DOWN));
-                openTrade.setSide("BUY");
+        for (int t = 0; t < outcome.trades; t++) {
+            OHLCV entry = candles.get(entries[t]);
+            OHLCV exit = candles.get(exits[t]);
+
+            Trade trade = new Trade();
+            trade.setSymbol(request.getSymbol());
+            trade.setEntryTime(entry.getTimestamp());
+            trade.setEntryPrice(entry.getClose());
+            trade.setQuantity(capital.divide(entry.getClose(), 0, RoundingMode.DOWN));
+            trade.setSide("BUY");
+            trade.setExitTime(exit.getTimestamp());
+            trade.setExitPrice(exit.getClose());
+            trade.calculatePnL();
+
+            capital = capital.add(trade.getPnl());
+            trades.add(trade);
+        }
+
+        // Calculate statistics
+        BacktestResult result = calculateStatistics(trades, request.getInitialCapital(), capital);
+        stats.applyTo(result, series.time(), request.getInterval());
+        if (request.getMonteCarloIterations() > 0 && !trades.isEmpty()) {
+            result.setMonteCarlo(monteCarlo(trades, request, cancellation, progress.slice(simulated, 100)));
+        }
+        if (cacheKey != null) {
+            resultCache.put(cacheKey, result);
+        }
+        return result;
+    }
+
+    /**
+     * Drop a last bar that is still forming. It changes with every tick, so intraday requests would
+     * never hit the result cache, and its close is not a price a strategy could have traded at.
+     */
+    static List<OHLCV> completedBars(List<OHLCV> candles, String interval) {
+        long forming;
+        try {
+            forming = NseSession.barStart(System.currentTimeMillis(), NseSession.intervalMillis(interval));
+        } catch (IllegalArgumentException e) {
+            return candles; // interval without session alignment, keep the broker's answer as is
+        }
+        int n = candles.size();
+        while (n > 0 && candles.get(n - 1).getTimestamp() != null
+                && candles.get(n - 1).getTime() >= forming) {
+            n--;
+        }
+        return n == candles.size() ? candles : candles.subList(0, n);
+    }
+
+    /**
+     * Resample the trade sequence into equity paths and report percentiles.
+     */
+    MonteCarloResult monteCarlo(List<Trade> trades, BacktestRequest request, Cancellation cancellation,
+                                Progress progress) {
+        if (request.getMonteCarloIterations() > MAX_MONTE_CARLO_ITERATIONS) {
+            throw new IllegalArgumentException("At most " + MAX_MONTE_CARLO_ITERATIONS + " Monte Carlo iterations");
+        }
+        double[] returns = new double[trades.size()];
+        double capital = request.getInitialCapital().doubleValue();
+        for (int t = 0; t < returns.length; t++) {
+            double pnl = trades.get(t).getPnl().doubleValue();
+            returns[t] = capital > 0 ? pnl / capital : 0;
+            capital += pnl;
+        }
+
+        MonteCarloMethod method = request.getMonteCarloMethod() != null
+                ? request.getMonteCarloMethod() : MonteCarloMethod.BOOTSTRAP;
+        long seed = request.getMonteCarloSeed() != null ? request.getMonteCarloSeed() : System.nanoTime();
+        MonteCarloResult result = MonteCarloSimulator.run(returns, request.getInitialCapital().doubleValue(),
+                request.getMonteCarloIterations(), method, request.getRuinThresholdPercent(), seed, sweepPool, cancellation,
+                progress);
+
+        log.info("Monte Carlo {} x {} over {} trades in {} ms",
+                method, result.getIterations(), trades.size(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * Grid search over fast/slow SMA periods.
+     * Candles are fetched once, each distinct SMA period is computed once and shared by every
+     * pair that uses it, and the grid is evaluated in parallel on the sweep pool.
+     */
+    public SweepResult runSweep(Long userId, SweepRequest request) {
+        return runSweep(userId, request, Cancellation.NONE, Progress.NONE);
+    }
+
+    /**
+     * Progress counts evaluated pairs; fetching candles and building the SMA columns come first.
+     */
+    SweepResult runSweep(Long userId, SweepRequest request, Cancellation cancellation, Progress progress) {
+        long started = System.nanoTime();
+        checkGrid(request.getCandleCount(), request.getFastPeriod(), request.getSlowPeriod());
+        int[] fastValues = request.getFastPeriod().values();
+        int[] slowValues = request.getSlowPeriod().values();
+
+        List<OHLCV> candles = completedBars(dataFetcher.fetchHistoricalData(
+                userId,
+                request.getSymbol(),
+                request.getInterval(),
+                request.getCandleCount()
+        ), request.getInterval());
+        CandleSeries series = CandleSeries.of(candles);
+        int n = series.size();
+
+        // Shared indicator columns, indexed by period
+        int[] periods = IntStream.concat(Arrays.stream(fastValues), Arrays.stream(slowValues)).distinct().toArray();
+        int maxPeriod = Arrays.stream(periods).max().orElse(0);
+        double[][] smaByPeriod = new double[maxPeriod + 1][];
+        sweepPool.submit(() -> Arrays.stream(periods).parallel()
+                .forEach(p -> {
+                    cancellation.check();
+                    smaByPeriod[p] = indicators.sma(series, p);
+                })).join();
+
+        // Only fast < slow pairs are meaningful for a crossover
+        List<int[]> pairs = new ArrayList<>();
+        for (int fast : fastValues) {
+            for (int slow : slowValues) {
+                if (fast < slow) pairs.add(new int[]{fast, slow});
             }
+        }
+
+        double initialCapital = request.getInitialCapital().doubleValue();
+        AtomicInteger evaluated = new AtomicInteger();
+        List<SweepEntry> entries = sweepPool.submit(() -> pairs.parallelStream()
+                .map(pair -> {
+                    cancellation.check();
+                    SweepEntry entry = evaluatePair(series, smaByPeriod, pair[0], pair[1], initialCapital);
+                    progress.report(evaluated.incrementAndGet() * 100.0 / pairs.size());
+                    return entry;
+                })
+                .toList()).join();
+
+        SweepMetric metric = request.getRankBy() != null ? request.getRankBy() : SweepMetric.RETURN;
+        List<SweepEntry> ranked = entries.stream()
+                .sorted(Comparator.comparingDouble(metric::score).reversed())
+                .limit(request.getLimit() > 0 ? request.getLimit() : Long.MAX_VALUE)
+                .toList();
+
+        SweepResult result = new SweepResult();
+        result.setSymbol(request.getSymbol());
+        result.setInterval(request.getInterval());
+        result.setCandles(n);
+        result.setCombinations(pairs.size());
+        result.setRankBy(metric);
+        result.setResults(ranked);
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        log.info("Sweep {} {}: {} combinations over {} candles in {} ms",
+                request.getSymbol(), request.getInterval(), pairs.size(), n, result.getElapsedMillis());
+        return result;
+    }
 
-            // Exit
-            if (openTrade != null && bearishCross) {
-                openTrade.setExitTime(candles.get(i).getTimestamp());
-                openTrade.setExitPrice(candles.get(i).getClose());
-                openTrade.calculatePnL();
+    /**
+     * Bounds a grid search before anything is allocated: candles fetched, the longest indicator
+     * period (one shared column per period) and the number of combinations.
+     */
+    static void checkGrid(int candleCount, ParamRange... periodRanges) {
+        if (candleCount > MAX_GRID_CANDLES) {
+            throw new IllegalArgumentException("At most " + MAX_GRID_CANDLES + " candles per grid search");
+        }
+        for (ParamRange range : periodRanges) {
+            if (range == null) {
+                throw new IllegalArgumentException("Period ranges are required");
+            }
+            if (range.getFrom() < 1 || range.getTo() > MAX_GRID_PERIOD) {
+                throw new IllegalArgumentException("Periods must be between 1 and " + MAX_GRID_PERIOD);
+            }
+        }
+        checkCombinations(periodRanges);
+    }
 
-                capital = capital.add(openTrade.getPnl());
-                trades.add(openTrade);
-                openTrade = null;
+    static void checkCombinations(ParamRange... ranges) {
+        long combinations = 1;
+        for (ParamRange range : ranges) {
+            combinations *= range.count();
+            if (combinations > MAX_GRID_COMBINATIONS) {
+                throw new IllegalArgumentException("At most " + MAX_GRID_COMBINATIONS + " parameter combinations");
             }
         }
+    }
 
-        // Calculate statistics
-        return calculateStatistics(trades, request.getInitialCapital(), capital);
+    private SweepEntry evaluatePair(CandleSeries series, double[][] smaByPeriod,
+                                    int fast, int slow, double initialCapital) {
+        CrossoverSimulator.Outcome outcome = CrossoverSimulator.run(
+                series.close(), series.size(), smaByPeriod[fast], smaByPeriod[slow], slow,
+                initialCapital, null, null);
+
+        SweepEntry entry = new SweepEntry();
+        entry.setFastPeriod(fast);
+        entry.setSlowPeriod(slow);
+        entry.setTotalTrades(outcome.trades);
+        entry.setWinningTrades(outcome.winningTrades);
+        entry.setWinRate(outcome.winRate());
+        entry.setProfitFactor(outcome.profitFactor());
+        entry.setReturnPercent(outcome.returnPercent(initialCapital));
+        entry.setFinalCapital(outcome.finalCapital);
+        return entry;
     }
 
-    private BacktestResult calculateStatistics(List<Trade> trades, BigDecimal initialCapital, BigDecimal finalCapital) {
+    ForkJoinPool pool() {
+        return sweepPool;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweepPool.shutdownNow();
+    }
+
+    BacktestResult calculateStatistics(List<Trade> trades, BigDecimal initialCapital, BigDecimal finalCapital) {
         BacktestResult result = new BacktestResult();
         result.setTotalTrades(trades.size());
         result.setInitialCapital(initialCapital);
@@ -87,21 +339,23 @@ public class BacktestService {
                         .multiply(BigDecimal.valueOf(100))
         );
 
-        long winningTrades = trades.stream().filter(t -> t.getPnl().compareTo(BigDecimal.ZERO) > 0).count();
-        result.setWinningTrades((int) winningTrades);
-        result.setLosingTrades(trades.size() - (int) winningTrades);
+        // One pass over the trades
+        int winningTrades = 0;
+        BigDecimal totalProfit = BigDecimal.ZERO;
+        BigDecimal totalLoss = BigDecimal.ZERO;
+        for (Trade trade : trades) {
+            int sign = trade.getPnl().signum();
+            if (sign > 0) {
+                winningTrades++;
+                totalProfit = totalProfit.add(trade.getPnl());
+            } else if (sign < 0) {
+                totalLoss = totalLoss.add(trade.getPnl());
+            }
+        }
+        result.setWinningTrades(winningTrades);
+        result.setLosingTrades(trades.size() - winningTrades);
         result.setWinRate(trades.isEmpty() ? 0.0 : (winningTrades * 100.0) / trades.size());
 
-        BigDecimal totalProfit = trades.stream()
-                .filter(t -> t.getPnl().compareTo(BigDecimal.ZERO) > 0)
-                .map(Trade::getPnl)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalLoss = trades.stream()
-                .filter(t -> t.getPnl().compareTo(BigDecimal.ZERO) < 0)
-                .map(Trade::getPnl)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         result.setProfitFactor(
                 totalLoss.compareTo(BigDecimal.ZERO) == 0 ? BigDecimal.ZERO :
                         totalProfit.divide(totalLoss.abs(), 2, RoundingMode.HALF_UP)
@@ -0,0 +1,89 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+
+/**
+ * Single-pass event loop that feeds every bar of a series to a {@link BarStrategy}.
+ *
+ * Long-only with the same fill model as {@link CrossoverSimulator}: BUY while flat enters with
+ * all capital at the bar close, SELL while long exits at the bar close, a position still open
+ * at the end is left open. The loop works on the primitive columns and does not allocate.
+ */
+final class BarBacktestEngine {
+
+    private BarBacktestEngine() {
+    }
+
+    /**
+     * @param entries optional (nullable) buffer of {@link CrossoverSimulator#maxTrades} slots receiving entry indices
+     * @param exits   optional (nullable) buffer receiving exit indices
+     */
+    static CrossoverSimulator.Outcome run(CandleSeries series, BarStrategy strategy, double initialCapital,
+                                          int[] entries, int[] exits) {
+        return run(series, 0, series.size(), strategy, initialCapital, entries, exits, null);
+    }
+
+    /**
+     * Trade bars [from, to) only. Up to {@link BarStrategy#warmupBars()} bars before {@code from}
+     * are fed first so indicators are warm at the start of the range; their signals are ignored.
+     */
+    static CrossoverSimulator.Outcome run(CandleSeries series, int from, int to, BarStrategy strategy,
+                                          double initialCapital, int[] entries, int[] exits) {
+        return run(series, from, to, strategy, initialCapital, entries, exits, null);
+    }
+
+    /**
+     * @param stats optional (nullable) accumulator receiving mark-to-market equity per bar
+     */
+    static CrossoverSimulator.Outcome run(CandleSeries series, int from, int to, BarStrategy strategy,
+                                          double initialCapital, int[] entries, int[] exits,
+                                          StatisticsAccumulator stats) {
+        long[] time = series.time();
+        double[] open = series.open();
+        double[] high = series.high();
+        double[] low = series.low();
+        double[] close = series.close();
+        long[] volume = series.volume();
+
+        CrossoverSimulator.Outcome o = new CrossoverSimulator.Outcome();
+        double capital = initialCapital;
+        boolean inPosition = false;
+        double entryPrice = 0;
+        double quantity = 0;
+
+        strategy.reset();
+        for (int i = Math.max(0, from - strategy.warmupBars()); i < from; i++) {
+            strategy.onBar(time[i], open[i], high[i], low[i], close[i], volume[i]);
+        }
+        for (int i = from; i < to; i++) {
+            int signal = strategy.onBar(time[i], open[i], high[i], low[i], close[i], volume[i]);
+
+            if (signal == BarStrategy.BUY && !inPosition && capital >= close[i]) {
+                entryPrice = close[i];
+                quantity = Math.floor(capital / entryPrice);
+                inPosition = true;
+                if (entries != null) entries[o.trades] = i;
+            } else if (signal == BarStrategy.SELL && inPosition) {
+                double pnl = (close[i] - entryPrice) * quantity;
+                capital += pnl;
+                if (pnl > 0) {
+                    o.winningTrades++;
+                    o.grossProfit += pnl;
+                } else if (pnl < 0) {
+                    o.grossLoss -= pnl;
+                }
+                if (exits != null) exits[o.trades] = i;
+                o.trades++;
+                inPosition = false;
+            }
+
+            if (stats != null) {
+                stats.onBar(i, inPosition ? capital + (close[i] - entryPrice) * quantity : capital, inPosition);
+            }
+        }
+
+        o.finalCapital = capital;
+        return o;
+    }
+}
@@ -0,0 +1,21 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation for long backtest loops. They run on pool threads that ignore the
+ * job thread's interrupt, so they poll this between units of work instead.
+ */
+@FunctionalInterface
+interface Cancellation {
+
+    Cancellation NONE = () -> false;
+
+    boolean isCancelled();
+
+    default void check() {
+        if (isCancelled()) {
+            throw new CancellationException("Backtest cancelled");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.myorg.trading.service.strategy.backtest;
+
+/**
+ * Allocation-free SMA crossover simulation over primitive columns.
+ * Shared by the single backtest and the parameter sweep; the single backtest
+ * materializes Trade objects from the recorded entry/exit indices afterwards.
+ *
+ * SMAs are compared as unrounded doubles. The original BigDecimal backtest rounded both SMAs to
+ * 2 decimals before comparing, so where they differed by less than a paisa it saw no cross (or a
+ * tie) and this sees one: such near-ties can now fire a bar earlier or later.
+ */
+final class CrossoverSimulator {
+
+    private CrossoverSimulator() {
+    }
+
+    /**
+     * Long-only: enter on bullish cross, exit on bearish cross, any open position is left open.
+     *
+     * @param entries optional (nullable) buffer receiving entry candle indices
+     * @param exits   optional (nullable) buffer receiving exit candle indices
+     */
+    static Outcome run(double[] close, int n, double[] fast, double[] slow, int startIndex,
+                       double initialCapital, int[] entries, int[] exits) {
+        return run(close, n, fast, slow, startIndex, initialCapital, entries, exits, null);
+    }
+
+    /**
+     * @param stats optional (nullable) accumulator receiving mark-to-market equity per bar
+     */
+    static Outcome run(double[] close, int n, double[] fast, double[] slow, int startIndex,
+                       double initialCapital, int[] entries, int[] exits, StatisticsAccumulator stats) {
+        Outcome o = new Outcome();
+        double capital = initialCapital;
+        boolean open = false;
+        double entryPrice = 0;
+        double quantity = 0;
+
+        for (int i = Math.max(1, startIndex); i < n - 1; i++) {
+            double currentFast = fast[i];
+            double currentSlow = slow[i];
+            double prevFast = fast[i - 1];
+            double prevSlow = slow[i - 1];
+            // NaN comparisons are false, so warm-up slots never produce a cross
+            boolean bullishCross = prevFast < prevSlow && currentFast > currentSlow;
+            boolean bearishCross = prevFast > prevSlow && currentFast < currentSlow;
+
+            if (!open && bullishCross) {
+                entryPrice = close[i];
+                quantity = Math.floor(capital / entryPrice);
+                open = true;
+                if (entries != null) entries[o.trades] = i;
+            }
+
+            if (open && bearishCross) {
+                double pnl = (close[i] - entryPrice) * quantity;
+                capital += pnl;
+                if (pnl > 0) {
+                    o.winningTrades++;
+                    o.grossProfit += pnl;
+                } else if (pnl < 0) {
+                    o.grossLoss -= pnl;
+                }
+                if (exits != null) exits[o.trades] = i;
+                o.trades++;
+                open = false;
+            }
+
+            if (stats != null) {
+                stats.onBar(i, open ? capital + (close[i] - entryPrice) * quantity : capital, open);
+            }
+        }
+
+        o.finalCapital = capital;
+        return o;
+    }
+
+    static final byte CROSS_UP = 1;
+    static final byte CROSS_DOWN = -1;
+
+    /**
+     * Record every bullish/bearish crossing (independent of position state) into the buffers.
+     * Used by the portfolio backtest, where entries depend on shared capital.
+     * Buffers need n slots. Returns the number of crossings.
+     */
+    static int crossings(double[] fast, double[] slow, int n, int startIndex, int[] indices, byte[] types) {
+        int count = 0;
+        for (int i = Math.max(1, startIndex); i < n - 1; i++) {
+            if (fast[i - 1] < slow[i - 1] && fast[i] > slow[i]) {
+                indices[count] = i;
+                types[count++] = CROSS_UP;
+            } else if (fast[i - 1] > slow[i - 1] && fast[i] < slow[i]) {
+                indices[count] = i;
+                types[count++] = CROSS_DOWN;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Upper bound on completed trades for a series of n candles (one entry + one exit each).
+     */
+    static int maxTrades(int n) {
+        return n / 2 + 1;
+    }
+
+    static final class Outcome {
+        int trades;
+        int winningTrades;
+        double grossProfit;
+        double grossLoss;   // positive
+        double finalCapital;
+
+        double winRate() {
+            return trades == 0 ? 0.0 : winningTrades * 100.0 / trades;
+        }
+
+        double profitFactor() {
+            return grossLoss == 0 ? 0.0 : grossProfit / grossLoss;
+        }
+
+        double returnPercent(double initialCapital) {
+            return (finalCapital - initialCapital) / initialCapital * 100.0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquityPoint {
+    private Instant time;
+    private double equity;
+}
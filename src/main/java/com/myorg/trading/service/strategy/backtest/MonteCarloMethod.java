@@ -0,0 +1,11 @@
+package com.myorg.trading.service.strategy.backtest;
+
+/**
+ * How trade sequences are resampled for the Monte Carlo stage.
+ */
+public enum MonteCarloMethod {
+    /** Draw trades with replacement: varies both final capital and drawdown. */
+    BOOTSTRAP,
+    /** Shuffle the actual trades: same final capital, varies the path (drawdown, ruin). */
+    PERMUTATION
+}
@@ -0,0 +1,15 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+@Data
+public class MonteCarloResult {
+    private int iterations;
+    private MonteCarloMethod method;
+    private Percentiles finalCapital;
+    private Percentiles maxDrawdownPercent;
+    private double probabilityOfLoss;      // % of paths ending below initial capital
+    private double ruinThresholdPercent;
+    private double riskOfRuin;             // % of paths that lost ruinThresholdPercent of initial capital
+    private long elapsedMillis;
+}
@@ -0,0 +1,101 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Resamples a sequence of per-trade returns into many equity paths.
+ *
+ * Trades are compounded as fractional returns (pnl / capital before the trade), matching the
+ * backtests' all-in position sizing. Iterations are split into fixed chunks; every chunk gets
+ * its own SplittableRandom split from the seed up front, so results do not depend on how the
+ * pool schedules chunks. Each chunk works on primitive scratch arrays only.
+ */
+final class MonteCarloSimulator {
+
+    private static final int CHUNK = 4096;
+
+    private MonteCarloSimulator() {
+    }
+
+    static MonteCarloResult run(double[] returns, double initialCapital, int iterations, MonteCarloMethod method,
+                                double ruinThresholdPercent, long seed, ForkJoinPool pool,
+                                Cancellation cancellation, Progress progress) {
+        long started = System.nanoTime();
+        int chunks = (iterations + CHUNK - 1) / CHUNK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        double[] finals = new double[iterations];
+        double[] drawdowns = new double[iterations];
+        int[] ruined = new int[chunks];
+        AtomicInteger done = new AtomicInteger();
+        double ruinEquity = initialCapital * (1 - ruinThresholdPercent / 100.0);
+
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            cancellation.check();
+            SplittableRandom random = randoms[c];
+            int m = returns.length;
+            double[] path = method == MonteCarloMethod.PERMUTATION ? returns.clone() : null;
+            int end = Math.min(iterations, (c + 1) * CHUNK);
+
+            for (int it = c * CHUNK; it < end; it++) {
+                if (path != null) {
+                    // Fisher-Yates, continuing from the previous permutation
+                    for (int i = m - 1; i > 0; i--) {
+                        int j = random.nextInt(i + 1);
+                        double tmp = path[i];
+                        path[i] = path[j];
+                        path[j] = tmp;
+                    }
+                }
+
+                double equity = initialCapital;
+                double peak = equity;
+                double maxDrawdown = 0;
+                boolean ruin = false;
+                for (int t = 0; t < m; t++) {
+                    double r = path != null ? path[t] : returns[random.nextInt(m)];
+                    equity *= 1 + r;
+                    if (equity > peak) {
+                        peak = equity;
+                    } else if (peak > 0) {
+                        double dd = (peak - equity) / peak;
+                        if (dd > maxDrawdown) maxDrawdown = dd;
+                    }
+                    if (equity <= ruinEquity) ruin = true;
+                }
+                finals[it] = equity;
+                drawdowns[it] = maxDrawdown * 100.0;
+                if (ruin) ruined[c]++;
+            }
+            progress.report(done.incrementAndGet() * 100.0 / chunks);
+        })).join();
+
+        int losses = 0;
+        for (double f : finals) {
+            if (f < initialCapital) losses++;
+        }
+        int ruinedTotal = Arrays.stream(ruined).sum();
+
+        Arrays.parallelSort(finals);
+        Arrays.parallelSort(drawdowns);
+
+        MonteCarloResult result = new MonteCarloResult();
+        result.setIterations(iterations);
+        result.setMethod(method);
+        result.setFinalCapital(Percentiles.of(finals));
+        result.setMaxDrawdownPercent(Percentiles.of(drawdowns));
+        result.setProbabilityOfLoss(iterations == 0 ? 0.0 : losses * 100.0 / iterations);
+        result.setRuinThresholdPercent(ruinThresholdPercent);
+        result.setRiskOfRuin(iterations == 0 ? 0.0 : ruinedTotal * 100.0 / iterations);
+        result.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inclusive integer parameter range used by sweeps, e.g. {from: 5, to: 50, step: 5}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParamRange {
+    private int from;
+    private int to;
+    private int step = 1;
+
+    /** Number of values, without materializing them. */
+    public long count() {
+        if (step <= 0 || to < from) {
+            throw new IllegalArgumentException("Invalid range: " + from + ".." + to + " step " + step);
+        }
+        return ((long) to - from) / step + 1;
+    }
+
+    public int[] values() {
+        int[] values = new int[(int) count()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+}
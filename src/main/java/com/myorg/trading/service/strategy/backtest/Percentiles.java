@@ -0,0 +1,31 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+@Data
+public class Percentiles {
+    private double p5;
+    private double p25;
+    private double p50;
+    private double p75;
+    private double p95;
+
+    /**
+     * Nearest-rank percentiles of an ascending array.
+     */
+    static Percentiles of(double[] sorted) {
+        Percentiles p = new Percentiles();
+        p.setP5(rank(sorted, 5));
+        p.setP25(rank(sorted, 25));
+        p.setP50(rank(sorted, 50));
+        p.setP75(rank(sorted, 75));
+        p.setP95(rank(sorted, 95));
+        return p;
+    }
+
+    private static double rank(double[] sorted, int percentile) {
+        if (sorted.length == 0) return Double.NaN;
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,20 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class PortfolioBacktestRequest {
+    private List<String> symbols;
+    private String interval;
+    private int candleCount;
+    private BigDecimal initialCapital;
+    private int fastPeriod;
+    private int slowPeriod;
+    // Share of current equity committed to each new position
+    private double allocationPercent = 10.0;
+    // 0 = limited only by available cash
+    private int maxOpenPositions;
+}
@@ -0,0 +1,16 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class PortfolioBacktestResult {
+    // Shared-capital ledger over all symbols; open positions are marked to the last close
+    private BacktestResult aggregate;
+    private Map<String, BacktestResult> perSymbol;
+    private List<String> failedSymbols;
+    private int openPositions;
+    private long elapsedMillis;
+}
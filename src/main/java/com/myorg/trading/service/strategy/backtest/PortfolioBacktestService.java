@@ -0,0 +1,270 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.indicators.TechnicalIndicators;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SMA crossover over a basket of symbols with one shared capital ledger.
+ *
+ * 1. Candles for every symbol are loaded concurrently (broker calls are blocking).
+ * 2. Indicators and crossings are computed per symbol in parallel.
+ * 3. Crossings are k-way merged in timestamp order into a single cash/position ledger.
+ * Only step 3 is sequential and it is O(signals * log symbols).
+ */
+@Service
+@Slf4j
+public class PortfolioBacktestService {
+
+    private static final int LOADER_THREADS = 16;
+    static final int MAX_SYMBOLS = 200;
+    private static final int CANCEL_CHECK_MASK = (1 << 12) - 1;
+
+    private final BacktestService backtestService;
+    private final TechnicalIndicators indicators;
+    private final MarketDataFetcher dataFetcher;
+    private final ExecutorService loaderPool = Executors.newFixedThreadPool(LOADER_THREADS);
+
+    public PortfolioBacktestService(BacktestService backtestService,
+                                    TechnicalIndicators indicators,
+                                    MarketDataFetcher dataFetcher) {
+        this.backtestService = backtestService;
+        this.indicators = indicators;
+        this.dataFetcher = dataFetcher;
+    }
+
+    public PortfolioBacktestResult runPortfolioBacktest(Long userId, PortfolioBacktestRequest request) {
+        return runPortfolioBacktest(userId, request, Cancellation.NONE, Progress.NONE);
+    }
+
+    /**
+     * Progress follows the loads, which dominate; signals and the ledger take the last 10%.
+     */
+    PortfolioBacktestResult runPortfolioBacktest(Long userId, PortfolioBacktestRequest request,
+                                                 Cancellation cancellation, Progress progress) {
+        if (request.getSymbols() == null || request.getSymbols().isEmpty()) {
+            throw new IllegalArgumentException("At least one symbol is required");
+        }
+        long started = System.nanoTime();
+        List<String> symbols = request.getSymbols().stream().distinct().toList();
+        // Every symbol is a broker fetch on the shared loader pool
+        if (symbols.size() > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("At most " + MAX_SYMBOLS + " symbols per portfolio backtest");
+        }
+        BacktestService.checkGrid(request.getCandleCount(),
+                new ParamRange(request.getFastPeriod(), request.getFastPeriod(), 1),
+                new ParamRange(request.getSlowPeriod(), request.getSlowPeriod(), 1));
+
+        // 1. Concurrent load
+        Map<String, CompletableFuture<List<OHLCV>>> loads = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            loads.put(symbol, CompletableFuture.supplyAsync(() -> dataFetcher.fetchHistoricalData(
+                    userId, symbol, request.getInterval(), request.getCandleCount()), loaderPool));
+        }
+
+        List<SymbolBook> books = new ArrayList<>(symbols.size());
+        List<String> failed = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<List<OHLCV>>> load : loads.entrySet()) {
+            if (cancellation.isCancelled()) {
+                loads.values().forEach(pending -> pending.cancel(true));
+                cancellation.check();
+            }
+            try {
+                List<OHLCV> candles = load.getValue().join();
+                if (candles != null && !candles.isEmpty()) {
+                    books.add(new SymbolBook(books.size(), load.getKey(), candles));
+                } else {
+                    log.warn("Portfolio backtest: no candles for {}", load.getKey());
+                    failed.add(load.getKey());
+                }
+            } catch (Exception e) {
+                log.warn("Portfolio backtest: failed to load {}: {}", load.getKey(), e.getMessage());
+                failed.add(load.getKey());
+            }
+            progress.report((books.size() + failed.size()) * 90.0 / symbols.size());
+        }
+
+        // 2. Per-symbol signals in parallel
+        backtestService.pool().submit(() -> books.parallelStream()
+                .forEach(book -> {
+                    cancellation.check();
+                    book.computeSignals(request.getFastPeriod(), request.getSlowPeriod());
+                })).join();
+        progress.report(95);
+
+        // 3. Timestamp-ordered shared ledger
+        PortfolioBacktestResult result = runLedger(books, request, cancellation);
+        result.setFailedSymbols(failed);
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        log.info("Portfolio backtest over {} symbols ({} failed): {} trades in {} ms",
+                books.size(), failed.size(), result.getAggregate().getTotalTrades(), result.getElapsedMillis());
+        return result;
+    }
+
+    private PortfolioBacktestResult runLedger(List<SymbolBook> books, PortfolioBacktestRequest request,
+                                              Cancellation cancellation) {
+        double initialCapital = request.getInitialCapital().doubleValue();
+        double allocation = request.getAllocationPercent() / 100.0;
+        int maxOpen = request.getMaxOpenPositions() > 0 ? request.getMaxOpenPositions() : Integer.MAX_VALUE;
+
+        double cash = initialCapital;
+        double committed = 0; // cost basis of open positions
+        int openPositions = 0;
+
+        // Exits before entries at the same timestamp so freed cash can be reused
+        PriorityQueue<SymbolBook> queue = new PriorityQueue<>(Math.max(1, books.size()),
+                Comparator.comparingLong(SymbolBook::nextTime)
+                        .thenComparingInt(SymbolBook::nextType)
+                        .thenComparingInt(b -> b.ordinal));
+        for (SymbolBook book : books) {
+            if (book.hasNext()) queue.add(book);
+        }
+
+        List<Trade> allTrades = new ArrayList<>();
+        long steps = 0;
+        while (!queue.isEmpty()) {
+            if ((steps++ & CANCEL_CHECK_MASK) == 0) cancellation.check();
+            SymbolBook book = queue.poll();
+            int idx = book.signalIndex[book.cursor];
+            byte type = book.signalType[book.cursor];
+            double price = book.series.closeAt(idx);
+
+            if (type == CrossoverSimulator.CROSS_UP && book.quantity == 0 && openPositions < maxOpen) {
+                double budget = Math.min(cash, (cash + committed) * allocation);
+                double quantity = Math.floor(budget / price);
+                if (quantity >= 1) {
+                    book.quantity = quantity;
+                    book.entryIndex = idx;
+                    cash -= quantity * price;
+                    committed += quantity * price;
+                    openPositions++;
+                }
+            } else if (type == CrossoverSimulator.CROSS_DOWN && book.quantity > 0) {
+                double cost = book.quantity * book.series.closeAt(book.entryIndex);
+                cash += book.quantity * price;
+                committed -= cost;
+                openPositions--;
+
+                Trade trade = book.closeTrade(idx);
+                book.trades.add(trade);
+                allTrades.add(trade);
+            }
+
+            book.cursor++;
+            if (book.hasNext()) queue.add(book);
+        }
+
+        // Mark remaining positions to their last close
+        double equity = cash;
+        for (SymbolBook book : books) {
+            if (book.quantity > 0) {
+                equity += book.quantity * book.series.closeAt(book.series.size() - 1);
+            }
+        }
+
+        PortfolioBacktestResult result = new PortfolioBacktestResult();
+        result.setAggregate(backtestService.calculateStatistics(allTrades, request.getInitialCapital(),
+                BigDecimal.valueOf(equity).setScale(2, RoundingMode.HALF_UP)));
+        result.setOpenPositions(openPositions);
+
+        BigDecimal notional = request.getInitialCapital()
+                .multiply(BigDecimal.valueOf(allocation))
+                .setScale(2, RoundingMode.HALF_UP);
+        if (notional.signum() == 0) {
+            notional = request.getInitialCapital();
+        }
+        Map<String, BacktestResult> perSymbol = new LinkedHashMap<>();
+        for (SymbolBook book : books) {
+            BigDecimal pnl = book.trades.stream().map(Trade::getPnl).reduce(BigDecimal.ZERO, BigDecimal::add);
+            perSymbol.put(book.symbol, backtestService.calculateStatistics(book.trades, notional, notional.add(pnl)));
+        }
+        result.setPerSymbol(perSymbol);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaderPool.shutdownNow();
+    }
+
+    /**
+     * Per-symbol columns, crossing signals and ledger position. Signals are written by one
+     * parallel task; the ledger fields are only touched by the sequential merge.
+     */
+    private final class SymbolBook {
+        final int ordinal;
+        final String symbol;
+        final List<OHLCV> candles;
+        final CandleSeries series;
+        int[] signalIndex;
+        byte[] signalType;
+        int signalCount;
+        int cursor;
+
+        double quantity;
+        int entryIndex;
+        final List<Trade> trades = new ArrayList<>();
+
+        SymbolBook(int ordinal, String symbol, List<OHLCV> candles) {
+            this.ordinal = ordinal;
+            this.symbol = symbol;
+            this.candles = candles;
+            this.series = CandleSeries.of(candles);
+        }
+
+        void computeSignals(int fastPeriod, int slowPeriod) {
+            int n = series.size();
+            double[] fast = indicators.sma(series, fastPeriod);
+            double[] slow = indicators.sma(series, slowPeriod);
+            signalIndex = new int[n];
+            signalType = new byte[n];
+            signalCount = CrossoverSimulator.crossings(fast, slow, n, slowPeriod, signalIndex, signalType);
+        }
+
+        boolean hasNext() {
+            return cursor < signalCount;
+        }
+
+        long nextTime() {
+            return series.timeAt(signalIndex[cursor]);
+        }
+
+        int nextType() {
+            return signalType[cursor]; // CROSS_DOWN (-1) sorts before CROSS_UP (1)
+        }
+
+        Trade closeTrade(int exitIndex) {
+            OHLCV entry = candles.get(entryIndex);
+            OHLCV exit = candles.get(exitIndex);
+            Trade trade = new Trade();
+            trade.setSymbol(symbol);
+            trade.setEntryTime(entry.getTimestamp());
+            trade.setEntryPrice(entry.getClose());
+            trade.setQuantity(BigDecimal.valueOf((long) quantity));
+            trade.setSide("BUY");
+            trade.setExitTime(exit.getTimestamp());
+            trade.setExitPrice(exit.getClose());
+            trade.calculatePnL();
+            quantity = 0;
+            return trade;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.myorg.trading.service.strategy.backtest;
+
+/**
+ * Progress callback for long backtests, as a percentage (0..100) of the work done. Parallel loops
+ * may report out of order, so receivers should ignore values that go backwards.
+ */
+@FunctionalInterface
+interface Progress {
+
+    Progress NONE = percent -> {
+    };
+
+    void report(double percent);
+
+    /**
+     * Maps this callback onto the {@code from..to} slice of the parent's range.
+     */
+    default Progress slice(double from, double to) {
+        return percent -> report(from + (to - from) * percent / 100.0);
+    }
+}
@@ -0,0 +1,152 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-bar equity statistics in O(1) time and primitive state.
+ *
+ * - Running peak and max drawdown (absolute and percent of peak).
+ * - Welford mean/variance of bar returns for Sharpe, downside sum of squares for Sortino.
+ * - Exposure as the share of bars spent in a position.
+ * - Equity curve kept in a fixed-size buffer: when full, every other point is dropped and the
+ *   sampling stride doubles, so memory stays bounded however long the backtest is.
+ */
+final class StatisticsAccumulator {
+
+    private final int[] curveIndex;
+    private final double[] curveEquity;
+    private int curveSize;
+    private long stride = 1;
+
+    private long bars;
+    private long barsInPosition;
+    private double previousEquity;
+    private double peak;
+    private double maxDrawdown;
+    private double maxDrawdownPercent;
+
+    private long returns;
+    private double mean;
+    private double m2;
+    private double downsideSquares;
+
+    private int lastIndex = -1;
+    private double lastEquity;
+
+    StatisticsAccumulator(double initialEquity, int maxCurvePoints) {
+        if (maxCurvePoints < 2) {
+            throw new IllegalArgumentException("Equity curve needs at least 2 points");
+        }
+        this.curveIndex = new int[maxCurvePoints];
+        this.curveEquity = new double[maxCurvePoints];
+        this.previousEquity = initialEquity;
+        this.peak = initialEquity;
+    }
+
+    /**
+     * @param index  bar index in the series (resolved to a timestamp when the curve is built)
+     * @param equity cash plus open position marked to the bar close
+     */
+    void onBar(int index, double equity, boolean inPosition) {
+        double r = previousEquity != 0 ? equity / previousEquity - 1 : 0;
+        returns++;
+        double delta = r - mean;
+        mean += delta / returns;
+        m2 += delta * (r - mean);
+        if (r < 0) downsideSquares += r * r;
+        previousEquity = equity;
+
+        if (equity > peak) {
+            peak = equity;
+        } else {
+            double drawdown = peak - equity;
+            if (drawdown > maxDrawdown) maxDrawdown = drawdown;
+            if (peak > 0 && drawdown / peak * 100.0 > maxDrawdownPercent) maxDrawdownPercent = drawdown / peak * 100.0;
+        }
+        if (inPosition) barsInPosition++;
+
+        if (bars % stride == 0) {
+            if (curveSize == curveIndex.length) compact();
+            if (bars % stride == 0) {
+                curveIndex[curveSize] = index;
+                curveEquity[curveSize++] = equity;
+            }
+        }
+        bars++;
+        lastIndex = index;
+        lastEquity = equity;
+    }
+
+    // Keep every other point (multiples of 2 * stride), halving the buffer
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < curveSize; i += 2) {
+            curveIndex[kept] = curveIndex[i];
+            curveEquity[kept++] = curveEquity[i];
+        }
+        curveSize = kept;
+        stride *= 2;
+    }
+
+    long bars() { return bars; }
+
+    double maxDrawdown() { return maxDrawdown; }
+
+    double maxDrawdownPercent() { return maxDrawdownPercent; }
+
+    double exposurePercent() {
+        return bars == 0 ? 0.0 : barsInPosition * 100.0 / bars;
+    }
+
+    double sharpe(double periodsPerYear) {
+        if (returns < 2) return 0.0;
+        double std = Math.sqrt(m2 / (returns - 1));
+        return std == 0 ? 0.0 : mean / std * Math.sqrt(periodsPerYear);
+    }
+
+    double sortino(double periodsPerYear) {
+        if (returns < 2) return 0.0;
+        double downside = Math.sqrt(downsideSquares / returns);
+        return downside == 0 ? 0.0 : mean / downside * Math.sqrt(periodsPerYear);
+    }
+
+    /**
+     * Sampled curve plus the final bar.
+     */
+    List<EquityPoint> equityCurve(long[] time) {
+        List<EquityPoint> curve = new ArrayList<>(curveSize + 1);
+        for (int i = 0; i < curveSize; i++) {
+            curve.add(new EquityPoint(Instant.ofEpochMilli(time[curveIndex[i]]), curveEquity[i]));
+        }
+        if (lastIndex >= 0 && (curveSize == 0 || curveIndex[curveSize - 1] != lastIndex)) {
+            curve.add(new EquityPoint(Instant.ofEpochMilli(time[lastIndex]), lastEquity));
+        }
+        return curve;
+    }
+
+    void applyTo(BacktestResult result, long[] time, String interval) {
+        double periodsPerYear = periodsPerYear(interval);
+        result.setMaxDrawdown(maxDrawdown);
+        result.setMaxDrawdownPercent(maxDrawdownPercent);
+        result.setSharpeRatio(sharpe(periodsPerYear));
+        result.setSortinoRatio(sortino(periodsPerYear));
+        result.setExposurePercent(exposurePercent());
+        result.setEquityCurve(equityCurve(time));
+    }
+
+    /**
+     * Bars per year on NSE (252 sessions of 09:15-15:30).
+     */
+    static double periodsPerYear(String interval) {
+        double sessionMinutes = 375;
+        return switch (interval == null ? "" : interval.toUpperCase()) {
+            case "1M", "ONE_MINUTE" -> 252 * sessionMinutes;
+            case "5M", "FIVE_MINUTE" -> 252 * sessionMinutes / 5;
+            case "15M", "FIFTEEN_MINUTE" -> 252 * sessionMinutes / 15;
+            case "1H", "ONE_HOUR" -> 252 * Math.ceil(sessionMinutes / 60);
+            default -> 252;
+        };
+    }
+}
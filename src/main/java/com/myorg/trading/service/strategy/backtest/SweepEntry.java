@@ -0,0 +1,19 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+/**
+ * One grid point of a sweep. Metrics are kept as primitives; only the
+ * single-run backtest builds full Trade lists.
+ */
+@Data
+public class SweepEntry {
+    private int fastPeriod;
+    private int slowPeriod;
+    private int totalTrades;
+    private int winningTrades;
+    private double winRate;
+    private double returnPercent;
+    private double profitFactor;
+    private double finalCapital;
+}
@@ -0,0 +1,26 @@
+package com.myorg.trading.service.strategy.backtest;
+
+/**
+ * Ranking metric for parameter sweeps (higher is better).
+ */
+public enum SweepMetric {
+    RETURN,
+    PROFIT_FACTOR,
+    WIN_RATE;
+
+    double score(SweepEntry entry) {
+        return switch (this) {
+            case RETURN -> entry.getReturnPercent();
+            case PROFIT_FACTOR -> entry.getProfitFactor();
+            case WIN_RATE -> entry.getWinRate();
+        };
+    }
+
+    double scoreOutcome(CrossoverSimulator.Outcome outcome, double initialCapital) {
+        return switch (this) {
+            case RETURN -> outcome.returnPercent(initialCapital);
+            case PROFIT_FACTOR -> outcome.profitFactor();
+            case WIN_RATE -> outcome.winRate();
+        };
+    }
+}
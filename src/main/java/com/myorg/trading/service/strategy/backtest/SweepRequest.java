@@ -0,0 +1,17 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class SweepRequest {
+    private String symbol;
+    private String interval;
+    private int candleCount;
+    private BigDecimal initialCapital;
+    private ParamRange fastPeriod;
+    private ParamRange slowPeriod;
+    private SweepMetric rankBy = SweepMetric.RETURN;
+    private int limit = 20; // top N results returned, <= 0 for all
+}
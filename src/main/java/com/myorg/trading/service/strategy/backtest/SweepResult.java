@@ -0,0 +1,16 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SweepResult {
+    private String symbol;
+    private String interval;
+    private int candles;
+    private int combinations;
+    private SweepMetric rankBy;
+    private long elapsedMillis;
+    private List<SweepEntry> results;
+}
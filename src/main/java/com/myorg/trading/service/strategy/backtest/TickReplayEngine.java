@@ -0,0 +1,196 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.myorg.trading.service.strategy.data.BarBuilder;
+import com.myorg.trading.service.strategy.data.TickFile;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.impl.SMACrossoverStrategy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Replays recorded ticks through the live bar path: ticks are folded into bars by a
+ * {@link BarBuilder} and each completed bar is handed to the {@link BarStrategy}.
+ *
+ * Fill model (long-only, all capital per entry):
+ * - A BUY/SELL signal on a completed bar fills at the first tick of the next bar (ask/bid when
+ *   recorded, otherwise last).
+ * - On entry, stop and target levels come from SMACrossoverStrategy's helpers; every later tick
+ *   is checked against them, so exits happen inside the bar at the tick that crosses the level.
+ * - A position still open at the end is left open.
+ *
+ * Strategies see time only through bar timestamps. With speed 0 ticks are processed as fast as
+ * they are read; otherwise the loop sleeps to keep tick time at {@code speed} times wall time.
+ * Cancellation is polled every few thousand ticks and at least every {@link #PACE_SLICE_NANOS}
+ * while pacing, so a cancelled replay stops promptly without relying on interrupts.
+ */
+final class TickReplayEngine {
+
+    static final String SIGNAL = "SIGNAL";
+    static final String STOP_LOSS = "STOP_LOSS";
+    static final String TARGET = "TARGET";
+
+    private static final int CHECK_MASK = (1 << 12) - 1;
+    static final long PACE_SLICE_NANOS = 100_000_000L;
+
+    private final long intervalMillis;
+    private final double stopLossPercent;
+    private final double targetPercent;
+    private final double speed;
+
+    static final class Run {
+        final List<Trade> trades = new ArrayList<>();
+        long[] barTimes = new long[1024];
+        double finalCapital;
+        long ticks;
+        int bars;
+        int stopLossExits;
+        int targetExits;
+    }
+
+    TickReplayEngine(long intervalMillis, double stopLossPercent, double targetPercent,
+                     double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Speed must be 0 (maximum) or positive: " + speed);
+        }
+        this.intervalMillis = intervalMillis;
+        this.stopLossPercent = stopLossPercent;
+        this.targetPercent = targetPercent;
+        this.speed = speed;
+    }
+
+    /**
+     * @param stats    optional (nullable) accumulator receiving mark-to-market equity per completed bar
+     * @param tickTime receives the current tick time along with each cancellation check
+     */
+    Run run(TickFile.Reader ticks, BarStrategy strategy, String symbol, double initialCapital,
+            StatisticsAccumulator stats, Cancellation cancellation, LongConsumer tickTime) throws IOException {
+        Run run = new Run();
+        BarBuilder bars = new BarBuilder(intervalMillis);
+        strategy.reset();
+
+        double capital = initialCapital;
+        boolean inPosition = false;
+        double entryPrice = 0;
+        double quantity = 0;
+        long entryTime = 0;
+        double stop = Double.NEGATIVE_INFINITY;
+        double target = Double.POSITIVE_INFINITY;
+
+        long firstTime = Long.MIN_VALUE;
+        long wallStart = 0;
+
+        while (ticks.next()) {
+            long time = ticks.time();
+            double last = ticks.last();
+            if ((run.ticks++ & CHECK_MASK) == 0) {
+                cancellation.check();
+                tickTime.accept(time);
+            }
+            if (speed > 0) {
+                if (firstTime == Long.MIN_VALUE) {
+                    firstTime = time;
+                    wallStart = System.nanoTime();
+                }
+                pace(wallStart + (long) ((time - firstTime) * 1_000_000.0 / speed), cancellation);
+            }
+
+            boolean entered = false;
+            if (bars.update(time, last, ticks.volume())) {
+                double close = bars.barClose();
+                completeBar(run, bars.barTime(), stats,
+                        inPosition ? capital + (close - entryPrice) * quantity : capital, inPosition);
+
+                int signal = strategy.onBar(bars.barTime(), bars.barOpen(), bars.barHigh(), bars.barLow(),
+                        close, bars.barVolume());
+                if (signal == BarStrategy.BUY && !inPosition) {
+                    double price = ticks.ask() > 0 ? ticks.ask() : last;
+                    quantity = Math.floor(capital / price);
+                    if (quantity > 0) {
+                        entryPrice = price;
+                        entryTime = time;
+                        inPosition = true;
+                        entered = true;
+                        BigDecimal p = BigDecimal.valueOf(price);
+                        stop = stopLossPercent > 0
+                                ? SMACrossoverStrategy.calculateStopLoss(p, stopLossPercent, true).doubleValue()
+                                : Double.NEGATIVE_INFINITY;
+                        target = targetPercent > 0
+                                ? SMACrossoverStrategy.calculateTarget(p, targetPercent, true).doubleValue()
+                                : Double.POSITIVE_INFINITY;
+                    }
+                } else if (signal == BarStrategy.SELL && inPosition) {
+                    capital += exit(run, symbol, entryTime, entryPrice, quantity, time, sellPrice(ticks), SIGNAL);
+                    inPosition = false;
+                }
+            }
+
+            if (inPosition && !entered) {
+                boolean stopped = last <= stop;
+                if (stopped || last >= target) {
+                    capital += exit(run, symbol, entryTime, entryPrice, quantity, time, sellPrice(ticks),
+                            stopped ? STOP_LOSS : TARGET);
+                    inPosition = false;
+                    if (stopped) run.stopLossExits++;
+                    else run.targetExits++;
+                }
+            }
+        }
+
+        // The last bar has no following tick to fill at, so only its equity is recorded
+        if (bars.flush()) {
+            double close = bars.barClose();
+            completeBar(run, bars.barTime(), stats,
+                    inPosition ? capital + (close - entryPrice) * quantity : capital, inPosition);
+        }
+        run.finalCapital = capital;
+        return run;
+    }
+
+    private static void completeBar(Run run, long barTime, StatisticsAccumulator stats,
+                                    double equity, boolean inPosition) {
+        if (run.bars == run.barTimes.length) {
+            run.barTimes = Arrays.copyOf(run.barTimes, run.bars * 2);
+        }
+        run.barTimes[run.bars] = barTime;
+        if (stats != null) {
+            stats.onBar(run.bars, equity, inPosition);
+        }
+        run.bars++;
+    }
+
+    private static double sellPrice(TickFile.Reader ticks) {
+        return ticks.bid() > 0 ? ticks.bid() : ticks.last();
+    }
+
+    private static double exit(Run run, String symbol, long entryTime, double entryPrice, double quantity,
+                               long exitTime, double exitPrice, String reason) {
+        Trade trade = new Trade();
+        trade.setSymbol(symbol);
+        trade.setSide("BUY");
+        trade.setEntryTime(Instant.ofEpochMilli(entryTime));
+        trade.setEntryPrice(BigDecimal.valueOf(entryPrice));
+        trade.setQuantity(BigDecimal.valueOf((long) quantity));
+        trade.setExitTime(Instant.ofEpochMilli(exitTime));
+        trade.setExitPrice(BigDecimal.valueOf(exitPrice));
+        trade.setExitReason(reason);
+        trade.calculatePnL();
+        run.trades.add(trade);
+        return (exitPrice - entryPrice) * quantity;
+    }
+
+    // Sleep until the wall-clock deadline (nanoTime) for the current tick
+    private static void pace(long deadline, Cancellation cancellation) {
+        long wait;
+        while ((wait = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(wait, PACE_SLICE_NANOS));
+            cancellation.check();
+        }
+    }
+}
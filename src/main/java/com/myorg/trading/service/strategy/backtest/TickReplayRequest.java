@@ -0,0 +1,28 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class TickReplayRequest {
+    private String symbol;       // instrument token the ticks were recorded under
+    private LocalDate from;      // IST trading days, inclusive
+    private LocalDate to;
+    private String interval = "1M"; // bar size fed to the strategy
+
+    private String templateId;
+    private JsonNode params;
+    private BigDecimal initialCapital;
+
+    // Intrabar exits, same percentages as the live SMA crossover params (<= 0 disables)
+    private double stopLossPercent = 2.0;
+    private double targetPercent = 4.0;
+
+    // 0 = as fast as possible; otherwise ticks are paced at this multiple of their recorded spacing
+    // (jobs only). Either way strategies see time only through bar timestamps.
+    private double speed;
+    private int equityCurvePoints = 500;
+}
@@ -0,0 +1,14 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+@Data
+public class TickReplayResult {
+    private BacktestResult result;
+    private long ticks;
+    private long bars;
+    private int stopLossExits;
+    private int targetExits;
+    private long elapsedMillis;
+    private double ticksPerSecond;
+}
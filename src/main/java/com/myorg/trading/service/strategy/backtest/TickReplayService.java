@@ -0,0 +1,87 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.myorg.trading.service.strategy.data.NseSession;
+import com.myorg.trading.service.strategy.data.TickFile;
+import com.myorg.trading.service.strategy.data.TickStore;
+import com.myorg.trading.service.strategy.engine.BarStrategies;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Tick-level backtests over ticks recorded by {@link TickStore}.
+ */
+@Service
+@Slf4j
+public class TickReplayService {
+
+    private final TickStore tickStore;
+    private final BacktestService backtestService;
+
+    public TickReplayService(TickStore tickStore, BacktestService backtestService) {
+        this.tickStore = tickStore;
+        this.backtestService = backtestService;
+    }
+
+    public TickReplayResult replay(TickReplayRequest request) {
+        return replay(request, Cancellation.NONE, Progress.NONE);
+    }
+
+    /**
+     * Progress is the tick time's position between the first session's open and the last close.
+     */
+    TickReplayResult replay(TickReplayRequest request, Cancellation cancellation, Progress progress) {
+        if (request.getFrom() == null || request.getTo() == null || request.getTo().isBefore(request.getFrom())) {
+            throw new IllegalArgumentException("A from/to day range is required");
+        }
+        if (request.getInitialCapital() == null || request.getInitialCapital().signum() <= 0) {
+            throw new IllegalArgumentException("Initial capital must be positive");
+        }
+        BarStrategy strategy = BarStrategies.create(request.getTemplateId(), request.getParams());
+        TickReplayEngine engine = new TickReplayEngine(NseSession.intervalMillis(request.getInterval()),
+                request.getStopLossPercent(), request.getTargetPercent(), request.getSpeed());
+        StatisticsAccumulator stats = new StatisticsAccumulator(request.getInitialCapital().doubleValue(),
+                Math.max(2, Math.min(BacktestService.MAX_EQUITY_CURVE_POINTS, request.getEquityCurvePoints())));
+
+        long sessionsStart = sessionMillis(request.getFrom(), NseSession.OPEN_MINUTE);
+        double sessionsSpan = Math.max(1, sessionMillis(request.getTo(), NseSession.CLOSE_MINUTE) - sessionsStart);
+
+        long started = System.nanoTime();
+        TickReplayEngine.Run run;
+        try (TickFile.Reader ticks = tickStore.open(request.getSymbol(), request.getFrom(), request.getTo())) {
+            run = engine.run(ticks, strategy, request.getSymbol(),
+                    request.getInitialCapital().doubleValue(), stats, cancellation,
+                    time -> progress.report(Math.min(100, Math.max(0, (time - sessionsStart) * 100.0 / sessionsSpan))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read ticks for " + request.getSymbol(), e);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        BigDecimal capital = request.getInitialCapital();
+        for (Trade trade : run.trades) {
+            capital = capital.add(trade.getPnl());
+        }
+        BacktestResult result = backtestService.calculateStatistics(run.trades, request.getInitialCapital(), capital);
+        stats.applyTo(result, run.barTimes, request.getInterval());
+
+        TickReplayResult replay = new TickReplayResult();
+        replay.setResult(result);
+        replay.setTicks(run.ticks);
+        replay.setBars(run.bars);
+        replay.setStopLossExits(run.stopLossExits);
+        replay.setTargetExits(run.targetExits);
+        replay.setElapsedMillis(elapsedMillis);
+        replay.setTicksPerSecond(elapsedMillis == 0 ? run.ticks * 1000.0 : run.ticks * 1000.0 / elapsedMillis);
+        log.info("Replayed {} ticks ({} bars) of {} in {} ms", run.ticks, run.bars, request.getSymbol(), elapsedMillis);
+        return replay;
+    }
+
+    private static long sessionMillis(LocalDate day, int minuteOfDay) {
+        return day.toEpochDay() * NseSession.MILLIS_PER_DAY + minuteOfDay * 60_000L - NseSession.IST_OFFSET_MILLIS;
+    }
+}
@@ -6,7 +6,8 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Data
-class Trade {
+public class Trade {
+    private String symbol;
     private Instant entryTime;
     private Instant exitTime;
     private BigDecimal entryPrice;
@@ -14,6 +15,7 @@ class Trade {
     private BigDecimal quantity;
     private String side;
     private BigDecimal pnl;
+    private String exitReason; // tick replay only: SIGNAL, STOP_LOSS, TARGET
 
     public void calculatePnL() {
         if ("BUY".equals(side)) {
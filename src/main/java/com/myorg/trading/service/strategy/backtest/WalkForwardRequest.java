@@ -0,0 +1,37 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rolling in-sample / out-of-sample optimization. Window sizes are in bars.
+ *
+ * Without a template the fast/slow SMA crossover is optimized over fastPeriod/slowPeriod.
+ * With a template (templateId, or the template and base params of an existing strategy via
+ * strategyId) every entry in paramRanges is optimized on top of the base params.
+ */
+@Data
+public class WalkForwardRequest {
+    private String symbol;
+    private String interval;
+    private int candleCount;
+    private BigDecimal initialCapital;
+
+    private int inSampleBars;
+    private int outOfSampleBars;
+    private int stepBars; // defaults to outOfSampleBars (non-overlapping out-of-sample windows)
+
+    private ParamRange fastPeriod;
+    private ParamRange slowPeriod;
+
+    private Long strategyId;
+    private String templateId;
+    private JsonNode params;
+    private Map<String, ParamRange> paramRanges = new LinkedHashMap<>();
+
+    private SweepMetric rankBy = SweepMetric.RETURN;
+}
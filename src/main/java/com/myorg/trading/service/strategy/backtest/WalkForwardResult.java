@@ -0,0 +1,21 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WalkForwardResult {
+    private String symbol;
+    private String interval;
+    private String templateId;
+    private int candles;
+    private SweepMetric rankBy;
+    private List<WalkForwardWindow> windows;
+
+    // Out-of-sample windows chained back to back
+    private double compoundedReturnPercent;
+    private int totalTrades;
+    private int profitableWindows;
+    private long elapsedMillis;
+}
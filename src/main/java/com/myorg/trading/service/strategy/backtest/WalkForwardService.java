@@ -0,0 +1,352 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myorg.trading.domain.entity.Strategy;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.domain.repository.StrategyRepository;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.engine.BarStrategies;
+import com.myorg.trading.service.strategy.indicators.TechnicalIndicators;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Walk-forward optimization: for each rolling window the parameter grid is optimized on the
+ * in-sample bars and the winner is scored on the out-of-sample bars that follow.
+ *
+ * Candles are fetched once. Windows are independent and run on the bounded sweep pool of
+ * {@link BacktestService}; each completed window is reported to the listener as soon as it is done.
+ * For the SMA crossover every distinct period is computed once over the whole series and shared
+ * by all windows (an SMA value only depends on earlier bars, so windows see warm indicators).
+ */
+@Service
+@Slf4j
+public class WalkForwardService {
+
+    private static final String[] SMA_PARAMS = {"fastPeriod", "slowPeriod"};
+    static final int MAX_WINDOWS = 1_000;
+
+    private final BacktestService backtestService;
+    private final TechnicalIndicators indicators;
+    private final MarketDataFetcher dataFetcher;
+    private final StrategyRepository strategyRepository;
+    private final ObjectMapper objectMapper;
+
+    public WalkForwardService(BacktestService backtestService,
+                              TechnicalIndicators indicators,
+                              MarketDataFetcher dataFetcher,
+                              StrategyRepository strategyRepository,
+                              ObjectMapper objectMapper) {
+        this.backtestService = backtestService;
+        this.indicators = indicators;
+        this.dataFetcher = dataFetcher;
+        this.strategyRepository = strategyRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public WalkForwardResult runWalkForward(Long userId, WalkForwardRequest request) {
+        return runWalkForward(userId, request, (window, completed, total) -> { });
+    }
+
+    /**
+     * @param listener called from pool threads as each window completes (completion order)
+     */
+    public WalkForwardResult runWalkForward(Long userId, WalkForwardRequest request, WindowListener listener) {
+        return runWalkForward(userId, request, listener, Cancellation.NONE);
+    }
+
+    WalkForwardResult runWalkForward(Long userId, WalkForwardRequest request, WindowListener listener,
+                                     Cancellation cancellation) {
+        long started = System.nanoTime();
+        int inSample = request.getInSampleBars();
+        int outOfSample = request.getOutOfSampleBars();
+        int step = request.getStepBars() > 0 ? request.getStepBars() : outOfSample;
+        if (inSample <= 0 || outOfSample <= 0) {
+            throw new IllegalArgumentException("inSampleBars and outOfSampleBars must be positive");
+        }
+
+        String templateId = request.getTemplateId();
+        ObjectNode baseParams = objectMapper.createObjectNode();
+        if (request.getStrategyId() != null) {
+            Strategy strategy = strategyRepository.findById(request.getStrategyId())
+                    .filter(s -> s.getUserId().equals(userId))
+                    .orElseThrow(() -> new IllegalArgumentException("Strategy not found"));
+            templateId = strategy.getTemplateId();
+            baseParams.setAll(parseParams(strategy.getParamsJson()));
+        }
+        if (request.getParams() instanceof ObjectNode overrides) {
+            baseParams.setAll(overrides);
+        }
+        // Every window re-optimizes the whole grid, so bound both before fetching anything
+        if (templateId == null) {
+            BacktestService.checkGrid(request.getCandleCount(), request.getFastPeriod(), request.getSlowPeriod());
+        } else {
+            BacktestService.checkGrid(request.getCandleCount());
+            if (request.getParamRanges() != null) {
+                checkParamRanges(templateId, request.getParamRanges());
+                BacktestService.checkCombinations(request.getParamRanges().values().toArray(ParamRange[]::new));
+            }
+        }
+
+        List<OHLCV> candles = dataFetcher.fetchHistoricalData(
+                userId,
+                request.getSymbol(),
+                request.getInterval(),
+                request.getCandleCount()
+        );
+        CandleSeries series = CandleSeries.of(candles);
+        int n = series.size();
+
+        if (n >= inSample + outOfSample && (n - inSample - outOfSample) / step + 1 > MAX_WINDOWS) {
+            throw new IllegalArgumentException("At most " + MAX_WINDOWS + " walk-forward windows, use a larger step");
+        }
+        List<int[]> windows = new ArrayList<>();
+        for (int start = 0; start + inSample + outOfSample <= n; start += step) {
+            windows.add(new int[]{start, start + inSample, start + inSample + outOfSample});
+        }
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("Not enough candles (" + n + ") for one in-sample + out-of-sample window");
+        }
+
+        double initialCapital = request.getInitialCapital().doubleValue();
+        Evaluator evaluator = templateId == null
+                ? smaEvaluator(series, request, initialCapital, cancellation)
+                : templateEvaluator(series, templateId, baseParams, request.getParamRanges(), initialCapital);
+        SweepMetric metric = request.getRankBy() != null ? request.getRankBy() : SweepMetric.RETURN;
+
+        AtomicInteger completed = new AtomicInteger();
+        List<WalkForwardWindow> results = backtestService.pool().submit(() -> IntStream.range(0, windows.size())
+                .parallel()
+                .mapToObj(k -> {
+                    WalkForwardWindow window = evaluateWindow(k, windows.get(k), series, evaluator, metric,
+                            initialCapital, cancellation);
+                    listener.onWindow(window, completed.incrementAndGet(), windows.size());
+                    return window;
+                })
+                .toList()).join();
+
+        WalkForwardResult result = new WalkForwardResult();
+        result.setSymbol(request.getSymbol());
+        result.setInterval(request.getInterval());
+        result.setTemplateId(templateId);
+        result.setCandles(n);
+        result.setRankBy(metric);
+        result.setWindows(results);
+
+        double growth = 1.0;
+        for (WalkForwardWindow window : results) {
+            growth *= 1 + window.getOutOfSampleReturnPercent() / 100.0;
+            result.setTotalTrades(result.getTotalTrades() + window.getOutOfSampleTrades());
+            if (window.getOutOfSampleReturnPercent() > 0) {
+                result.setProfitableWindows(result.getProfitableWindows() + 1);
+            }
+        }
+        result.setCompoundedReturnPercent((growth - 1) * 100.0);
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        log.info("Walk-forward {} {}: {} windows x {} combinations over {} candles in {} ms",
+                request.getSymbol(), request.getInterval(), results.size(), evaluator.candidates().size(),
+                n, result.getElapsedMillis());
+        return result;
+    }
+
+    private WalkForwardWindow evaluateWindow(int index, int[] bounds, CandleSeries series, Evaluator evaluator,
+                                             SweepMetric metric, double initialCapital,
+                                             Cancellation cancellation) {
+        int isFrom = bounds[0];
+        int isTo = bounds[1];
+        int oosTo = bounds[2];
+        List<int[]> candidates = evaluator.candidates();
+
+        // Score the grid in parallel, pick the first best so the result is deterministic
+        double[] scores = new double[candidates.size()];
+        CrossoverSimulator.Outcome[] outcomes = new CrossoverSimulator.Outcome[candidates.size()];
+        IntStream.range(0, candidates.size()).parallel().forEach(c -> {
+            cancellation.check();
+            outcomes[c] = evaluator.run(candidates.get(c), isFrom, isTo);
+            scores[c] = metric.scoreOutcome(outcomes[c], initialCapital);
+        });
+        int best = 0;
+        for (int c = 1; c < scores.length; c++) {
+            if (scores[c] > scores[best]) best = c;
+        }
+        CrossoverSimulator.Outcome oos = evaluator.run(candidates.get(best), isTo, oosTo);
+
+        Map<String, Integer> parameters = new LinkedHashMap<>();
+        String[] names = evaluator.names();
+        for (int p = 0; p < names.length; p++) {
+            parameters.put(names[p], candidates.get(best)[p]);
+        }
+
+        WalkForwardWindow window = new WalkForwardWindow();
+        window.setIndex(index);
+        window.setInSampleFrom(series.instantAt(isFrom));
+        window.setInSampleTo(series.instantAt(isTo - 1));
+        window.setOutOfSampleFrom(series.instantAt(isTo));
+        window.setOutOfSampleTo(series.instantAt(oosTo - 1));
+        window.setParameters(parameters);
+        window.setCombinations(candidates.size());
+        window.setInSampleScore(scores[best]);
+        window.setInSampleReturnPercent(outcomes[best].returnPercent(initialCapital));
+        window.setOutOfSampleTrades(oos.trades);
+        window.setOutOfSampleWinningTrades(oos.winningTrades);
+        window.setOutOfSampleWinRate(oos.winRate());
+        window.setOutOfSampleProfitFactor(oos.profitFactor());
+        window.setOutOfSampleReturnPercent(oos.returnPercent(initialCapital));
+        return window;
+    }
+
+    private Evaluator smaEvaluator(CandleSeries series, WalkForwardRequest request, double initialCapital,
+                                   Cancellation cancellation) {
+        int[] fastValues = request.getFastPeriod().values();
+        int[] slowValues = request.getSlowPeriod().values();
+        List<int[]> candidates = new ArrayList<>();
+        for (int fast : fastValues) {
+            for (int slow : slowValues) {
+                if (fast < slow) candidates.add(new int[]{fast, slow});
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No fast < slow period combination in the requested ranges");
+        }
+
+        int[] periods = candidates.stream().flatMapToInt(Arrays::stream).distinct().toArray();
+        double[][] smaByPeriod = new double[Arrays.stream(periods).max().orElse(0) + 1][];
+        backtestService.pool().submit(() -> Arrays.stream(periods).parallel()
+                .forEach(p -> {
+                    cancellation.check();
+                    smaByPeriod[p] = indicators.sma(series, p);
+                })).join();
+
+        return new Evaluator() {
+            @Override
+            public String[] names() { return SMA_PARAMS; }
+
+            @Override
+            public List<int[]> candidates() { return candidates; }
+
+            @Override
+            public CrossoverSimulator.Outcome run(int[] values, int from, int to) {
+                return CrossoverSimulator.run(series.close(), to, smaByPeriod[values[0]], smaByPeriod[values[1]],
+                        from, initialCapital, null, null);
+            }
+        };
+    }
+
+    private Evaluator templateEvaluator(CandleSeries series, String templateId, ObjectNode baseParams,
+                                        Map<String, ParamRange> ranges, double initialCapital) {
+        String[] names = ranges != null ? ranges.keySet().toArray(String[]::new) : new String[0];
+        int[][] values = new int[names.length][];
+        for (int p = 0; p < names.length; p++) {
+            values[p] = ranges.get(names[p]).values();
+        }
+
+        // Cartesian product of all ranges, dropping combinations the template rejects
+        List<int[]> candidates = new ArrayList<>();
+        int[] cursor = new int[names.length];
+        while (true) {
+            int[] candidate = new int[names.length];
+            for (int p = 0; p < names.length; p++) {
+                candidate[p] = values[p][cursor[p]];
+            }
+            try {
+                BarStrategies.create(templateId, bind(baseParams, names, candidate));
+                candidates.add(candidate);
+            } catch (IllegalArgumentException e) {
+                log.debug("Skipping {} params {}: {}", templateId, Arrays.toString(candidate), e.getMessage());
+            }
+
+            int p = names.length - 1;
+            while (p >= 0 && ++cursor[p] == values[p].length) {
+                cursor[p--] = 0;
+            }
+            if (p < 0) break;
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No valid parameter combination for template " + templateId);
+        }
+
+        return new Evaluator() {
+            @Override
+            public String[] names() { return names; }
+
+            @Override
+            public List<int[]> candidates() { return candidates; }
+
+            @Override
+            public CrossoverSimulator.Outcome run(int[] candidate, int from, int to) {
+                return BarBacktestEngine.run(series, from, to,
+                        BarStrategies.create(templateId, bind(baseParams, names, candidate)),
+                        initialCapital, null, null);
+            }
+        };
+    }
+
+    // Template ranges feed the same compile step as live params: known names, bounded values
+    private static void checkParamRanges(String templateId, Map<String, ParamRange> ranges) {
+        Set<String> known = BarStrategies.paramNames(templateId);
+        for (Map.Entry<String, ParamRange> range : ranges.entrySet()) {
+            String name = range.getKey();
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Unknown parameter " + name + " for template " + templateId);
+            }
+            if (range.getValue() == null) {
+                throw new IllegalArgumentException("Range for " + name + " is required");
+            }
+            if (range.getValue().getFrom() < 0 || range.getValue().getTo() > BacktestService.MAX_GRID_PERIOD) {
+                throw new IllegalArgumentException(
+                        name + " range must be within 0.." + BacktestService.MAX_GRID_PERIOD);
+            }
+        }
+    }
+
+    private static ObjectNode bind(ObjectNode baseParams, String[] names, int[] values) {
+        ObjectNode params = baseParams.deepCopy();
+        for (int p = 0; p < names.length; p++) {
+            params.put(names[p], values[p]);
+        }
+        return params;
+    }
+
+    private ObjectNode parseParams(String paramsJson) {
+        if (paramsJson == null || paramsJson.isBlank()) {
+            return objectMapper.createObjectNode();
+        }
+        try {
+            JsonNode node = objectMapper.readTree(paramsJson);
+            return node instanceof ObjectNode object ? object : objectMapper.createObjectNode();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid strategy params: " + e.getOriginalMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface WindowListener {
+        void onWindow(WalkForwardWindow window, int completed, int total);
+    }
+
+    /**
+     * Parameter grid plus a way to score one grid point over a bar range.
+     */
+    private interface Evaluator {
+        String[] names();
+
+        List<int[]> candidates();
+
+        CrossoverSimulator.Outcome run(int[] values, int from, int to);
+    }
+}
@@ -0,0 +1,30 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Best in-sample parameters of one window and how they scored on the following out-of-sample bars.
+ * The from/to times are the first and last bar of each segment (inclusive).
+ */
+@Data
+public class WalkForwardWindow {
+    private int index;
+    private Instant inSampleFrom;
+    private Instant inSampleTo;
+    private Instant outOfSampleFrom;
+    private Instant outOfSampleTo;
+
+    private Map<String, Integer> parameters;
+    private int combinations;
+    private double inSampleScore;
+    private double inSampleReturnPercent;
+
+    private int outOfSampleTrades;
+    private int outOfSampleWinningTrades;
+    private double outOfSampleWinRate;
+    private double outOfSampleProfitFactor;
+    private double outOfSampleReturnPercent;
+}
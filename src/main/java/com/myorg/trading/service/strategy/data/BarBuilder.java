@@ -0,0 +1,103 @@
+package com.myorg.trading.service.strategy.data;
+
+/**
+ * Folds a time-ordered price stream into session-aligned OHLCV bars (see {@link NseSession#barStart}).
+ *
+ * A bar is only known to be complete when the first update of the next bar arrives, so
+ * {@link #update} reports completion and the finished bar is then read from the accessors
+ * until the next completion. Updates for a bar that has already been completed (late ticks)
+ * are ignored. Primitive state only; one instance per instrument, single-threaded.
+ */
+public final class BarBuilder {
+
+    private final long intervalMillis;
+
+    private long start = Long.MIN_VALUE;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+
+    private long barTime = Long.MIN_VALUE;
+    private double barOpen;
+    private double barHigh;
+    private double barLow;
+    private double barClose;
+    private long barVolume;
+
+    public BarBuilder(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + intervalMillis);
+        }
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * @param quantity traded quantity carried by this update, added to the bar volume
+     * @return true if this update started a new bar and the previous one is now complete
+     */
+    public boolean update(long epochMillis, double price, long quantity) {
+        long barStart = NseSession.barStart(epochMillis, intervalMillis);
+        if (barStart == start) {
+            if (price > high) high = price;
+            if (price < low) low = price;
+            close = price;
+            volume += quantity;
+            return false;
+        }
+        if (barStart < start || barStart <= barTime) {
+            return false;
+        }
+        boolean completed = start != Long.MIN_VALUE;
+        if (completed) {
+            complete();
+        }
+        start = barStart;
+        open = high = low = close = price;
+        volume = quantity;
+        return completed;
+    }
+
+    /**
+     * Completes the bar in progress, if any (end of data or session close).
+     */
+    public boolean flush() {
+        if (start == Long.MIN_VALUE) return false;
+        complete();
+        start = Long.MIN_VALUE;
+        return true;
+    }
+
+    private void complete() {
+        barTime = start;
+        barOpen = open;
+        barHigh = high;
+        barLow = low;
+        barClose = close;
+        barVolume = volume;
+    }
+
+    public void reset() {
+        start = Long.MIN_VALUE;
+        barTime = Long.MIN_VALUE;
+    }
+
+    public long intervalMillis() { return intervalMillis; }
+
+    /** Start of the bar in progress, Long.MIN_VALUE if none. */
+    public long openTime() { return start; }
+
+    /** Start of the last completed bar. */
+    public long barTime() { return barTime; }
+
+    public double barOpen() { return barOpen; }
+
+    public double barHigh() { return barHigh; }
+
+    public double barLow() { return barLow; }
+
+    public double barClose() { return barClose; }
+
+    public long barVolume() { return barVolume; }
+}
@@ -0,0 +1,296 @@
+package com.myorg.trading.service.strategy.data;
+
+import com.myorg.trading.domain.model.OHLCV;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory candle series per (broker, symbol, interval), shared by every caller.
+ *
+ * - Each entry remembers the time range it covers; requests inside that range are served
+ *   from memory, wider requests only load the missing head and/or tail and merge them in.
+ * - The last cached candle is always reloaded with the tail since it may still be forming.
+ * - Concurrent requests for the same key are coalesced into one in-flight load.
+ * - Entries are held as primitive columns and evicted LRU once the byte budget is exceeded.
+ * - Configured higher timeframes are rolled up from the cached 1-minute series instead of
+ *   being loaded separately, so every timeframe of a symbol shares one base fetch.
+ */
+@Component
+@Slf4j
+public class CandleCache {
+
+    static final int BYTES_PER_CANDLE = 6 * 8;
+    static final String BASE_INTERVAL = "1M";
+    private static final int MAX_ROLLUPS = 4096;
+
+    @FunctionalInterface
+    public interface RangeLoader {
+        List<OHLCV> load(Instant from, Instant to);
+    }
+
+    private final long maxBytes;
+    private final long maxStalenessMillis;
+
+    // Access-ordered LRU, guarded by "this"
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final Set<String> resampledIntervals;
+    // Incremental rollups per (broker, symbol, interval); each is guarded by its own monitor
+    private final Map<String, Resampler> rollups = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Resampler> eldest) {
+                    return size() > MAX_ROLLUPS;
+                }
+            });
+
+    @Autowired
+    public CandleCache(@Value("${app.candle-cache.max-bytes:268435456}") long maxBytes,
+                       @Value("${app.candle-cache.max-staleness:5s}") Duration maxStaleness,
+                       @Value("${app.candle-cache.resampled-intervals:5M,15M,1H}") List<String> resampledIntervals) {
+        this.maxBytes = maxBytes;
+        this.maxStalenessMillis = maxStaleness.toMillis();
+        this.resampledIntervals = Set.copyOf(resampledIntervals);
+    }
+
+    public CandleCache(long maxBytes, Duration maxStaleness) {
+        this(maxBytes, maxStaleness, List.of());
+    }
+
+    /**
+     * True if {@code interval} (canonical code) is served by {@link #getResampled}.
+     */
+    public boolean isResampled(String interval) {
+        return resampledIntervals.contains(interval);
+    }
+
+    /**
+     * Higher-timeframe candles rolled up from the cached 1-minute series of the symbol.
+     * Only 1-minute bars added since the previous call are folded in.
+     *
+     * @param baseLoader loads 1-minute candles for a range
+     */
+    public List<OHLCV> getResampled(String broker, String symbol, String interval,
+                                    Instant from, Instant to, RangeLoader baseLoader) {
+        String key = broker + '|' + symbol + '|' + interval;
+        CandleSeries base = getSeries(broker, symbol, BASE_INTERVAL, from, to, baseLoader);
+        Resampler rollup = rollups.computeIfAbsent(key, k -> new Resampler(NseSession.intervalMillis(interval)));
+        synchronized (rollup) {
+            rollup.update(base);
+            return rollup.toOHLCV(from.toEpochMilli(), to.toEpochMilli());
+        }
+    }
+
+    public List<OHLCV> get(String broker, String symbol, String interval,
+                           Instant from, Instant to, RangeLoader loader) {
+        return load(broker + '|' + symbol + '|' + interval, from, to, loader).slice(from, to);
+    }
+
+    /**
+     * The whole cached series covering [from, to]; it may extend beyond the range. Shared and
+     * immutable, callers must not write to its columns.
+     */
+    public CandleSeries getSeries(String broker, String symbol, String interval,
+                                  Instant from, Instant to, RangeLoader loader) {
+        return load(broker + '|' + symbol + '|' + interval, from, to, loader).series;
+    }
+
+    private Entry load(String key, Instant from, Instant to, RangeLoader loader) {
+        while (true) {
+            Entry cached = lookup(key);
+            if (cached != null && cached.covers(from, to, maxStalenessMillis)) {
+                return cached;
+            }
+
+            CompletableFuture<Entry> mine = new CompletableFuture<>();
+            CompletableFuture<Entry> leader = inFlight.putIfAbsent(key, mine);
+            if (leader != null) {
+                // Someone is already loading this key: wait, then re-check coverage
+                try {
+                    leader.join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException re ? re : e;
+                }
+                continue;
+            }
+
+            try {
+                Entry updated = extend(lookup(key), from, to, loader);
+                put(key, updated);
+                mine.complete(updated);
+                return updated;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+    }
+
+    public void invalidate(String broker, String symbol, String interval) {
+        synchronized (this) {
+            Entry removed = entries.remove(broker + '|' + symbol + '|' + interval);
+            if (removed != null) totalBytes -= removed.bytes();
+        }
+        if (BASE_INTERVAL.equals(interval)) {
+            String prefix = broker + '|' + symbol + '|';
+            synchronized (rollups) {
+                rollups.keySet().removeIf(k -> k.startsWith(prefix));
+            }
+        }
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized Entry lookup(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) totalBytes -= previous.bytes();
+        totalBytes += entry.bytes();
+
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue; // never evict what we just loaded
+            totalBytes -= eldest.getValue().bytes();
+            it.remove();
+            log.debug("Evicted candle cache entry {}", eldest.getKey());
+        }
+    }
+
+    private Entry extend(Entry cached, Instant from, Instant to, RangeLoader loader) {
+        if (cached == null) {
+            return new Entry(CandleSeries.of(sorted(loader.load(from, to))), from.toEpochMilli(), to.toEpochMilli());
+        }
+
+        long coveredFrom = cached.coveredFrom;
+        long coveredTo = cached.coveredTo;
+        List<OHLCV> head = List.of();
+        List<OHLCV> tail = List.of();
+        long tailStart = Long.MAX_VALUE;
+
+        if (from.toEpochMilli() < coveredFrom) {
+            head = sorted(loader.load(from, Instant.ofEpochMilli(coveredFrom)));
+            coveredFrom = from.toEpochMilli();
+        }
+        if (to.toEpochMilli() > coveredTo) {
+            CandleSeries s = cached.series;
+            tailStart = s.isEmpty() ? coveredTo : s.timeAt(s.size() - 1); // reload the forming candle
+            tail = sorted(loader.load(Instant.ofEpochMilli(tailStart), to));
+            if (tail.isEmpty()) {
+                tailStart = Long.MAX_VALUE; // nothing new, keep the cached last candle
+            }
+            coveredTo = to.toEpochMilli();
+        }
+        return new Entry(merge(head, cached.series, tailStart, tail), coveredFrom, coveredTo);
+    }
+
+    // head candles < cached; cached candles < tailStart; then tail. Timestamps stay strictly increasing.
+    private static CandleSeries merge(List<OHLCV> head, CandleSeries cached, long tailStart, List<OHLCV> tail) {
+        CandleSeries h = CandleSeries.of(head);
+        CandleSeries t = CandleSeries.of(tail);
+        int cap = h.size() + cached.size() + t.size();
+        long[] time = new long[cap];
+        double[] open = new double[cap], high = new double[cap], low = new double[cap], close = new double[cap];
+        long[] volume = new long[cap];
+
+        int n = 0;
+        long last = Long.MIN_VALUE;
+        CandleSeries[] parts = {h, cached, t};
+        for (int p = 0; p < parts.length; p++) {
+            CandleSeries s = parts[p];
+            for (int i = 0; i < s.size(); i++) {
+                long ts = s.timeAt(i);
+                if (ts <= last || (p == 1 && ts >= tailStart)) continue;
+                time[n] = ts;
+                open[n] = s.openAt(i);
+                high[n] = s.highAt(i);
+                low[n] = s.lowAt(i);
+                close[n] = s.closeAt(i);
+                volume[n] = s.volumeAt(i);
+                last = ts;
+                n++;
+            }
+        }
+        return new CandleSeries(time, open, high, low, close, volume, n);
+    }
+
+    private static List<OHLCV> sorted(List<OHLCV> candles) {
+        if (candles == null) return List.of();
+        List<OHLCV> copy = new ArrayList<>(candles);
+        copy.sort((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()));
+        return copy;
+    }
+
+    private static final class Entry {
+        final CandleSeries series;
+        final long coveredFrom;
+        final long coveredTo;
+
+        Entry(CandleSeries series, long coveredFrom, long coveredTo) {
+            this.series = series;
+            this.coveredFrom = coveredFrom;
+            this.coveredTo = coveredTo;
+        }
+
+        boolean covers(Instant from, Instant to, long stalenessMillis) {
+            return from.toEpochMilli() >= coveredFrom && to.toEpochMilli() <= coveredTo + stalenessMillis;
+        }
+
+        long bytes() {
+            return (long) series.time().length * BYTES_PER_CANDLE;
+        }
+
+        List<OHLCV> slice(Instant from, Instant to) {
+            long fromMs = from.toEpochMilli();
+            long toMs = to.toEpochMilli();
+            List<OHLCV> out = new ArrayList<>();
+            for (int i = lowerBound(fromMs); i < series.size() && series.timeAt(i) <= toMs; i++) {
+                out.add(OHLCV.builder()
+                        .timestamp(series.instantAt(i))
+                        .open(BigDecimal.valueOf(series.openAt(i)))
+                        .high(BigDecimal.valueOf(series.highAt(i)))
+                        .low(BigDecimal.valueOf(series.lowAt(i)))
+                        .close(BigDecimal.valueOf(series.closeAt(i)))
+                        .volume(series.volumeAt(i))
+                        .build());
+            }
+            return out;
+        }
+
+        private int lowerBound(long key) {
+            int lo = 0, hi = series.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (series.timeAt(mid) < key) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
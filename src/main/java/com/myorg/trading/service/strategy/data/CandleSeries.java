@@ -0,0 +1,134 @@
+package com.myorg.trading.service.strategy.data;
+
+import com.myorg.trading.domain.model.OHLCV;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar (struct-of-arrays) view of a candle list.
+ * Built once from List&lt;OHLCV&gt; so indicator and backtest loops work on primitives
+ * instead of boxed BigDecimal values.
+ */
+public final class CandleSeries {
+
+    private final long[] time;      // epoch millis (candle start)
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+    private final int size;
+
+    public CandleSeries(long[] time, double[] open, double[] high, double[] low,
+                        double[] close, long[] volume, int size) {
+        if (size < 0 || size > time.length || size > open.length || size > high.length
+                || size > low.length || size > close.length || size > volume.length) {
+            throw new IllegalArgumentException("Column length smaller than series size " + size);
+        }
+        this.time = time;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.size = size;
+    }
+
+    public static CandleSeries empty() {
+        return new CandleSeries(new long[0], new double[0], new double[0], new double[0],
+                new double[0], new long[0], 0);
+    }
+
+    public static CandleSeries of(List<OHLCV> candles) {
+        int n = candles == null ? 0 : candles.size();
+        long[] time = new long[n];
+        double[] open = new double[n];
+        double[] high = new double[n];
+        double[] low = new double[n];
+        double[] close = new double[n];
+        long[] volume = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            OHLCV c = candles.get(i);
+            time[i] = c.getTimestamp() != null ? c.getTimestamp().toEpochMilli() : 0L;
+            close[i] = toDouble(c.getClose());
+            // Missing O/H/L fall back to close so ranges stay well-formed
+            open[i] = c.getOpen() != null ? c.getOpen().doubleValue() : close[i];
+            high[i] = c.getHigh() != null ? c.getHigh().doubleValue() : close[i];
+            low[i] = c.getLow() != null ? c.getLow().doubleValue() : close[i];
+            volume[i] = c.getVolume() != null ? c.getVolume() : 0L;
+        }
+
+        return new CandleSeries(time, open, high, low, close, volume, n);
+    }
+
+    /**
+     * Convert back to the boxed model (used at API boundaries only).
+     */
+    public List<OHLCV> toOHLCV() {
+        List<OHLCV> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            out.add(OHLCV.builder()
+                    .timestamp(Instant.ofEpochMilli(time[i]))
+                    .open(BigDecimal.valueOf(open[i]))
+                    .high(BigDecimal.valueOf(high[i]))
+                    .low(BigDecimal.valueOf(low[i]))
+                    .close(BigDecimal.valueOf(close[i]))
+                    .volume(volume[i])
+                    .build());
+        }
+        return out;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    // Raw column access: arrays may be longer than size(), never write into them.
+    public long[] time() { return time; }
+    public double[] open() { return open; }
+    public double[] high() { return high; }
+    public double[] low() { return low; }
+    public double[] close() { return close; }
+    public long[] volume() { return volume; }
+
+    public long timeAt(int i) { return time[i]; }
+    public double openAt(int i) { return open[i]; }
+    public double highAt(int i) { return high[i]; }
+    public double lowAt(int i) { return low[i]; }
+    public double closeAt(int i) { return close[i]; }
+    public long volumeAt(int i) { return volume[i]; }
+
+    public Instant instantAt(int i) {
+        return Instant.ofEpochMilli(time[i]);
+    }
+
+    /**
+     * 64-bit hash of every column. Any change to a candle (including a still-forming last
+     * candle) changes the hash, so it can serve as the data version of a result.
+     */
+    public long contentHash() {
+        long h = 0x9E3779B97F4A7C15L ^ size;
+        for (int i = 0; i < size; i++) {
+            h = mix(h, time[i]);
+            h = mix(h, Double.doubleToLongBits(open[i]));
+            h = mix(h, Double.doubleToLongBits(high[i]));
+            h = mix(h, Double.doubleToLongBits(low[i]));
+            h = mix(h, Double.doubleToLongBits(close[i]));
+            h = mix(h, volume[i]);
+        }
+        return h;
+    }
+
+    private static long mix(long h, long v) {
+        h ^= v;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,336 @@
+package com.myorg.trading.service.strategy.data;
+
+import com.myorg.trading.domain.model.OHLCV;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk historical candle store keyed by (broker, instrument, interval, IST trading day).
+ *
+ * One immutable file per day with a fixed-width column layout:
+ * <pre>
+ *   header (32 bytes): int magic, int version, int count, int reserved, long writtenAt, long reserved
+ *   long[count] epochMillis | double[count] open | high | low | close | long[count] volume
+ * </pre>
+ * Files are memory-mapped read-only; {@link #scan} reads straight from the mapping without
+ * copying, {@link #read} bulk-copies the requested range into a CandleSeries.
+ * Only completed days are written, so a file never changes once it exists. The exception is an
+ * empty day: it may be a holiday or a broker gap, so it counts as stored only for
+ * {@code app.candle-store.empty-day-ttl} and is fetched again after that.
+ */
+@Component
+@Slf4j
+public class CandleStore {
+
+    public static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private static final int MAGIC = 0x434E444C; // "CNDL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int BYTES_PER_CANDLE = 6 * 8;
+    private static final int MAX_OPEN_MAPPINGS = 4096;
+
+    private final Path root;
+    private final boolean enabled;
+    private final long emptyDayTtlMillis;
+
+    // LRU of mapped day files; mappings are released by GC once evicted
+    private final Map<Path, MappedByteBuffer> mappings = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, MappedByteBuffer> eldest) {
+                    return size() > MAX_OPEN_MAPPINGS;
+                }
+            });
+
+    public CandleStore(@Value("${app.candle-store.dir:data/candles}") String dir,
+                       @Value("${app.candle-store.enabled:true}") boolean enabled,
+                       @Value("${app.candle-store.empty-day-ttl:7d}") Duration emptyDayTtl) {
+        this.root = Paths.get(dir);
+        this.enabled = enabled;
+        this.emptyDayTtlMillis = emptyDayTtl.toMillis();
+        log.info("CandleStore {} at {}", enabled ? "enabled" : "disabled", root.toAbsolutePath());
+    }
+
+    /**
+     * Receives candles straight from the mapped file.
+     */
+    @FunctionalInterface
+    public interface CandleVisitor {
+        void accept(long epochMillis, double open, double high, double low, double close, long volume);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean hasDay(String broker, String instrument, String interval, LocalDate day) {
+        ByteBuffer buf = map(dayFile(broker, instrument, interval, day));
+        if (buf == null) return false;
+        // An empty day expires: it may have been a gap in the broker's answer rather than a holiday
+        return buf.getInt(8) > 0 || buf.getLong(16) + emptyDayTtlMillis > System.currentTimeMillis();
+    }
+
+    /**
+     * Trading days (Mon-Fri) in [fromDay, toDay] that have no stored file.
+     */
+    public List<LocalDate> missingDays(String broker, String instrument, String interval,
+                                       LocalDate fromDay, LocalDate toDay) {
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate d = fromDay; !d.isAfter(toDay); d = d.plusDays(1)) {
+            if (isTradingWeekday(d) && !hasDay(broker, instrument, interval, d)) {
+                missing.add(d);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Persist one completed day (an empty list records a holiday, refetched after the empty-day TTL).
+     * Written to a temp file and atomically moved into place.
+     */
+    public void writeDay(String broker, String instrument, String interval, LocalDate day, List<OHLCV> candles) {
+        Path file = dayFile(broker, instrument, interval, day);
+        int n = candles.size();
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + n * BYTES_PER_CANDLE).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(0).putLong(System.currentTimeMillis()).putLong(0);
+
+        for (OHLCV c : candles) buf.putLong(c.getTimestamp().toEpochMilli());
+        for (OHLCV c : candles) buf.putDouble(c.getOpen().doubleValue());
+        for (OHLCV c : candles) buf.putDouble(c.getHigh().doubleValue());
+        for (OHLCV c : candles) buf.putDouble(c.getLow().doubleValue());
+        for (OHLCV c : candles) buf.putDouble(c.getClose().doubleValue());
+        for (OHLCV c : candles) buf.putLong(c.getVolume() != null ? c.getVolume() : 0L);
+        buf.flip();
+
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), day.toString(), ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (buf.hasRemaining()) ch.write(buf);
+                ch.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            mappings.remove(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write candle file " + file, e);
+        }
+    }
+
+    /**
+     * Split the broker's answer for {@code days} (one request, sorted) by IST day and persist the
+     * days it provably covers. A capped or truncated answer must not blank real trading days, so:
+     * <ul>
+     *   <li>days before the first or after the last returned candle are not written;</li>
+     *   <li>the first and last returned day are written only if they are the ends of the request
+     *       or reach the session open / close, since a cut can fall inside them;</li>
+     *   <li>an answer with no candles at all writes every day empty, which expires after the TTL.</li>
+     * </ul>
+     *
+     * @return the number of days written
+     */
+    public int writeDays(String broker, String instrument, String interval, List<LocalDate> days, List<OHLCV> candles) {
+        Map<LocalDate, List<OHLCV>> byDay = new LinkedHashMap<>();
+        days.forEach(d -> byDay.put(d, new ArrayList<>()));
+        for (OHLCV c : candles) {
+            List<OHLCV> bucket = byDay.get(c.getTimestamp().atZone(IST).toLocalDate());
+            if (bucket != null) bucket.add(c);
+        }
+        byDay.values().forEach(list -> list.sort((a, b) -> a.getTimestamp().compareTo(b.getTimestamp())));
+
+        LocalDate firstDay = null;
+        LocalDate lastDay = null;
+        for (Map.Entry<LocalDate, List<OHLCV>> e : byDay.entrySet()) {
+            if (e.getValue().isEmpty()) continue;
+            if (firstDay == null) firstDay = e.getKey();
+            lastDay = e.getKey();
+        }
+        long intervalMillis = NseSession.intervalMillis(interval);
+        int written = 0;
+        for (Map.Entry<LocalDate, List<OHLCV>> e : byDay.entrySet()) {
+            LocalDate day = e.getKey();
+            List<OHLCV> list = e.getValue();
+            if (firstDay != null) {
+                if (day.isBefore(firstDay) || day.isAfter(lastDay)) continue;
+                if (day.equals(firstDay) && !day.equals(days.get(0)) && !startsAtOpen(list.get(0))) continue;
+                if (day.equals(lastDay) && !day.equals(days.get(days.size() - 1))
+                        && !endsAtClose(list.get(list.size() - 1), intervalMillis)) continue;
+            }
+            writeDay(broker, instrument, interval, day, list);
+            written++;
+        }
+        return written;
+    }
+
+    private static boolean startsAtOpen(OHLCV first) {
+        return NseSession.minuteOfDay(first.getTimestamp().toEpochMilli()) <= NseSession.OPEN_MINUTE;
+    }
+
+    private static boolean endsAtClose(OHLCV last, long intervalMillis) {
+        long end = last.getTimestamp().toEpochMilli() + intervalMillis;
+        return intervalMillis >= NseSession.MILLIS_PER_DAY
+                || NseSession.tradingDay(end) > NseSession.tradingDay(last.getTimestamp().toEpochMilli())
+                || NseSession.minuteOfDay(end) >= NseSession.CLOSE_MINUTE;
+    }
+
+    /**
+     * Zero-copy range scan over [from, to) across stored days, in time order.
+     * Returns the number of candles visited.
+     */
+    public int scan(String broker, String instrument, String interval, Instant from, Instant to, CandleVisitor visitor) {
+        long fromMs = from.toEpochMilli();
+        long toMs = to.toEpochMilli();
+        int visited = 0;
+        for (LocalDate d = from.atZone(IST).toLocalDate(); !d.isAfter(to.atZone(IST).toLocalDate()); d = d.plusDays(1)) {
+            ByteBuffer buf = map(dayFile(broker, instrument, interval, d));
+            if (buf == null) continue;
+
+            int n = buf.getInt(8);
+            int start = lowerBound(buf, n, fromMs);
+            int end = lowerBound(buf, n, toMs);
+            for (int i = start; i < end; i++) {
+                visitor.accept(
+                        buf.getLong(HEADER_BYTES + i * 8),
+                        buf.getDouble(columnOffset(n, 1) + i * 8),
+                        buf.getDouble(columnOffset(n, 2) + i * 8),
+                        buf.getDouble(columnOffset(n, 3) + i * 8),
+                        buf.getDouble(columnOffset(n, 4) + i * 8),
+                        buf.getLong(columnOffset(n, 5) + i * 8));
+            }
+            visited += end - start;
+        }
+        return visited;
+    }
+
+    /**
+     * Copy [from, to) into a columnar series (one bulk copy per column per day).
+     */
+    public CandleSeries read(String broker, String instrument, String interval, Instant from, Instant to) {
+        long fromMs = from.toEpochMilli();
+        long toMs = to.toEpochMilli();
+        LocalDate first = from.atZone(IST).toLocalDate();
+        LocalDate last = to.atZone(IST).toLocalDate();
+
+        // First pass sizes the output so each column is allocated once
+        int total = 0;
+        for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+            ByteBuffer buf = map(dayFile(broker, instrument, interval, d));
+            if (buf == null) continue;
+            int n = buf.getInt(8);
+            total += lowerBound(buf, n, toMs) - lowerBound(buf, n, fromMs);
+        }
+
+        long[] time = new long[total];
+        double[] open = new double[total], high = new double[total], low = new double[total], close = new double[total];
+        long[] volume = new long[total];
+        int pos = 0;
+        for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+            ByteBuffer buf = map(dayFile(broker, instrument, interval, d));
+            if (buf == null) continue;
+            int n = buf.getInt(8);
+            int start = lowerBound(buf, n, fromMs);
+            int len = lowerBound(buf, n, toMs) - start;
+            if (len <= 0) continue;
+
+            buf.slice(HEADER_BYTES + start * 8, len * 8).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(time, pos, len);
+            copyDoubles(buf, columnOffset(n, 1) + start * 8, len, open, pos);
+            copyDoubles(buf, columnOffset(n, 2) + start * 8, len, high, pos);
+            copyDoubles(buf, columnOffset(n, 3) + start * 8, len, low, pos);
+            copyDoubles(buf, columnOffset(n, 4) + start * 8, len, close, pos);
+            buf.slice(columnOffset(n, 5) + start * 8, len * 8).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(volume, pos, len);
+            pos += len;
+        }
+        return new CandleSeries(time, open, high, low, close, volume, total);
+    }
+
+    public List<OHLCV> readCandles(String broker, String instrument, String interval, Instant from, Instant to) {
+        List<OHLCV> out = new ArrayList<>();
+        scan(broker, instrument, interval, from, to, (t, o, h, l, c, v) -> out.add(OHLCV.builder()
+                .timestamp(Instant.ofEpochMilli(t))
+                .open(BigDecimal.valueOf(o))
+                .high(BigDecimal.valueOf(h))
+                .low(BigDecimal.valueOf(l))
+                .close(BigDecimal.valueOf(c))
+                .volume(v)
+                .build()));
+        return out;
+    }
+
+    public static boolean isTradingWeekday(LocalDate day) {
+        DayOfWeek dow = day.getDayOfWeek();
+        return dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY;
+    }
+
+    private static void copyDoubles(ByteBuffer buf, int offset, int len, double[] dst, int pos) {
+        buf.slice(offset, len * 8).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(dst, pos, len);
+    }
+
+    private static int columnOffset(int count, int column) {
+        return HEADER_BYTES + column * count * 8;
+    }
+
+    // First index whose epoch >= key (time column is sorted)
+    private static int lowerBound(ByteBuffer buf, int n, long key) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (buf.getLong(HEADER_BYTES + mid * 8) < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private ByteBuffer map(Path file) {
+        MappedByteBuffer cached = mappings.get(file);
+        if (cached != null) {
+            return cached;
+        }
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) {
+                log.warn("Ignoring candle file with bad header: {}", file);
+                return null;
+            }
+            mappings.put(file, buf);
+            return buf;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map candle file " + file, e);
+        }
+    }
+
+    private Path dayFile(String broker, String instrument, String interval, LocalDate day) {
+        return root.resolve(safe(broker)).resolve(safe(instrument)).resolve(safe(interval)).resolve(day + ".cdl");
+    }
+
+    private static String safe(String part) {
+        return part.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+}
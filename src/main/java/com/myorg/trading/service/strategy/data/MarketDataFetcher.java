@@ -6,22 +6,43 @@ import com.myorg.trading.domain.entity.BrokerAccount;
 import com.myorg.trading.domain.model.OHLCV;
 import com.myorg.trading.domain.repository.BrokerAccountRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @Slf4j
 public class MarketDataFetcher {
 
+    /** Trading days per broker history call, inside the tightest broker range limit (30 days of 1-minute bars). */
+    static final int MAX_DAYS_PER_FETCH = 20;
+
     private final BrokerRegistry brokerRegistry;
     private final BrokerAccountRepository brokerAccountRepository;
+    private final CandleStore candleStore;
+    private final CandleCache candleCache;
 
+    @Autowired
     public MarketDataFetcher(BrokerRegistry brokerRegistry,
-                             BrokerAccountRepository brokerAccountRepository) {
+                             BrokerAccountRepository brokerAccountRepository,
+                             CandleStore candleStore,
+                             CandleCache candleCache) {
         this.brokerRegistry = brokerRegistry;
         this.brokerAccountRepository = brokerAccountRepository;
+        this.candleStore = candleStore;
+        this.candleCache = candleCache;
+    }
+
+    /**
+     * Broker-only fetcher (no local store or cache), used by tests and benchmarks.
+     */
+    public MarketDataFetcher(BrokerRegistry brokerRegistry,
+                             BrokerAccountRepository brokerAccountRepository) {
+        this(brokerRegistry, brokerAccountRepository, null, null);
     }
 
     public List<OHLCV> fetchHistoricalData(Long userId, String symbol, String interval, int candleCount) {
@@ -37,20 +58,123 @@ public class MarketDataFetcher {
         Instant to = Instant.now();
         Instant from = to.minus(getTimeRangeForCandles(interval, candleCount), ChronoUnit.SECONDS);
 
+        CandleCache.RangeLoader loader = (f, t) -> loadRange(client, account, symbol, interval, f, t);
         try {
-            return client.getHistoricalData(
-                    account.getId().toString(),
-                    symbol,
-                    interval,
-                    from,
-                    to
-            ).block();
+            if (candleCache == null) {
+                return loader.load(from, to);
+            }
+            String key = canonicalInterval(interval);
+            if (candleCache.isResampled(key)) {
+                // Higher timeframes come from the one cached 1-minute series of the symbol
+                CandleCache.RangeLoader baseLoader =
+                        (f, t) -> loadRange(client, account, symbol, CandleCache.BASE_INTERVAL, f, t);
+                return candleCache.getResampled(account.getBrokerId(), symbol, key, from, to, baseLoader);
+            }
+            // Shared across accounts of the same broker: strategies on one symbol hit the broker once
+            return candleCache.get(account.getBrokerId(), symbol, key, from, to, loader);
         } catch (Exception e) {
             log.error("Failed to fetch historical data for {}: {}", symbol, e.getMessage());
             throw new RuntimeException("Failed to fetch market data", e);
         }
     }
 
+    private List<OHLCV> loadRange(BrokerClient client, BrokerAccount account, String symbol,
+                                  String interval, Instant from, Instant to) {
+        if (candleStore == null || !candleStore.isEnabled()) {
+            return fetchFromBroker(client, account, symbol, interval, from, to);
+        }
+        return fetchThroughStore(client, account, symbol, interval, from, to);
+    }
+
+    /**
+     * Completed days come from the local store; missing days are fetched once from the broker
+     * and persisted. The current (incomplete) session is always fetched live.
+     */
+    private List<OHLCV> fetchThroughStore(BrokerClient client, BrokerAccount account, String symbol,
+                                          String interval, Instant from, Instant to) {
+        String broker = account.getBrokerId();
+        String key = canonicalInterval(interval);
+        LocalDate today = LocalDate.now(CandleStore.IST);
+        Instant todayStart = today.atStartOfDay(CandleStore.IST).toInstant();
+
+        List<OHLCV> candles = new ArrayList<>();
+        if (from.isBefore(todayStart)) {
+            LocalDate fromDay = from.atZone(CandleStore.IST).toLocalDate();
+            List<LocalDate> missing = candleStore.missingDays(broker, symbol, key, fromDay, today.minusDays(1));
+
+            for (List<LocalDate> run : contiguousRuns(missing, MAX_DAYS_PER_FETCH)) {
+                Instant runFrom = run.get(0).atStartOfDay(CandleStore.IST).toInstant();
+                Instant runTo = run.get(run.size() - 1).plusDays(1).atStartOfDay(CandleStore.IST).toInstant()
+                        .minus(1, ChronoUnit.MINUTES);
+                List<OHLCV> fetched = fetchFromBroker(client, account, symbol, interval, runFrom, runTo);
+                int stored = candleStore.writeDays(broker, symbol, key, run, fetched);
+                if (stored < run.size()) {
+                    log.warn("Broker returned partial history for {} {} {}..{}: {} of {} days stored", symbol, key,
+                            run.get(0), run.get(run.size() - 1), stored, run.size());
+                }
+                log.debug("Stored {} candles for {} {} ({} days)", fetched.size(), symbol, key, stored);
+            }
+
+            Instant storedTo = to.isBefore(todayStart) ? to : todayStart;
+            candles.addAll(candleStore.readCandles(broker, symbol, key, from, storedTo));
+        }
+
+        if (to.isAfter(todayStart)) {
+            Instant liveFrom = from.isAfter(todayStart) ? from : todayStart;
+            candles.addAll(fetchFromBroker(client, account, symbol, interval, liveFrom, to));
+        }
+        return candles;
+    }
+
+    private List<OHLCV> fetchFromBroker(BrokerClient client, BrokerAccount account, String symbol,
+                                        String interval, Instant from, Instant to) {
+        List<OHLCV> candles = client.getHistoricalData(
+                account.getId().toString(),
+                symbol,
+                interval,
+                from,
+                to
+        ).block();
+        return candles != null ? candles : List.of();
+    }
+
+    /**
+     * Group missing days into runs that can be fetched with one broker call
+     * (days separated only by weekends belong to the same run, up to {@code maxDays} days).
+     */
+    static List<List<LocalDate>> contiguousRuns(List<LocalDate> days, int maxDays) {
+        List<List<LocalDate>> runs = new ArrayList<>();
+        List<LocalDate> current = null;
+        LocalDate previous = null;
+        for (LocalDate day : days) {
+            if (current == null || current.size() >= maxDays || !onlyWeekendsBetween(previous, day)) {
+                current = new ArrayList<>();
+                runs.add(current);
+            }
+            current.add(day);
+            previous = day;
+        }
+        return runs;
+    }
+
+    private static boolean onlyWeekendsBetween(LocalDate a, LocalDate b) {
+        for (LocalDate d = a.plusDays(1); d.isBefore(b); d = d.plusDays(1)) {
+            if (CandleStore.isTradingWeekday(d)) return false;
+        }
+        return true;
+    }
+
+    public static String canonicalInterval(String interval) {
+        return switch (interval.toUpperCase()) {
+            case "1M", "ONE_MINUTE" -> "1M";
+            case "5M", "FIVE_MINUTE" -> "5M";
+            case "15M", "FIFTEEN_MINUTE" -> "15M";
+            case "1H", "ONE_HOUR" -> "1H";
+            case "1D", "ONE_DAY" -> "1D";
+            default -> interval.toUpperCase();
+        };
+    }
+
     private long getTimeRangeForCandles(String interval, int candleCount) {
         long intervalSeconds = switch (interval.toUpperCase()) {
             case "1M", "ONE_MINUTE" -> 60;
@@ -64,4 +188,4 @@ public class MarketDataFetcher {
         // Add 20% buffer for market holidays/weekends
         return (long) (intervalSeconds * candleCount * 1.2);
     }
-}
\ No newline at end of file
+}
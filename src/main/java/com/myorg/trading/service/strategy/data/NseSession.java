@@ -0,0 +1,92 @@
+package com.myorg.trading.service.strategy.data;
+
+/**
+ * NSE cash session arithmetic on epoch millis.
+ * IST has no DST, so wall-clock fields are derived from a fixed offset without a time zone lookup.
+ */
+public final class NseSession {
+
+    public static final long IST_OFFSET_MILLIS = 19_800_000L;
+    public static final long MILLIS_PER_DAY = 86_400_000L;
+    public static final int OPEN_MINUTE = 9 * 60 + 15;
+    public static final int CLOSE_MINUTE = 15 * 60 + 30;
+
+    private NseSession() {
+    }
+
+    /**
+     * IST calendar day as days since the epoch.
+     */
+    public static long tradingDay(long epochMillis) {
+        return Math.floorDiv(epochMillis + IST_OFFSET_MILLIS, MILLIS_PER_DAY);
+    }
+
+    /**
+     * IST minute of day (0-1439).
+     */
+    public static int minuteOfDay(long epochMillis) {
+        return (int) (Math.floorMod(epochMillis + IST_OFFSET_MILLIS, MILLIS_PER_DAY) / 60_000L);
+    }
+
+    /**
+     * True inside [09:15, 15:30) IST. Weekends and holidays are not checked.
+     */
+    public static boolean isOpen(long epochMillis) {
+        int minute = minuteOfDay(epochMillis);
+        return minute >= OPEN_MINUTE && minute < CLOSE_MINUTE;
+    }
+
+    /**
+     * Start of the bar containing {@code epochMillis}. Intraday bars are aligned to the 09:15 open
+     * (so hourly bars start at 09:15, 10:15, ...); daily bars start at IST midnight.
+     */
+    public static long barStart(long epochMillis, long intervalMillis) {
+        long local = epochMillis + IST_OFFSET_MILLIS;
+        long dayStart = local - Math.floorMod(local, MILLIS_PER_DAY);
+        if (intervalMillis >= MILLIS_PER_DAY) {
+            return dayStart - IST_OFFSET_MILLIS;
+        }
+        long open = dayStart + OPEN_MINUTE * 60_000L;
+        return open + Math.floorDiv(local - open, intervalMillis) * intervalMillis - IST_OFFSET_MILLIS;
+    }
+
+    /**
+     * Upper bound on the bars that start after the bar at {@code fromBar} and no later than
+     * {@code toMillis}: weekday sessions are counted, holidays are not known.
+     * Long.MAX_VALUE for gaps of more than ten years.
+     */
+    public static long barsBetween(long fromBar, long toMillis, long intervalMillis) {
+        long firstDay = tradingDay(fromBar);
+        long lastDay = tradingDay(toMillis);
+        if (lastDay - firstDay > 3660) return Long.MAX_VALUE;
+        long count = 0;
+        for (long day = firstDay; day <= lastDay; day++) {
+            if (Math.floorMod(day + 3, 7) >= 5) continue; // 1970-01-01 was a Thursday, 0 = Monday
+            long midnight = day * MILLIS_PER_DAY - IST_OFFSET_MILLIS;
+            if (intervalMillis >= MILLIS_PER_DAY) {
+                if (midnight > fromBar && midnight <= toMillis) count++;
+                continue;
+            }
+            long first = Math.max(midnight + OPEN_MINUTE * 60_000L, fromBar + intervalMillis);
+            long last = Math.min(midnight + CLOSE_MINUTE * 60_000L - 1, toMillis);
+            if (last >= first) {
+                count += (last - first) / intervalMillis + 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Bar length for an interval code ("1M", "FIVE_MINUTE", ...).
+     */
+    public static long intervalMillis(String interval) {
+        return switch (MarketDataFetcher.canonicalInterval(interval)) {
+            case "1M" -> 60_000L;
+            case "5M" -> 5 * 60_000L;
+            case "15M" -> 15 * 60_000L;
+            case "1H" -> 60 * 60_000L;
+            case "1D" -> MILLIS_PER_DAY;
+            default -> throw new IllegalArgumentException("Unsupported interval: " + interval);
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.myorg.trading.service.strategy.data;
+
+import com.myorg.trading.domain.model.OHLCV;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incremental rollup of base bars (normally 1-minute) into a higher timeframe, session-aligned
+ * via {@link NseSession#barStart} (5M/15M/1H from 09:15 IST, 1D from IST midnight).
+ *
+ * The last higher-timeframe bar stays open and is updated in place as base bars arrive. The open
+ * bar is kept as the aggregate of its earlier base bars plus the latest base bar, so a revised
+ * copy of the latest (still forming) base bar replaces it exactly in O(1).
+ * Not thread-safe; callers serialize access per instance.
+ */
+public final class Resampler {
+
+    private final long intervalMillis;
+
+    private long[] time = new long[64];
+    private double[] open = new double[64];
+    private double[] high = new double[64];
+    private double[] low = new double[64];
+    private double[] close = new double[64];
+    private long[] volume = new long[64];
+    private int size;
+
+    private long firstBaseTime = Long.MIN_VALUE;
+    private long firstCompleteStart = Long.MIN_VALUE; // bars before this lack their first base bars
+    private long lastBaseTime = Long.MIN_VALUE;
+
+    // Open bar = prefix (its base bars before the latest one, if any) + latest base bar
+    private boolean hasPrefix;
+    private double prefixOpen;
+    private double prefixHigh;
+    private double prefixLow;
+    private long prefixVolume;
+    private double lastOpen;
+    private double lastHigh;
+    private double lastLow;
+    private long lastVolume;
+
+    public Resampler(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + intervalMillis);
+        }
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * One-shot rollup of a whole series.
+     */
+    public static CandleSeries resample(CandleSeries base, long intervalMillis) {
+        Resampler r = new Resampler(intervalMillis);
+        r.update(base);
+        return r.series();
+    }
+
+    /**
+     * Fold one base bar. A bar with the same start as the previous one replaces it.
+     *
+     * @throws IllegalArgumentException if the bar is older than the previous one
+     */
+    public void onBar(long barTime, double o, double h, double l, double c, long v) {
+        if (barTime < lastBaseTime) {
+            throw new IllegalArgumentException("Bar at " + barTime + " is older than " + lastBaseTime);
+        }
+        if (barTime != lastBaseTime) {
+            long start = NseSession.barStart(barTime, intervalMillis);
+            if (size > 0 && time[size - 1] == start) {
+                // Previous latest base bar becomes part of the prefix
+                if (hasPrefix) {
+                    prefixHigh = Math.max(prefixHigh, lastHigh);
+                    prefixLow = Math.min(prefixLow, lastLow);
+                    prefixVolume += lastVolume;
+                } else {
+                    prefixOpen = lastOpen;
+                    prefixHigh = lastHigh;
+                    prefixLow = lastLow;
+                    prefixVolume = lastVolume;
+                    hasPrefix = true;
+                }
+            } else {
+                if (size == time.length) grow();
+                time[size++] = start;
+                hasPrefix = false;
+            }
+            if (firstBaseTime == Long.MIN_VALUE) {
+                firstBaseTime = barTime;
+                firstCompleteStart = barTime == start || NseSession.minuteOfDay(barTime) == NseSession.OPEN_MINUTE
+                        ? start : start + 1;
+            }
+            lastBaseTime = barTime;
+        }
+        lastOpen = o;
+        lastHigh = h;
+        lastLow = l;
+        lastVolume = v;
+
+        int i = size - 1;
+        open[i] = hasPrefix ? prefixOpen : o;
+        high[i] = hasPrefix ? Math.max(prefixHigh, h) : h;
+        low[i] = hasPrefix ? Math.min(prefixLow, l) : l;
+        close[i] = c;
+        volume[i] = hasPrefix ? prefixVolume + v : v;
+    }
+
+    /**
+     * Catch up with a base series that extends what was folded so far: only base bars from the
+     * latest folded one onwards are processed. A series reaching further back than the first
+     * folded bar triggers a full rebuild.
+     */
+    public void update(CandleSeries base) {
+        if (base.isEmpty()) return;
+        int from = 0;
+        if (size > 0 && base.timeAt(0) >= firstBaseTime) {
+            from = lowerBound(base, lastBaseTime);
+        } else {
+            clear();
+        }
+        for (int i = from; i < base.size(); i++) {
+            onBar(base.timeAt(i), base.openAt(i), base.highAt(i), base.lowAt(i), base.closeAt(i), base.volumeAt(i));
+        }
+    }
+
+    public void clear() {
+        size = 0;
+        hasPrefix = false;
+        firstBaseTime = Long.MIN_VALUE;
+        firstCompleteStart = Long.MIN_VALUE;
+        lastBaseTime = Long.MIN_VALUE;
+    }
+
+    public int size() { return size; }
+
+    public long intervalMillis() { return intervalMillis; }
+
+    /**
+     * Copy of the rolled-up bars; the last one may still be open.
+     */
+    public CandleSeries series() {
+        return new CandleSeries(Arrays.copyOf(time, size), Arrays.copyOf(open, size), Arrays.copyOf(high, size),
+                Arrays.copyOf(low, size), Arrays.copyOf(close, size), Arrays.copyOf(volume, size), size);
+    }
+
+    /**
+     * Bars from the one containing {@code fromMillis} up to those starting at {@code toMillis}.
+     * A leading bar whose first base bars were never folded is left out rather than returned partial.
+     */
+    public List<OHLCV> toOHLCV(long fromMillis, long toMillis) {
+        List<OHLCV> out = new ArrayList<>();
+        long lower = Math.max(NseSession.barStart(fromMillis, intervalMillis), firstCompleteStart);
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (time[mid] < lower) lo = mid + 1;
+            else hi = mid;
+        }
+        for (int i = lo; i < size && time[i] <= toMillis; i++) {
+            out.add(OHLCV.builder()
+                    .timestamp(Instant.ofEpochMilli(time[i]))
+                    .open(BigDecimal.valueOf(open[i]))
+                    .high(BigDecimal.valueOf(high[i]))
+                    .low(BigDecimal.valueOf(low[i]))
+                    .close(BigDecimal.valueOf(close[i]))
+                    .volume(volume[i])
+                    .build());
+        }
+        return out;
+    }
+
+    private void grow() {
+        int cap = time.length * 2;
+        time = Arrays.copyOf(time, cap);
+        open = Arrays.copyOf(open, cap);
+        high = Arrays.copyOf(high, cap);
+        low = Arrays.copyOf(low, cap);
+        close = Arrays.copyOf(close, cap);
+        volume = Arrays.copyOf(volume, cap);
+    }
+
+    private static int lowerBound(CandleSeries s, long key) {
+        int lo = 0, hi = s.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (s.timeAt(mid) < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
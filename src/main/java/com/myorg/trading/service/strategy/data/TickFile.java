@@ -0,0 +1,224 @@
+package com.myorg.trading.service.strategy.data;
+
+import com.myorg.trading.broker.api.MarketDataTick;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only binary tick log, one file per instrument and IST day.
+ * <pre>
+ *   header (16 bytes): int magic, int version, int priceScale, int reserved
+ *   record (28 bytes): long epochMillis, int last, int bid, int ask, long volume
+ * </pre>
+ * Prices are stored as integer multiples of 1/priceScale (paise), which is exact for NSE tick
+ * sizes and keeps records small. Records are in non-decreasing time order and are only ever read
+ * front to back, through a large buffer and without per-tick allocation.
+ */
+public final class TickFile {
+
+    public static final int RECORD_BYTES = 28;
+
+    static final int MAGIC = 0x5449434B; // "TICK"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int PRICE_SCALE = 100;
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private TickFile() {
+    }
+
+    public static Writer append(Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    /**
+     * Reads the files one after another, e.g. consecutive days of one instrument.
+     */
+    public static Reader read(List<Path> files) {
+        return new Reader(files);
+    }
+
+    private static int toScaled(double price) {
+        return (int) Math.round(price * PRICE_SCALE);
+    }
+
+    private static double price(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0.0;
+    }
+
+    /**
+     * Buffered appender. Not thread-safe; callers serialize access per file.
+     */
+    public static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        private long lastTime = Long.MIN_VALUE;
+
+        private Writer(Path file) throws IOException {
+            Files.createDirectories(file.getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.READ);
+            long size = channel.size();
+            if (size == 0) {
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(PRICE_SCALE).putInt(0);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(header, 0);
+                header.flip();
+                checkHeader(header, file);
+                // Drop a torn trailing record left by a crash
+                long end = size - (size - HEADER_BYTES) % RECORD_BYTES;
+                if (end > HEADER_BYTES) {
+                    ByteBuffer last = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+                    channel.read(last, end - RECORD_BYTES);
+                    lastTime = last.getLong(0);
+                }
+                channel.truncate(end);
+            }
+            channel.position(channel.size());
+        }
+
+        public void append(MarketDataTick tick) throws IOException {
+            append(tick.getTimestamp().toEpochMilli(), price(tick.getLastPrice()),
+                    price(tick.getBid()), price(tick.getAsk()), tick.getVolume());
+        }
+
+        /**
+         * @throws IllegalArgumentException if the tick is older than the previous one
+         */
+        public void append(long epochMillis, double last, double bid, double ask, long volume) throws IOException {
+            if (epochMillis < lastTime) {
+                throw new IllegalArgumentException("Tick at " + epochMillis + " is older than " + lastTime);
+            }
+            if (buffer.remaining() < RECORD_BYTES) {
+                drain();
+            }
+            buffer.putLong(epochMillis)
+                    .putInt(toScaled(last))
+                    .putInt(toScaled(bid))
+                    .putInt(toScaled(ask))
+                    .putLong(volume);
+            lastTime = epochMillis;
+        }
+
+        public void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Sequential cursor: call {@link #next()} and read the current tick from the accessors.
+     */
+    public static final class Reader implements Closeable {
+
+        private final List<Path> files;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES - BUFFER_BYTES % RECORD_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private int fileIndex;
+        private FileChannel channel;
+        private double scale;
+
+        private long time;
+        private double last;
+        private double bid;
+        private double ask;
+        private long volume;
+
+        private Reader(List<Path> files) {
+            this.files = files;
+            buffer.limit(0);
+        }
+
+        public boolean next() throws IOException {
+            while (buffer.remaining() < RECORD_BYTES) {
+                if (!fill()) return false;
+            }
+            time = buffer.getLong();
+            last = buffer.getInt() / scale;
+            bid = buffer.getInt() / scale;
+            ask = buffer.getInt() / scale;
+            volume = buffer.getLong();
+            return true;
+        }
+
+        // Refill from the current file, moving to the next file at EOF; false once all are read
+        private boolean fill() throws IOException {
+            if (channel != null) {
+                buffer.compact();
+                int n = channel.read(buffer);
+                buffer.flip();
+                if (n > 0) return true;
+                channel.close();
+                channel = null;
+                buffer.clear().limit(0); // drops a torn trailing record
+            }
+            if (fileIndex == files.size()) return false;
+            Path file = files.get(fileIndex++);
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // read the full header
+            }
+            header.flip();
+            scale = checkHeader(header, file);
+            return true;
+        }
+
+        public long time() { return time; }
+
+        public double last() { return last; }
+
+        public double bid() { return bid; }
+
+        public double ask() { return ask; }
+
+        public long volume() { return volume; }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private static int checkHeader(ByteBuffer header, Path file) throws IOException {
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+            throw new IOException("Not a tick file: " + file);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported tick file version " + version + ": " + file);
+        }
+        return header.getInt();
+    }
+}
@@ -0,0 +1,132 @@
+package com.myorg.trading.service.strategy.data;
+
+import com.myorg.trading.broker.api.MarketDataTick;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recorded live ticks on disk, one {@link TickFile} per instrument and IST day:
+ * {@code <dir>/<instrument>/<yyyy-MM-dd>.ticks}.
+ *
+ * Recording is off by default; when enabled, MarketDataService appends every pushed tick.
+ * Writers stay open per instrument and roll over at the IST day boundary.
+ */
+@Component
+@Slf4j
+public class TickStore {
+
+    private final Path root;
+    private final boolean recording;
+
+    private final Map<String, DayWriter> writers = new ConcurrentHashMap<>();
+
+    private static final class DayWriter {
+        long day = Long.MIN_VALUE;
+        TickFile.Writer writer;
+    }
+
+    public TickStore(@Value("${app.tick-store.dir:data/ticks}") String dir,
+                     @Value("${app.tick-store.record:false}") boolean recording) {
+        this.root = Paths.get(dir);
+        this.recording = recording;
+        log.info("TickStore at {} (recording {})", root.toAbsolutePath(), recording ? "on" : "off");
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Append a live tick. Failures are logged and never reach the feed.
+     */
+    public void record(String instrumentToken, MarketDataTick tick) {
+        if (!recording || tick.getTimestamp() == null) return;
+        DayWriter w = writers.computeIfAbsent(instrumentToken, k -> new DayWriter());
+        synchronized (w) {
+            try {
+                long millis = tick.getTimestamp().toEpochMilli();
+                long day = NseSession.tradingDay(millis);
+                if (day != w.day) {
+                    if (w.writer != null) w.writer.close();
+                    w.writer = TickFile.append(file(instrumentToken, LocalDate.ofEpochDay(day)));
+                    w.day = day;
+                }
+                w.writer.append(tick);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Failed to record tick for {}: {}", instrumentToken, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Cursor over the recorded days in [from, to], oldest first; missing days are skipped.
+     */
+    public TickFile.Reader open(String instrumentToken, LocalDate from, LocalDate to) {
+        flush(instrumentToken);
+        List<Path> files = new ArrayList<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            Path file = file(instrumentToken, d);
+            if (Files.exists(file)) files.add(file);
+        }
+        return TickFile.read(files);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is blank or would resolve outside the store
+     */
+    public Path file(String instrumentToken, LocalDate day) {
+        if (instrumentToken == null || instrumentToken.isBlank()) {
+            throw new IllegalArgumentException("Instrument token is required");
+        }
+        Path base = root.toAbsolutePath().normalize();
+        Path file = base.resolve(safe(instrumentToken)).resolve(day + ".ticks").normalize();
+        if (!file.startsWith(base)) {
+            throw new IllegalArgumentException("Invalid instrument token: " + instrumentToken);
+        }
+        return file;
+    }
+
+    // Tokens come from request bodies: same rule as CandleStore's directory names
+    private static String safe(String part) {
+        return part.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    private void flush(String instrumentToken) {
+        DayWriter w = writers.get(instrumentToken);
+        if (w == null) return;
+        synchronized (w) {
+            try {
+                if (w.writer != null) w.writer.flush();
+            } catch (IOException e) {
+                log.warn("Failed to flush ticks for {}: {}", instrumentToken, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        writers.forEach((token, w) -> {
+            synchronized (w) {
+                try {
+                    if (w.writer != null) w.writer.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close tick file for {}: {}", token, e.getMessage());
+                }
+                w.writer = null;
+                w.day = Long.MIN_VALUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.myorg.trading.service.strategy.impl.BreakoutTemplate;
+import com.myorg.trading.service.strategy.impl.MACDMomentumTemplate;
+import com.myorg.trading.service.strategy.impl.OpeningRangeTemplate;
+import com.myorg.trading.service.strategy.impl.RSIReversalTemplate;
+import com.myorg.trading.service.strategy.impl.SMACrossoverTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds a {@link BarStrategy} for a template id from its JSON params
+ * (Strategy.paramsJson for live strategies, BacktestRequest.params for backtests).
+ * Params are compiled by the same {@link StrategyTemplate} the live executor uses, so missing
+ * params fall back to the template defaults and invalid ones are rejected the same way.
+ */
+public final class BarStrategies {
+
+    public static final List<String> TEMPLATES =
+            List.of("sma_crossover", "rsi_reversal", "breakout", "macd_momentum", "opening_range");
+
+    // Templates are stateless, so backtests can use their own instances outside Spring
+    private static final Map<String, StrategyTemplate<?>> BUILT_IN = List.<StrategyTemplate<?>>of(
+                    new SMACrossoverTemplate(), new RSIReversalTemplate(), new BreakoutTemplate(),
+                    new MACDMomentumTemplate(), new OpeningRangeTemplate())
+            .stream()
+            .collect(Collectors.toUnmodifiableMap(StrategyTemplate::templateId, Function.identity()));
+
+    private BarStrategies() {
+    }
+
+    public static BarStrategy create(String templateId, JsonNode params) {
+        return create(template(templateId), params != null ? params : MissingNode.getInstance());
+    }
+
+    /**
+     * Param names the template reads, aliases included.
+     */
+    public static Set<String> paramNames(String templateId) {
+        return template(templateId).paramNames();
+    }
+
+    private static StrategyTemplate<?> template(String templateId) {
+        if (templateId == null) {
+            throw new IllegalArgumentException("Strategy template is required");
+        }
+        StrategyTemplate<?> template = BUILT_IN.get(templateId);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown strategy template: " + templateId);
+        }
+        return template;
+    }
+
+    private static <P> BarStrategy create(StrategyTemplate<P> template, JsonNode params) {
+        return template.newBarStrategy(template.compile(params));
+    }
+}
@@ -0,0 +1,36 @@
+package com.myorg.trading.service.strategy.engine;
+
+/**
+ * Strategy that consumes completed bars one at a time and emits a signal per bar.
+ *
+ * The same instance type drives backtests and live execution. Bars are passed as primitives
+ * and implementations keep their state in streaming indicators, so {@link #onBar} must not
+ * allocate. Instances are stateful and single-threaded: create one per backtest run or per
+ * running strategy.
+ */
+public interface BarStrategy {
+
+    int HOLD = 0;
+    int BUY = 1;
+    int SELL = -1;
+
+    /**
+     * Template id this strategy implements (e.g. "sma_crossover").
+     */
+    String templateId();
+
+    /**
+     * Bars needed before the first signal can be emitted. Live callers replay at least this
+     * many historical bars before switching to the feed.
+     */
+    int warmupBars();
+
+    /**
+     * Process one completed bar (time is the bar start, epoch millis).
+     *
+     * @return {@link #BUY}, {@link #SELL} or {@link #HOLD}
+     */
+    int onBar(long time, double open, double high, double low, double close, long volume);
+
+    void reset();
+}
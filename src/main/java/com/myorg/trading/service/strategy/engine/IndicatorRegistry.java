@@ -0,0 +1,626 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.marketdata.BarAggregationService;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.data.NseSession;
+import com.myorg.trading.service.strategy.indicators.IndicatorSpec;
+import com.myorg.trading.service.strategy.indicators.IndicatorView;
+import com.myorg.trading.service.strategy.indicators.StreamingIndicator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Indicators shared by all running strategies, keyed by (instrument, interval, indicator spec).
+ *
+ * Each (instrument, interval) has one feed: one live bar subscription and one history fetch, no
+ * matter how many strategies use it. Each distinct spec on a feed is computed once per completed
+ * bar and published as an immutable snapshot; strategies read it through a {@link Handle}.
+ * Handles are reference counted: an indicator is dropped when its last handle is closed, and the
+ * feed (with its bar subscription) when its last indicator is.
+ *
+ * The feed keeps the last bars it has seen, so an indicator added later starts from the same
+ * history instead of fetching it again. One that needs more bars than the feed keeps widens it
+ * and fetches the older bars once. Live bars are re-published per feed once every indicator
+ * has folded them in ({@link Handle#updates()}), so a consumer never sees a bar ahead of its values.
+ *
+ * With a {@link SnapshotStore} the kept bars are also saved periodically, when a feed stops and on
+ * shutdown. A feed started after a restart loads them back and fetches only the bars missed since,
+ * as long as that gap is shorter than the feed itself; otherwise it re-warms from full history.
+ */
+@Component
+@Slf4j
+public class IndicatorRegistry {
+
+    /** Completed live bars of an instrument and interval. */
+    @FunctionalInterface
+    interface BarSource {
+        Flux<OHLCV> bars(String instrument, String interval);
+    }
+
+    /** Most recent historical bars, oldest first. */
+    @FunctionalInterface
+    interface HistoryLoader {
+        List<OHLCV> load(Long userId, String instrument, String interval, int bars);
+    }
+
+    /** Persisted copy of a feed's recent bars, keyed by "instrument|interval". */
+    public interface SnapshotStore {
+        /** Saved bars oldest first, or null if none. */
+        CandleSeries load(String feedKey);
+
+        void save(String feedKey, CandleSeries bars);
+    }
+
+    private final BarSource barSource;
+    private final HistoryLoader historyLoader;
+    private final SnapshotStore snapshots;
+    private final int historyBars;
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService saver;
+
+    @Autowired
+    public IndicatorRegistry(BarAggregationService barAggregation,
+                             MarketDataFetcher marketDataFetcher,
+                             StrategySnapshots snapshots,
+                             @Value("${app.indicator-registry.history-bars:300}") int historyBars,
+                             @Value("${app.indicator-registry.snapshot-interval:5m}") Duration snapshotInterval) {
+        this(barAggregation::bars, marketDataFetcher::fetchHistoricalData, snapshots, historyBars, snapshotInterval);
+    }
+
+    IndicatorRegistry(BarSource barSource, HistoryLoader historyLoader, int historyBars) {
+        this(barSource, historyLoader, null, historyBars, Duration.ZERO);
+    }
+
+    /**
+     * @param snapshots        null to always warm up from history
+     * @param snapshotInterval period of the background save, zero or negative for none
+     */
+    IndicatorRegistry(BarSource barSource, HistoryLoader historyLoader, SnapshotStore snapshots,
+                      int historyBars, Duration snapshotInterval) {
+        this.barSource = barSource;
+        this.historyLoader = historyLoader;
+        this.snapshots = snapshots;
+        this.historyBars = Math.max(1, historyBars);
+        if (snapshots != null && snapshotInterval.toMillis() > 0) {
+            this.saver = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "indicator-snapshots");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = snapshotInterval.toMillis();
+            saver.scheduleWithFixedDelay(this::saveSnapshots, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.saver = null;
+        }
+    }
+
+    /**
+     * Subscribe to an indicator, creating it (and its feed) on first use. History for a new feed
+     * is loaded with the broker account of {@code userId}. Close the handle when done.
+     *
+     * @throws IllegalArgumentException if live bars are not built for {@code interval}
+     */
+    public Handle acquire(Long userId, String instrument, String interval, IndicatorSpec spec) {
+        String canonical = MarketDataFetcher.canonicalInterval(interval);
+        String key = instrument + '|' + canonical;
+        int needed = Math.max(historyBars, spec.warmupBars() + 1);
+        while (true) {
+            Feed feed = feeds.computeIfAbsent(key, k -> new Feed(k, instrument, canonical, needed));
+            boolean load;
+            synchronized (feed) {
+                if (feed.closed) continue; // released concurrently, make a new one
+                load = !feed.started;
+                feed.started = true;
+                feed.refs++; // pins the feed while loading; handed over to the handle
+            }
+            if (load) {
+                load(feed, userId);
+            }
+            synchronized (feed) {
+                try {
+                    while (!feed.loaded) {
+                        feed.wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    release(feed, null);
+                    throw new IllegalStateException("Interrupted while loading " + key, e);
+                }
+                if (feed.failure != null) {
+                    release(feed, null);
+                    throw feed.failure;
+                }
+            }
+            if (feed.time.length < needed) {
+                backfill(feed, userId, needed);
+            }
+            synchronized (feed) {
+                Entry entry = feed.entries.get(spec);
+                if (entry == null) {
+                    entry = new Entry(spec);
+                    entry.seed(feed);
+                    feed.entries.put(spec, entry);
+                    log.debug("Indicator {} on {} {} created", spec, instrument, canonical);
+                }
+                entry.refs++;
+                return new Handle(feed, entry);
+            }
+        }
+    }
+
+    // Subscribe first so no bar is lost while history loads; bars seen meanwhile are parked
+    private void load(Feed feed, Long userId) {
+        Disposable subscription;
+        try {
+            subscription = barSource.bars(feed.instrument, feed.interval).subscribe(feed::onLiveBar,
+                    error -> log.error("Bar stream failed for {}: {}", feed.key, error.getMessage(), error));
+        } catch (RuntimeException e) {
+            synchronized (feed) {
+                feed.failure = e;
+                feed.loaded = true;
+                feed.notifyAll();
+            }
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long intervalMillis = NseSession.intervalMillis(feed.interval);
+        CandleSeries saved = restore(feed, now, intervalMillis);
+        int count = feed.time.length;
+        if (saved != null) {
+            // Only the gap is needed, and the fetch window is calendar time, not session time
+            long gap = (now - saved.timeAt(saved.size() - 1)) / intervalMillis + 2;
+            count = (int) Math.min(Integer.MAX_VALUE, gap);
+        }
+        List<OHLCV> history;
+        try {
+            history = historyLoader.load(userId, feed.instrument, feed.interval, count);
+        } catch (Exception e) {
+            log.warn("No history for {}, indicators warm up on live bars: {}", feed.key, e.getMessage());
+            history = List.of();
+        }
+        // The broker's last candle may still be forming
+        long forming = NseSession.barStart(now, intervalMillis);
+        synchronized (feed) {
+            feed.subscription = subscription;
+            if (saved != null) {
+                for (int i = 0; i < saved.size(); i++) {
+                    feed.append(saved.timeAt(i), saved.openAt(i), saved.highAt(i), saved.lowAt(i),
+                            saved.closeAt(i), saved.volumeAt(i));
+                }
+                feed.savedTime = feed.lastTime;
+            }
+            for (OHLCV bar : history) {
+                if (bar.getTimestamp() != null && bar.getTimestamp().toEpochMilli() < forming) {
+                    feed.apply(bar, false);
+                }
+            }
+            for (OHLCV bar : feed.parked) {
+                feed.apply(bar, true);
+            }
+            feed.parked = null;
+            feed.loaded = true;
+            feed.notifyAll();
+        }
+        log.info("Indicator feed {} started with {} bars ({} from snapshot, {} fetched)", feed.key, feed.size,
+                saved != null ? saved.size() : 0, history.size());
+    }
+
+    // Widen a running feed for a spec with a longer warm-up, prepending the older bars it never kept
+    private void backfill(Feed feed, Long userId, int capacity) {
+        List<OHLCV> history;
+        try {
+            history = historyLoader.load(userId, feed.instrument, feed.interval, capacity);
+        } catch (Exception e) {
+            log.warn("No history to widen {} to {} bars, longer indicators warm up on live bars: {}",
+                    feed.key, capacity, e.getMessage());
+            history = List.of();
+        }
+        long forming = NseSession.barStart(System.currentTimeMillis(), NseSession.intervalMillis(feed.interval));
+        int size;
+        synchronized (feed) {
+            if (feed.time.length >= capacity) return; // widened concurrently
+            feed.grow(capacity, history, forming);
+            size = feed.size;
+        }
+        log.info("Indicator feed {} widened to {} bars, {} kept", feed.key, capacity, size);
+    }
+
+    // Saved bars if they are recent enough that the missed bars still leave part of them in the feed
+    private CandleSeries restore(Feed feed, long now, long intervalMillis) {
+        if (snapshots == null) return null;
+        try {
+            CandleSeries saved = snapshots.load(feed.key);
+            if (saved == null || saved.isEmpty()) return null;
+            long missed = NseSession.barsBetween(saved.timeAt(saved.size() - 1), now, intervalMillis);
+            if (missed >= feed.time.length) {
+                log.info("Snapshot of {} is {} bars old, warming up from history", feed.key, missed);
+                return null;
+            }
+            return saved;
+        } catch (Exception e) {
+            log.warn("Could not load snapshot of {}: {}", feed.key, e.getMessage());
+            return null;
+        }
+    }
+
+    // Save feeds with bars added since their last save
+    void saveSnapshots() {
+        for (Feed feed : feeds.values()) {
+            save(feed);
+        }
+    }
+
+    private void save(Feed feed) {
+        if (snapshots == null) return;
+        CandleSeries bars;
+        synchronized (feed) {
+            if (!feed.loaded || feed.size == 0 || feed.lastTime == feed.savedTime) return;
+            bars = feed.copy();
+            feed.savedTime = feed.lastTime;
+        }
+        try {
+            snapshots.save(feed.key, bars);
+        } catch (Exception e) {
+            log.warn("Could not save snapshot of {}: {}", feed.key, e.getMessage());
+        }
+    }
+
+    private void release(Feed feed, Entry entry) {
+        Disposable subscription;
+        synchronized (feed) {
+            if (entry != null && --entry.refs == 0) {
+                feed.entries.remove(entry.spec);
+                log.debug("Indicator {} on {} released", entry.spec, feed.key);
+            }
+            if (--feed.refs > 0) return;
+            feed.closed = true;
+            feeds.remove(feed.key, feed);
+            subscription = feed.subscription;
+            feed.updates.tryEmitComplete();
+        }
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        save(feed);
+        log.info("Indicator feed {} stopped", feed.key);
+    }
+
+    /** Live (instrument, interval) feeds. */
+    public int feedCount() {
+        return feeds.size();
+    }
+
+    /** Distinct indicators computed across all feeds. */
+    public int indicatorCount() {
+        int count = 0;
+        for (Feed feed : feeds.values()) {
+            synchronized (feed) {
+                count += feed.entries.size();
+            }
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (saver != null) {
+            saver.shutdownNow();
+        }
+        for (Feed feed : feeds.values()) {
+            Disposable subscription;
+            synchronized (feed) {
+                feed.closed = true;
+                subscription = feed.subscription;
+                feed.updates.tryEmitComplete();
+            }
+            if (subscription != null) subscription.dispose();
+            save(feed);
+        }
+        feeds.clear();
+    }
+
+    /**
+     * A strategy's subscription to one shared indicator. Reads never block the feed.
+     */
+    public final class Handle implements IndicatorView, AutoCloseable {
+
+        private final Feed feed;
+        private final Entry entry;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Handle(Feed feed, Entry entry) {
+            this.feed = feed;
+            this.entry = entry;
+        }
+
+        public String instrument() { return feed.instrument; }
+
+        public String interval() { return feed.interval; }
+
+        /**
+         * Live bars of this handle's feed, each emitted (on the feed thread) after all of the feed's
+         * indicators have folded it in. Completes when the feed stops.
+         */
+        public Flux<OHLCV> updates() { return feed.updates.asFlux(); }
+
+        @Override
+        public IndicatorSpec spec() { return entry.spec; }
+
+        @Override
+        public long barTime() { return entry.snapshot.barTime(); }
+
+        @Override
+        public long bars() { return entry.snapshot.bars(); }
+
+        @Override
+        public boolean isReady() { return entry.snapshot.isReady(); }
+
+        @Override
+        public double value(int output) { return entry.snapshot.value(output); }
+
+        @Override
+        public double previous(int output) { return entry.snapshot.previous(output); }
+
+        @Override
+        public IndicatorView snapshot() { return entry.snapshot; }
+
+        /** Idempotent. */
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(feed, entry);
+            }
+        }
+    }
+
+    private static final class Snapshot implements IndicatorView {
+
+        private final IndicatorSpec spec;
+        private final long barTime;
+        private final long bars;
+        private final boolean ready;
+        private final double[] values;
+        private final double[] previous;
+
+        Snapshot(IndicatorSpec spec, long barTime, long bars, boolean ready, double[] values, double[] previous) {
+            this.spec = spec;
+            this.barTime = barTime;
+            this.bars = bars;
+            this.ready = ready;
+            this.values = values;
+            this.previous = previous;
+        }
+
+        @Override
+        public IndicatorSpec spec() { return spec; }
+
+        @Override
+        public long barTime() { return barTime; }
+
+        @Override
+        public long bars() { return bars; }
+
+        @Override
+        public boolean isReady() { return ready; }
+
+        @Override
+        public double value(int output) { return values[output]; }
+
+        @Override
+        public double previous(int output) { return previous[output]; }
+
+        @Override
+        public IndicatorView snapshot() { return this; }
+    }
+
+    // Mutable state is guarded by the entry's feed
+    private static final class Entry {
+        final IndicatorSpec spec;
+        final StreamingIndicator indicator;
+        int refs;
+        volatile Snapshot snapshot;
+
+        Entry(IndicatorSpec spec) {
+            this.spec = spec;
+            this.indicator = spec.create();
+            double[] empty = nan(spec.outputs());
+            this.snapshot = new Snapshot(spec, Long.MIN_VALUE, 0, false, empty, empty);
+        }
+
+        // Replay the bars the feed has kept, publishing only the final state
+        void seed(Feed feed) {
+            if (feed.size == 0) return;
+            double[] previous = nan(spec.outputs());
+            for (int n = 0; n < feed.size; n++) {
+                int i = feed.index(n);
+                if (n == feed.size - 1 && n > 0) {
+                    spec.read(indicator, previous);
+                }
+                indicator.update(spec.input(feed.open[i], feed.high[i], feed.low[i], feed.close[i], feed.volume[i]));
+            }
+            publish(feed.time[feed.index(feed.size - 1)], previous);
+        }
+
+        void update(long time, double o, double h, double l, double c, long v) {
+            indicator.update(spec.input(o, h, l, c, v));
+            publish(time, snapshot.values);
+        }
+
+        private void publish(long time, double[] previous) {
+            double[] values = new double[spec.outputs()];
+            spec.read(indicator, values);
+            snapshot = new Snapshot(spec, time, indicator.count(), indicator.isReady(), values, previous);
+        }
+
+        private static double[] nan(int n) {
+            double[] a = new double[n];
+            Arrays.fill(a, Double.NaN);
+            return a;
+        }
+    }
+
+    // One per (instrument, interval); all state guarded by its monitor
+    private static final class Feed {
+        final String key;
+        final String instrument;
+        final String interval;
+        final Map<IndicatorSpec, Entry> entries = new HashMap<>();
+        int refs;
+        boolean started;
+        boolean loaded;
+        boolean closed;
+        RuntimeException failure;
+        Disposable subscription;
+        List<OHLCV> parked = new ArrayList<>();
+        final Sinks.Many<OHLCV> updates = Sinks.many().multicast().directBestEffort();
+
+        // Ring of the most recent bars, used to seed indicators added later
+        long[] time;
+        double[] open;
+        double[] high;
+        double[] low;
+        double[] close;
+        long[] volume;
+        int head; // oldest bar
+        int size;
+        long lastTime = Long.MIN_VALUE;
+        long savedTime = Long.MIN_VALUE; // lastTime when last written to the snapshot store
+
+        Feed(String key, String instrument, String interval, int capacity) {
+            this.key = key;
+            this.instrument = instrument;
+            this.interval = interval;
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            time = new long[capacity];
+            open = new double[capacity];
+            high = new double[capacity];
+            low = new double[capacity];
+            close = new double[capacity];
+            volume = new long[capacity];
+            head = 0;
+            size = 0;
+        }
+
+        int index(int n) {
+            int i = head + n;
+            return i >= time.length ? i - time.length : i;
+        }
+
+        synchronized void onLiveBar(OHLCV bar) {
+            if (closed) return;
+            if (!loaded) {
+                parked.add(bar);
+                return;
+            }
+            apply(bar, true);
+        }
+
+        void apply(OHLCV bar, boolean live) {
+            boolean added = append(bar.getTimestamp().toEpochMilli(), bar.getOpen().doubleValue(),
+                    bar.getHigh().doubleValue(), bar.getLow().doubleValue(), bar.getClose().doubleValue(),
+                    bar.getVolume() != null ? bar.getVolume() : 0);
+            if (added && live) {
+                updates.tryEmitNext(bar);
+            }
+        }
+
+        // False if already have it (history overlapping the snapshot or the live feed)
+        boolean append(long t, double o, double h, double l, double c, long v) {
+            if (t <= lastTime) return false;
+            put(t, o, h, l, c, v);
+            lastTime = t;
+
+            for (Entry entry : entries.values()) {
+                entry.update(t, o, h, l, c, v);
+            }
+            return true;
+        }
+
+        private void put(long t, double o, double h, double l, double c, long v) {
+            int i;
+            if (size < time.length) {
+                i = index(size++);
+            } else {
+                i = head;
+                head = index(1);
+            }
+            time[i] = t;
+            open[i] = o;
+            high[i] = h;
+            low[i] = l;
+            close[i] = c;
+            volume[i] = v;
+        }
+
+        /*
+         * Re-allocate the ring at a larger capacity. History bars older than the first kept one go
+         * in front: existing indicators are already past them, only indicators seeded later read
+         * them. On an empty feed the history is simply appended.
+         */
+        void grow(int capacity, List<OHLCV> history, long forming) {
+            CandleSeries kept = copy();
+            long first = kept.isEmpty() ? forming : Math.min(kept.timeAt(0), forming);
+            List<OHLCV> older = history.stream()
+                    .filter(bar -> bar.getTimestamp() != null && bar.getTimestamp().toEpochMilli() < first)
+                    .toList();
+            older = older.subList(Math.max(0, older.size() - (capacity - kept.size())), older.size());
+
+            allocate(capacity);
+            if (kept.isEmpty()) {
+                older.forEach(bar -> apply(bar, false));
+                return;
+            }
+            for (OHLCV bar : older) {
+                put(bar.getTimestamp().toEpochMilli(), bar.getOpen().doubleValue(), bar.getHigh().doubleValue(),
+                        bar.getLow().doubleValue(), bar.getClose().doubleValue(),
+                        bar.getVolume() != null ? bar.getVolume() : 0);
+            }
+            for (int n = 0; n < kept.size(); n++) {
+                put(kept.timeAt(n), kept.openAt(n), kept.highAt(n), kept.lowAt(n), kept.closeAt(n),
+                        kept.volumeAt(n));
+            }
+        }
+
+        CandleSeries copy() {
+            long[] t = new long[size];
+            double[] o = new double[size];
+            double[] h = new double[size];
+            double[] l = new double[size];
+            double[] c = new double[size];
+            long[] v = new long[size];
+            for (int n = 0; n < size; n++) {
+                int i = index(n);
+                t[n] = time[i];
+                o[n] = open[i];
+                h[n] = high[i];
+                l[n] = low[i];
+                c[n] = close[i];
+                v[n] = volume[i];
+            }
+            return new CandleSeries(t, o, h, l, c, v, size);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+
+/**
+ * Template-independent params of a live strategy, compiled once at start.
+ *
+ * @param symbol             instrument to trade, null for strategies that only poll
+ * @param interval           live bar interval, canonical (e.g. "5M")
+ * @param quantity           order quantity
+ * @param stopLossPercent    0 = none
+ * @param targetPercent      0 = none
+ * @param tickTriggerPercent price move that triggers an evaluation between bars, 0 = bars only
+ */
+public record LiveSettings(String symbol, String interval, int quantity,
+                           double stopLossPercent, double targetPercent, double tickTriggerPercent) {
+
+    public LiveSettings {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive: " + quantity);
+        }
+        if (stopLossPercent < 0 || targetPercent < 0 || tickTriggerPercent < 0) {
+            throw new IllegalArgumentException("stopLoss, target and tickTriggerPercent must not be negative");
+        }
+    }
+
+    public static LiveSettings compile(JsonNode params) {
+        return new LiveSettings(
+                ParamReader.text(params, null, "symbol"),
+                MarketDataFetcher.canonicalInterval(ParamReader.text(params, "5M", "interval")),
+                ParamReader.integer(params, 1, "quantity"),
+                ParamReader.decimal(params, 0, "stopLoss", "stopLossPercent"),
+                ParamReader.decimal(params, 0, "target", "targetPercent"),
+                ParamReader.decimal(params, 0, "tickTriggerPercent"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.myorg.trading.domain.model.OHLCV;
+import reactor.core.publisher.Flux;
+
+/**
+ * A running strategy instance, bound to its compiled params and broker account by
+ * {@link StrategyTemplate#bind}.
+ *
+ * {@link #onBar} and {@link #onPrice} run on the market data thread and must only update state
+ * in constant time; they ask for an evaluation by returning true. {@link #evaluate} runs on a
+ * StrategyExecutor worker, serialized per strategy, and is where orders are placed.
+ */
+@FunctionalInterface
+public interface LiveStrategy {
+
+    void evaluate();
+
+    /**
+     * Completed bars that drive this strategy, or null for the BarAggregationService bars of
+     * the configured interval.
+     */
+    default Flux<OHLCV> bars() { return null; }
+
+    /**
+     * Every completed bar, in order.
+     *
+     * @return true to request an evaluation
+     */
+    default boolean onBar(OHLCV bar) { return true; }
+
+    /**
+     * Latest traded price.
+     *
+     * @return true to request an evaluation now (e.g. a stop was hit)
+     */
+    default boolean onPrice(double price) { return false; }
+
+    /**
+     * Release shared resources such as indicator handles; called once when the strategy stops.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,14 @@
+package com.myorg.trading.service.strategy.engine;
+
+/**
+ * Guards order placement for a strategy whose ownership can move to another node: a strategy
+ * that has lost its lease must not place orders, even before it is told to stop.
+ */
+public interface OrderFence {
+
+    /** True if this node may still place orders for the strategy. Checked before every order. */
+    boolean permits();
+
+    /** Fencing token of the current ownership, added to client order ids so owners never reuse one. */
+    long token();
+}
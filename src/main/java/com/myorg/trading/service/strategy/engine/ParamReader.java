@@ -0,0 +1,72 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Lookups over strategy params JSON for {@link StrategyTemplate#compile}. A param may be known
+ * under several names (backtest names and the strategy builder's); the first one present wins.
+ */
+public final class ParamReader {
+
+    /**
+     * Longest indicator period a template accepts. Periods size indicator windows, live feed
+     * history and broker fetches, so an unbounded one could exhaust memory from a single request.
+     */
+    public static final int MAX_PERIOD = 5_000;
+
+    private ParamReader() {
+    }
+
+    /**
+     * An indicator period (bars), between 1 and {@link #MAX_PERIOD}.
+     */
+    public static int period(JsonNode params, int defaultValue, String... names) {
+        int value = integer(params, defaultValue, names);
+        if (value < 1 || value > MAX_PERIOD) {
+            throw new IllegalArgumentException(names[0] + " must be between 1 and " + MAX_PERIOD + ": " + value);
+        }
+        return value;
+    }
+
+    public static int integer(JsonNode params, int defaultValue, String... names) {
+        JsonNode node = find(params, names);
+        if (node == null) return defaultValue;
+        if (!node.canConvertToInt() && !node.isTextual()) {
+            throw new IllegalArgumentException(names[0] + " must be a whole number: " + node);
+        }
+        return node.isTextual() ? parseInt(names[0], node.asText()) : node.asInt();
+    }
+
+    public static double decimal(JsonNode params, double defaultValue, String... names) {
+        JsonNode node = find(params, names);
+        if (node == null) return defaultValue;
+        if (node.isNumber()) return node.asDouble();
+        try {
+            return Double.parseDouble(node.asText());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(names[0] + " must be a number: " + node);
+        }
+    }
+
+    public static String text(JsonNode params, String defaultValue, String... names) {
+        JsonNode node = find(params, names);
+        return node == null || node.asText().isBlank() ? defaultValue : node.asText();
+    }
+
+    private static JsonNode find(JsonNode params, String... names) {
+        if (params == null) return null;
+        for (String name : names) {
+            JsonNode node = params.get(name);
+            if (node != null && !node.isNull()) return node;
+        }
+        return null;
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number: " + value);
+        }
+    }
+}
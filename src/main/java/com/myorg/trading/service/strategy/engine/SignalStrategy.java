@@ -0,0 +1,335 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.myorg.trading.broker.api.BrokerOrderRequest;
+import com.myorg.trading.broker.api.BrokerOrderResponse;
+import com.myorg.trading.broker.api.BrokerPosition;
+import com.myorg.trading.broker.api.OrderSide;
+import com.myorg.trading.broker.api.OrderType;
+import com.myorg.trading.broker.api.TimeInForce;
+import com.myorg.trading.domain.entity.StrategyPositionSnapshot;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.NseSession;
+import com.myorg.trading.service.strategy.impl.SMACrossoverStrategy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live execution of a per-bar signal rule, long-only like the backtests:
+ * BUY when flat enters with a market order of the configured quantity, SELL (or the stop/target
+ * levels, checked on every price) exits it.
+ *
+ * The rule runs on the bar feed thread, once per bar, and only records the signal; orders are
+ * placed by {@link #evaluate} on a worker. Signals are not chased: a BUY that arrives while
+ * already long, or a SELL while flat, is dropped.
+ *
+ * The position (holding, entry, stop and target) is persisted after every fill when the context
+ * has a snapshot store, and restored at construction, so a strategy restarted during the same
+ * session still manages the position it opened. Orders are INTRADAY, so the broker squares off
+ * anything left at the close: a position saved on an earlier day is discarded, never exited.
+ *
+ * Client order ids carry a per-instance nonce that increases across restarts, so a restarted
+ * strategy never reuses one even though its sequence starts again. An order that times out may
+ * still have reached the broker, so the position becomes unknown: the strategy stops trading and
+ * reconciles against the account's net position for the symbol (assumed to be this strategy's
+ * alone) before acting on further signals.
+ */
+@Slf4j
+public final class SignalStrategy implements LiveStrategy {
+
+    /** Signal for one completed bar, BarStrategy.BUY/SELL/HOLD. Same shape as BarStrategy#onBar. */
+    @FunctionalInterface
+    public interface Rule {
+        int onBar(long time, double open, double high, double low, double close, long volume);
+    }
+
+    private static final Duration ORDER_TIMEOUT = Duration.ofSeconds(10);
+    private static final Map<String, Object> ORDER_META = Map.of("productType", "INTRADAY", "exchange", "NSE_EQ");
+    // Millisecond-based, so ids from a later run sort after (and never equal) earlier ones
+    private static final AtomicLong INSTANCE_NONCE = new AtomicLong();
+
+    private enum OrderOutcome { PLACED, FAILED, UNKNOWN }
+
+    private final StrategyContext context;
+    private final Rule rule;
+    private final Flux<OHLCV> bars;
+    private final AutoCloseable[] resources;
+    private final AtomicInteger pendingSignal = new AtomicInteger(BarStrategy.HOLD);
+    private final AtomicInteger orderSequence = new AtomicInteger();
+    private final String orderNonce = Long.toString(
+            INSTANCE_NONCE.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis())), 36);
+
+    private volatile double lastPrice = Double.NaN;
+    // Written by evaluate() only; read on the feed thread for stop/target checks
+    private volatile boolean holding;
+    private volatile double stop = Double.NEGATIVE_INFINITY;
+    private volatile double target = Double.POSITIVE_INFINITY;
+    private double entryPrice;
+    // Set when an order timed out; trading waits until reconcile() has read the broker's position
+    private volatile boolean positionUnknown;
+    private long nextReconcileAt;
+
+    /**
+     * @param bars      bars driving the rule, null for the executor's default bar stream
+     * @param resources closed when the strategy stops (e.g. indicator handles)
+     */
+    public SignalStrategy(StrategyContext context, Rule rule, Flux<OHLCV> bars, AutoCloseable... resources) {
+        this.context = context;
+        this.rule = rule;
+        this.bars = bars;
+        this.resources = resources;
+        restorePosition();
+    }
+
+    private void restorePosition() {
+        if (context.snapshots() == null) return;
+        LocalDate today = LocalDate.ofEpochDay(NseSession.tradingDay(System.currentTimeMillis()));
+        try {
+            context.snapshots().loadPosition(context.strategyId())
+                    .filter(p -> Boolean.TRUE.equals(p.getHolding()))
+                    .filter(p -> {
+                        if (today.equals(p.getTradingDay())) return true;
+                        log.info("Strategy {} ignores its position from {}, squared off at that session's close",
+                                context.strategyId(), p.getTradingDay());
+                        return false;
+                    })
+                    .ifPresent(p -> {
+                        entryPrice = p.getEntryPrice() != null ? p.getEntryPrice() : Double.NaN;
+                        stop = p.getStopPrice() != null ? p.getStopPrice() : Double.NEGATIVE_INFINITY;
+                        target = p.getTargetPrice() != null ? p.getTargetPrice() : Double.POSITIVE_INFINITY;
+                        holding = true;
+                        log.info("Strategy {} resumed holding {} from {} (stop {}, target {})", context.strategyId(),
+                                context.settings().symbol(), entryPrice, stop, target);
+                    });
+        } catch (Exception e) {
+            log.error("Strategy {} could not restore its position, starting flat: {}", context.strategyId(),
+                    e.getMessage(), e);
+        }
+    }
+
+    // A failed save leaves the fill in place; the position is only lost if the app restarts before the next one
+    private void savePosition() {
+        if (context.snapshots() == null) return;
+        try {
+            context.snapshots().savePosition(StrategyPositionSnapshot.builder()
+                    .strategyId(context.strategyId())
+                    .holding(holding)
+                    .tradingDay(LocalDate.ofEpochDay(NseSession.tradingDay(System.currentTimeMillis())))
+                    .entryPrice(holding ? entryPrice : null)
+                    .stopPrice(Double.isInfinite(stop) ? null : stop)
+                    .targetPrice(Double.isInfinite(target) ? null : target)
+                    .build());
+        } catch (Exception e) {
+            log.error("Strategy {} could not save its position: {}", context.strategyId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Feed completed historical bars through the rule, ignoring its signals, so per-instance
+     * state (e.g. today's opening range) is current. A still-forming last bar is skipped.
+     */
+    public SignalStrategy warmUp(List<OHLCV> history) {
+        long forming = NseSession.barStart(System.currentTimeMillis(),
+                NseSession.intervalMillis(context.settings().interval()));
+        for (OHLCV bar : history) {
+            long time = bar.getTimestamp().toEpochMilli();
+            if (time >= forming) break;
+            rule.onBar(time, bar.getOpen().doubleValue(), bar.getHigh().doubleValue(), bar.getLow().doubleValue(),
+                    bar.getClose().doubleValue(), bar.getVolume() != null ? bar.getVolume() : 0);
+        }
+        return this;
+    }
+
+    @Override
+    public Flux<OHLCV> bars() {
+        return bars;
+    }
+
+    @Override
+    public boolean onBar(OHLCV bar) {
+        double close = bar.getClose().doubleValue();
+        lastPrice = close;
+        int signal = rule.onBar(bar.getTimestamp().toEpochMilli(), bar.getOpen().doubleValue(),
+                bar.getHigh().doubleValue(), bar.getLow().doubleValue(), close,
+                bar.getVolume() != null ? bar.getVolume() : 0);
+        if (signal == BarStrategy.HOLD) {
+            return positionUnknown || holding && exitLevelHit(close);
+        }
+        pendingSignal.set(signal);
+        return true;
+    }
+
+    @Override
+    public boolean onPrice(double price) {
+        lastPrice = price;
+        return positionUnknown || holding && exitLevelHit(price);
+    }
+
+    private boolean exitLevelHit(double price) {
+        return price <= stop || price >= target;
+    }
+
+    @Override
+    public void evaluate() {
+        int signal = pendingSignal.getAndSet(BarStrategy.HOLD);
+        if (positionUnknown && !reconcile()) return; // signals are not chased, so this one is dropped
+        double price = lastPrice;
+        if (holding) {
+            if (signal == BarStrategy.SELL) {
+                exit(price, "SIGNAL");
+            } else if (price <= stop) {
+                exit(price, "STOP_LOSS");
+            } else if (price >= target) {
+                exit(price, "TARGET");
+            }
+        } else if (signal == BarStrategy.BUY && !Double.isNaN(price)) {
+            enter(price);
+        }
+    }
+
+    private void enter(double price) {
+        OrderOutcome outcome = placeOrder(OrderSide.BUY, "entry");
+        if (outcome == OrderOutcome.UNKNOWN) {
+            entryPrice = price; // levels for the position if reconcile() finds the entry filled
+            positionUnknown();
+        }
+        if (outcome != OrderOutcome.PLACED) return;
+        opened(price);
+    }
+
+    private void opened(double price) {
+        LiveSettings settings = context.settings();
+        BigDecimal p = BigDecimal.valueOf(price);
+        entryPrice = price;
+        stop = settings.stopLossPercent() > 0
+                ? SMACrossoverStrategy.calculateStopLoss(p, settings.stopLossPercent(), true).doubleValue()
+                : Double.NEGATIVE_INFINITY;
+        target = settings.targetPercent() > 0
+                ? SMACrossoverStrategy.calculateTarget(p, settings.targetPercent(), true).doubleValue()
+                : Double.POSITIVE_INFINITY;
+        holding = true;
+        savePosition();
+        log.info("Strategy {} entered {} x{} near {} (stop {}, target {})", context.strategyId(),
+                context.settings().symbol(), settings.quantity(), price, stop, target);
+    }
+
+    private void exit(double price, String reason) {
+        OrderOutcome outcome = placeOrder(OrderSide.SELL, reason);
+        if (outcome == OrderOutcome.UNKNOWN) positionUnknown();
+        if (outcome != OrderOutcome.PLACED) return;
+        closed();
+        log.info("Strategy {} exited {} near {} ({}), approx. P&L {}", context.strategyId(),
+                context.settings().symbol(), price, reason, (price - entryPrice) * context.settings().quantity());
+    }
+
+    private void closed() {
+        holding = false;
+        stop = Double.NEGATIVE_INFINITY;
+        target = Double.POSITIVE_INFINITY;
+        savePosition();
+    }
+
+    private void positionUnknown() {
+        positionUnknown = true;
+        nextReconcileAt = 0; // the order already had ORDER_TIMEOUT to land, so check right away
+    }
+
+    /**
+     * Settles an unknown position from the broker's net quantity for the symbol. Until the broker
+     * answers, it is retried at most once per {@link #ORDER_TIMEOUT} and the strategy does not trade.
+     */
+    private boolean reconcile() {
+        long now = System.currentTimeMillis();
+        if (now < nextReconcileAt) return false;
+        nextReconcileAt = now + ORDER_TIMEOUT.toMillis();
+        String symbol = context.settings().symbol();
+        List<BrokerPosition> positions;
+        try {
+            positions = context.client().getPositions(context.account().getId().toString())
+                    .timeout(ORDER_TIMEOUT)
+                    .block();
+        } catch (Exception e) {
+            log.warn("Strategy {} could not reconcile its {} position, not trading until it can: {}",
+                    context.strategyId(), symbol, e.getMessage());
+            return false;
+        }
+        BigDecimal net = positions == null ? BigDecimal.ZERO : positions.stream()
+                .filter(p -> symbol.equals(p.getSecurityId()) || symbol.equals(p.getSymbol()))
+                .map(BrokerPosition::getNetQuantity)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        positionUnknown = false;
+        if (net.signum() > 0 && !holding) {
+            opened(entryPrice);
+        } else if (net.signum() <= 0 && holding) {
+            closed();
+        }
+        log.info("Strategy {} reconciled {} with the broker: net {}, {}", context.strategyId(), symbol, net,
+                holding ? "holding" : "flat");
+        return true;
+    }
+
+    private OrderOutcome placeOrder(OrderSide side, String reason) {
+        OrderFence fence = context.fence();
+        if (fence != null && !fence.permits()) {
+            log.error("Strategy {} {} order ({}) suppressed: this node no longer owns the strategy",
+                    context.strategyId(), side, reason);
+            return OrderOutcome.FAILED;
+        }
+        String owner = fence != null ? fence.token() + "-" : "";
+        BrokerOrderRequest request = BrokerOrderRequest.builder()
+                .clientOrderId("strategy-" + context.strategyId() + "-" + owner + orderNonce + "-"
+                        + orderSequence.incrementAndGet())
+                .symbol(context.settings().symbol())
+                .side(side)
+                .quantity(BigDecimal.valueOf(context.settings().quantity()))
+                .orderType(OrderType.MARKET)
+                .timeInForce(TimeInForce.GTC)
+                .meta(ORDER_META)
+                .build();
+        try {
+            BrokerOrderResponse response = context.client()
+                    .placeOrder(context.account().getId().toString(), request)
+                    .timeout(ORDER_TIMEOUT)
+                    .block();
+            if (response != null && response.getOrderId() != null) {
+                return OrderOutcome.PLACED;
+            }
+            log.error("Strategy {} {} order ({}) rejected: {}", context.strategyId(), side, reason,
+                    response != null ? response.getMessage() : "no response");
+        } catch (Exception e) {
+            if (Exceptions.unwrap(e) instanceof TimeoutException) {
+                log.error("Strategy {} {} order ({}) {} timed out, reconciling the position before trading again",
+                        context.strategyId(), side, reason, request.getClientOrderId());
+                return OrderOutcome.UNKNOWN;
+            }
+            log.error("Strategy {} {} order ({}) failed: {}", context.strategyId(), side, reason, e.getMessage(), e);
+        }
+        return OrderOutcome.FAILED;
+    }
+
+    public boolean isHolding() {
+        return holding;
+    }
+
+    @Override
+    public void close() {
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("Failed to release {} of strategy {}: {}", resource, context.strategyId(), e.getMessage());
+            }
+        }
+    }
+}
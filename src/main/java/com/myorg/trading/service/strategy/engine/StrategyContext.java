@@ -0,0 +1,55 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.myorg.trading.broker.api.BrokerClient;
+import com.myorg.trading.domain.entity.BrokerAccount;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.indicators.IndicatorSpec;
+
+/**
+ * Everything a live strategy needs that is resolved once at start.
+ *
+ * @param indicators shared indicator registry, null where live market data is not available
+ * @param marketData historical bars, null where live market data is not available
+ * @param snapshots  where the strategy's position is persisted across restarts, null for none
+ * @param fence      checked before each order when the strategy runs under a cluster lease, null otherwise
+ */
+public record StrategyContext(Long strategyId, Long userId, LiveSettings settings,
+                              BrokerClient client, BrokerAccount account,
+                              IndicatorRegistry indicators, MarketDataFetcher marketData,
+                              StrategySnapshots snapshots, OrderFence fence) {
+
+    /**
+     * The traded symbol.
+     *
+     * @throws IllegalArgumentException if the strategy has no "symbol" param
+     */
+    public String symbol() {
+        if (settings.symbol() == null) {
+            throw new IllegalArgumentException("Strategy " + strategyId + " has no symbol");
+        }
+        return settings.symbol();
+    }
+
+    /**
+     * Shared indicators on the strategy's symbol and interval, in the order given. Close each
+     * handle when the strategy stops.
+     */
+    public IndicatorRegistry.Handle[] acquire(IndicatorSpec... specs) {
+        if (indicators == null) {
+            throw new IllegalArgumentException("Live indicators are not available");
+        }
+        String symbol = symbol();
+        IndicatorRegistry.Handle[] handles = new IndicatorRegistry.Handle[specs.length];
+        try {
+            for (int i = 0; i < specs.length; i++) {
+                handles[i] = indicators.acquire(userId, symbol, settings.interval(), specs[i]);
+            }
+        } catch (RuntimeException e) {
+            for (IndicatorRegistry.Handle h : handles) {
+                if (h != null) h.close();
+            }
+            throw e;
+        }
+        return handles;
+    }
+}
@@ -2,169 +2,407 @@ package com.myorg.trading.service.strategy.engine;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.myorg.trading.broker.api.BrokerClient;
-import com.myorg.trading.broker.api.BrokerOrderRequest;
-import com.myorg.trading.broker.api.OrderSide;
-import com.myorg.trading.broker.api.OrderType;
+import com.myorg.trading.broker.api.MarketDataTick;
 import com.myorg.trading.broker.registry.BrokerRegistry;
 import com.myorg.trading.domain.entity.BrokerAccount;
 import com.myorg.trading.domain.entity.Strategy;
+import com.myorg.trading.domain.model.OHLCV;
 import com.myorg.trading.domain.repository.BrokerAccountRepository;
+import com.myorg.trading.service.marketdata.BarAggregationService;
+import com.myorg.trading.service.marketdata.MarketDataService;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import java.math.BigDecimal;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Runs active strategies, triggered by market data where possible.
+ *
+ * - Strategies with a "symbol" param see every completed live bar of their "interval" (default
+ *   5M) and every tick on the feed thread, and evaluate when they ask for it (a signal, a stop
+ *   hit) or on a tick that moved the price by at least "tickTriggerPercent" since the last
+ *   evaluation. Triggers that arrive while an evaluation is running are conflated into one
+ *   follow-up evaluation.
+ * - Strategies without a symbol are polled on a fixed interval from one small shared timer,
+ *   starting at a random offset; a poll is skipped while the previous one is still running.
+ * - Evaluations run on a bounded worker pool, so the thread count does not grow with the number
+ *   of strategies.
+ */
 @Component
 @Slf4j
 public class StrategyExecutor {
 
-    private final Map<Long, ScheduledExecutorService> runningStrategies = new ConcurrentHashMap<>();
+    private final Map<Long, Running> runningStrategies = new ConcurrentHashMap<>();
     private final BrokerRegistry brokerRegistry;
     private final BrokerAccountRepository brokerAccountRepository;
     private final ObjectMapper objectMapper;
+    private final StrategyTemplateRegistry templates;
+    private final MarketDataService marketDataService;
+    private final BarAggregationService barAggregation;
+    private final IndicatorRegistry indicators;
+    private final MarketDataFetcher marketDataFetcher;
+    private final StrategySnapshots snapshots;
+
+    private final long intervalMillis;
+    private final ScheduledExecutorService timer;
+    private final ThreadPoolExecutor workers;
+
+    private static final class Running {
+        final AtomicBoolean inFlight = new AtomicBoolean();
+        final AtomicLong skipped = new AtomicLong();
+        volatile boolean pending;
+        volatile ScheduledFuture<?> schedule;
+        LiveStrategy live;
+        final Disposable.Composite subscriptions = Disposables.composite();
+
+        // Market-data-triggered state
+        double tickTriggerFraction;
+        volatile double lastPrice = Double.NaN;
+        volatile double lastEvaluatedPrice = Double.NaN;
+
+        void cancel() {
+            if (schedule != null) schedule.cancel(false);
+            subscriptions.dispose();
+            live.close();
+        }
+    }
 
     public StrategyExecutor(BrokerRegistry brokerRegistry,
                             BrokerAccountRepository brokerAccountRepository,
-                            ObjectMapper objectMapper) {
+                            ObjectMapper objectMapper,
+                            StrategyTemplateRegistry templates,
+                            MarketDataService marketDataService,
+                            BarAggregationService barAggregation,
+                            IndicatorRegistry indicators,
+                            MarketDataFetcher marketDataFetcher,
+                            StrategySnapshots snapshots,
+                            @Value("${app.strategy-executor.interval:1m}") Duration interval,
+                            @Value("${app.strategy-executor.timer-threads:1}") int timerThreads,
+                            @Value("${app.strategy-executor.worker-threads:0}") int workerThreads,
+                            @Value("${app.strategy-executor.queue-capacity:1000}") int queueCapacity) {
         this.brokerRegistry = brokerRegistry;
         this.brokerAccountRepository = brokerAccountRepository;
         this.objectMapper = objectMapper;
-        log.info("✅ StrategyExecutor initialized successfully");
+        this.templates = templates;
+        this.marketDataService = marketDataService;
+        this.barAggregation = barAggregation;
+        this.indicators = indicators;
+        this.marketDataFetcher = marketDataFetcher;
+        this.snapshots = snapshots;
+        this.intervalMillis = interval.toMillis();
+
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(Math.max(1, timerThreads),
+                daemonThreads("strategy-timer-"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.timer = scheduler;
+
+        // Evaluations mostly wait on broker/market data calls, so default to twice the cores
+        int threads = workerThreads > 0 ? workerThreads : 2 * Runtime.getRuntime().availableProcessors();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("strategy-worker-"));
+        log.info("✅ StrategyExecutor initialized ({} worker threads, interval {})", threads, interval);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
     }
 
+    /**
+     * Compile the strategy's params, resolve its broker account and start evaluating it.
+     *
+     * @throws IllegalArgumentException if the template is unknown, a param is invalid or the user
+     *                                  has no broker account
+     */
     public void startStrategy(Strategy strategy) {
+        startStrategy(strategy, null);
+    }
+
+    /**
+     * As {@link #startStrategy(Strategy)}, placing orders only while {@code fence} permits.
+     */
+    public void startStrategy(Strategy strategy, OrderFence fence) {
         if (runningStrategies.containsKey(strategy.getId())) {
             log.warn("Strategy {} is already running", strategy.getId());
             return;
         }
 
         log.info("Starting strategy: {} (ID: {})", strategy.getName(), strategy.getId());
+        JsonNode params = readParams(strategy);
+        LiveSettings settings = LiveSettings.compile(params);
 
-        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        // Get user's first broker account
+        BrokerAccount account = brokerAccountRepository.findByUserId(strategy.getUserId())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No broker account found"));
+        BrokerClient client = brokerRegistry.getById(account.getBrokerId());
 
-        // Execute strategy every minute
-        executor.scheduleAtFixedRate(() -> {
-            try {
-                executeStrategy(strategy);
-            } catch (Exception e) {
-                log.error("Error executing strategy {}: {}", strategy.getId(), e.getMessage(), e);
+        LiveStrategy live = templates.bind(strategy.getTemplateId(), params,
+                new StrategyContext(strategy.getId(), strategy.getUserId(), settings, client, account,
+                        indicators, marketDataFetcher, snapshots, fence));
+
+        String symbol = settings.symbol();
+        try {
+            if (symbol == null || marketDataService == null || barAggregation == null) {
+                schedule(strategy.getId(), live);
+                return;
+            }
+            Flux<OHLCV> bars = live.bars();
+            if (bars == null) {
+                try {
+                    bars = barAggregation.bars(symbol, settings.interval());
+                } catch (IllegalArgumentException e) {
+                    log.warn("Strategy {}: {}, falling back to polling", strategy.getId(), e.getMessage());
+                    schedule(strategy.getId(), live);
+                    return;
+                }
             }
-        }, 0, 1, TimeUnit.MINUTES);
+            boolean ticks = settings.tickTriggerPercent() > 0 || settings.stopLossPercent() > 0
+                    || settings.targetPercent() > 0;
+            subscribe(strategy.getId(), bars, ticks ? marketDataService.streamFor(symbol) : null,
+                    settings.tickTriggerPercent(), live);
+        } catch (RuntimeException e) {
+            live.close();
+            throw e;
+        }
+    }
 
-        runningStrategies.put(strategy.getId(), executor);
+    private JsonNode readParams(Strategy strategy) {
+        if (strategy.getParamsJson() == null || strategy.getParamsJson().isBlank()) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(strategy.getParamsJson());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Strategy " + strategy.getId() + " has unreadable params: "
+                    + e.getMessage(), e);
+        }
     }
 
-    public void stopStrategy(Long strategyId) {
-        ScheduledExecutorService executor = runningStrategies.remove(strategyId);
-        if (executor != null) {
-            log.info("Stopping strategy: {}", strategyId);
-            executor.shutdown();
-            try {
-                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                executor.shutdownNow();
-            }
+    /**
+     * Feed completed bars and, if {@code ticks} is given, prices to the strategy. Evaluate when it
+     * asks for it, or on ticks that moved the price by at least {@code tickTriggerPercent} (0 = never)
+     * since the last evaluation.
+     */
+    void subscribe(Long strategyId, Flux<OHLCV> bars, Flux<MarketDataTick> ticks,
+                   double tickTriggerPercent, LiveStrategy live) {
+        Running running = new Running();
+        running.live = live;
+        running.tickTriggerFraction = tickTriggerPercent / 100.0;
+        if (runningStrategies.putIfAbsent(strategyId, running) != null) {
+            log.warn("Strategy {} is already running", strategyId);
+            live.close();
+            return;
+        }
+        Runnable evaluation = live::evaluate;
+        running.subscriptions.add(bars.subscribe(
+                bar -> {
+                    running.lastPrice = bar.getClose().doubleValue();
+                    if (live.onBar(bar)) {
+                        trigger(strategyId, running, evaluation);
+                    }
+                },
+                error -> log.error("Bar stream failed for strategy {}: {}", strategyId, error.getMessage(), error)));
+        if (ticks != null) {
+            running.subscriptions.add(ticks.subscribe(
+                    tick -> onTick(strategyId, running, tick, evaluation),
+                    error -> log.error("Tick stream failed for strategy {}: {}", strategyId, error.getMessage(), error)));
         }
     }
 
-    private void executeStrategy(Strategy strategy) {
+    // Runs on the feed thread: a price comparison, evaluation is handed to a worker
+    private void onTick(Long strategyId, Running running, MarketDataTick tick, Runnable evaluation) {
+        if (tick.getLastPrice() == null) return;
+        double price = tick.getLastPrice().doubleValue();
+        running.lastPrice = price;
+        if (running.live.onPrice(price)) {
+            trigger(strategyId, running, evaluation);
+            return;
+        }
+
+        if (running.tickTriggerFraction <= 0) return; // ticks only feed stop/target checks
+
+        double reference = running.lastEvaluatedPrice;
+        if (Double.isNaN(reference)) {
+            running.lastEvaluatedPrice = price; // first tick is the baseline for move triggers
+        } else if (reference > 0 && Math.abs(price - reference) >= reference * running.tickTriggerFraction) {
+            trigger(strategyId, running, evaluation);
+        }
+    }
+
+    // Conflating trigger: at most one evaluation in flight plus one pending follow-up
+    private void trigger(Long strategyId, Running running, Runnable evaluation) {
+        running.pending = true;
+        if (!running.inFlight.compareAndSet(false, true)) {
+            running.skipped.incrementAndGet();
+            return;
+        }
         try {
-            // ✅ Add null check
-            if (strategy.getParamsJson() == null || strategy.getParamsJson().trim().isEmpty()) {
-                log.error("❌ Strategy {} has no parameters configured", strategy.getId());
-                return; // Skip execution instead of crashing
+            workers.execute(() -> drain(strategyId, running, evaluation));
+        } catch (RejectedExecutionException e) {
+            running.inFlight.set(false); // still pending, the next trigger retries
+            long skipped = running.skipped.incrementAndGet();
+            if (shouldLogSkip(skipped)) {
+                log.warn("Strategy worker queue full, deferring evaluation of strategy {} ({} skipped so far)",
+                        strategyId, skipped);
             }
+        }
+    }
 
-            JsonNode params = objectMapper.readTree(strategy.getParamsJson());
-            String templateId = strategy.getTemplateId();
-
-            // Get user's first broker account
-            BrokerAccount account = brokerAccountRepository.findByUserId(strategy.getUserId())
-                    .stream()
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("No broker account found"));
-
-            BrokerClient client = brokerRegistry.getById(account.getBrokerId());
-
-            // Execute based on template
-            switch (templateId) {
-                case "sma_crossover":
-                    executeSMACrossover(strategy, params, client, account);
-                    break;
-                case "rsi_reversal":
-                    executeRSIReversal(strategy, params, client, account);
-                    break;
-                case "breakout":
-                    executeBreakout(strategy, params, client, account);
-                    break;
-                case "macd_momentum": // ✅ Add this case
-                    executeMACDMomentum(strategy, params, client, account);
-                    break;
-                case "opening_range":
-                    executeOpeningRange(strategy, params, client, account);
-                    break;
-                default:
-                    log.warn("Unknown strategy template: {}", templateId);
+    private void drain(Long strategyId, Running running, Runnable evaluation) {
+        while (true) {
+            while (running.pending) {
+                running.pending = false;
+                running.lastEvaluatedPrice = running.lastPrice;
+                evaluate(strategyId, evaluation);
             }
-        } catch (Exception e) {
-            log.error("Failed to execute strategy {}: {}", strategy.getId(), e.getMessage(), e);
+            running.inFlight.set(false);
+            // A trigger may have landed between the last check and the release
+            if (!running.pending || !running.inFlight.compareAndSet(false, true)) return;
         }
     }
-    private void executeMACDMomentum(Strategy strategy, JsonNode params,
-                                     BrokerClient client, BrokerAccount account) {
-        log.info("Executing MACD Momentum for strategy {}", strategy.getId());
 
-        // TODO: Calculate MACD
-        // TODO: Check for MACD line crossing signal line
-        // TODO: Place orders if conditions met
+    private void evaluate(Long strategyId, Runnable evaluation) {
+        try {
+            evaluation.run();
+        } catch (Exception e) {
+            log.error("Error executing strategy {}: {}", strategyId, e.getMessage(), e);
+        }
     }
 
-    private void executeSMACrossover(Strategy strategy, JsonNode params,
-                                     BrokerClient client, BrokerAccount account) {
-        // Simplified implementation - in production, fetch real market data
-        log.info("Executing SMA Crossover for strategy {}", strategy.getId());
+    /**
+     * Evaluate every interval on the worker pool, starting at a random offset.
+     */
+    void schedule(Long strategyId, LiveStrategy live) {
+        Running running = new Running();
+        running.live = live;
+        if (runningStrategies.putIfAbsent(strategyId, running) != null) {
+            log.warn("Strategy {} is already running", strategyId);
+            live.close();
+            return;
+        }
+        Runnable evaluation = live::evaluate;
+        long jitter = ThreadLocalRandom.current().nextLong(intervalMillis);
+        running.schedule = timer.scheduleAtFixedRate(() -> dispatch(strategyId, running, evaluation),
+                jitter, intervalMillis, TimeUnit.MILLISECONDS);
+    }
 
-        // TODO: Fetch historical data and calculate SMAs
-        // TODO: Check for crossover conditions
-        // TODO: Place orders if conditions met
+    // Runs on the timer thread: hand off to a worker unless the previous run is still going
+    private void dispatch(Long strategyId, Running running, Runnable evaluation) {
+        if (!running.inFlight.compareAndSet(false, true)) {
+            long skipped = running.skipped.incrementAndGet();
+            if (shouldLogSkip(skipped)) {
+                log.warn("Strategy {} still evaluating, skipping this run ({} skipped so far)", strategyId, skipped);
+            }
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    evaluate(strategyId, evaluation);
+                } finally {
+                    running.inFlight.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.inFlight.set(false);
+            long skipped = running.skipped.incrementAndGet();
+            if (shouldLogSkip(skipped)) {
+                log.warn("Strategy worker queue full, skipping run of strategy {} ({} skipped so far)",
+                        strategyId, skipped);
+            }
+        }
     }
 
-    private void executeRSIReversal(Strategy strategy, JsonNode params,
-                                    BrokerClient client, BrokerAccount account) {
-        log.info("Executing RSI Reversal for strategy {}", strategy.getId());
+    // First skip and then every 100th: a saturated pool skips on every tick of every strategy
+    private static boolean shouldLogSkip(long skipped) {
+        return skipped == 1 || skipped % 100 == 0;
+    }
 
-        // TODO: Calculate RSI
-        // TODO: Check for oversold/overbought conditions
-        // TODO: Place orders if conditions met
+    public void stopStrategy(Long strategyId) {
+        if (stop(strategyId)) {
+            log.info("Stopping strategy: {}", strategyId);
+        }
     }
 
-    private void executeBreakout(Strategy strategy, JsonNode params,
-                                 BrokerClient client, BrokerAccount account) {
-        log.info("Executing Breakout for strategy {}", strategy.getId());
+    private boolean stop(Long strategyId) {
+        Running running = runningStrategies.remove(strategyId);
+        if (running == null) return false;
+        // An evaluation already on a worker is allowed to finish
+        running.cancel();
+        return true;
+    }
 
-        // TODO: Identify support/resistance levels
-        // TODO: Monitor for breakout with volume
-        // TODO: Place orders on valid breakout
+    /**
+     * Stop a strategy the user has deactivated and forget its saved position, so a later
+     * activation starts flat. Ownership moves and shutdowns use {@link #stopStrategy} and keep it.
+     */
+    public void deactivateStrategy(Long strategyId) {
+        stopStrategy(strategyId);
+        if (snapshots != null) {
+            try {
+                snapshots.deletePosition(strategyId);
+            } catch (Exception e) {
+                log.warn("Could not clear the saved position of strategy {}: {}", strategyId, e.getMessage());
+            }
+        }
     }
 
-    private void executeOpeningRange(Strategy strategy, JsonNode params,
-                                     BrokerClient client, BrokerAccount account) {
-        log.info("Executing Opening Range for strategy {}", strategy.getId());
+    public boolean isRunning(Long strategyId) {
+        return runningStrategies.containsKey(strategyId);
+    }
 
-        // TODO: Track opening range (9:15 - 9:35)
-        // TODO: Monitor for breakout
-        // TODO: Place orders on breakout confirmation
+    /**
+     * Polls skipped, or triggers conflated, because the previous evaluation had not finished.
+     */
+    public long skippedRuns(Long strategyId) {
+        Running running = runningStrategies.get(strategyId);
+        return running != null ? running.skipped.get() : 0;
     }
 
     public void stopAll() {
-        log.info("Stopping all strategies");
-        runningStrategies.keySet().forEach(this::stopStrategy);
+        log.info("Stopping all {} strategies", runningStrategies.size());
+        runningStrategies.keySet().forEach(this::stop);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopAll();
+        timer.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.myorg.trading.domain.entity.IndicatorFeedSnapshot;
+import com.myorg.trading.domain.entity.StrategyPositionSnapshot;
+import com.myorg.trading.domain.repository.IndicatorFeedSnapshotRepository;
+import com.myorg.trading.domain.repository.StrategyPositionSnapshotRepository;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Warm-start state of live strategies: the bars behind each indicator feed and each strategy's
+ * open position.
+ *
+ * Bars are stored as one blob per feed, column by column (times, opens, highs, lows, closes,
+ * volumes), 48 bytes a bar, so a 300-bar feed is a single ~14 KB row.
+ */
+@Component
+public class StrategySnapshots implements IndicatorRegistry.SnapshotStore {
+
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int BAR_BYTES = 6 * 8;
+
+    private final IndicatorFeedSnapshotRepository feedRepository;
+    private final StrategyPositionSnapshotRepository positionRepository;
+
+    public StrategySnapshots(IndicatorFeedSnapshotRepository feedRepository,
+                             StrategyPositionSnapshotRepository positionRepository) {
+        this.feedRepository = feedRepository;
+        this.positionRepository = positionRepository;
+    }
+
+    @Override
+    public CandleSeries load(String feedKey) {
+        return feedRepository.findById(feedKey).map(s -> decode(s.getBars())).orElse(null);
+    }
+
+    @Override
+    public void save(String feedKey, CandleSeries bars) {
+        feedRepository.save(IndicatorFeedSnapshot.builder()
+                .feedKey(feedKey)
+                .lastBarTime(bars.timeAt(bars.size() - 1))
+                .barCount(bars.size())
+                .bars(encode(bars))
+                .build());
+    }
+
+    public Optional<StrategyPositionSnapshot> loadPosition(Long strategyId) {
+        return positionRepository.findById(strategyId);
+    }
+
+    public void savePosition(StrategyPositionSnapshot position) {
+        positionRepository.save(position);
+    }
+
+    public void deletePosition(Long strategyId) {
+        if (positionRepository.existsById(strategyId)) {
+            positionRepository.deleteById(strategyId);
+        }
+    }
+
+    static byte[] encode(CandleSeries bars) {
+        int n = bars.size();
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + n * BAR_BYTES);
+        buf.putInt(FORMAT).putInt(n);
+        for (int i = 0; i < n; i++) buf.putLong(bars.timeAt(i));
+        for (int i = 0; i < n; i++) buf.putDouble(bars.openAt(i));
+        for (int i = 0; i < n; i++) buf.putDouble(bars.highAt(i));
+        for (int i = 0; i < n; i++) buf.putDouble(bars.lowAt(i));
+        for (int i = 0; i < n; i++) buf.putDouble(bars.closeAt(i));
+        for (int i = 0; i < n; i++) buf.putLong(bars.volumeAt(i));
+        return buf.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the blob is not in a known format
+     */
+    static CandleSeries decode(byte[] data) {
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        if (data.length < HEADER_BYTES || buf.getInt() != FORMAT) {
+            throw new IllegalArgumentException("Unknown bar snapshot format");
+        }
+        int n = buf.getInt();
+        if (n < 0 || data.length != HEADER_BYTES + (long) n * BAR_BYTES) {
+            throw new IllegalArgumentException("Truncated bar snapshot: " + data.length + " bytes for " + n + " bars");
+        }
+        long[] time = new long[n];
+        double[] open = new double[n];
+        double[] high = new double[n];
+        double[] low = new double[n];
+        double[] close = new double[n];
+        long[] volume = new long[n];
+        for (int i = 0; i < n; i++) time[i] = buf.getLong();
+        for (int i = 0; i < n; i++) open[i] = buf.getDouble();
+        for (int i = 0; i < n; i++) high[i] = buf.getDouble();
+        for (int i = 0; i < n; i++) low[i] = buf.getDouble();
+        for (int i = 0; i < n; i++) close[i] = buf.getDouble();
+        for (int i = 0; i < n; i++) volume[i] = buf.getLong();
+        return new CandleSeries(time, open, high, low, close, volume, n);
+    }
+}
@@ -0,0 +1,47 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Set;
+
+/**
+ * Strategy template SPI. Implementations are Spring beans collected by
+ * {@link StrategyTemplateRegistry}, one per template id.
+ *
+ * Everything that depends only on configuration happens once: {@link #compile} turns the params
+ * JSON into an immutable, validated params object, and {@link #bind} attaches it to the broker
+ * client and account resolved at start. The returned {@link LiveStrategy} then evaluates without
+ * JSON parsing, reflection or database access.
+ *
+ * @param <P> compiled params type, immutable
+ */
+public interface StrategyTemplate<P> {
+
+    /**
+     * Template id stored in Strategy.templateId (e.g. "sma_crossover").
+     */
+    String templateId();
+
+    /**
+     * Parse and validate params (Strategy.paramsJson or BacktestRequest.params). Missing params
+     * take the template defaults; {@code params} may be a MissingNode.
+     *
+     * @throws IllegalArgumentException if a param is invalid
+     */
+    P compile(JsonNode params);
+
+    /**
+     * Every param name {@link #compile} reads, aliases included.
+     */
+    Set<String> paramNames();
+
+    /**
+     * New signal logic for these params, used by backtests and live execution alike.
+     */
+    BarStrategy newBarStrategy(P params);
+
+    /**
+     * Live instance for one running strategy.
+     */
+    LiveStrategy bind(P params, StrategyContext context);
+}
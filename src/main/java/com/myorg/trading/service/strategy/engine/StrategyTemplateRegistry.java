@@ -0,0 +1,54 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of {@link StrategyTemplate} beans, mapped by templateId().
+ */
+@Service
+public class StrategyTemplateRegistry {
+
+    private final Map<String, StrategyTemplate<?>> templates;
+
+    public StrategyTemplateRegistry(List<StrategyTemplate<?>> templateList) {
+        // toUnmodifiableMap rejects two templates claiming the same id
+        this.templates = templateList.stream()
+                .collect(Collectors.toUnmodifiableMap(StrategyTemplate::templateId, Function.identity()));
+    }
+
+    /**
+     * Template for the given id, or throw IllegalArgumentException if unknown.
+     */
+    public StrategyTemplate<?> getById(String templateId) {
+        StrategyTemplate<?> template = templateId != null ? templates.get(templateId) : null;
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown strategy template: " + templateId);
+        }
+        return template;
+    }
+
+    public Set<String> templateIds() {
+        return templates.keySet();
+    }
+
+    /**
+     * Compile {@code params} and bind the result; the template's params type stays internal.
+     */
+    public LiveStrategy bind(String templateId, JsonNode params,
+                             StrategyContext context) {
+        return bind(getById(templateId), params, context);
+    }
+
+    private static <P> LiveStrategy bind(StrategyTemplate<P> template,
+                                         JsonNode params,
+                                         StrategyContext context) {
+        return template.bind(template.compile(params), context);
+    }
+}
@@ -0,0 +1,57 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.indicators.RollingExtreme;
+import com.myorg.trading.service.strategy.indicators.RollingSma;
+
+/**
+ * Buy when the close breaks above the highest high of the previous {@code lookback} bars on
+ * volume at least {@code volumeMultiplier} times the average; sell when it breaks below the
+ * lowest low.
+ */
+public final class BreakoutBarStrategy implements BarStrategy {
+
+    private final int lookback;
+    private final double volumeMultiplier;
+    private final RollingExtreme resistance;
+    private final RollingExtreme support;
+    private final RollingSma averageVolume;
+
+    public BreakoutBarStrategy(int lookback, double volumeMultiplier) {
+        this.lookback = lookback;
+        this.volumeMultiplier = volumeMultiplier;
+        this.resistance = RollingExtreme.max(lookback);
+        this.support = RollingExtreme.min(lookback);
+        this.averageVolume = new RollingSma(lookback);
+    }
+
+    @Override
+    public String templateId() { return "breakout"; }
+
+    @Override
+    public int warmupBars() { return lookback + 1; }
+
+    @Override
+    public int onBar(long time, double open, double high, double low, double close, long volume) {
+        // Levels come from the previous bars only, then the current bar joins the window
+        int signal = HOLD;
+        if (resistance.isReady()) {
+            if (close > resistance.value() && volume >= volumeMultiplier * averageVolume.value()) {
+                signal = BUY;
+            } else if (close < support.value()) {
+                signal = SELL;
+            }
+        }
+        resistance.update(high);
+        support.update(low);
+        averageVolume.update(volume);
+        return signal;
+    }
+
+    @Override
+    public void reset() {
+        resistance.reset();
+        support.reset();
+        averageVolume.reset();
+    }
+}
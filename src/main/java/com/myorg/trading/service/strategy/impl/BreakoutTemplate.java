@@ -0,0 +1,79 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.engine.IndicatorRegistry;
+import com.myorg.trading.service.strategy.engine.LiveStrategy;
+import com.myorg.trading.service.strategy.engine.ParamReader;
+import com.myorg.trading.service.strategy.engine.SignalStrategy;
+import com.myorg.trading.service.strategy.engine.StrategyContext;
+import com.myorg.trading.service.strategy.engine.StrategyTemplate;
+import com.myorg.trading.service.strategy.indicators.IndicatorSpec;
+import com.myorg.trading.service.strategy.indicators.IndicatorView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Breakout with a volume filter. Live instances read the rolling high, low and average volume
+ * from the shared indicator registry.
+ */
+@Component
+@Slf4j
+public class BreakoutTemplate implements StrategyTemplate<BreakoutTemplate.Params> {
+
+    public record Params(int lookback, double volumeMultiplier) {
+        public Params {
+            if (lookback <= 0) {
+                throw new IllegalArgumentException("lookback must be positive: " + lookback);
+            }
+            if (volumeMultiplier < 0) {
+                throw new IllegalArgumentException("volumeMultiplier must not be negative: " + volumeMultiplier);
+            }
+        }
+    }
+
+    @Override
+    public String templateId() { return "breakout"; }
+
+    @Override
+    public Params compile(JsonNode params) {
+        return new Params(ParamReader.period(params, 20, "lookback", "lookbackPeriod"),
+                ParamReader.decimal(params, 1.5, "volumeMultiplier"));
+    }
+
+    @Override
+    public Set<String> paramNames() {
+        return Set.of("lookback", "lookbackPeriod", "volumeMultiplier");
+    }
+
+    @Override
+    public BarStrategy newBarStrategy(Params params) {
+        return new BreakoutBarStrategy(params.lookback(), params.volumeMultiplier());
+    }
+
+    @Override
+    public LiveStrategy bind(Params params, StrategyContext context) {
+        int lookback = params.lookback();
+        IndicatorRegistry.Handle[] handles = context.acquire(
+                IndicatorSpec.highest(lookback, IndicatorSpec.Source.HIGH),
+                IndicatorSpec.lowest(lookback, IndicatorSpec.Source.LOW),
+                IndicatorSpec.sma(lookback, IndicatorSpec.Source.VOLUME));
+        IndicatorRegistry.Handle resistance = handles[0];
+        IndicatorRegistry.Handle support = handles[1];
+        IndicatorRegistry.Handle averageVolume = handles[2];
+        double volumeMultiplier = params.volumeMultiplier();
+        return new SignalStrategy(context, (time, open, high, low, close, volume) -> {
+            IndicatorView r = resistance.snapshot();
+            IndicatorView s = support.snapshot();
+            IndicatorView v = averageVolume.snapshot();
+            if (r.barTime() != time || s.barTime() != time || v.barTime() != time) return BarStrategy.HOLD;
+            // Same rule as BreakoutBarStrategy: levels of the previous bars, i.e. the values one bar back
+            if (Double.isNaN(r.previous())) return BarStrategy.HOLD;
+            if (close > r.previous() && volume >= volumeMultiplier * v.previous()) return BarStrategy.BUY;
+            if (close < s.previous()) return BarStrategy.SELL;
+            return BarStrategy.HOLD;
+        }, resistance.updates(), handles);
+    }
+}
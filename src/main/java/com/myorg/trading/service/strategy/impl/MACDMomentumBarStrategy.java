@@ -0,0 +1,49 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.indicators.RollingMacd;
+
+/**
+ * Buy when the MACD line crosses above its signal line, sell on the opposite cross.
+ */
+public final class MACDMomentumBarStrategy implements BarStrategy {
+
+    private final RollingMacd macd;
+    private final int warmup;
+    private double prevHistogram = Double.NaN;
+
+    public MACDMomentumBarStrategy(int fastPeriod, int slowPeriod, int signalPeriod) {
+        if (fastPeriod >= slowPeriod) {
+            throw new IllegalArgumentException("fastPeriod must be smaller than slowPeriod");
+        }
+        this.macd = new RollingMacd(fastPeriod, slowPeriod, signalPeriod);
+        this.warmup = slowPeriod + signalPeriod;
+    }
+
+    @Override
+    public String templateId() { return "macd_momentum"; }
+
+    @Override
+    public int warmupBars() { return warmup; }
+
+    @Override
+    public int onBar(long time, double open, double high, double low, double close, long volume) {
+        macd.update(close);
+        double histogram = macd.isReady() ? macd.histogram() : Double.NaN;
+
+        int signal = HOLD;
+        if (prevHistogram <= 0 && histogram > 0) {
+            signal = BUY;
+        } else if (prevHistogram >= 0 && histogram < 0) {
+            signal = SELL;
+        }
+        prevHistogram = histogram;
+        return signal;
+    }
+
+    @Override
+    public void reset() {
+        macd.reset();
+        prevHistogram = Double.NaN;
+    }
+}
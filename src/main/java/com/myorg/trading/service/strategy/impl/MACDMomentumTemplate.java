@@ -0,0 +1,72 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.engine.IndicatorRegistry;
+import com.myorg.trading.service.strategy.engine.LiveStrategy;
+import com.myorg.trading.service.strategy.engine.ParamReader;
+import com.myorg.trading.service.strategy.engine.SignalStrategy;
+import com.myorg.trading.service.strategy.engine.StrategyContext;
+import com.myorg.trading.service.strategy.engine.StrategyTemplate;
+import com.myorg.trading.service.strategy.indicators.IndicatorSpec;
+import com.myorg.trading.service.strategy.indicators.IndicatorView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * MACD momentum. Live instances read the MACD from the shared indicator registry.
+ */
+@Component
+@Slf4j
+public class MACDMomentumTemplate implements StrategyTemplate<MACDMomentumTemplate.Params> {
+
+    public record Params(int fastPeriod, int slowPeriod, int signalPeriod) {
+        public Params {
+            if (fastPeriod <= 0 || signalPeriod <= 0) {
+                throw new IllegalArgumentException("MACD periods must be positive");
+            }
+            if (fastPeriod >= slowPeriod) {
+                throw new IllegalArgumentException("fastPeriod must be smaller than slowPeriod");
+            }
+        }
+    }
+
+    @Override
+    public String templateId() { return "macd_momentum"; }
+
+    @Override
+    public Params compile(JsonNode params) {
+        return new Params(ParamReader.period(params, 12, "fastPeriod", "fastEMA"),
+                ParamReader.period(params, 26, "slowPeriod", "slowEMA"),
+                ParamReader.period(params, 9, "signalPeriod", "signalSMA"));
+    }
+
+    @Override
+    public Set<String> paramNames() {
+        return Set.of("fastPeriod", "fastEMA", "slowPeriod", "slowEMA", "signalPeriod",
+                "signalSMA");
+    }
+
+    @Override
+    public BarStrategy newBarStrategy(Params params) {
+        return new MACDMomentumBarStrategy(params.fastPeriod(), params.slowPeriod(), params.signalPeriod());
+    }
+
+    @Override
+    public LiveStrategy bind(Params params, StrategyContext context) {
+        IndicatorRegistry.Handle macd = context.acquire(
+                IndicatorSpec.macd(params.fastPeriod(), params.slowPeriod(), params.signalPeriod()))[0];
+        return new SignalStrategy(context, (time, open, high, low, close, volume) -> {
+            IndicatorView v = macd.snapshot();
+            if (v.barTime() != time) return BarStrategy.HOLD;
+            // Same rule as MACDMomentumBarStrategy: the histogram changing sign
+            double previous = v.previous(IndicatorSpec.MACD_HISTOGRAM);
+            double histogram = v.value(IndicatorSpec.MACD_HISTOGRAM);
+            if (previous <= 0 && histogram > 0) return BarStrategy.BUY;
+            if (previous >= 0 && histogram < 0) return BarStrategy.SELL;
+            return BarStrategy.HOLD;
+        }, macd.updates(), macd);
+    }
+}
@@ -0,0 +1,89 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+
+import java.time.LocalTime;
+
+/**
+ * Opening range breakout on intraday bars.
+ * The range is the high/low of bars starting in [09:15, 09:15 + rangeMinutes) IST. After that,
+ * one long entry per day when a bar closes above the range high; exit when a bar closes below
+ * the range low or at the square-off time.
+ */
+public final class OpeningRangeBarStrategy implements BarStrategy {
+
+    // IST has no DST, so wall-clock minutes can be derived from epoch millis directly
+    private static final long IST_OFFSET_MILLIS = 19_800_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int SESSION_OPEN_MINUTE = 9 * 60 + 15;
+
+    private final int rangeEndMinute;
+    private final int squareOffMinute;
+
+    private long day = Long.MIN_VALUE;
+    private double rangeHigh;
+    private double rangeLow;
+    private boolean rangeSeen;
+    private boolean enteredToday;
+    private boolean holding;
+    private long entryDay;
+
+    public OpeningRangeBarStrategy(int rangeMinutes, LocalTime squareOff) {
+        if (rangeMinutes <= 0) {
+            throw new IllegalArgumentException("rangeMinutes must be positive: " + rangeMinutes);
+        }
+        this.rangeEndMinute = SESSION_OPEN_MINUTE + rangeMinutes;
+        this.squareOffMinute = squareOff.getHour() * 60 + squareOff.getMinute();
+    }
+
+    @Override
+    public String templateId() { return "opening_range"; }
+
+    @Override
+    public int warmupBars() { return 0; }
+
+    @Override
+    public int onBar(long time, double open, double high, double low, double close, long volume) {
+        long local = time + IST_OFFSET_MILLIS;
+        long barDay = Math.floorDiv(local, MILLIS_PER_DAY);
+        int minute = (int) (Math.floorMod(local, MILLIS_PER_DAY) / 60_000L);
+
+        if (barDay != day) {
+            day = barDay;
+            rangeSeen = false;
+            enteredToday = false;
+        }
+
+        boolean inRange = minute >= SESSION_OPEN_MINUTE && minute < rangeEndMinute;
+        if (inRange) {
+            rangeHigh = rangeSeen ? Math.max(rangeHigh, high) : high;
+            rangeLow = rangeSeen ? Math.min(rangeLow, low) : low;
+            rangeSeen = true;
+        }
+
+        // A position missed by square-off (no bar after it) is closed on the next day's first bar
+        if (holding && (barDay != entryDay || minute >= squareOffMinute || (!inRange && close < rangeLow))) {
+            holding = false;
+            return SELL;
+        }
+        if (inRange || !rangeSeen || holding || enteredToday || minute < rangeEndMinute
+                || minute >= squareOffMinute) {
+            return HOLD;
+        }
+        if (close > rangeHigh) {
+            holding = true;
+            enteredToday = true;
+            entryDay = barDay;
+            return BUY;
+        }
+        return HOLD;
+    }
+
+    @Override
+    public void reset() {
+        day = Long.MIN_VALUE;
+        rangeSeen = false;
+        enteredToday = false;
+        holding = false;
+    }
+}
@@ -0,0 +1,82 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myorg.trading.service.strategy.data.NseSession;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.engine.LiveStrategy;
+import com.myorg.trading.service.strategy.engine.ParamReader;
+import com.myorg.trading.service.strategy.engine.SignalStrategy;
+import com.myorg.trading.service.strategy.engine.StrategyContext;
+import com.myorg.trading.service.strategy.engine.StrategyTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+
+/**
+ * Opening range breakout, with the range tracked on live bars from the 09:15 IST open.
+ */
+@Component
+@Slf4j
+public class OpeningRangeTemplate implements StrategyTemplate<OpeningRangeTemplate.Params> {
+
+    public record Params(int rangeMinutes, LocalTime squareOff) {
+        public Params {
+            if (rangeMinutes <= 0 || rangeMinutes > NseSession.CLOSE_MINUTE - NseSession.OPEN_MINUTE) {
+                throw new IllegalArgumentException("rangeMinutes must be positive and within the session: "
+                        + rangeMinutes);
+            }
+        }
+    }
+
+    @Override
+    public String templateId() { return "opening_range"; }
+
+    @Override
+    public Params compile(JsonNode params) {
+        String squareOff = ParamReader.text(params, "15:15", "squareOff");
+        try {
+            return new Params(ParamReader.integer(params, 20, "rangeMinutes", "openingMinutes"),
+                    LocalTime.parse(squareOff));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("squareOff must be HH:mm: " + squareOff);
+        }
+    }
+
+    @Override
+    public Set<String> paramNames() {
+        return Set.of("rangeMinutes", "openingMinutes", "squareOff");
+    }
+
+    @Override
+    public BarStrategy newBarStrategy(Params params) {
+        return new OpeningRangeBarStrategy(params.rangeMinutes(), params.squareOff());
+    }
+
+    @Override
+    public LiveStrategy bind(Params params, StrategyContext context) {
+        // Range state is per day and per instance, so this one keeps its own BarStrategy
+        BarStrategy strategy = newBarStrategy(params);
+        SignalStrategy live = new SignalStrategy(context, strategy::onBar, null);
+        String symbol = context.symbol();
+        String interval = context.settings().interval();
+        long now = System.currentTimeMillis();
+        int minutes = NseSession.minuteOfDay(now) - NseSession.OPEN_MINUTE;
+        if (context.marketData() != null && NseSession.isOpen(now) && minutes > 0) {
+            // Started mid-session: rebuild today's range from the bars since the open
+            int bars = (int) (minutes * 60_000L / NseSession.intervalMillis(interval)) + 1;
+            try {
+                live.warmUp(context.marketData().fetchHistoricalData(context.userId(), symbol, interval, bars)
+                        .stream()
+                        .filter(bar -> NseSession.tradingDay(bar.getTime()) == NseSession.tradingDay(now))
+                        .toList());
+            } catch (Exception e) {
+                log.warn("Strategy {}: no intraday history for {}, today's range may be incomplete: {}",
+                        context.strategyId(), symbol, e.getMessage());
+            }
+        }
+        return live;
+    }
+}
@@ -0,0 +1,50 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.indicators.RollingRsi;
+
+/**
+ * Buy when RSI recovers back above the oversold level, sell when it falls back below overbought.
+ */
+public final class RSIReversalBarStrategy implements BarStrategy {
+
+    private final RollingRsi rsi;
+    private final double oversold;
+    private final double overbought;
+    private double prev = Double.NaN;
+
+    public RSIReversalBarStrategy(int period, double oversold, double overbought) {
+        if (oversold >= overbought) {
+            throw new IllegalArgumentException("oversold must be below overbought");
+        }
+        this.rsi = new RollingRsi(period);
+        this.oversold = oversold;
+        this.overbought = overbought;
+    }
+
+    @Override
+    public String templateId() { return "rsi_reversal"; }
+
+    @Override
+    public int warmupBars() { return rsi.period() + 2; }
+
+    @Override
+    public int onBar(long time, double open, double high, double low, double close, long volume) {
+        double value = rsi.update(close);
+
+        int signal = HOLD;
+        if (prev <= oversold && value > oversold) {
+            signal = BUY;
+        } else if (prev >= overbought && value < overbought) {
+            signal = SELL;
+        }
+        prev = value;
+        return signal;
+    }
+
+    @Override
+    public void reset() {
+        rsi.reset();
+        prev = Double.NaN;
+    }
+}
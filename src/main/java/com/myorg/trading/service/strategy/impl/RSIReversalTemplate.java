@@ -0,0 +1,71 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.engine.IndicatorRegistry;
+import com.myorg.trading.service.strategy.engine.LiveStrategy;
+import com.myorg.trading.service.strategy.engine.ParamReader;
+import com.myorg.trading.service.strategy.engine.SignalStrategy;
+import com.myorg.trading.service.strategy.engine.StrategyContext;
+import com.myorg.trading.service.strategy.engine.StrategyTemplate;
+import com.myorg.trading.service.strategy.indicators.IndicatorSpec;
+import com.myorg.trading.service.strategy.indicators.IndicatorView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * RSI reversal. Live instances read the RSI from the shared indicator registry.
+ */
+@Component
+@Slf4j
+public class RSIReversalTemplate implements StrategyTemplate<RSIReversalTemplate.Params> {
+
+    public record Params(int period, double oversold, double overbought) {
+        public Params {
+            if (period <= 0) {
+                throw new IllegalArgumentException("RSI period must be positive: " + period);
+            }
+            if (oversold >= overbought) {
+                throw new IllegalArgumentException("oversold must be below overbought");
+            }
+        }
+    }
+
+    @Override
+    public String templateId() { return "rsi_reversal"; }
+
+    @Override
+    public Params compile(JsonNode params) {
+        return new Params(ParamReader.period(params, 14, "period", "rsiPeriod"),
+                ParamReader.decimal(params, 30, "oversold", "oversoldLevel"),
+                ParamReader.decimal(params, 70, "overbought", "overboughtLevel"));
+    }
+
+    @Override
+    public Set<String> paramNames() {
+        return Set.of("period", "rsiPeriod", "oversold", "oversoldLevel", "overbought",
+                "overboughtLevel");
+    }
+
+    @Override
+    public BarStrategy newBarStrategy(Params params) {
+        return new RSIReversalBarStrategy(params.period(), params.oversold(), params.overbought());
+    }
+
+    @Override
+    public LiveStrategy bind(Params params, StrategyContext context) {
+        IndicatorRegistry.Handle rsi = context.acquire(IndicatorSpec.rsi(params.period()))[0];
+        double oversold = params.oversold();
+        double overbought = params.overbought();
+        return new SignalStrategy(context, (time, open, high, low, close, volume) -> {
+            IndicatorView v = rsi.snapshot();
+            if (v.barTime() != time) return BarStrategy.HOLD;
+            // Same rule as RSIReversalBarStrategy
+            if (v.previous() <= oversold && v.value() > oversold) return BarStrategy.BUY;
+            if (v.previous() >= overbought && v.value() < overbought) return BarStrategy.SELL;
+            return BarStrategy.HOLD;
+        }, rsi.updates(), rsi);
+    }
+}
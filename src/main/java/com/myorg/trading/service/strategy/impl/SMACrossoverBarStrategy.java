@@ -0,0 +1,54 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.indicators.RollingSma;
+
+/**
+ * Buy when the fast SMA crosses above the slow SMA, sell on the opposite cross.
+ */
+public final class SMACrossoverBarStrategy implements BarStrategy {
+
+    private final RollingSma fast;
+    private final RollingSma slow;
+    private double prevFast = Double.NaN;
+    private double prevSlow = Double.NaN;
+
+    public SMACrossoverBarStrategy(int fastPeriod, int slowPeriod) {
+        if (fastPeriod >= slowPeriod) {
+            throw new IllegalArgumentException("fastSMA must be smaller than slowSMA");
+        }
+        this.fast = new RollingSma(fastPeriod);
+        this.slow = new RollingSma(slowPeriod);
+    }
+
+    @Override
+    public String templateId() { return "sma_crossover"; }
+
+    @Override
+    public int warmupBars() { return slow.period() + 1; }
+
+    @Override
+    public int onBar(long time, double open, double high, double low, double close, long volume) {
+        double f = fast.update(close);
+        double s = slow.update(close);
+
+        // NaN comparisons are false, so warm-up bars never produce a cross
+        int signal = HOLD;
+        if (prevFast < prevSlow && f > s) {
+            signal = BUY;
+        } else if (prevFast > prevSlow && f < s) {
+            signal = SELL;
+        }
+        prevFast = f;
+        prevSlow = s;
+        return signal;
+    }
+
+    @Override
+    public void reset() {
+        fast.reset();
+        slow.reset();
+        prevFast = Double.NaN;
+        prevSlow = Double.NaN;
+    }
+}
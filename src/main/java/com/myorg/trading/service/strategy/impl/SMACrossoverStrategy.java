@@ -74,7 +74,7 @@ public class SMACrossoverStrategy {
                         TradeAction.BUY,
                         candles.get(lastIndex).getClose(),
                         BigDecimal.valueOf(quantity),
-                        calculateStopLoss(candles.get(lastIndex).getClose(), stopLoss, false),
+                        calculateStopLoss(candles.get(lastIndex).getClose(), stopLoss, true),
                         calculateTarget(candles.get(lastIndex).getClose(), target, true)
                 );
             } else if (bearishCross) {
@@ -83,7 +83,7 @@ public class SMACrossoverStrategy {
                         TradeAction.SELL,
                         candles.get(lastIndex).getClose(),
                         BigDecimal.valueOf(quantity),
-                        calculateStopLoss(candles.get(lastIndex).getClose(), stopLoss, true),
+                        calculateStopLoss(candles.get(lastIndex).getClose(), stopLoss, false),
                         calculateTarget(candles.get(lastIndex).getClose(), target, false)
                 );
             }
@@ -96,7 +96,11 @@ public class SMACrossoverStrategy {
         }
     }
 
-    private BigDecimal calculateStopLoss(BigDecimal price, double percentage, boolean isLong) {
+    /**
+     * Stop price {@code percentage} percent against the position (below entry for longs).
+     * Shared with tick replay so simulated exits use the same levels as live orders.
+     */
+    public static BigDecimal calculateStopLoss(BigDecimal price, double percentage, boolean isLong) {
         BigDecimal factor = BigDecimal.ONE.subtract(BigDecimal.valueOf(percentage / 100));
         if (!isLong) {
             factor = BigDecimal.ONE.add(BigDecimal.valueOf(percentage / 100));
@@ -104,7 +108,10 @@ public class SMACrossoverStrategy {
         return price.multiply(factor);
     }
 
-    private BigDecimal calculateTarget(BigDecimal price, double percentage, boolean isLong) {
+    /**
+     * Target price {@code percentage} percent in favour of the position (above entry for longs).
+     */
+    public static BigDecimal calculateTarget(BigDecimal price, double percentage, boolean isLong) {
         BigDecimal factor = BigDecimal.ONE.add(BigDecimal.valueOf(percentage / 100));
         if (!isLong) {
             factor = BigDecimal.ONE.subtract(BigDecimal.valueOf(percentage / 100));
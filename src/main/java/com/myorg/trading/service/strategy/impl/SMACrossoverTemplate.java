@@ -0,0 +1,68 @@
+package com.myorg.trading.service.strategy.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.engine.IndicatorRegistry;
+import com.myorg.trading.service.strategy.engine.LiveStrategy;
+import com.myorg.trading.service.strategy.engine.ParamReader;
+import com.myorg.trading.service.strategy.engine.SignalStrategy;
+import com.myorg.trading.service.strategy.engine.StrategyContext;
+import com.myorg.trading.service.strategy.engine.StrategyTemplate;
+import com.myorg.trading.service.strategy.indicators.IndicatorSpec;
+import com.myorg.trading.service.strategy.indicators.IndicatorView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * SMA crossover. Live instances read the fast and slow SMAs from the shared indicator registry.
+ */
+@Component
+@Slf4j
+public class SMACrossoverTemplate implements StrategyTemplate<SMACrossoverTemplate.Params> {
+
+    public record Params(int fastPeriod, int slowPeriod) {
+        public Params {
+            if (fastPeriod <= 0 || fastPeriod >= slowPeriod) {
+                throw new IllegalArgumentException("fastSMA must be positive and smaller than slowSMA");
+            }
+        }
+    }
+
+    @Override
+    public String templateId() { return "sma_crossover"; }
+
+    @Override
+    public Params compile(JsonNode params) {
+        return new Params(ParamReader.period(params, 9, "fastSMA"),
+                ParamReader.period(params, 21, "slowSMA"));
+    }
+
+    @Override
+    public Set<String> paramNames() {
+        return Set.of("fastSMA", "slowSMA");
+    }
+
+    @Override
+    public BarStrategy newBarStrategy(Params params) {
+        return new SMACrossoverBarStrategy(params.fastPeriod(), params.slowPeriod());
+    }
+
+    @Override
+    public LiveStrategy bind(Params params, StrategyContext context) {
+        IndicatorRegistry.Handle[] handles = context.acquire(
+                IndicatorSpec.sma(params.fastPeriod()), IndicatorSpec.sma(params.slowPeriod()));
+        IndicatorRegistry.Handle fast = handles[0];
+        IndicatorRegistry.Handle slow = handles[1];
+        return new SignalStrategy(context, (time, open, high, low, close, volume) -> {
+            IndicatorView f = fast.snapshot();
+            IndicatorView s = slow.snapshot();
+            if (f.barTime() != time || s.barTime() != time) return BarStrategy.HOLD;
+            // Same rule as SMACrossoverBarStrategy; NaN during warm-up never crosses
+            if (f.previous() < s.previous() && f.value() > s.value()) return BarStrategy.BUY;
+            if (f.previous() > s.previous() && f.value() < s.value()) return BarStrategy.SELL;
+            return BarStrategy.HOLD;
+        }, fast.updates(), handles);
+    }
+}
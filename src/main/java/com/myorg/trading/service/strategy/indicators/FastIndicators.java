@@ -0,0 +1,250 @@
+package com.myorg.trading.service.strategy.indicators;
+
+import java.util.Arrays;
+
+/**
+ * Primitive indicator kernels.
+ *
+ * Every method reads a double[] column (usually CandleSeries.close()) and writes into a
+ * caller-supplied output array of at least {@code n} slots. Warm-up slots are set to NaN,
+ * nothing is allocated, so the same buffers can be reused across sweeps.
+ */
+public final class FastIndicators {
+
+    private FastIndicators() {
+    }
+
+    /**
+     * Simple Moving Average. out[i] is NaN for i &lt; period - 1.
+     * Sliding window with a Kahan-compensated running sum, O(n) regardless of period.
+     */
+    public static double[] sma(double[] src, int n, int period, double[] out) {
+        checkArgs(src, n, period, out);
+        int warmup = Math.min(n, period - 1);
+        Arrays.fill(out, 0, warmup, Double.NaN);
+
+        double sum = 0;
+        double c = 0; // Kahan compensation
+        for (int i = 0; i < n; i++) {
+            double y = src[i] - c;
+            double t = sum + y;
+            c = (t - sum) - y;
+            sum = t;
+            if (i >= period) {
+                y = -src[i - period] - c;
+                t = sum + y;
+                c = (t - sum) - y;
+                sum = t;
+            }
+            if (i >= period - 1) {
+                out[i] = sum / period;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Exponential Moving Average, seeded with the SMA of the first {@code period} values.
+     * out[i] is NaN for i &lt; period - 1.
+     */
+    public static double[] ema(double[] src, int n, int period, double[] out) {
+        checkArgs(src, n, period, out);
+        return emaFrom(src, 0, n, period, out);
+    }
+
+    /**
+     * EMA over src[start..n). Slots before start + period - 1 are NaN.
+     * src and out may be the same array.
+     */
+    static double[] emaFrom(double[] src, int start, int n, int period, double[] out) {
+        int seedIndex = start + period - 1;
+        if (seedIndex >= n) {
+            Arrays.fill(out, 0, n, Double.NaN);
+            return out;
+        }
+
+        double sum = 0;
+        for (int i = start; i <= seedIndex; i++) {
+            sum += src[i];
+        }
+        Arrays.fill(out, 0, seedIndex, Double.NaN);
+
+        double alpha = 2.0 / (period + 1);
+        double prev = sum / period;
+        out[seedIndex] = prev;
+        for (int i = seedIndex + 1; i < n; i++) {
+            prev += (src[i] - prev) * alpha;
+            out[i] = prev;
+        }
+        return out;
+    }
+
+    /**
+     * Wilder's Relative Strength Index. out[i] is NaN for i &lt; period.
+     */
+    public static double[] rsi(double[] src, int n, int period, double[] out) {
+        checkArgs(src, n, period, out);
+        if (n <= period) {
+            Arrays.fill(out, 0, n, Double.NaN);
+            return out;
+        }
+        Arrays.fill(out, 0, period, Double.NaN);
+
+        double avgGain = 0;
+        double avgLoss = 0;
+        for (int i = 1; i <= period; i++) {
+            double change = src[i] - src[i - 1];
+            if (change > 0) avgGain += change;
+            else avgLoss -= change;
+        }
+        avgGain /= period;
+        avgLoss /= period;
+        out[period] = rsiValue(avgGain, avgLoss);
+
+        for (int i = period + 1; i < n; i++) {
+            double change = src[i] - src[i - 1];
+            double gain = change > 0 ? change : 0;
+            double loss = change < 0 ? -change : 0;
+            avgGain = (avgGain * (period - 1) + gain) / period;
+            avgLoss = (avgLoss * (period - 1) + loss) / period;
+            out[i] = rsiValue(avgGain, avgLoss);
+        }
+        return out;
+    }
+
+    static double rsiValue(double avgGain, double avgLoss) {
+        if (avgLoss == 0) {
+            return 100.0;
+        }
+        return 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+    }
+
+    /**
+     * MACD line, signal line and histogram.
+     * MACD is valid from slowPeriod - 1, signal and histogram from slowPeriod + signalPeriod - 2.
+     * The output arrays double as scratch space for the two EMAs.
+     */
+    public static void macd(double[] src, int n, int fastPeriod, int slowPeriod, int signalPeriod,
+                            double[] macdOut, double[] signalOut, double[] histOut) {
+        checkArgs(src, n, fastPeriod, macdOut);
+        checkArgs(src, n, slowPeriod, signalOut);
+        checkArgs(src, n, signalPeriod, histOut);
+
+        emaFrom(src, 0, n, fastPeriod, histOut);
+        emaFrom(src, 0, n, slowPeriod, signalOut);
+
+        int start = Math.max(fastPeriod, slowPeriod) - 1;
+        Arrays.fill(macdOut, 0, Math.min(start, n), Double.NaN);
+        for (int i = start; i < n; i++) {
+            macdOut[i] = histOut[i] - signalOut[i];
+        }
+
+        emaFrom(macdOut, start, n, signalPeriod, signalOut);
+        for (int i = 0; i < n; i++) {
+            histOut[i] = macdOut[i] - signalOut[i]; // NaN propagates through warm-up
+        }
+    }
+
+    /**
+     * Bollinger Bands (population standard deviation). Slots before period - 1 are NaN.
+     * The window variance is maintained incrementally (Welford while filling, then
+     * replace-oldest updates), so the whole pass is O(n).
+     */
+    public static void bollinger(double[] src, int n, int period, double stdDevMultiplier,
+                                 double[] middleOut, double[] upperOut, double[] lowerOut) {
+        checkArgs(src, n, period, middleOut);
+        checkArgs(src, n, period, upperOut);
+        checkArgs(src, n, period, lowerOut);
+
+        sma(src, n, period, middleOut);
+        int warmup = Math.min(n, period - 1);
+        Arrays.fill(upperOut, 0, warmup, Double.NaN);
+        Arrays.fill(lowerOut, 0, warmup, Double.NaN);
+
+        double mean = 0;
+        double m2 = 0; // sum of squared deviations over the current window
+        for (int i = 0; i < n; i++) {
+            double x = src[i];
+            if (i < period) {
+                double delta = x - mean;
+                mean += delta / (i + 1);
+                m2 += delta * (x - mean);
+            } else {
+                double old = src[i - period];
+                double oldMean = mean;
+                mean += (x - old) / period;
+                m2 += (x - old) * (x - mean + old - oldMean);
+                if (m2 < 0) m2 = 0; // rounding guard on flat windows
+            }
+
+            if (i >= period - 1) {
+                double width = Math.sqrt(m2 / period) * stdDevMultiplier;
+                upperOut[i] = middleOut[i] + width;
+                lowerOut[i] = middleOut[i] - width;
+            }
+        }
+    }
+
+    /**
+     * Trailing window maximum: out[i] = max(src[i - window + 1 .. i]), NaN for i &lt; window - 1.
+     * Monotonic deque of indices, O(n) total. {@code deque} is scratch space of at least window + 1 slots.
+     */
+    public static double[] rollingMax(double[] src, int n, int window, double[] out, int[] deque) {
+        return rollingExtreme(src, n, window, out, deque, true);
+    }
+
+    public static double[] rollingMax(double[] src, int n, int window, double[] out) {
+        return rollingExtreme(src, n, window, out, new int[window + 1], true);
+    }
+
+    /**
+     * Trailing window minimum, see {@link #rollingMax(double[], int, int, double[], int[])}.
+     */
+    public static double[] rollingMin(double[] src, int n, int window, double[] out, int[] deque) {
+        return rollingExtreme(src, n, window, out, deque, false);
+    }
+
+    public static double[] rollingMin(double[] src, int n, int window, double[] out) {
+        return rollingExtreme(src, n, window, out, new int[window + 1], false);
+    }
+
+    private static double[] rollingExtreme(double[] src, int n, int window, double[] out,
+                                           int[] deque, boolean max) {
+        checkArgs(src, n, window, out);
+        if (deque.length < window + 1) {
+            throw new IllegalArgumentException("Deque scratch needs window + 1 slots");
+        }
+        int cap = deque.length;
+        int head = 0;   // ring buffer of candidate indices, values monotonic from head to tail
+        int size = 0;
+
+        for (int i = 0; i < n; i++) {
+            // Drop candidates dominated by the new value
+            while (size > 0) {
+                int tail = deque[(head + size - 1) % cap];
+                boolean dominated = max ? src[tail] <= src[i] : src[tail] >= src[i];
+                if (!dominated) break;
+                size--;
+            }
+            deque[(head + size) % cap] = i;
+            size++;
+
+            // Drop the front once it slides out of the window
+            if (deque[head] <= i - window) {
+                head = (head + 1) % cap;
+                size--;
+            }
+            out[i] = i >= window - 1 ? src[deque[head]] : Double.NaN;
+        }
+        return out;
+    }
+
+    private static void checkArgs(double[] src, int n, int period, double[] out) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        if (n > src.length || n > out.length) {
+            throw new IllegalArgumentException("Array shorter than n=" + n);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.myorg.trading.service.strategy.indicators;
+
+/**
+ * Value identity of a streaming indicator: type, input and parameters. Two strategies asking for
+ * equal specs on the same instrument and interval share one computed instance.
+ *
+ * Unused parameters are zero so equal configurations compare equal.
+ */
+public record IndicatorSpec(Type type, Source source, int period, int period2, int period3, double multiplier) {
+
+    public enum Type { SMA, EMA, RSI, MACD, BOLLINGER, HIGHEST, LOWEST }
+
+    /** Bar field fed to the indicator. */
+    public enum Source { OPEN, HIGH, LOW, CLOSE, VOLUME }
+
+    /** MACD outputs: 0 is the MACD line. */
+    public static final int MACD_SIGNAL = 1;
+    public static final int MACD_HISTOGRAM = 2;
+
+    /** Bollinger outputs: 0 is the middle band. */
+    public static final int BAND_UPPER = 1;
+    public static final int BAND_LOWER = 2;
+
+    public IndicatorSpec {
+        if (type == null || source == null) {
+            throw new IllegalArgumentException("Indicator type and source are required");
+        }
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+    }
+
+    public static IndicatorSpec sma(int period) {
+        return new IndicatorSpec(Type.SMA, Source.CLOSE, period, 0, 0, 0);
+    }
+
+    public static IndicatorSpec sma(int period, Source source) {
+        return new IndicatorSpec(Type.SMA, source, period, 0, 0, 0);
+    }
+
+    public static IndicatorSpec ema(int period) {
+        return new IndicatorSpec(Type.EMA, Source.CLOSE, period, 0, 0, 0);
+    }
+
+    public static IndicatorSpec rsi(int period) {
+        return new IndicatorSpec(Type.RSI, Source.CLOSE, period, 0, 0, 0);
+    }
+
+    public static IndicatorSpec macd(int fastPeriod, int slowPeriod, int signalPeriod) {
+        return new IndicatorSpec(Type.MACD, Source.CLOSE, fastPeriod, slowPeriod, signalPeriod, 0);
+    }
+
+    public static IndicatorSpec bollinger(int period, double stdDevMultiplier) {
+        return new IndicatorSpec(Type.BOLLINGER, Source.CLOSE, period, 0, 0, stdDevMultiplier);
+    }
+
+    public static IndicatorSpec highest(int period, Source source) {
+        return new IndicatorSpec(Type.HIGHEST, source, period, 0, 0, 0);
+    }
+
+    public static IndicatorSpec lowest(int period, Source source) {
+        return new IndicatorSpec(Type.LOWEST, source, period, 0, 0, 0);
+    }
+
+    public StreamingIndicator create() {
+        return switch (type) {
+            case SMA -> new RollingSma(period);
+            case EMA -> new RollingEma(period);
+            case RSI -> new RollingRsi(period);
+            case MACD -> new RollingMacd(period, period2, period3);
+            case BOLLINGER -> new RollingBollinger(period, multiplier);
+            case HIGHEST -> RollingExtreme.max(period);
+            case LOWEST -> RollingExtreme.min(period);
+        };
+    }
+
+    /** Number of values {@link #read} produces. */
+    public int outputs() {
+        return type == Type.MACD || type == Type.BOLLINGER ? 3 : 1;
+    }
+
+    /** Bars consumed before the indicator is ready. */
+    public int warmupBars() {
+        return switch (type) {
+            case RSI -> period + 1;
+            case MACD -> period2 + period3;
+            default -> period;
+        };
+    }
+
+    public double input(double open, double high, double low, double close, long volume) {
+        return switch (source) {
+            case OPEN -> open;
+            case HIGH -> high;
+            case LOW -> low;
+            case CLOSE -> close;
+            case VOLUME -> volume;
+        };
+    }
+
+    /**
+     * Copy the current outputs of an indicator built by {@link #create()} into {@code out}.
+     */
+    public void read(StreamingIndicator indicator, double[] out) {
+        out[0] = indicator.value();
+        if (indicator instanceof RollingMacd m) {
+            out[MACD_SIGNAL] = m.signal();
+            out[MACD_HISTOGRAM] = m.histogram();
+        } else if (indicator instanceof RollingBollinger b) {
+            out[BAND_UPPER] = b.upper();
+            out[BAND_LOWER] = b.lower();
+        }
+    }
+
+    @Override
+    public String toString() {
+        String args = switch (type) {
+            case MACD -> period + "," + period2 + "," + period3;
+            case BOLLINGER -> period + "," + multiplier;
+            default -> String.valueOf(period);
+        };
+        return type + "(" + args + (source == Source.CLOSE ? "" : "," + source) + ")";
+    }
+}
@@ -0,0 +1,31 @@
+package com.myorg.trading.service.strategy.indicators;
+
+/**
+ * Read-only view of an indicator computed elsewhere (see IndicatorRegistry). Values are as of the
+ * last completed bar; use {@link #snapshot()} to read several values of the same bar consistently.
+ */
+public interface IndicatorView {
+
+    IndicatorSpec spec();
+
+    /** Start of the last bar folded in, Long.MIN_VALUE before the first one. */
+    long barTime();
+
+    /** Bars folded in, history included. */
+    long bars();
+
+    boolean isReady();
+
+    /** Output {@code output} (see {@link IndicatorSpec} constants) after the last bar, NaN while warming up. */
+    double value(int output);
+
+    /** Output {@code output} one bar earlier, for cross detection. */
+    double previous(int output);
+
+    default double value() { return value(0); }
+
+    default double previous() { return previous(0); }
+
+    /** Immutable copy of the current values. */
+    IndicatorView snapshot();
+}
@@ -0,0 +1,87 @@
+package com.myorg.trading.service.strategy.indicators;
+
+/**
+ * Bollinger Bands with a rolling mean/variance (population standard deviation).
+ * The variance is updated by replacing the oldest value in the window, so no window scan per update.
+ * Those updates accumulate rounding error, so mean and variance are recomputed from the window each
+ * time the ring wraps: O(period) once per period updates, still O(1) amortized.
+ * {@link #value()} is the middle band.
+ */
+public final class RollingBollinger implements StreamingIndicator {
+
+    private final int period;
+    private final double multiplier;
+    private final double[] window;
+    private int head;
+    private long count;
+    private double mean;
+    private double m2; // sum of squared deviations from the mean
+    private double stdDev = Double.NaN;
+
+    public RollingBollinger(int period, double stdDevMultiplier) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        this.period = period;
+        this.multiplier = stdDevMultiplier;
+        this.window = new double[period];
+    }
+
+    @Override
+    public double update(double price) {
+        if (count < period) {
+            // Welford growth phase
+            count++;
+            double delta = price - mean;
+            mean += delta / count;
+            m2 += delta * (price - mean);
+        } else {
+            // Replace the oldest value in place
+            count++;
+            double old = window[head];
+            double oldMean = mean;
+            mean += (price - old) / period;
+            m2 += (price - old) * (price - mean + old - oldMean);
+            if (m2 < 0) m2 = 0; // rounding guard
+        }
+        window[head] = price;
+        head = head + 1 == period ? 0 : head + 1;
+        if (head == 0) resync();
+
+        stdDev = count >= period ? Math.sqrt(m2 / period) : Double.NaN;
+        return value();
+    }
+
+    // Exact two-pass mean and squared deviations over the full window
+    private void resync() {
+        double sum = 0;
+        for (double x : window) sum += x;
+        mean = sum / period;
+        m2 = 0;
+        for (double x : window) m2 += (x - mean) * (x - mean);
+    }
+
+    @Override
+    public double value() { return count >= period ? mean : Double.NaN; }
+
+    public double upper() { return value() + stdDev * multiplier; }
+
+    public double lower() { return value() - stdDev * multiplier; }
+
+    public double stdDev() { return stdDev; }
+
+    @Override
+    public boolean isReady() { return count >= period; }
+
+    @Override
+    public long count() { return count; }
+
+    @Override
+    public void reset() {
+        head = 0;
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        stdDev = Double.NaN;
+    }
+}
@@ -0,0 +1,53 @@
+package com.myorg.trading.service.strategy.indicators;
+
+/**
+ * Exponential Moving Average, seeded with the SMA of the first {@code period} values
+ * (same convention as FastIndicators.ema).
+ */
+public final class RollingEma implements StreamingIndicator {
+
+    private final int period;
+    private final double alpha;
+    private long count;
+    private double seedSum;
+    private double value = Double.NaN;
+
+    public RollingEma(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    @Override
+    public double update(double price) {
+        count++;
+        if (count < period) {
+            seedSum += price;
+        } else if (count == period) {
+            value = (seedSum + price) / period;
+        } else {
+            value += (price - value) * alpha;
+        }
+        return value;
+    }
+
+    @Override
+    public double value() { return value; }
+
+    @Override
+    public boolean isReady() { return count >= period; }
+
+    @Override
+    public long count() { return count; }
+
+    public int period() { return period; }
+
+    @Override
+    public void reset() {
+        count = 0;
+        seedSum = 0;
+        value = Double.NaN;
+    }
+}
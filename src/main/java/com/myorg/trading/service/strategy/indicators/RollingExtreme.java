@@ -0,0 +1,78 @@
+package com.myorg.trading.service.strategy.indicators;
+
+/**
+ * Rolling highest/lowest value over the last {@code period} updates.
+ * Monotonic deque kept in a fixed ring buffer, amortized O(1) per update.
+ */
+public final class RollingExtreme implements StreamingIndicator {
+
+    private final int period;
+    private final boolean max;
+    private final double[] values;
+    private final long[] positions;
+    private int front;
+    private int size;
+    private long count;
+    private double value = Double.NaN;
+
+    private RollingExtreme(int period, boolean max) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        this.period = period;
+        this.max = max;
+        this.values = new double[period];
+        this.positions = new long[period];
+    }
+
+    public static RollingExtreme max(int period) {
+        return new RollingExtreme(period, true);
+    }
+
+    public static RollingExtreme min(int period) {
+        return new RollingExtreme(period, false);
+    }
+
+    @Override
+    public double update(double v) {
+        long position = count++;
+
+        // Drop the front once it leaves the window
+        if (size > 0 && positions[front] <= position - period) {
+            front = front + 1 == period ? 0 : front + 1;
+            size--;
+        }
+        // Drop dominated values from the back
+        while (size > 0) {
+            int back = (front + size - 1) % period;
+            if (max ? values[back] > v : values[back] < v) break;
+            size--;
+        }
+        int slot = (front + size) % period;
+        values[slot] = v;
+        positions[slot] = position;
+        size++;
+
+        value = count >= period ? values[front] : Double.NaN;
+        return value;
+    }
+
+    @Override
+    public double value() { return value; }
+
+    @Override
+    public boolean isReady() { return count >= period; }
+
+    @Override
+    public long count() { return count; }
+
+    public int period() { return period; }
+
+    @Override
+    public void reset() {
+        front = 0;
+        size = 0;
+        count = 0;
+        value = Double.NaN;
+    }
+}
@@ -0,0 +1,56 @@
+package com.myorg.trading.service.strategy.indicators;
+
+/**
+ * MACD line with signal line and histogram. {@link #value()} is the MACD line.
+ */
+public final class RollingMacd implements StreamingIndicator {
+
+    private final RollingEma fast;
+    private final RollingEma slow;
+    private final RollingEma signal;
+    private long count;
+    private double macd = Double.NaN;
+
+    public RollingMacd(int fastPeriod, int slowPeriod, int signalPeriod) {
+        this.fast = new RollingEma(fastPeriod);
+        this.slow = new RollingEma(slowPeriod);
+        this.signal = new RollingEma(signalPeriod);
+    }
+
+    @Override
+    public double update(double price) {
+        count++;
+        fast.update(price);
+        slow.update(price);
+        if (fast.isReady() && slow.isReady()) {
+            macd = fast.value() - slow.value();
+            signal.update(macd);
+        }
+        return macd;
+    }
+
+    @Override
+    public double value() { return macd; }
+
+    public double signal() { return signal.value(); }
+
+    public double histogram() { return macd - signal.value(); }
+
+    /**
+     * True once the signal line is defined (the MACD line itself is ready earlier).
+     */
+    @Override
+    public boolean isReady() { return signal.isReady(); }
+
+    @Override
+    public long count() { return count; }
+
+    @Override
+    public void reset() {
+        fast.reset();
+        slow.reset();
+        signal.reset();
+        count = 0;
+        macd = Double.NaN;
+    }
+}
@@ -0,0 +1,70 @@
+package com.myorg.trading.service.strategy.indicators;
+
+/**
+ * Wilder's RSI with smoothed average gain/loss (same convention as FastIndicators.rsi).
+ */
+public final class RollingRsi implements StreamingIndicator {
+
+    private final int period;
+    private long count;
+    private double previous = Double.NaN;
+    private double avgGain;
+    private double avgLoss;
+    private double value = Double.NaN;
+
+    public RollingRsi(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        this.period = period;
+    }
+
+    @Override
+    public double update(double price) {
+        count++;
+        if (count == 1) {
+            previous = price;
+            return value;
+        }
+
+        double change = price - previous;
+        previous = price;
+        double gain = change > 0 ? change : 0;
+        double loss = change < 0 ? -change : 0;
+
+        long changes = count - 1;
+        if (changes < period) {
+            avgGain += gain;
+            avgLoss += loss;
+        } else if (changes == period) {
+            avgGain = (avgGain + gain) / period;
+            avgLoss = (avgLoss + loss) / period;
+            value = FastIndicators.rsiValue(avgGain, avgLoss);
+        } else {
+            avgGain = (avgGain * (period - 1) + gain) / period;
+            avgLoss = (avgLoss * (period - 1) + loss) / period;
+            value = FastIndicators.rsiValue(avgGain, avgLoss);
+        }
+        return value;
+    }
+
+    @Override
+    public double value() { return value; }
+
+    @Override
+    public boolean isReady() { return count > period; }
+
+    @Override
+    public long count() { return count; }
+
+    public int period() { return period; }
+
+    @Override
+    public void reset() {
+        count = 0;
+        previous = Double.NaN;
+        avgGain = 0;
+        avgLoss = 0;
+        value = Double.NaN;
+    }
+}
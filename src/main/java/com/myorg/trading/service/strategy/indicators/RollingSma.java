@@ -0,0 +1,66 @@
+package com.myorg.trading.service.strategy.indicators;
+
+/**
+ * Simple Moving Average over a ring buffer with a running sum.
+ * The sum is Kahan-compensated and updated in the same order as {@link FastIndicators#sma}, so it
+ * does not drift over long live runs and matches the batch kernel value for value.
+ */
+public final class RollingSma implements StreamingIndicator {
+
+    private final int period;
+    private final double[] window;
+    private int head;
+    private long count;
+    private double sum;
+    private double compensation;
+    private double value = Double.NaN;
+
+    public RollingSma(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        this.period = period;
+        this.window = new double[period];
+    }
+
+    @Override
+    public double update(double price) {
+        add(price);
+        if (count >= period) {
+            add(-window[head]);
+        }
+        window[head] = price;
+        head = head + 1 == period ? 0 : head + 1;
+        count++;
+
+        value = count >= period ? sum / period : Double.NaN;
+        return value;
+    }
+
+    private void add(double x) {
+        double y = x - compensation;
+        double t = sum + y;
+        compensation = (t - sum) - y;
+        sum = t;
+    }
+
+    @Override
+    public double value() { return value; }
+
+    @Override
+    public boolean isReady() { return count >= period; }
+
+    @Override
+    public long count() { return count; }
+
+    public int period() { return period; }
+
+    @Override
+    public void reset() {
+        head = 0;
+        count = 0;
+        sum = 0;
+        compensation = 0;
+        value = Double.NaN;
+    }
+}
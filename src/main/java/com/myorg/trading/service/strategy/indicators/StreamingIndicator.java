@@ -0,0 +1,37 @@
+package com.myorg.trading.service.strategy.indicators;
+
+/**
+ * Incremental indicator that is seeded once from history and then fed one value
+ * (bar close or tick price) at a time. Implementations update in O(1) and do not allocate.
+ */
+public interface StreamingIndicator {
+
+    /**
+     * Push the next value and return the updated indicator value (NaN while warming up).
+     */
+    double update(double value);
+
+    /**
+     * Current value, NaN until {@link #isReady()}.
+     */
+    double value();
+
+    boolean isReady();
+
+    /**
+     * Number of values consumed since the last reset.
+     */
+    long count();
+
+    void reset();
+
+    /**
+     * Replay history, typically CandleSeries.close(), before switching to the live feed.
+     */
+    default StreamingIndicator seed(double[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            update(values[i]);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,118 @@
+package com.myorg.trading.service.strategy.indicators;
+
+import com.myorg.trading.service.strategy.data.CandleSeries;
+
+import java.util.Arrays;
+
+/**
+ * Pivot-based support/resistance detection in O(n) plus level clustering.
+ *
+ * A candle is a pivot high when no candle within {@code lookback} bars on either side has a
+ * strictly higher high (pivot low: strictly lower low). Instead of comparing every neighbour,
+ * the centred window extreme is read from a monotonic-deque rolling max/min.
+ */
+public final class SupportResistance {
+
+    /** NSE equity tick size; tolerances are usually expressed as a multiple of it. */
+    public static final double NSE_TICK_SIZE = 0.05;
+
+    private SupportResistance() {
+    }
+
+    /**
+     * Mark pivots: flags[i] bit 1 = pivot high, bit 2 = pivot low. Edge candles (first and last
+     * {@code lookback}) are never pivots. Returns the number of flagged levels.
+     */
+    public static int pivots(CandleSeries series, int lookback, byte[] flags) {
+        int n = series.size();
+        Arrays.fill(flags, 0, n, (byte) 0);
+        if (lookback < 1 || n < 2 * lookback + 1) {
+            return 0;
+        }
+
+        int window = 2 * lookback + 1;
+        double[] windowHigh = FastIndicators.rollingMax(series.high(), n, window, new double[n]);
+        double[] windowLow = FastIndicators.rollingMin(series.low(), n, window, new double[n]);
+
+        int count = 0;
+        for (int i = lookback; i < n - lookback; i++) {
+            // trailing window ending at i + lookback is centred on i
+            if (windowHigh[i + lookback] == series.highAt(i)) {
+                flags[i] |= 1;
+                count++;
+            }
+            if (windowLow[i + lookback] == series.lowAt(i)) {
+                flags[i] |= 2;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sorted, de-duplicated support/resistance levels. Pivot prices closer than
+     * {@code tolerance} to the first level of a cluster are merged into their average.
+     */
+    public static double[] levels(CandleSeries series, int lookback, double tolerance) {
+        int n = series.size();
+        byte[] flags = new byte[n];
+        int count = pivots(series, lookback, flags);
+
+        double[] raw = new double[count];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if ((flags[i] & 1) != 0) raw[k++] = series.highAt(i);
+            if ((flags[i] & 2) != 0) raw[k++] = series.lowAt(i);
+        }
+        return cluster(raw, k, tolerance);
+    }
+
+    /**
+     * Sort {@code levels[0..count)} in place and merge levels within {@code tolerance}.
+     * Returns a new compact sorted array.
+     */
+    public static double[] cluster(double[] levels, int count, double tolerance) {
+        if (count == 0) {
+            return new double[0];
+        }
+        Arrays.sort(levels, 0, count);
+
+        int out = 0;
+        double start = levels[0];
+        double sum = levels[0];
+        int members = 1;
+        for (int i = 1; i < count; i++) {
+            if (levels[i] - start <= tolerance) {
+                sum += levels[i];
+                members++;
+            } else {
+                levels[out++] = sum / members;
+                start = levels[i];
+                sum = levels[i];
+                members = 1;
+            }
+        }
+        levels[out++] = sum / members;
+        return Arrays.copyOf(levels, out);
+    }
+
+    /**
+     * Nearest level strictly above price, or NaN. Levels must be sorted (output of {@link #levels}).
+     */
+    public static double nextAbove(double[] levels, double price) {
+        int idx = Arrays.binarySearch(levels, price);
+        int next = idx >= 0 ? idx + 1 : -idx - 1;
+        while (next < levels.length && levels[next] <= price) next++; // skip equal duplicates
+        return next < levels.length ? levels[next] : Double.NaN;
+    }
+
+    /**
+     * Nearest level strictly below price, or NaN.
+     */
+    public static double nextBelow(double[] levels, double price) {
+        int idx = Arrays.binarySearch(levels, price);
+        int prev = idx >= 0 ? idx - 1 : -idx - 2;
+        while (prev >= 0 && levels[prev] >= price) prev--;
+        return prev >= 0 ? levels[prev] : Double.NaN;
+    }
+}
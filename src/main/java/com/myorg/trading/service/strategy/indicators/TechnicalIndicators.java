@@ -1,6 +1,7 @@
 package com.myorg.trading.service.strategy.indicators;
 
 import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.CandleSeries;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -10,232 +11,115 @@ import java.util.List;
 @Service
 public class TechnicalIndicators {
 
+    /**
+     * Simple Moving Average as a primitive column (NaN warm-up), for callers that already hold a CandleSeries
+     */
+    public double[] sma(CandleSeries series, int period) {
+        return FastIndicators.sma(series.close(), series.size(), period, new double[series.size()]);
+    }
+
     /**
      * Calculate Simple Moving Average
      */
     public List<BigDecimal> calculateSMA(List<OHLCV> candles, int period) {
-        List<BigDecimal> sma = new ArrayList<>();
-
-        for (int i = 0; i < candles.size(); i++) {
-            if (i < period - 1) {
-                sma.add(null);
-                continue;
-            }
-
-            BigDecimal sum = BigDecimal.ZERO;
-            for (int j = 0; j < period; j++) {
-                sum = sum.add(candles.get(i - j).getClose());
-            }
-            sma.add(sum.divide(BigDecimal.valueOf(period), 2, RoundingMode.HALF_UP));
-        }
-
-        return sma;
+        CandleSeries series = CandleSeries.of(candles);
+        int n = series.size();
+        return toList(FastIndicators.sma(series.close(), n, period, new double[n]), n, 2);
     }
 
     /**
-     * Calculate Exponential Moving Average
+     * Calculate Exponential Moving Average (null until the SMA seed at period - 1)
      */
     public List<BigDecimal> calculateEMA(List<OHLCV> candles, int period) {
-        List<BigDecimal> ema = new ArrayList<>();
-        BigDecimal multiplier = BigDecimal.valueOf(2.0 / (period + 1));
-
-        // First EMA = SMA
-        BigDecimal sum = BigDecimal.ZERO;
-        for (int i = 0; i < period && i < candles.size(); i++) {
-            sum = sum.add(candles.get(i).getClose());
-        }
-        BigDecimal previousEMA = sum.divide(BigDecimal.valueOf(period), 2, RoundingMode.HALF_UP);
-        ema.add(previousEMA);
-
-        // Calculate remaining EMAs
-        for (int i = 1; i < candles.size(); i++) {
-            BigDecimal currentPrice = candles.get(i).getClose();
-            BigDecimal currentEMA = currentPrice.subtract(previousEMA)
-                    .multiply(multiplier)
-                    .add(previousEMA);
-            ema.add(currentEMA);
-            previousEMA = currentEMA;
-        }
-
-        return ema;
+        CandleSeries series = CandleSeries.of(candles);
+        int n = series.size();
+        return toList(FastIndicators.ema(series.close(), n, period, new double[n]), n, 4);
     }
 
     /**
-     * Calculate Relative Strength Index (RSI)
+     * Calculate Relative Strength Index (RSI).
+     * Returns only the defined values, starting at candle index {@code period}.
      */
     public List<BigDecimal> calculateRSI(List<OHLCV> candles, int period) {
-        List<BigDecimal> rsi = new ArrayList<>();
-
-        if (candles.size() < period + 1) {
-            return rsi;
-        }
-
-        List<BigDecimal> gains = new ArrayList<>();
-        List<BigDecimal> losses = new ArrayList<>();
-
-        // Calculate price changes
-        for (int i = 1; i < candles.size(); i++) {
-            BigDecimal change = candles.get(i).getClose().subtract(candles.get(i - 1).getClose());
-            gains.add(change.compareTo(BigDecimal.ZERO) > 0 ? change : BigDecimal.ZERO);
-            losses.add(change.compareTo(BigDecimal.ZERO) < 0 ? change.abs() : BigDecimal.ZERO);
-        }
-
-        // Calculate initial average gain/loss
-        BigDecimal avgGain = BigDecimal.ZERO;
-        BigDecimal avgLoss = BigDecimal.ZERO;
-
-        for (int i = 0; i < period; i++) {
-            avgGain = avgGain.add(gains.get(i));
-            avgLoss = avgLoss.add(losses.get(i));
+        CandleSeries series = CandleSeries.of(candles);
+        int n = series.size();
+        if (n < period + 1) {
+            return new ArrayList<>();
         }
 
-        avgGain = avgGain.divide(BigDecimal.valueOf(period), 4, RoundingMode.HALF_UP);
-        avgLoss = avgLoss.divide(BigDecimal.valueOf(period), 4, RoundingMode.HALF_UP);
-
-        // Calculate RSI
-        for (int i = period; i < gains.size(); i++) {
-            if (avgLoss.compareTo(BigDecimal.ZERO) == 0) {
-                rsi.add(BigDecimal.valueOf(100));
-            } else {
-                BigDecimal rs = avgGain.divide(avgLoss, 4, RoundingMode.HALF_UP);
-                BigDecimal rsiValue = BigDecimal.valueOf(100).subtract(
-                        BigDecimal.valueOf(100).divide(
-                                BigDecimal.ONE.add(rs), 2, RoundingMode.HALF_UP
-                        )
-                );
-                rsi.add(rsiValue);
-            }
-
-            // Update averages
-            avgGain = avgGain.multiply(BigDecimal.valueOf(period - 1))
-                    .add(gains.get(i))
-                    .divide(BigDecimal.valueOf(period), 4, RoundingMode.HALF_UP);
-
-            avgLoss = avgLoss.multiply(BigDecimal.valueOf(period - 1))
-                    .add(losses.get(i))
-                    .divide(BigDecimal.valueOf(period), 4, RoundingMode.HALF_UP);
+        double[] rsi = FastIndicators.rsi(series.close(), n, period, new double[n]);
+        List<BigDecimal> result = new ArrayList<>(n - period);
+        for (int i = period; i < n; i++) {
+            result.add(toDecimal(rsi[i], 2));
         }
-
-        return rsi;
+        return result;
     }
 
     /**
      * Calculate MACD (Moving Average Convergence Divergence)
      */
     public MACDResult calculateMACD(List<OHLCV> candles, int fastPeriod, int slowPeriod, int signalPeriod) {
-        List<BigDecimal> fastEMA = calculateEMA(candles, fastPeriod);
-        List<BigDecimal> slowEMA = calculateEMA(candles, slowPeriod);
-
-        List<BigDecimal> macdLine = new ArrayList<>();
-        for (int i = 0; i < candles.size(); i++) {
-            if (i < slowPeriod) {
-                macdLine.add(null);
-            } else {
-                macdLine.add(fastEMA.get(i).subtract(slowEMA.get(i)));
-            }
-        }
-
-        // Calculate signal line (EMA of MACD line)
-        List<BigDecimal> signalLine = new ArrayList<>();
-        BigDecimal multiplier = BigDecimal.valueOf(2.0 / (signalPeriod + 1));
-
-        BigDecimal sum = BigDecimal.ZERO;
-        int count = 0;
-        for (int i = slowPeriod; i < slowPeriod + signalPeriod && i < macdLine.size(); i++) {
-            if (macdLine.get(i) != null) {
-                sum = sum.add(macdLine.get(i));
-                count++;
-            }
-        }
-
-        BigDecimal previousSignal = count > 0 ?
-                sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
-
-        for (int i = 0; i < macdLine.size(); i++) {
-            if (i < slowPeriod + signalPeriod || macdLine.get(i) == null) {
-                signalLine.add(null);
-            } else {
-                BigDecimal signal = macdLine.get(i).subtract(previousSignal)
-                        .multiply(multiplier)
-                        .add(previousSignal);
-                signalLine.add(signal);
-                previousSignal = signal;
-            }
-        }
-
-        // Calculate histogram
-        List<BigDecimal> histogram = new ArrayList<>();
-        for (int i = 0; i < macdLine.size(); i++) {
-            if (macdLine.get(i) == null || signalLine.get(i) == null) {
-                histogram.add(null);
-            } else {
-                histogram.add(macdLine.get(i).subtract(signalLine.get(i)));
-            }
-        }
-
-        return new MACDResult(macdLine, signalLine, histogram);
+        CandleSeries series = CandleSeries.of(candles);
+        int n = series.size();
+        double[] macd = new double[n];
+        double[] signal = new double[n];
+        double[] histogram = new double[n];
+        FastIndicators.macd(series.close(), n, fastPeriod, slowPeriod, signalPeriod, macd, signal, histogram);
+
+        return new MACDResult(toList(macd, n, 4), toList(signal, n, 4), toList(histogram, n, 4));
     }
 
     /**
      * Calculate Bollinger Bands
      */
     public BollingerBands calculateBollingerBands(List<OHLCV> candles, int period, double stdDevMultiplier) {
-        List<BigDecimal> sma = calculateSMA(candles, period);
-        List<BigDecimal> upperBand = new ArrayList<>();
-        List<BigDecimal> lowerBand = new ArrayList<>();
-
-        for (int i = 0; i < candles.size(); i++) {
-            if (i < period - 1) {
-                upperBand.add(null);
-                lowerBand.add(null);
-                continue;
-            }
-
-            // Calculate standard deviation
-            BigDecimal mean = sma.get(i);
-            double variance = 0;
-            for (int j = 0; j < period; j++) {
-                double diff = candles.get(i - j).getClose().subtract(mean).doubleValue();
-                variance += diff * diff;
-            }
-            double stdDev = Math.sqrt(variance / period);
-            BigDecimal stdDevBD = BigDecimal.valueOf(stdDev);
-
-            upperBand.add(mean.add(stdDevBD.multiply(BigDecimal.valueOf(stdDevMultiplier))));
-            lowerBand.add(mean.subtract(stdDevBD.multiply(BigDecimal.valueOf(stdDevMultiplier))));
-        }
-
-        return new BollingerBands(sma, upperBand, lowerBand);
+        CandleSeries series = CandleSeries.of(candles);
+        int n = series.size();
+        double[] middle = new double[n];
+        double[] upper = new double[n];
+        double[] lower = new double[n];
+        FastIndicators.bollinger(series.close(), n, period, stdDevMultiplier, middle, upper, lower);
+
+        return new BollingerBands(toList(middle, n, 2), toList(upper, n, 4), toList(lower, n, 4));
     }
 
     /**
-     * Detect support and resistance levels
+     * Detect support and resistance levels (raw pivots in candle order, unclustered)
      */
     public List<BigDecimal> findSupportResistance(List<OHLCV> candles, int lookbackPeriod) {
-        List<BigDecimal> levels = new ArrayList<>();
-
-        for (int i = lookbackPeriod; i < candles.size() - lookbackPeriod; i++) {
-            OHLCV current = candles.get(i);
-            boolean isLocalHigh = true;
-            boolean isLocalLow = true;
+        CandleSeries series = CandleSeries.of(candles);
+        byte[] flags = new byte[series.size()];
+        int count = SupportResistance.pivots(series, lookbackPeriod, flags);
+
+        List<BigDecimal> levels = new ArrayList<>(count);
+        for (int i = 0; i < flags.length; i++) {
+            if ((flags[i] & 1) != 0) levels.add(candles.get(i).getHigh());
+            if ((flags[i] & 2) != 0) levels.add(candles.get(i).getLow());
+        }
+        return levels;
+    }
 
-            // Check if it's a local high or low
-            for (int j = 1; j <= lookbackPeriod; j++) {
-                if (candles.get(i - j).getHigh().compareTo(current.getHigh()) > 0 ||
-                        candles.get(i + j).getHigh().compareTo(current.getHigh()) > 0) {
-                    isLocalHigh = false;
-                }
-                if (candles.get(i - j).getLow().compareTo(current.getLow()) < 0 ||
-                        candles.get(i + j).getLow().compareTo(current.getLow()) < 0) {
-                    isLocalLow = false;
-                }
-            }
+    /**
+     * Clustered support/resistance levels as a sorted array (binary-searchable).
+     */
+    public double[] findSupportResistanceLevels(List<OHLCV> candles, int lookbackPeriod, double tolerance) {
+        return SupportResistance.levels(CandleSeries.of(candles), lookbackPeriod, tolerance);
+    }
 
-            if (isLocalHigh) levels.add(current.getHigh());
-            if (isLocalLow) levels.add(current.getLow());
+    // Adapters between the primitive kernels and the BigDecimal API (NaN -> null)
+    private static List<BigDecimal> toList(double[] values, int n, int scale) {
+        List<BigDecimal> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(toDecimal(values[i], scale));
         }
+        return list;
+    }
 
-        return levels;
+    private static BigDecimal toDecimal(double value, int scale) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return null;
+        }
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
     }
 
     // Result classes
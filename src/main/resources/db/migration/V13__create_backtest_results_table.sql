@@ -0,0 +1,9 @@
+-- V13__create_backtest_results_table.sql
+-- Persisted backtest result cache, keyed by request + candle data fingerprint
+
+CREATE TABLE IF NOT EXISTS backtest_results (
+    fingerprint CHAR(64) PRIMARY KEY,
+    result_json LONGTEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_backtest_results_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
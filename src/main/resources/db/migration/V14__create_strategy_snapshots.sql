@@ -0,0 +1,23 @@
+-- V14__create_strategy_snapshots.sql
+-- Warm-start state for live strategies: the recent bars behind each shared indicator feed,
+-- and the open position of each strategy
+
+CREATE TABLE IF NOT EXISTS indicator_feed_snapshots (
+    feed_key VARCHAR(100) PRIMARY KEY,
+    last_bar_time BIGINT NOT NULL,
+    bar_count INT NOT NULL,
+    bars MEDIUMBLOB NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS strategy_position_snapshots (
+    strategy_id BIGINT PRIMARY KEY,
+    holding BOOLEAN NOT NULL DEFAULT FALSE,
+    -- IST session the position was opened in; intraday positions do not outlive it
+    trading_day DATE,
+    entry_price DOUBLE,
+    stop_price DOUBLE,
+    target_price DOUBLE,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (strategy_id) REFERENCES strategies(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,20 @@
+-- V15__create_strategy_leases.sql
+-- Strategy ownership across app nodes: node heartbeats and one lease per active strategy.
+-- All times are database time (NOW(3)) so node clocks do not need to agree.
+
+CREATE TABLE IF NOT EXISTS cluster_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    started_at TIMESTAMP(3) NOT NULL,
+    heartbeat_at TIMESTAMP(3) NOT NULL,
+    INDEX idx_heartbeat_at (heartbeat_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS strategy_leases (
+    strategy_id BIGINT PRIMARY KEY,
+    owner_node VARCHAR(100),
+    -- Incremented on every change of owner; orders are only placed under the current token
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    expires_at TIMESTAMP(3) NULL,
+    INDEX idx_owner_node (owner_node),
+    FOREIGN KEY (strategy_id) REFERENCES strategies(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,106 @@
+package com.myorg.trading.service.marketdata;
+
+import com.myorg.trading.broker.api.MarketDataTick;
+import com.myorg.trading.domain.model.OHLCV;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BarAggregationServiceTest {
+
+    private static final Instant OPEN = Instant.parse("2024-01-02T03:45:00Z"); // 09:15 IST
+
+    private final BarAggregationService service =
+            new BarAggregationService(List.of("1M", "5M", "1H"), Duration.ofSeconds(2));
+    private final MarketDataService marketData = new MarketDataService(null, service);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void ticksRollIntoSessionAlignedBars() {
+        List<OHLCV> oneMinute = new CopyOnWriteArrayList<>();
+        List<OHLCV> fiveMinute = new CopyOnWriteArrayList<>();
+        service.bars("3045", "1M").subscribe(oneMinute::add);
+        service.bars("3045", "FIVE_MINUTE").subscribe(fiveMinute::add);
+
+        // One tick every 20 s for 6 minutes: 100, 101, ... with a dip in the second minute
+        for (int i = 0; i < 18; i++) {
+            double price = i == 4 ? 90 : 100 + i;
+            marketData.pushTick("3045", tick(OPEN.plusSeconds(20L * i), price, 5));
+        }
+        // A late tick for the first minute is ignored
+        marketData.pushTick("3045", tick(OPEN.plusSeconds(10), 500, 5));
+
+        assertThat(oneMinute).hasSize(5);
+        OHLCV second = oneMinute.get(1);
+        assertThat(second.getTimestamp()).isEqualTo(OPEN.plusSeconds(60));
+        assertThat(second.getOpen()).isEqualByComparingTo("103");
+        assertThat(second.getLow()).isEqualByComparingTo("90");
+        assertThat(second.getHigh()).isEqualByComparingTo("105");
+        assertThat(second.getClose()).isEqualByComparingTo("105");
+        assertThat(second.getVolume()).isEqualTo(15L);
+        // The first tick after 09:20 closed the 09:15 five-minute bar
+        assertThat(fiveMinute).hasSize(1);
+        assertThat(fiveMinute.get(0).getVolume()).isEqualTo(75L);
+
+        // The sweep closes bars that ended more than the grace period ago
+        service.closeExpired(OPEN.plusSeconds(6 * 60 + 1).toEpochMilli());
+        assertThat(oneMinute).hasSize(5);
+        service.closeExpired(OPEN.plusSeconds(6 * 60 + 2).toEpochMilli());
+        assertThat(oneMinute).hasSize(6);
+        assertThat(oneMinute.get(5).getTimestamp()).isEqualTo(OPEN.plusSeconds(300));
+        assertThat(fiveMinute).hasSize(1);
+    }
+
+    @Test
+    void seriesCanBeResubscribedAfterTheLastSubscriberLeaves() {
+        List<OHLCV> first = new CopyOnWriteArrayList<>();
+        Disposable subscription = service.bars("3045", "1M").subscribe(first::add);
+        marketData.pushTick("3045", tick(OPEN, 100, 1));
+        marketData.pushTick("3045", tick(OPEN.plusSeconds(60), 101, 1));
+        assertThat(first).hasSize(1);
+        subscription.dispose();
+
+        // Bars closed while nobody listens are not replayed
+        marketData.pushTick("3045", tick(OPEN.plusSeconds(120), 102, 1));
+
+        List<OHLCV> restarted = new CopyOnWriteArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        service.bars("3045", "1M").subscribe(restarted::add, e -> { }, () -> completed.set(true));
+        marketData.pushTick("3045", tick(OPEN.plusSeconds(180), 103, 1));
+        assertThat(completed).isFalse();
+        assertThat(restarted).hasSize(1);
+        assertThat(restarted.get(0).getTimestamp()).isEqualTo(OPEN.plusSeconds(120));
+    }
+
+    @Test
+    void lastHourlyBarClosesAtSessionEnd() {
+        List<OHLCV> hourly = new CopyOnWriteArrayList<>();
+        service.bars("3045", "1H").subscribe(hourly::add);
+        Instant lastHour = OPEN.plusSeconds(6 * 3600); // 15:15 IST
+        marketData.pushTick("3045", tick(lastHour.plusSeconds(60), 100, 1));
+
+        service.closeExpired(lastHour.plusSeconds(15 * 60 + 2).toEpochMilli()); // 15:30 + grace
+        assertThat(hourly).hasSize(1);
+        assertThat(hourly.get(0).getTimestamp()).isEqualTo(lastHour);
+
+        assertThatThrownBy(() -> service.bars("3045", "15M")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MarketDataTick tick(Instant time, double price, long volume) {
+        return new MarketDataTick("3045", BigDecimal.valueOf(price), BigDecimal.ZERO, BigDecimal.ZERO, volume, time);
+    }
+}
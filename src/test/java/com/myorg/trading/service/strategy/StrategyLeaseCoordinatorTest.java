@@ -0,0 +1,171 @@
+package com.myorg.trading.service.strategy;
+
+import com.myorg.trading.domain.entity.Strategy;
+import com.myorg.trading.domain.entity.StrategyLease;
+import com.myorg.trading.domain.repository.ClusterNodeRepository;
+import com.myorg.trading.domain.repository.StrategyLeaseRepository;
+import com.myorg.trading.domain.repository.StrategyRepository;
+import com.myorg.trading.service.strategy.engine.OrderFence;
+import com.myorg.trading.service.strategy.engine.StrategyExecutor;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StrategyLeaseCoordinatorTest {
+
+    private static final List<String> THREE = List.of("node-a", "node-b", "node-c");
+
+    private final StrategyRepository strategies = mock(StrategyRepository.class);
+    private final StrategyLeaseRepository leases = mock(StrategyLeaseRepository.class);
+    private final ClusterNodeRepository nodes = mock(ClusterNodeRepository.class);
+    private final StrategyExecutor executor = mock(StrategyExecutor.class);
+    private final List<Runnable> pendingStarts = new ArrayList<>();
+    private final StrategyLeaseCoordinator coordinator = new StrategyLeaseCoordinator(strategies, leases, nodes,
+            executor, true, "node-a", Duration.ofSeconds(10), Duration.ofSeconds(30), pendingStarts::add);
+    private final Strategy strategy = Strategy.builder().id(idOwnedBy("node-b")).active(true).build();
+
+    @Test
+    void startsAcquiredStrategiesOffTheHeartbeatThread() {
+        OrderFence fence = acquireAndStart();
+        assertThat(fence.token()).isEqualTo(7);
+        when(leases.countValid(eq(strategy.getId()), eq("node-a"), eq(7L), anyLong())).thenReturn(1L);
+        assertThat(fence.permits()).isTrue();
+        when(leases.countValid(eq(strategy.getId()), eq("node-a"), eq(7L), anyLong())).thenReturn(0L);
+        assertThat(fence.permits()).isFalse();
+    }
+
+    @Test
+    void handOverStopsTheStrategyBeforeReleasingItsLease() {
+        OrderFence fence = acquireAndStart();
+        when(nodes.findLiveNodeIds(anyLong())).thenReturn(List.of("node-a", "node-b"));
+        coordinator.rebalance();
+
+        InOrder order = inOrder(executor, leases);
+        order.verify(executor).stopStrategy(strategy.getId());
+        order.verify(leases).release(strategy.getId(), "node-a", 7L);
+        assertThat(coordinator.ownedCount()).isZero();
+        assertThat(fence.permits()).isFalse();
+    }
+
+    @Test
+    void lostRenewalStopsTheStrategyWithoutReleasing() {
+        OrderFence fence = acquireAndStart();
+        when(leases.renew(eq(strategy.getId()), eq("node-a"), eq(7L), anyLong())).thenReturn(0);
+        when(leases.acquire(eq(strategy.getId()), eq("node-a"), anyLong())).thenReturn(0);
+        coordinator.rebalance();
+
+        verify(executor).stopStrategy(strategy.getId());
+        verify(leases, never()).release(any(), any(), anyLong());
+        assertThat(fence.permits()).isFalse();
+    }
+
+    @Test
+    void failedStartFreesTheLease() {
+        doThrow(new IllegalArgumentException("No broker account found"))
+                .when(executor).startStrategy(eq(strategy), any());
+        acquire();
+        pendingStarts.forEach(Runnable::run);
+
+        verify(leases).release(strategy.getId(), "node-a", 7L);
+        assertThat(coordinator.ownedCount()).isZero();
+    }
+
+    @Test
+    void leaseLostWhileStartingStopsTheStrategyAgain() {
+        doAnswer(invocation -> {
+            when(leases.renew(eq(strategy.getId()), eq("node-a"), eq(7L), anyLong())).thenReturn(0);
+            when(leases.acquire(eq(strategy.getId()), eq("node-a"), anyLong())).thenReturn(0);
+            coordinator.rebalance(); // a heartbeat during the history load finds the lease gone
+            return null;
+        }).when(executor).startStrategy(eq(strategy), any());
+        acquire();
+        pendingStarts.forEach(Runnable::run);
+
+        verify(executor, times(2)).stopStrategy(strategy.getId());
+        assertThat(coordinator.ownedCount()).isZero();
+    }
+
+    // node-a alone owns everything; the strategy moves to node-b when that joins
+    private void acquire() {
+        when(nodes.findLiveNodeIds(anyLong())).thenReturn(List.of("node-a"));
+        when(strategies.findByActive(true)).thenReturn(List.of(strategy));
+        when(leases.acquire(eq(strategy.getId()), eq("node-a"), anyLong())).thenReturn(1);
+        when(leases.renew(eq(strategy.getId()), eq("node-a"), eq(7L), anyLong())).thenReturn(1);
+        when(leases.findById(strategy.getId())).thenReturn(Optional.of(
+                StrategyLease.builder().strategyId(strategy.getId()).ownerNode("node-a").fencingToken(7L).build()));
+        coordinator.rebalance();
+        verify(executor, never()).startStrategy(any(), any());
+        assertThat(coordinator.ownedCount()).isEqualTo(1);
+    }
+
+    private OrderFence acquireAndStart() {
+        acquire();
+        pendingStarts.forEach(Runnable::run);
+        ArgumentCaptor<OrderFence> fence = ArgumentCaptor.forClass(OrderFence.class);
+        verify(executor).startStrategy(eq(strategy), fence.capture());
+        return fence.getValue();
+    }
+
+    private static long idOwnedBy(String node) {
+        long id = 1;
+        while (!StrategyLeaseCoordinator.ownerOf(id, List.of("node-a", "node-b")).equals(node)) id++;
+        return id;
+    }
+
+    @Test
+    void ownersAreSpreadEvenly() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= 3000; id++) {
+            counts.merge(StrategyLeaseCoordinator.ownerOf(id, THREE), 1, Integer::sum);
+        }
+        assertThat(counts).containsOnlyKeys(THREE);
+        assertThat(counts.values()).allSatisfy(n -> assertThat(n).isBetween(850, 1150));
+    }
+
+    @Test
+    void onlyTheDeadNodesStrategiesMove() {
+        List<String> survivors = List.of("node-a", "node-c");
+        for (long id = 1; id <= 3000; id++) {
+            String before = StrategyLeaseCoordinator.ownerOf(id, THREE);
+            String after = StrategyLeaseCoordinator.ownerOf(id, survivors);
+            if (!before.equals("node-b")) {
+                assertThat(after).isEqualTo(before);
+            }
+        }
+    }
+
+    @Test
+    void joiningNodeTakesOnlyItsShare() {
+        List<String> four = List.of("node-a", "node-b", "node-c", "node-d");
+        int moved = 0;
+        for (long id = 1; id <= 3000; id++) {
+            String before = StrategyLeaseCoordinator.ownerOf(id, THREE);
+            String after = StrategyLeaseCoordinator.ownerOf(id, four);
+            if (!after.equals(before)) {
+                assertThat(after).isEqualTo("node-d");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(600, 900);
+    }
+}
@@ -0,0 +1,48 @@
+package com.myorg.trading.service.strategy;
+
+import com.myorg.trading.domain.model.OHLCV;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic candle fixtures for strategy/indicator tests.
+ */
+public final class TestCandles {
+
+    private TestCandles() {
+    }
+
+    /**
+     * 1-minute random walk starting 2024-01-01 09:15 IST, prices rounded to 2dp.
+     */
+    public static List<OHLCV> randomWalk(int count, long seed, double startPrice) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<OHLCV> candles = new ArrayList<>(count);
+        double price = startPrice;
+        Instant t = Instant.parse("2024-01-01T03:45:00Z");
+        for (int i = 0; i < count; i++) {
+            double open = price;
+            price = Math.max(1.0, price * (1 + (random.nextDouble() - 0.5) * 0.004));
+            double high = Math.max(open, price) * (1 + random.nextDouble() * 0.001);
+            double low = Math.min(open, price) * (1 - random.nextDouble() * 0.001);
+            candles.add(OHLCV.builder()
+                    .timestamp(t.plusSeconds(60L * i))
+                    .open(round(open))
+                    .high(round(high))
+                    .low(round(low))
+                    .close(round(price))
+                    .volume(1_000L + random.nextInt(50_000))
+                    .build());
+        }
+        return candles;
+    }
+
+    private static BigDecimal round(double v) {
+        return BigDecimal.valueOf(v).setScale(2, RoundingMode.HALF_UP);
+    }
+}
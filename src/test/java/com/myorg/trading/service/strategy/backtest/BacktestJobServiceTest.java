@@ -0,0 +1,196 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myorg.trading.broker.registry.BrokerRegistry;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.indicators.TechnicalIndicators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.myorg.trading.service.strategy.TestCandles.randomWalk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class BacktestJobServiceTest {
+
+    private final List<OHLCV> candles = randomWalk(4_000, 9L, 500.0);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final MarketDataFetcher fetcher = new GatedFetcher(candles, release);
+    private final SimpMessagingTemplate messaging = mock(SimpMessagingTemplate.class);
+    private final BacktestService backtestService = new BacktestService(new TechnicalIndicators(), fetcher);
+    private final BacktestJobService jobs = new BacktestJobService(
+            backtestService,
+            new PortfolioBacktestService(backtestService, new TechnicalIndicators(), fetcher),
+            new WalkForwardService(backtestService, new TechnicalIndicators(), fetcher, null, new ObjectMapper()),
+            null,
+            messaging, 2, 10, 2, 100, Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobs.shutdown();
+        backtestService.shutdown();
+    }
+
+    @Test
+    void jobsRunAsynchronouslyWithPerUserLimitsAndProgress() throws Exception {
+        BacktestJob first = jobs.submitBacktest(1L, backtest());
+        WalkForwardRequest walkForward = new WalkForwardRequest();
+        walkForward.setSymbol("TEST");
+        walkForward.setInterval("1M");
+        walkForward.setInitialCapital(BigDecimal.valueOf(100_000));
+        walkForward.setInSampleBars(1_000);
+        walkForward.setOutOfSampleBars(500);
+        walkForward.setFastPeriod(new ParamRange(5, 15, 5));
+        walkForward.setSlowPeriod(new ParamRange(20, 40, 10));
+        BacktestJob second = jobs.submitWalkForward(1L, walkForward);
+
+        // Submission returns before the (gated) data load finishes
+        assertThat(first.getStatus()).isIn(BacktestJobStatus.QUEUED, BacktestJobStatus.RUNNING);
+        assertThatThrownBy(() -> jobs.submitBacktest(1L, backtest()))
+                .isInstanceOf(RejectedExecutionException.class);
+        // Other users are not affected by user 1's limit
+        BacktestJob other = jobs.submitBacktest(2L, backtest());
+
+        release.countDown();
+        awaitFinished(first);
+        awaitFinished(second);
+        awaitFinished(other);
+
+        assertThat(first.getStatus()).isEqualTo(BacktestJobStatus.COMPLETED);
+        assertThat(first.getResult()).isInstanceOf(BacktestResult.class);
+        assertThat(second.getStatus()).isEqualTo(BacktestJobStatus.COMPLETED);
+        assertThat(second.getProgress()).isEqualTo(100.0);
+        assertThat(second.getPartialResults()).hasSize(((WalkForwardResult) second.getResult()).getWindows().size());
+        verify(messaging, atLeast(3)).convertAndSend(eq("/topic/backtests/" + second.getId()), any(BacktestJobEvent.class));
+
+        // Slots are released once jobs finish; results stay retrievable by their owner only
+        assertThat(jobs.submitBacktest(1L, backtest())).isNotNull();
+        assertThat(jobs.getJob(1L, first.getId())).isSameAs(first);
+        assertThatThrownBy(() -> jobs.getJob(2L, first.getId())).isInstanceOf(IllegalArgumentException.class);
+        assertThat(jobs.getJobs(1L)).hasSize(3);
+    }
+
+    @Test
+    void cancelledJobsKeepTheirSlotUntilTheirThreadStops() throws Exception {
+        BacktestJob first = jobs.submitSweep(1L, sweep());
+        BacktestJob second = jobs.submitSweep(1L, sweep());
+        awaitStatus(first, BacktestJobStatus.RUNNING);
+        awaitStatus(second, BacktestJobStatus.RUNNING);
+
+        jobs.cancel(1L, first.getId());
+        assertThat(first.getStatus()).isEqualTo(BacktestJobStatus.CANCELLED);
+        // Still stuck in the data load, so it still counts against the limit
+        assertThatThrownBy(() -> jobs.submitBacktest(1L, backtest()))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        // Both pool threads are busy: a queued job's slot is freed as soon as it is cancelled
+        BacktestJob queued = jobs.submitSweep(2L, sweep());
+        jobs.submitSweep(2L, sweep());
+        jobs.cancel(2L, queued.getId());
+        assertThat(jobs.submitBacktest(2L, backtest())).isNotNull();
+
+        jobs.cancel(1L, second.getId());
+        release.countDown();
+        // The sweeps stop at their first cancellation check and only then free their slots
+        assertThat(submitWhenFree(1L)).isNotNull();
+        assertThat(submitWhenFree(1L)).isNotNull();
+        assertThat(first.getResult()).isNull();
+        assertThat(second.getResult()).isNull();
+    }
+
+    @Test
+    void sweepStopsAtTheCancellationCheck() {
+        release.countDown();
+        assertThatThrownBy(() -> backtestService.runSweep(1L, sweep(), () -> true, Progress.NONE))
+                .isInstanceOf(CancellationException.class);
+    }
+
+    private SweepRequest sweep() {
+        SweepRequest request = new SweepRequest();
+        request.setSymbol("TEST");
+        request.setInterval("1M");
+        request.setInitialCapital(BigDecimal.valueOf(100_000));
+        request.setFastPeriod(new ParamRange(5, 50, 1));
+        request.setSlowPeriod(new ParamRange(20, 200, 1));
+        return request;
+    }
+
+    private BacktestJob submitWhenFree(Long userId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            try {
+                return jobs.submitBacktest(userId, backtest());
+            } catch (RejectedExecutionException e) {
+                if (System.nanoTime() > deadline) throw e;
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static void awaitStatus(BacktestJob job, BacktestJobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.getStatus()).isEqualTo(status);
+    }
+
+    private BacktestRequest backtest() {
+        BacktestRequest request = new BacktestRequest();
+        request.setSymbol("TEST");
+        request.setInterval("1M");
+        request.setInitialCapital(BigDecimal.valueOf(100_000));
+        request.setFastPeriod(9);
+        request.setSlowPeriod(21);
+        return request;
+    }
+
+    private static void awaitFinished(BacktestJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    static final class GatedFetcher extends MarketDataFetcher {
+        private final List<OHLCV> candles;
+        private final CountDownLatch gate;
+
+        GatedFetcher(List<OHLCV> candles, CountDownLatch gate) {
+            super(new BrokerRegistry(List.of()), null);
+            this.candles = candles;
+            this.gate = gate;
+        }
+
+        @Override
+        public List<OHLCV> fetchHistoricalData(Long userId, String symbol, String interval, int candleCount) {
+            // Like a blocking broker call, ignores interrupts (but keeps the flag)
+            boolean interrupted = false;
+            while (gate.getCount() > 0) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            return candles;
+        }
+    }
+}
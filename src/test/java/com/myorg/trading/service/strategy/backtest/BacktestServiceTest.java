@@ -0,0 +1,268 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myorg.trading.broker.registry.BrokerRegistry;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.indicators.TechnicalIndicators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.myorg.trading.service.strategy.TestCandles.randomWalk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class BacktestServiceTest {
+
+    private final List<OHLCV> candles = randomWalk(3_000, 3L, 1_200.0);
+    private final BacktestService service = new BacktestService(new TechnicalIndicators(), new FixedFetcher(candles));
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void sweepsAndMonteCarloReportProgressUpTo100() {
+        SweepRequest sweep = new SweepRequest();
+        sweep.setSymbol("TEST");
+        sweep.setInterval("1M");
+        sweep.setCandleCount(candles.size());
+        sweep.setInitialCapital(BigDecimal.valueOf(100_000));
+        sweep.setFastPeriod(new ParamRange(5, 20, 5));
+        sweep.setSlowPeriod(new ParamRange(10, 50, 10));
+        List<Double> reported = Collections.synchronizedList(new ArrayList<>());
+
+        SweepResult result = service.runSweep(1L, sweep, Cancellation.NONE, reported::add);
+
+        assertThat(reported).hasSize(result.getCombinations()).allMatch(p -> p > 0 && p <= 100).contains(100.0);
+
+        BacktestRequest request = new BacktestRequest();
+        request.setSymbol("TEST");
+        request.setInterval("1M");
+        request.setCandleCount(candles.size());
+        request.setInitialCapital(BigDecimal.valueOf(100_000));
+        request.setFastPeriod(9);
+        request.setSlowPeriod(21);
+        request.setMonteCarloIterations(10 * 4096);
+        reported.clear();
+
+        service.runBacktest(1L, request, Cancellation.NONE, reported::add);
+
+        // Fetch and simulation first, then one report per Monte Carlo chunk
+        assertThat(reported).hasSize(12).startsWith(10.0, 20.0).contains(100.0);
+    }
+
+    @Test
+    void sweepMatchesIndividualBacktests() {
+        SweepRequest sweep = new SweepRequest();
+        sweep.setSymbol("TEST");
+        sweep.setInterval("1M");
+        sweep.setCandleCount(candles.size());
+        sweep.setInitialCapital(BigDecimal.valueOf(100_000));
+        sweep.setFastPeriod(new ParamRange(5, 20, 5));
+        sweep.setSlowPeriod(new ParamRange(10, 50, 10));
+        sweep.setRankBy(SweepMetric.RETURN);
+        sweep.setLimit(0);
+
+        SweepResult result = service.runSweep(1L, sweep);
+
+        assertThat(result.getCombinations()).isEqualTo(result.getResults().size());
+        assertThat(result.getResults()).allMatch(e -> e.getFastPeriod() < e.getSlowPeriod());
+        assertThat(result.getResults()).isSortedAccordingTo(
+                (a, b) -> Double.compare(b.getReturnPercent(), a.getReturnPercent()));
+
+        for (SweepEntry entry : result.getResults()) {
+            BacktestRequest single = new BacktestRequest();
+            single.setSymbol("TEST");
+            single.setInterval("1M");
+            single.setCandleCount(candles.size());
+            single.setInitialCapital(BigDecimal.valueOf(100_000));
+            single.setFastPeriod(entry.getFastPeriod());
+            single.setSlowPeriod(entry.getSlowPeriod());
+
+            BacktestResult expected = service.runBacktest(1L, single);
+            assertThat(entry.getTotalTrades()).isEqualTo(expected.getTotalTrades());
+            assertThat(entry.getWinningTrades()).isEqualTo(expected.getWinningTrades());
+            assertThat(entry.getFinalCapital())
+                    .isCloseTo(expected.getFinalCapital().doubleValue(), within(0.01));
+        }
+    }
+
+    @Test
+    void oversizedSweepsAreRejectedUpFront() {
+        SweepRequest sweep = new SweepRequest();
+        sweep.setSymbol("TEST");
+        sweep.setInterval("1M");
+        sweep.setInitialCapital(BigDecimal.valueOf(100_000));
+        sweep.setFastPeriod(new ParamRange(1, 200, 1));
+        sweep.setSlowPeriod(new ParamRange(2, 1_000, 1));
+        assertThatThrownBy(() -> service.runSweep(1L, sweep))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("combinations");
+
+        sweep.setSlowPeriod(new ParamRange(10, Integer.MAX_VALUE, Integer.MAX_VALUE));
+        assertThatThrownBy(() -> service.runSweep(1L, sweep))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Periods");
+
+        sweep.setSlowPeriod(new ParamRange(10, 50, 10));
+        sweep.setCandleCount(10_000_000);
+        assertThatThrownBy(() -> service.runSweep(1L, sweep))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("candles");
+    }
+
+    @Test
+    void singleBacktestsAreBoundedLikeSweeps() {
+        BacktestRequest request = new BacktestRequest();
+        request.setSymbol("TEST");
+        request.setInterval("1M");
+        request.setInitialCapital(BigDecimal.valueOf(100_000));
+        request.setFastPeriod(9);
+        request.setSlowPeriod(2_000_000_000);
+        assertThatThrownBy(() -> service.runBacktest(1L, request))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Periods");
+
+        request.setSlowPeriod(21);
+        request.setCandleCount(10_000_000);
+        assertThatThrownBy(() -> service.runBacktest(1L, request))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("candles");
+    }
+
+    @Test
+    void monteCarloPercentilesAreOrderedAndReproducible() {
+        BacktestRequest request = new BacktestRequest();
+        request.setSymbol("TEST");
+        request.setInterval("1M");
+        request.setCandleCount(candles.size());
+        request.setInitialCapital(BigDecimal.valueOf(100_000));
+        request.setFastPeriod(5);
+        request.setSlowPeriod(20);
+        request.setMonteCarloIterations(100_000);
+        request.setMonteCarloSeed(42L);
+
+        BacktestResult result = service.runBacktest(1L, request);
+        MonteCarloResult mc = result.getMonteCarlo();
+        assertThat(result.getTotalTrades()).isGreaterThan(10);
+        assertThat(mc.getIterations()).isEqualTo(100_000);
+
+        Percentiles capital = mc.getFinalCapital();
+        assertThat(capital.getP5()).isLessThanOrEqualTo(capital.getP25());
+        assertThat(capital.getP25()).isLessThanOrEqualTo(capital.getP50());
+        assertThat(capital.getP50()).isLessThanOrEqualTo(capital.getP75());
+        assertThat(capital.getP75()).isLessThanOrEqualTo(capital.getP95());
+        assertThat(capital.getP5()).isLessThan(capital.getP95());
+        assertThat(mc.getMaxDrawdownPercent().getP50()).isBetween(0.0, 100.0);
+        assertThat(mc.getRiskOfRuin()).isBetween(0.0, 100.0);
+
+        // Same seed, same distribution regardless of scheduling
+        BacktestResult again = service.runBacktest(1L, request);
+        assertThat(again.getMonteCarlo().getFinalCapital()).isEqualTo(capital);
+        assertThat(again.getMonteCarlo().getMaxDrawdownPercent()).isEqualTo(mc.getMaxDrawdownPercent());
+
+        // Shuffling keeps the compounded final capital, only the path changes
+        request.setMonteCarloMethod(MonteCarloMethod.PERMUTATION);
+        request.setMonteCarloIterations(1_000);
+        Percentiles permuted = service.runBacktest(1L, request).getMonteCarlo().getFinalCapital();
+        double actual = result.getFinalCapital().doubleValue();
+        assertThat(permuted.getP5()).isCloseTo(actual, within(1.0));
+        assertThat(permuted.getP95()).isCloseTo(actual, within(1.0));
+    }
+
+    @Test
+    void identicalRequestsAreServedFromCacheUntilTheDataChanges() {
+        List<OHLCV> data = new ArrayList<>(candles);
+        BacktestResultCache cache = new BacktestResultCache(10, false, Duration.ofDays(1), null,
+                new ObjectMapper().findAndRegisterModules());
+        BacktestService cached = new BacktestService(new TechnicalIndicators(), new FixedFetcher(data), cache);
+        try {
+            BacktestRequest request = new BacktestRequest();
+            request.setSymbol("TEST");
+            request.setInterval("1M");
+            request.setCandleCount(data.size());
+            request.setInitialCapital(BigDecimal.valueOf(100_000));
+            request.setTemplateId("rsi_reversal");
+
+            BacktestResult first = cached.runBacktest(1L, request);
+            BacktestResult hit = cached.runBacktest(1L, request);
+            assertThat(hit).isEqualTo(first).isNotSameAs(first);
+            assertThat(cache.size()).isEqualTo(1);
+
+            // Hits are copies: one caller's changes do not leak into the next hit
+            hit.setTrades(null);
+            hit.setFinalCapital(BigDecimal.ZERO);
+            assertThat(cached.runBacktest(1L, request)).isEqualTo(first);
+
+            request.setParams(new ObjectMapper().createObjectNode().put("period", 21));
+            cached.runBacktest(1L, request);
+            assertThat(cache.size()).isEqualTo(2);
+            request.setParams(null);
+            assertThat(cached.runBacktest(1L, request)).isEqualTo(first);
+            assertThat(cache.size()).isEqualTo(2);
+
+            // A completed candle is revised by the broker: same request, new data version
+            OHLCV last = data.get(data.size() - 1);
+            data.set(data.size() - 1, OHLCV.builder()
+                    .timestamp(last.getTimestamp())
+                    .open(last.getOpen())
+                    .high(last.getHigh().add(BigDecimal.ONE))
+                    .low(last.getLow())
+                    .close(last.getClose().add(BigDecimal.ONE))
+                    .volume(last.getVolume())
+                    .build());
+            cached.runBacktest(1L, request);
+            assertThat(cache.size()).isEqualTo(3);
+        } finally {
+            cached.shutdown();
+        }
+    }
+
+    @Test
+    void aFormingLastBarDoesNotChangeTheCacheKey() {
+        List<OHLCV> data = new ArrayList<>(candles);
+        BacktestResultCache cache = new BacktestResultCache(10, false, Duration.ofDays(1), null,
+                new ObjectMapper().findAndRegisterModules());
+        BacktestService cached = new BacktestService(new TechnicalIndicators(), new FixedFetcher(data), cache);
+        try {
+            BacktestRequest request = new BacktestRequest();
+            request.setSymbol("TEST");
+            request.setInterval("1M");
+            request.setCandleCount(data.size() + 1);
+            request.setInitialCapital(BigDecimal.valueOf(100_000));
+            request.setFastPeriod(5);
+            request.setSlowPeriod(20);
+
+            BacktestResult completed = cached.runBacktest(1L, request);
+            BigDecimal price = BigDecimal.valueOf(1_200);
+            data.add(new OHLCV(Instant.now(), price, price, price, price, 10L));
+            assertThat(cached.runBacktest(1L, request)).isEqualTo(completed);
+
+            BigDecimal ticked = price.add(BigDecimal.TEN);
+            data.set(data.size() - 1, new OHLCV(Instant.now(), price, ticked, price, ticked, 20L));
+            assertThat(cached.runBacktest(1L, request)).isEqualTo(completed);
+            assertThat(cache.size()).isEqualTo(1);
+        } finally {
+            cached.shutdown();
+        }
+    }
+
+    static final class FixedFetcher extends MarketDataFetcher {
+        private final List<OHLCV> candles;
+
+        FixedFetcher(List<OHLCV> candles) {
+            super(new BrokerRegistry(List.of()), null);
+            this.candles = candles;
+        }
+
+        @Override
+        public List<OHLCV> fetchHistoricalData(Long userId, String symbol, String interval, int candleCount) {
+            return candles;
+        }
+    }
+}
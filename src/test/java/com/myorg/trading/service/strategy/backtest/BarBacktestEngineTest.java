@@ -0,0 +1,99 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import com.myorg.trading.service.strategy.engine.BarStrategies;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import com.myorg.trading.service.strategy.indicators.FastIndicators;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.myorg.trading.service.strategy.TestCandles.randomWalk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class BarBacktestEngineTest {
+
+    private final CandleSeries series = CandleSeries.of(randomWalk(5_000, 21L, 800.0));
+
+    @Test
+    void smaTemplateMatchesVectorizedCrossover() throws Exception {
+        int n = series.size();
+        double[] fast = FastIndicators.sma(series.close(), n, 9, new double[n]);
+        double[] slow = FastIndicators.sma(series.close(), n, 21, new double[n]);
+        int[] expectedEntries = new int[CrossoverSimulator.maxTrades(n)];
+        int[] expectedExits = new int[expectedEntries.length];
+        CrossoverSimulator.Outcome expected = CrossoverSimulator.run(
+                series.close(), n, fast, slow, 21, 100_000, expectedEntries, expectedExits);
+
+        // The vectorized loop never acts on the last bar, so stop the engine one bar early
+        CandleSeries head = new CandleSeries(series.time(), series.open(), series.high(), series.low(),
+                series.close(), series.volume(), n - 1);
+        BarStrategy strategy = BarStrategies.create("sma_crossover",
+                new ObjectMapper().readTree("{\"fastSMA\": 9, \"slowSMA\": 21}"));
+        int[] entries = new int[CrossoverSimulator.maxTrades(n)];
+        int[] exits = new int[entries.length];
+        CrossoverSimulator.Outcome actual = BarBacktestEngine.run(head, strategy, 100_000, entries, exits);
+
+        assertThat(actual.trades).isEqualTo(expected.trades).isPositive();
+        assertThat(actual.winningTrades).isEqualTo(expected.winningTrades);
+        assertThat(actual.finalCapital).isCloseTo(expected.finalCapital, within(1e-6));
+        for (int t = 0; t < actual.trades; t++) {
+            assertThat(entries[t]).isEqualTo(expectedEntries[t]);
+            assertThat(exits[t]).isEqualTo(expectedExits[t]);
+        }
+    }
+
+    @Test
+    void everyTemplateRunsWithDefaultParams() {
+        for (String template : BarStrategies.TEMPLATES) {
+            BarStrategy strategy = BarStrategies.create(template, null);
+            int[] entries = new int[CrossoverSimulator.maxTrades(series.size())];
+            int[] exits = new int[entries.length];
+            CrossoverSimulator.Outcome outcome = BarBacktestEngine.run(series, strategy, 100_000, entries, exits);
+
+            assertThat(strategy.templateId()).isEqualTo(template);
+            for (int t = 0; t < outcome.trades; t++) {
+                assertThat(entries[t]).isLessThan(exits[t]);
+                assertThat(entries[t]).isGreaterThanOrEqualTo(t == 0 ? 0 : exits[t - 1]);
+            }
+            // Same instance replays identically after the engine resets it
+            assertThat(BarBacktestEngine.run(series, strategy, 100_000, null, null).finalCapital)
+                    .isEqualTo(outcome.finalCapital);
+        }
+        assertThatThrownBy(() -> BarStrategies.create("unknown", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void openingRangeBuysTheBreakoutAndSquaresOff() {
+        // 2024-01-01 09:15 IST: flat 100-101 range for 20 minutes, breakout at 09:40, drift up
+        List<OHLCV> candles = new ArrayList<>();
+        Instant open = Instant.parse("2024-01-01T03:45:00Z");
+        for (int m = 0; m < 375; m++) {
+            double close = m < 20 ? 100.5 : m < 25 ? 100.8 : 102 + m * 0.01;
+            candles.add(OHLCV.builder()
+                    .timestamp(open.plusSeconds(60L * m))
+                    .open(BigDecimal.valueOf(close))
+                    .high(BigDecimal.valueOf(m < 20 ? 101 : close))
+                    .low(BigDecimal.valueOf(m < 20 ? 100 : close))
+                    .close(BigDecimal.valueOf(close))
+                    .volume(1_000L)
+                    .build());
+        }
+        int[] entries = new int[4];
+        int[] exits = new int[4];
+        CrossoverSimulator.Outcome outcome = BarBacktestEngine.run(CandleSeries.of(candles),
+                BarStrategies.create("opening_range", null), 100_000, entries, exits);
+
+        assertThat(outcome.trades).isEqualTo(1);
+        assertThat(entries[0]).isEqualTo(25);       // 09:40, first close above 101
+        assertThat(exits[0]).isEqualTo(360);        // 15:15 square-off
+    }
+}
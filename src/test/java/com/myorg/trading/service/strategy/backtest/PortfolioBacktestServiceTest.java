@@ -0,0 +1,80 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.myorg.trading.broker.registry.BrokerRegistry;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.MarketDataFetcher;
+import com.myorg.trading.service.strategy.indicators.TechnicalIndicators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.stream.IntStream;
+
+import static com.myorg.trading.service.strategy.TestCandles.randomWalk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PortfolioBacktestServiceTest {
+
+    private final MarketDataFetcher fetcher = new MarketDataFetcher(new BrokerRegistry(List.of()), null) {
+        @Override
+        public List<OHLCV> fetchHistoricalData(Long userId, String symbol, String interval, int candleCount) {
+            if ("BROKEN".equals(symbol)) throw new IllegalStateException("broker down");
+            return randomWalk(candleCount, symbol.hashCode(), 500.0);
+        }
+    };
+    private final BacktestService backtestService = new BacktestService(new TechnicalIndicators(), fetcher);
+    private final PortfolioBacktestService service =
+            new PortfolioBacktestService(backtestService, new TechnicalIndicators(), fetcher);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        backtestService.shutdown();
+    }
+
+    @Test
+    void sharedLedgerAggregatesPerSymbolTrades() {
+        PortfolioBacktestRequest request = new PortfolioBacktestRequest();
+        request.setSymbols(List.of("AAA", "BBB", "CCC", "BROKEN"));
+        request.setInterval("1M");
+        request.setCandleCount(2_000);
+        request.setInitialCapital(BigDecimal.valueOf(300_000));
+        request.setFastPeriod(9);
+        request.setSlowPeriod(21);
+        request.setAllocationPercent(30);
+
+        PortfolioBacktestResult result = service.runPortfolioBacktest(1L, request);
+
+        assertThat(result.getFailedSymbols()).containsExactly("BROKEN");
+        assertThat(result.getPerSymbol()).containsOnlyKeys("AAA", "BBB", "CCC");
+        int perSymbolTrades = result.getPerSymbol().values().stream().mapToInt(BacktestResult::getTotalTrades).sum();
+        assertThat(result.getAggregate().getTotalTrades()).isEqualTo(perSymbolTrades).isPositive();
+        assertThat(result.getAggregate().getTrades())
+                .allMatch(t -> t.getExitTime().isAfter(t.getEntryTime()));
+    }
+
+    @Test
+    void oversizedOrCancelledPortfoliosStop() {
+        PortfolioBacktestRequest request = new PortfolioBacktestRequest();
+        request.setSymbols(IntStream.range(0, PortfolioBacktestService.MAX_SYMBOLS + 1).mapToObj(i -> "S" + i).toList());
+        request.setInterval("1M");
+        request.setCandleCount(2_000);
+        request.setInitialCapital(BigDecimal.valueOf(300_000));
+        request.setFastPeriod(9);
+        request.setSlowPeriod(21);
+        assertThatThrownBy(() -> service.runPortfolioBacktest(1L, request))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("symbols");
+
+        request.setSymbols(List.of("AAA", "BBB"));
+        request.setCandleCount(10_000_000);
+        assertThatThrownBy(() -> service.runPortfolioBacktest(1L, request))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("candles");
+
+        request.setCandleCount(2_000);
+        assertThatThrownBy(() -> service.runPortfolioBacktest(1L, request, () -> true, Progress.NONE))
+                .isInstanceOf(CancellationException.class);
+    }
+}
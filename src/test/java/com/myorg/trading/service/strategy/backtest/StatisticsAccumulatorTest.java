@@ -0,0 +1,68 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StatisticsAccumulatorTest {
+
+    @Test
+    void matchesTwoPassReferenceAndBoundsTheCurve() {
+        int n = 200_000;
+        double[] equity = new double[n];
+        long[] time = new long[n];
+        SplittableRandom random = new SplittableRandom(17L);
+        double e = 100_000;
+        for (int i = 0; i < n; i++) {
+            e *= 1 + (random.nextDouble() - 0.499) * 0.002;
+            equity[i] = e;
+            time[i] = 1_700_000_000_000L + 60_000L * i;
+        }
+
+        StatisticsAccumulator stats = new StatisticsAccumulator(100_000, 256);
+        for (int i = 0; i < n; i++) {
+            stats.onBar(i, equity[i], i % 3 == 0);
+        }
+
+        // Reference: explicit returns array, two-pass variance, brute-force drawdown
+        double[] returns = new double[n];
+        double previous = 100_000;
+        double sum = 0;
+        double peak = 100_000;
+        double maxDrawdown = 0;
+        for (int i = 0; i < n; i++) {
+            returns[i] = equity[i] / previous - 1;
+            previous = equity[i];
+            sum += returns[i];
+            peak = Math.max(peak, equity[i]);
+            maxDrawdown = Math.max(maxDrawdown, peak - equity[i]);
+        }
+        double mean = sum / n;
+        double squares = 0;
+        double downside = 0;
+        for (double r : returns) {
+            squares += (r - mean) * (r - mean);
+            if (r < 0) downside += r * r;
+        }
+        double periods = StatisticsAccumulator.periodsPerYear("1M");
+        double sharpe = mean / Math.sqrt(squares / (n - 1)) * Math.sqrt(periods);
+        double sortino = mean / Math.sqrt(downside / n) * Math.sqrt(periods);
+
+        assertThat(stats.maxDrawdown()).isCloseTo(maxDrawdown, within(1e-6));
+        assertThat(stats.sharpe(periods)).isCloseTo(sharpe, within(1e-6));
+        assertThat(stats.sortino(periods)).isCloseTo(sortino, within(1e-6));
+        assertThat(stats.exposurePercent()).isCloseTo(100.0 / 3, within(0.01));
+
+        List<EquityPoint> curve = stats.equityCurve(time);
+        assertThat(curve.size()).isBetween(128, 257);
+        assertThat(curve.get(0).getEquity()).isEqualTo(equity[0]);
+        assertThat(curve.get(curve.size() - 1).getEquity()).isEqualTo(equity[n - 1]);
+        for (int i = 1; i < curve.size(); i++) {
+            assertThat(curve.get(i).getTime()).isAfter(curve.get(i - 1).getTime());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.myorg.trading.service.strategy.data.NseSession;
+import com.myorg.trading.service.strategy.data.TickFile;
+import com.myorg.trading.service.strategy.engine.BarStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TickReplayEngineTest {
+
+    // 2024-01-02 09:15 IST
+    private static final long OPEN = LocalDate.of(2024, 1, 2).atTime(9, 15)
+            .atZone(ZoneId.of("Asia/Kolkata")).toInstant().toEpochMilli();
+
+    @TempDir
+    Path dir;
+
+    /** Buys on the first completed bar, never sells. */
+    private static final class BuyOnce implements BarStrategy {
+        final List<Long> barTimes = new ArrayList<>();
+
+        @Override
+        public String templateId() { return "buy_once"; }
+
+        @Override
+        public int warmupBars() { return 0; }
+
+        @Override
+        public int onBar(long time, double open, double high, double low, double close, long volume) {
+            barTimes.add(time);
+            return barTimes.size() == 1 ? BUY : HOLD;
+        }
+
+        @Override
+        public void reset() { barTimes.clear(); }
+    }
+
+    private Path write(double... prices) throws Exception {
+        Path file = dir.resolve("ticks");
+        try (TickFile.Writer w = TickFile.append(file)) {
+            // One tick every 10 seconds: six ticks per 1-minute bar
+            for (int i = 0; i < prices.length; i++) {
+                w.append(OPEN + i * 10_000L, prices[i], 0, 0, 10);
+            }
+        }
+        return file;
+    }
+
+    private TickReplayEngine.Run replay(Path file, BarStrategy strategy) throws Exception {
+        TickReplayEngine engine = new TickReplayEngine(60_000L, 2.0, 4.0, 0);
+        try (TickFile.Reader reader = TickFile.read(List.of(file))) {
+            return engine.run(reader, strategy, "TEST", 10_000, new StatisticsAccumulator(10_000, 100),
+                    Cancellation.NONE, time -> {
+                    });
+        }
+    }
+
+    @Test
+    void stopLossFillsInsideTheBarThatCrossesIt() throws Exception {
+        // Bar 0 at 100, entry at the first tick of bar 1 (100), then a dip through 98 mid-bar
+        Path file = write(100, 100, 100, 100, 100, 100,
+                100, 99.5, 97.9, 99, 101, 101,
+                101, 101);
+        BuyOnce strategy = new BuyOnce();
+
+        TickReplayEngine.Run run = replay(file, strategy);
+
+        assertThat(run.ticks).isEqualTo(14);
+        assertThat(run.bars).isEqualTo(3);
+        assertThat(strategy.barTimes).containsExactly(OPEN, OPEN + 60_000L); // last bar is flushed, not traded
+        assertThat(run.trades).hasSize(1);
+        Trade trade = run.trades.get(0);
+        assertThat(trade.getExitReason()).isEqualTo(TickReplayEngine.STOP_LOSS);
+        assertThat(trade.getEntryPrice().doubleValue()).isEqualTo(100.0);
+        assertThat(trade.getExitPrice().doubleValue()).isEqualTo(97.9);
+        assertThat(trade.getExitTime().toEpochMilli()).isEqualTo(OPEN + 80_000L);
+        assertThat(run.stopLossExits).isEqualTo(1);
+        assertThat(run.finalCapital).isEqualTo(10_000 - 100 * 2.1, within(1e-6));
+    }
+
+    @Test
+    void targetExitAndPacedReplayFollowsTickTime() throws Exception {
+        Path file = write(100, 100, 100, 100, 100, 100,
+                100, 102, 104.5, 103);
+        TickReplayEngine engine = new TickReplayEngine(60_000L, 2.0, 4.0, 1_000);
+
+        long started = System.nanoTime();
+        TickReplayEngine.Run run;
+        try (TickFile.Reader reader = TickFile.read(List.of(file))) {
+            run = engine.run(reader, new BuyOnce(), "TEST", 10_000, null, Cancellation.NONE, time -> {
+            });
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // 90 s of ticks at 1000x real time
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(85);
+        assertThat(run.trades).hasSize(1);
+        assertThat(run.trades.get(0).getExitReason()).isEqualTo(TickReplayEngine.TARGET);
+        assertThat(run.trades.get(0).getExitPrice().doubleValue()).isEqualTo(104.5);
+        assertThat(run.targetExits).isEqualTo(1);
+        assertThat(NseSession.barStart(OPEN + 59_999L, 60_000L)).isEqualTo(OPEN);
+    }
+
+    @Test
+    void cancellingAPacedReplayStopsItWithoutAnInterrupt() throws Exception {
+        Path file = write(100, 100, 100, 100, 100, 100, 100, 101, 102, 103);
+        TickReplayEngine engine = new TickReplayEngine(60_000L, 0, 0, 1); // 90 s in real time
+        long cancelAt = System.nanoTime() + 200_000_000L;
+        List<Long> reported = new ArrayList<>();
+
+        long started = System.nanoTime();
+        try (TickFile.Reader reader = TickFile.read(List.of(file))) {
+            assertThatThrownBy(() -> engine.run(reader, new BuyOnce(), "TEST", 10_000, null,
+                    () -> System.nanoTime() > cancelAt, reported::add))
+                    .isInstanceOf(CancellationException.class);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(elapsedMillis).isLessThan(200 + 2 * TickReplayEngine.PACE_SLICE_NANOS / 1_000_000 + 500);
+        assertThat(reported).containsExactly(OPEN);
+    }
+}
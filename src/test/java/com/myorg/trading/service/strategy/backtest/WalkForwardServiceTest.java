@@ -0,0 +1,152 @@
+package com.myorg.trading.service.strategy.backtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import com.myorg.trading.service.strategy.indicators.FastIndicators;
+import com.myorg.trading.service.strategy.indicators.TechnicalIndicators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.myorg.trading.service.strategy.TestCandles.randomWalk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class WalkForwardServiceTest {
+
+    private final List<OHLCV> candles = randomWalk(6_000, 5L, 950.0);
+    private final BacktestService backtestService =
+            new BacktestService(new TechnicalIndicators(), new BacktestServiceTest.FixedFetcher(candles));
+    private final WalkForwardService service = new WalkForwardService(backtestService, new TechnicalIndicators(),
+            new BacktestServiceTest.FixedFetcher(candles), null, new ObjectMapper());
+
+    @AfterEach
+    void tearDown() {
+        backtestService.shutdown();
+    }
+
+    @Test
+    void oversizedGridsAndWindowCountsAreRejected() {
+        WalkForwardRequest request = request();
+        request.setFastPeriod(new ParamRange(1, 100, 1));
+        request.setSlowPeriod(new ParamRange(2, 200, 1));
+        assertThatThrownBy(() -> service.runWalkForward(1L, request))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("combinations");
+
+        request.setSlowPeriod(new ParamRange(10, 60, 10));
+        request.setInSampleBars(10);
+        request.setOutOfSampleBars(1);
+        assertThatThrownBy(() -> service.runWalkForward(1L, request))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("windows");
+
+        WalkForwardRequest template = request();
+        template.setTemplateId("rsi_reversal");
+        template.setParamRanges(Map.of("period", new ParamRange(2, 200, 1),
+                "oversold", new ParamRange(10, 40, 1), "overbought", new ParamRange(60, 90, 1)));
+        assertThatThrownBy(() -> service.runWalkForward(1L, template))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("combinations");
+    }
+
+    @Test
+    void templateRangesMustNameKnownParamsWithBoundedValues() {
+        WalkForwardRequest request = request();
+        request.setTemplateId("sma_crossover");
+        request.setParamRanges(Map.of("slowSMA", new ParamRange(2_000_000_000, 2_000_000_000, 1)));
+        assertThatThrownBy(() -> service.runWalkForward(1L, request))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("slowSMA");
+
+        request.setParamRanges(Map.of("slowSMAA", new ParamRange(20, 40, 10)));
+        assertThatThrownBy(() -> service.runWalkForward(1L, request))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Unknown parameter slowSMAA");
+
+        Map<String, ParamRange> missing = new HashMap<>();
+        missing.put("slowSMA", null);
+        request.setParamRanges(missing);
+        assertThatThrownBy(() -> service.runWalkForward(1L, request))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("slowSMA");
+
+        request.setParamRanges(Map.of("slowSMA", new ParamRange(20, 40, 10)));
+        assertThat(service.runWalkForward(1L, request).getWindows()).isNotEmpty();
+    }
+
+    private WalkForwardRequest request() {
+        WalkForwardRequest request = new WalkForwardRequest();
+        request.setSymbol("TEST");
+        request.setInterval("1M");
+        request.setCandleCount(candles.size());
+        request.setInitialCapital(BigDecimal.valueOf(100_000));
+        request.setInSampleBars(1_500);
+        request.setOutOfSampleBars(500);
+        return request;
+    }
+
+    @Test
+    void smaWindowsPickTheBestInSamplePairAndScoreItOutOfSample() {
+        WalkForwardRequest request = request();
+        request.setFastPeriod(new ParamRange(5, 20, 5));
+        request.setSlowPeriod(new ParamRange(10, 60, 10));
+
+        List<WalkForwardWindow> reported = new CopyOnWriteArrayList<>();
+        WalkForwardResult result = service.runWalkForward(1L, request, (window, completed, total) -> reported.add(window));
+
+        // (6000 - 2000) / 500 + 1 windows
+        assertThat(result.getWindows()).hasSize(9);
+        assertThat(reported).hasSize(9);
+        assertThat(result.getWindows()).extracting(WalkForwardWindow::getIndex)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8);
+
+        CandleSeries series = CandleSeries.of(candles);
+        int n = series.size();
+        for (WalkForwardWindow window : result.getWindows()) {
+            int isFrom = window.getIndex() * 500;
+            int isTo = isFrom + 1_500;
+            int fast = window.getParameters().get("fastPeriod");
+            int slow = window.getParameters().get("slowPeriod");
+            assertThat(fast).isLessThan(slow);
+
+            // No other grid point beats the chosen one in-sample
+            for (int f = 5; f <= 20; f += 5) {
+                for (int s = 10; s <= 60; s += 10) {
+                    if (f >= s) continue;
+                    double r = simulate(series, n, f, s, isFrom, isTo).returnPercent(100_000);
+                    assertThat(r).isLessThanOrEqualTo(window.getInSampleScore() + 1e-9);
+                }
+            }
+            CrossoverSimulator.Outcome oos = simulate(series, n, fast, slow, isTo, isTo + 500);
+            assertThat(window.getOutOfSampleTrades()).isEqualTo(oos.trades);
+            assertThat(window.getOutOfSampleReturnPercent()).isCloseTo(oos.returnPercent(100_000), within(1e-9));
+        }
+    }
+
+    @Test
+    void templateParamsAreOptimizedAndInvalidCombinationsSkipped() {
+        WalkForwardRequest request = request();
+        request.setTemplateId("macd_momentum");
+        request.setParamRanges(Map.of(
+                "fastPeriod", new ParamRange(8, 16, 4),
+                "slowPeriod", new ParamRange(12, 30, 6)));
+
+        WalkForwardResult result = service.runWalkForward(1L, request);
+
+        assertThat(result.getTemplateId()).isEqualTo("macd_momentum");
+        assertThat(result.getWindows()).hasSize(9);
+        // 3 x 4 grid minus fast >= slow: (12,12), (16,12)
+        assertThat(result.getWindows()).allSatisfy(w -> {
+            assertThat(w.getCombinations()).isEqualTo(10);
+            assertThat(w.getParameters().get("fastPeriod")).isLessThan(w.getParameters().get("slowPeriod"));
+        });
+    }
+
+    private static CrossoverSimulator.Outcome simulate(CandleSeries series, int n, int fast, int slow, int from, int to) {
+        double[] f = FastIndicators.sma(series.close(), n, fast, new double[n]);
+        double[] s = FastIndicators.sma(series.close(), n, slow, new double[n]);
+        return CrossoverSimulator.run(series.close(), to, f, s, from, 100_000, null, null);
+    }
+}
@@ -0,0 +1,142 @@
+package com.myorg.trading.service.strategy.data;
+
+import com.myorg.trading.domain.model.OHLCV;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.myorg.trading.service.strategy.TestCandles.randomWalk;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleCacheTest {
+
+    private static final List<OHLCV> CANDLES = randomWalk(1_000, 11L, 250.0);
+
+    /** Serves [from, to] from the fixture and records every call. */
+    private static final class RecordingLoader implements CandleCache.RangeLoader {
+        final List<Instant[]> calls = new ArrayList<>();
+
+        @Override
+        public synchronized List<OHLCV> load(Instant from, Instant to) {
+            calls.add(new Instant[]{from, to});
+            return CANDLES.stream()
+                    .filter(c -> !c.getTimestamp().isBefore(from) && !c.getTimestamp().isAfter(to))
+                    .toList();
+        }
+    }
+
+    private static Instant at(int index) {
+        return CANDLES.get(index).getTimestamp();
+    }
+
+    @Test
+    void widerRequestsOnlyLoadTheMissingHeadAndTail() {
+        CandleCache cache = new CandleCache(1 << 20, Duration.ZERO);
+        RecordingLoader loader = new RecordingLoader();
+
+        List<OHLCV> first = cache.get("angelone", "3045", "1M", at(300), at(600), loader);
+        assertThat(first).hasSize(301);
+
+        // Inside the covered range: served from memory
+        assertThat(cache.get("angelone", "3045", "1M", at(400), at(500), loader)).hasSize(101);
+        assertThat(loader.calls).hasSize(1);
+
+        // Tail extension reloads from the last cached candle only
+        List<OHLCV> tail = cache.get("angelone", "3045", "1M", at(300), at(700), loader);
+        assertThat(loader.calls).hasSize(2);
+        assertThat(loader.calls.get(1)[0]).isEqualTo(at(600));
+        assertThat(tail).hasSize(401);
+
+        // Head extension loads up to the previous coverage start
+        List<OHLCV> all = cache.get("angelone", "3045", "1M", at(100), at(700), loader);
+        assertThat(loader.calls).hasSize(3);
+        assertThat(loader.calls.get(2)[1]).isEqualTo(at(300));
+        assertThat(all).hasSize(601);
+        for (int i = 0; i < all.size(); i++) {
+            OHLCV expected = CANDLES.get(100 + i);
+            assertThat(all.get(i).getTimestamp()).isEqualTo(expected.getTimestamp());
+            assertThat(all.get(i).getClose().doubleValue()).isEqualTo(expected.getClose().doubleValue());
+        }
+    }
+
+    @Test
+    void concurrentRequestsForOneKeyShareOneLoad() throws Exception {
+        CandleCache cache = new CandleCache(1 << 20, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CandleCache.RangeLoader slow = (from, to) -> {
+            loads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CANDLES.subList(0, 500);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<OHLCV>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> cache.get("angelone", "3045", "1M", at(0), at(499), slow)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<List<OHLCV>> result : results) {
+                assertThat(result.get()).hasSize(500);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOnceOverBudget() {
+        // Room for roughly two 300-candle entries
+        CandleCache cache = new CandleCache(700L * CandleCache.BYTES_PER_CANDLE, Duration.ZERO);
+        RecordingLoader loader = new RecordingLoader();
+
+        cache.get("angelone", "A", "1M", at(0), at(299), loader);
+        cache.get("angelone", "B", "1M", at(0), at(299), loader);
+        cache.get("angelone", "A", "1M", at(0), at(299), loader); // touch A
+        cache.get("angelone", "C", "1M", at(0), at(299), loader); // evicts B
+        assertThat(loader.calls).hasSize(3);
+        assertThat(cache.totalBytes()).isLessThanOrEqualTo(700L * CandleCache.BYTES_PER_CANDLE);
+
+        cache.get("angelone", "A", "1M", at(0), at(299), loader);
+        assertThat(loader.calls).hasSize(3);
+        cache.get("angelone", "B", "1M", at(0), at(299), loader);
+        assertThat(loader.calls).hasSize(4);
+    }
+
+    @Test
+    void higherTimeframesShareOneBaseLoad() {
+        CandleCache cache = new CandleCache(1 << 20, Duration.ZERO, List.of("5M", "15M", "1H"));
+        RecordingLoader loader = new RecordingLoader();
+
+        List<OHLCV> fiveMinute = cache.getResampled("angelone", "3045", "5M", at(0), at(599), loader);
+        List<OHLCV> fifteenMinute = cache.getResampled("angelone", "3045", "15M", at(0), at(599), loader);
+        List<OHLCV> hourly = cache.getResampled("angelone", "3045", "1H", at(0), at(599), loader);
+
+        assertThat(loader.calls).hasSize(1);
+        assertThat(fiveMinute).hasSize(120);
+        assertThat(fifteenMinute).hasSize(40);
+        assertThat(hourly).hasSize(10);
+        assertThat(hourly.get(1).getOpen()).isEqualByComparingTo(CANDLES.get(60).getOpen());
+        assertThat(hourly.get(1).getClose()).isEqualByComparingTo(CANDLES.get(119).getClose());
+
+        // Extending the range only loads the new 1-minute tail
+        List<OHLCV> more = cache.getResampled("angelone", "3045", "1H", at(0), at(719), loader);
+        assertThat(loader.calls).hasSize(2);
+        assertThat(more).hasSize(12);
+    }
+}
@@ -0,0 +1,98 @@
+package com.myorg.trading.service.strategy.data;
+
+import com.myorg.trading.domain.model.OHLCV;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.myorg.trading.service.strategy.TestCandles.randomWalk;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsDaysAndScansRanges() {
+        CandleStore store = new CandleStore(dir.toString(), true, Duration.ofDays(7));
+        // 2024-01-01 (Mon) 09:15 IST onwards, 375 one-minute candles per session day
+        List<OHLCV> day1 = randomWalk(375, 1L, 100.0);
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+
+        assertThat(store.missingDays("angelone", "3045", "1M", monday, monday.plusDays(6)))
+                .containsExactly(monday, monday.plusDays(1), monday.plusDays(2), monday.plusDays(3), monday.plusDays(4));
+
+        store.writeDays("angelone", "3045", "1M", List.of(monday), day1);
+        // A day the broker has nothing for is recorded as a holiday
+        store.writeDays("angelone", "3045", "1M", List.of(monday.plusDays(1)), List.of());
+
+        assertThat(store.missingDays("angelone", "3045", "1M", monday, monday.plusDays(1))).isEmpty();
+
+        Instant from = day1.get(10).getTimestamp();
+        Instant to = day1.get(110).getTimestamp();
+        CandleSeries series = store.read("angelone", "3045", "1M", from, to);
+        assertThat(series.size()).isEqualTo(100);
+        for (int i = 0; i < series.size(); i++) {
+            OHLCV expected = day1.get(10 + i);
+            assertThat(series.timeAt(i)).isEqualTo(expected.getTimestamp().toEpochMilli());
+            assertThat(series.closeAt(i)).isEqualTo(expected.getClose().doubleValue());
+            assertThat(series.highAt(i)).isEqualTo(expected.getHigh().doubleValue());
+            assertThat(series.volumeAt(i)).isEqualTo(expected.getVolume());
+        }
+
+        long[] visited = new long[1];
+        int count = store.scan("angelone", "3045", "1M", from, to, (t, o, h, l, c, v) -> visited[0]++);
+        assertThat(count).isEqualTo(100);
+        assertThat(visited[0]).isEqualTo(100);
+        // Empty (holiday) day is stored and reads back as nothing
+        assertThat(store.readCandles("angelone", "3045", "1M",
+                Instant.parse("2024-01-01T18:30:00Z"), Instant.parse("2024-01-02T18:30:00Z"))).isEmpty();
+    }
+
+    @Test
+    void truncatedAnswerDoesNotBlankTheDaysItMissed() {
+        CandleStore store = new CandleStore(dir.toString(), true, Duration.ofDays(7));
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+        List<LocalDate> week = List.of(monday, monday.plusDays(1), monday.plusDays(2));
+        // Monday complete, Tuesday cut off at 11:00, nothing after
+        List<OHLCV> answer = new ArrayList<>(randomWalk(375, 1L, 100.0));
+        for (OHLCV c : randomWalk(105, 2L, 100.0)) {
+            answer.add(new OHLCV(c.getTimestamp().plus(Duration.ofDays(1)), c.getOpen(), c.getHigh(), c.getLow(),
+                    c.getClose(), c.getVolume()));
+        }
+
+        assertThat(store.writeDays("angelone", "3045", "1M", week, answer)).isEqualTo(1);
+        assertThat(store.missingDays("angelone", "3045", "1M", monday, monday.plusDays(2)))
+                .containsExactly(monday.plusDays(1), monday.plusDays(2));
+    }
+
+    @Test
+    void emptyDaysExpire() {
+        CandleStore store = new CandleStore(dir.toString(), true, Duration.ZERO);
+        LocalDate tuesday = LocalDate.of(2024, 1, 2);
+        store.writeDays("angelone", "3045", "1M", List.of(tuesday), List.of());
+        assertThat(store.hasDay("angelone", "3045", "1M", tuesday)).isFalse();
+    }
+
+    @Test
+    void missingDaysSeparatedByWeekendsShareOneBrokerCall() {
+        LocalDate fri = LocalDate.of(2024, 1, 5);
+        List<List<LocalDate>> runs = MarketDataFetcher.contiguousRuns(
+                List.of(fri.minusDays(1), fri, fri.plusDays(3), fri.plusDays(5)), 20);
+
+        assertThat(runs).hasSize(2);
+        assertThat(runs.get(0)).containsExactly(fri.minusDays(1), fri, fri.plusDays(3));
+        assertThat(runs.get(1)).containsExactly(fri.plusDays(5));
+
+        // Long runs are split at the per-call limit
+        assertThat(MarketDataFetcher.contiguousRuns(List.of(fri, fri.plusDays(3), fri.plusDays(4)), 2))
+                .containsExactly(List.of(fri, fri.plusDays(3)), List.of(fri.plusDays(4)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.myorg.trading.service.strategy.data;
+
+import com.myorg.trading.domain.model.OHLCV;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.myorg.trading.service.strategy.TestCandles.randomWalk;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResamplerTest {
+
+    // 1-minute bars from 2024-01-01 09:15 IST, running past the session close
+    private static final CandleSeries BASE = CandleSeries.of(randomWalk(1_500, 5L, 400.0));
+
+    @Test
+    void rollsUpSessionAlignedBars() {
+        for (long interval : new long[]{5 * 60_000L, 15 * 60_000L, 60 * 60_000L, NseSession.MILLIS_PER_DAY}) {
+            // Reference: group by bar start and aggregate each group
+            Map<Long, double[]> expected = new TreeMap<>();
+            for (int i = 0; i < BASE.size(); i++) {
+                long start = NseSession.barStart(BASE.timeAt(i), interval);
+                double[] bar = expected.get(start);
+                if (bar == null) {
+                    expected.put(start, new double[]{BASE.openAt(i), BASE.highAt(i), BASE.lowAt(i),
+                            BASE.closeAt(i), BASE.volumeAt(i)});
+                } else {
+                    bar[1] = Math.max(bar[1], BASE.highAt(i));
+                    bar[2] = Math.min(bar[2], BASE.lowAt(i));
+                    bar[3] = BASE.closeAt(i);
+                    bar[4] += BASE.volumeAt(i);
+                }
+            }
+
+            CandleSeries out = Resampler.resample(BASE, interval);
+            assertThat(out.size()).isEqualTo(expected.size());
+            int i = 0;
+            for (Map.Entry<Long, double[]> e : expected.entrySet()) {
+                assertThat(out.timeAt(i)).isEqualTo(e.getKey());
+                assertThat(new double[]{out.openAt(i), out.highAt(i), out.lowAt(i), out.closeAt(i), out.volumeAt(i)})
+                        .containsExactly(e.getValue());
+                i++;
+            }
+        }
+
+        CandleSeries hourly = Resampler.resample(BASE, 60 * 60_000L);
+        ZoneId ist = ZoneId.of("Asia/Kolkata");
+        assertThat(Instant.ofEpochMilli(hourly.timeAt(0)).atZone(ist).toLocalTime()).isEqualTo(LocalTime.of(9, 15));
+        assertThat(Instant.ofEpochMilli(hourly.timeAt(1)).atZone(ist).toLocalTime()).isEqualTo(LocalTime.of(10, 15));
+    }
+
+    @Test
+    void incrementalUpdatesMatchOneShotRollup() {
+        long interval = 15 * 60_000L;
+        Resampler incremental = new Resampler(interval);
+        int n = BASE.size();
+        for (int end = 7; end < n; end += 13) {
+            // Growing prefix whose last bar is still forming: close at the open first, then the real bar
+            CandleSeries forming = prefix(end, true);
+            incremental.update(forming);
+            incremental.update(prefix(end, false));
+        }
+        incremental.update(BASE);
+
+        CandleSeries expected = Resampler.resample(BASE, interval);
+        CandleSeries actual = incremental.series();
+        assertThat(actual.size()).isEqualTo(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.timeAt(i)).isEqualTo(expected.timeAt(i));
+            assertThat(actual.openAt(i)).isEqualTo(expected.openAt(i));
+            assertThat(actual.highAt(i)).isEqualTo(expected.highAt(i));
+            assertThat(actual.lowAt(i)).isEqualTo(expected.lowAt(i));
+            assertThat(actual.closeAt(i)).isEqualTo(expected.closeAt(i));
+            assertThat(actual.volumeAt(i)).isEqualTo(expected.volumeAt(i));
+        }
+    }
+
+    @Test
+    void partiallyLoadedLeadingBarIsLeftOut() {
+        long interval = 60 * 60_000L;
+        // Base starts at 09:32, in the middle of the 09:15 hour
+        CandleSeries tail = new CandleSeries(
+                Arrays.copyOfRange(BASE.time(), 17, 200),
+                Arrays.copyOfRange(BASE.open(), 17, 200),
+                Arrays.copyOfRange(BASE.high(), 17, 200),
+                Arrays.copyOfRange(BASE.low(), 17, 200),
+                Arrays.copyOfRange(BASE.close(), 17, 200),
+                Arrays.copyOfRange(BASE.volume(), 17, 200), 183);
+        Resampler r = new Resampler(interval);
+        r.update(tail);
+
+        List<OHLCV> bars = r.toOHLCV(BASE.timeAt(0), Long.MAX_VALUE);
+        assertThat(bars.get(0).getTimestamp().toEpochMilli()).isEqualTo(BASE.timeAt(60));
+        assertThat(r.size()).isEqualTo(bars.size() + 1);
+    }
+
+    private static CandleSeries prefix(int end, boolean forming) {
+        long[] time = Arrays.copyOf(BASE.time(), end);
+        double[] open = Arrays.copyOf(BASE.open(), end);
+        double[] high = Arrays.copyOf(BASE.high(), end);
+        double[] low = Arrays.copyOf(BASE.low(), end);
+        double[] close = Arrays.copyOf(BASE.close(), end);
+        long[] volume = Arrays.copyOf(BASE.volume(), end);
+        if (forming) {
+            high[end - 1] = low[end - 1] = close[end - 1] = open[end - 1];
+            volume[end - 1] = 1;
+        }
+        return new CandleSeries(time, open, high, low, close, volume, end);
+    }
+}
@@ -0,0 +1,73 @@
+package com.myorg.trading.service.strategy.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TickFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsAppendedTicksInOrderAcrossFiles() throws Exception {
+        Path first = dir.resolve("a.ticks");
+        Path second = dir.resolve("b.ticks");
+        try (TickFile.Writer w = TickFile.append(first)) {
+            for (int i = 0; i < 100_000; i++) {
+                w.append(1_000L + i, 100.05 + (i % 50) * 0.05, 100.0, 100.1, i);
+            }
+        }
+        // Reopening appends after the existing records
+        try (TickFile.Writer w = TickFile.append(first)) {
+            w.append(200_000L, 250.25, 0, 0, 7);
+        }
+        try (TickFile.Writer w = TickFile.append(second)) {
+            w.append(300_000L, 12_345.65, 12_345.6, 12_345.7, 1);
+        }
+
+        try (TickFile.Reader r = TickFile.read(List.of(first, second))) {
+            for (int i = 0; i < 100_000; i++) {
+                assertThat(r.next()).isTrue();
+                assertThat(r.time()).isEqualTo(1_000L + i);
+                assertThat(r.last()).isEqualTo(Math.round((100.05 + (i % 50) * 0.05) * 100) / 100.0);
+                assertThat(r.volume()).isEqualTo(i);
+            }
+            assertThat(r.next()).isTrue();
+            assertThat(r.last()).isEqualTo(250.25);
+            assertThat(r.next()).isTrue();
+            assertThat(r.time()).isEqualTo(300_000L);
+            assertThat(r.last()).isEqualTo(12_345.65);
+            assertThat(r.bid()).isEqualTo(12_345.6);
+            assertThat(r.next()).isFalse();
+        }
+    }
+
+    @Test
+    void dropsTornTrailingRecordAndRejectsOutOfOrderTicks() throws Exception {
+        Path file = dir.resolve("t.ticks");
+        try (TickFile.Writer w = TickFile.append(file)) {
+            w.append(10, 1, 1, 1, 1);
+            w.append(20, 2, 2, 2, 2);
+        }
+        Files.write(file, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (TickFile.Writer w = TickFile.append(file)) {
+            assertThat(Files.size(file)).isEqualTo(TickFile.HEADER_BYTES + 2L * TickFile.RECORD_BYTES);
+            assertThatThrownBy(() -> w.append(15, 3, 3, 3, 3)).isInstanceOf(IllegalArgumentException.class);
+            w.append(20, 3, 3, 3, 3);
+        }
+        try (TickFile.Reader r = TickFile.read(List.of(file))) {
+            int count = 0;
+            while (r.next()) count++;
+            assertThat(count).isEqualTo(3);
+        }
+    }
+}
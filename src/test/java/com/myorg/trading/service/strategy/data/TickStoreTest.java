@@ -0,0 +1,27 @@
+package com.myorg.trading.service.strategy.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TickStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void instrumentTokensCannotEscapeTheStore() {
+        TickStore store = new TickStore(dir.toString(), false);
+        LocalDate day = LocalDate.of(2024, 1, 2);
+
+        assertThat(store.file("3045", day)).isEqualTo(dir.toAbsolutePath().resolve("3045").resolve("2024-01-02.ticks"));
+        assertThat(store.file("../../etc", day).startsWith(dir.toAbsolutePath())).isTrue();
+        assertThat(store.file("/etc/passwd", day).getParent().getParent()).isEqualTo(dir.toAbsolutePath());
+        assertThatThrownBy(() -> store.file(" ", day)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
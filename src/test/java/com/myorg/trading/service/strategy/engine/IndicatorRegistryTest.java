@@ -0,0 +1,233 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.TestCandles;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import com.myorg.trading.service.strategy.data.NseSession;
+import com.myorg.trading.service.strategy.indicators.IndicatorSpec;
+import com.myorg.trading.service.strategy.indicators.IndicatorView;
+import com.myorg.trading.service.strategy.indicators.RollingMacd;
+import com.myorg.trading.service.strategy.indicators.RollingSma;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class IndicatorRegistryTest {
+
+    private final List<OHLCV> candles = TestCandles.randomWalk(400, 7, 100);
+    private final List<OHLCV> history = candles.subList(0, 300);
+    private final List<OHLCV> live = candles.subList(300, 400);
+
+    private final Map<String, Sinks.Many<OHLCV>> sinks = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final AtomicInteger historyLoads = new AtomicInteger();
+
+    private final IndicatorRegistry registry = new IndicatorRegistry(
+            (instrument, interval) -> {
+                if (!interval.equals("1M")) throw new IllegalArgumentException("No live " + interval + " bars");
+                subscriptions.incrementAndGet();
+                return sinks.computeIfAbsent(instrument + interval,
+                        k -> Sinks.many().multicast().directBestEffort()).asFlux();
+            },
+            (userId, instrument, interval, bars) -> {
+                historyLoads.incrementAndGet();
+                return history;
+            },
+            300);
+
+    @Test
+    void strategiesShareOneComputationPerSpec() {
+        IndicatorRegistry.Handle a = registry.acquire(1L, "3045", "1m", IndicatorSpec.sma(20));
+        IndicatorRegistry.Handle b = registry.acquire(2L, "3045", "ONE_MINUTE", IndicatorSpec.sma(20));
+        IndicatorRegistry.Handle macd = registry.acquire(3L, "3045", "1M", IndicatorSpec.macd(12, 26, 9));
+
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(historyLoads.get()).isEqualTo(1);
+        assertThat(registry.feedCount()).isEqualTo(1);
+        assertThat(registry.indicatorCount()).isEqualTo(2);
+
+        RollingSma sma = new RollingSma(20);
+        RollingMacd expectedMacd = new RollingMacd(12, 26, 9);
+        double previous = Double.NaN;
+        for (OHLCV bar : history) {
+            previous = sma.value();
+            sma.update(bar.getClose().doubleValue());
+            expectedMacd.update(bar.getClose().doubleValue());
+        }
+        assertThat(a.value()).isCloseTo(sma.value(), within(1e-9));
+        assertThat(a.previous()).isCloseTo(previous, within(1e-9));
+        assertThat(a.barTime()).isEqualTo(history.get(299).getTime());
+
+        for (OHLCV bar : live) {
+            push(bar);
+            previous = sma.value();
+            sma.update(bar.getClose().doubleValue());
+            expectedMacd.update(bar.getClose().doubleValue());
+        }
+        assertThat(a.snapshot()).isSameAs(b.snapshot());
+        assertThat(b.value()).isCloseTo(sma.value(), within(1e-9));
+        assertThat(b.previous()).isCloseTo(previous, within(1e-9));
+        assertThat(b.bars()).isEqualTo(400);
+        assertThat(macd.value(IndicatorSpec.MACD_HISTOGRAM)).isCloseTo(expectedMacd.histogram(), within(1e-9));
+    }
+
+    @Test
+    void indicatorAddedLaterIsSeededFromTheFeed() {
+        IndicatorRegistry.Handle first = registry.acquire(1L, "3045", "1M", IndicatorSpec.sma(5));
+        live.forEach(this::push);
+
+        IndicatorRegistry.Handle later = registry.acquire(2L, "3045", "1M", IndicatorSpec.ema(50));
+        assertThat(historyLoads.get()).isEqualTo(1);
+        assertThat(later.isReady()).isTrue();
+        assertThat(later.barTime()).isEqualTo(first.barTime());
+        // The feed keeps the last 300 bars
+        assertThat(later.bars()).isEqualTo(300);
+    }
+
+    @Test
+    void longerIndicatorAddedLaterWidensTheFeedWithOlderHistory() {
+        IndicatorRegistry.Handle first = registry.acquire(1L, "3045", "1M", IndicatorSpec.sma(20));
+        live.forEach(this::push); // the feed now keeps candles 100..399
+
+        IndicatorRegistry.Handle longer = registry.acquire(2L, "3045", "1M", IndicatorSpec.sma(350));
+        assertThat(historyLoads.get()).isEqualTo(2);
+        assertThat(longer.isReady()).isTrue();
+        assertThat(longer.bars()).isEqualTo(351); // warm-up plus one, as for a new feed
+        double sum = 0;
+        for (OHLCV bar : candles.subList(50, 400)) {
+            sum += bar.getClose().doubleValue();
+        }
+        assertThat(longer.value()).isCloseTo(sum / 350, within(1e-9));
+        assertThat(longer.barTime()).isEqualTo(first.barTime());
+        // Indicators already running are untouched
+        assertThat(first.bars()).isEqualTo(400);
+
+        push(TestCandles.randomWalk(401, 7, 100).get(400));
+        assertThat(longer.bars()).isEqualTo(352);
+        assertThat(longer.barTime()).isEqualTo(first.barTime());
+    }
+
+    @Test
+    void snapshotIsFrozenWhileHandleFollowsTheFeed() {
+        IndicatorRegistry.Handle handle = registry.acquire(1L, "3045", "1M", IndicatorSpec.sma(10));
+        IndicatorView before = handle.snapshot();
+        push(live.get(0));
+        assertThat(before.barTime()).isEqualTo(history.get(299).getTime());
+        assertThat(handle.barTime()).isEqualTo(live.get(0).getTime());
+        assertThat(handle.previous()).isEqualTo(before.value());
+    }
+
+    @Test
+    void lastReleaseStopsTheFeed() {
+        IndicatorRegistry.Handle a = registry.acquire(1L, "3045", "1M", IndicatorSpec.rsi(14));
+        IndicatorRegistry.Handle b = registry.acquire(2L, "3045", "1M", IndicatorSpec.rsi(14));
+        IndicatorRegistry.Handle other = registry.acquire(3L, "2885", "1M", IndicatorSpec.rsi(14));
+        assertThat(registry.feedCount()).isEqualTo(2);
+
+        a.close();
+        a.close();
+        assertThat(registry.indicatorCount()).isEqualTo(2);
+        b.close();
+        assertThat(registry.feedCount()).isEqualTo(1);
+        assertThat(sinks.get("30451M").currentSubscriberCount()).isZero();
+
+        // A new subscriber starts a fresh feed
+        registry.acquire(4L, "3045", "1M", IndicatorSpec.rsi(14));
+        assertThat(subscriptions.get()).isEqualTo(3);
+        other.close();
+    }
+
+    @Test
+    void unsupportedIntervalIsRejected() {
+        assertThatThrownBy(() -> registry.acquire(1L, "3045", "3M", IndicatorSpec.sma(5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(registry.feedCount()).isZero();
+    }
+
+    @Test
+    void warmStartLoadsTheSnapshotAndFetchesOnlyTheGap() {
+        // The same walk, moved so its last bar is the last completed minute
+        long lastCompleted = NseSession.barStart(System.currentTimeMillis(), 60_000) - 60_000;
+        long shift = lastCompleted - history.get(299).getTime();
+        List<OHLCV> recent = new ArrayList<>();
+        for (OHLCV bar : history) {
+            recent.add(new OHLCV(Instant.ofEpochMilli(bar.getTime() + shift), bar.getOpen(), bar.getHigh(),
+                    bar.getLow(), bar.getClose(), bar.getVolume()));
+        }
+        Map<String, CandleSeries> store = new ConcurrentHashMap<>();
+        IndicatorRegistry.SnapshotStore snapshots = new IndicatorRegistry.SnapshotStore() {
+            @Override
+            public CandleSeries load(String feedKey) { return store.get(feedKey); }
+
+            @Override
+            public void save(String feedKey, CandleSeries bars) { store.put(feedKey, bars); }
+        };
+
+        // Before the restart: 280 bars, saved when the feed stops
+        new IndicatorRegistry((instrument, interval) -> Sinks.many().multicast().<OHLCV>directBestEffort().asFlux(),
+                (userId, instrument, interval, bars) -> recent.subList(0, 280), snapshots, 300, Duration.ZERO)
+                .acquire(1L, "3045", "1M", IndicatorSpec.sma(20)).close();
+        assertThat(store.get("3045|1M").size()).isEqualTo(280);
+
+        // After: the broker returns the missed bars, overlapping the snapshot
+        AtomicInteger requested = new AtomicInteger();
+        IndicatorRegistry restarted = new IndicatorRegistry(
+                (instrument, interval) -> Sinks.many().multicast().<OHLCV>directBestEffort().asFlux(),
+                (userId, instrument, interval, bars) -> {
+                    requested.set(bars);
+                    return recent.subList(260, 300);
+                }, snapshots, 300, Duration.ZERO);
+        IndicatorRegistry.Handle handle = restarted.acquire(1L, "3045", "1M", IndicatorSpec.sma(20));
+
+        RollingSma sma = new RollingSma(20);
+        history.forEach(bar -> sma.update(bar.getClose().doubleValue()));
+        assertThat(requested.get()).isBetween(20, 30);
+        assertThat(handle.bars()).isEqualTo(300);
+        assertThat(handle.barTime()).isEqualTo(lastCompleted);
+        assertThat(handle.value()).isCloseTo(sma.value(), within(1e-9));
+        handle.close();
+    }
+
+    @Test
+    void snapshotOlderThanTheFeedIsIgnored() {
+        AtomicInteger requested = new AtomicInteger();
+        IndicatorRegistry.SnapshotStore stale = new IndicatorRegistry.SnapshotStore() {
+            @Override
+            public CandleSeries load(String feedKey) { return CandleSeries.of(history); }
+
+            @Override
+            public void save(String feedKey, CandleSeries bars) { }
+        };
+        IndicatorRegistry restarted = new IndicatorRegistry(
+                (instrument, interval) -> Sinks.many().multicast().<OHLCV>directBestEffort().asFlux(),
+                (userId, instrument, interval, bars) -> {
+                    requested.set(bars);
+                    return history;
+                }, stale, 300, Duration.ZERO);
+        restarted.acquire(1L, "3045", "1M", IndicatorSpec.sma(20)).close();
+        assertThat(requested.get()).isEqualTo(300);
+    }
+
+    @Test
+    void missedBarsCountWeekdaySessionsOnly() {
+        long fridayLastBar = Instant.parse("2024-01-05T09:59:00Z").toEpochMilli(); // 15:29 IST
+        long mondayMorning = Instant.parse("2024-01-08T03:50:00Z").toEpochMilli(); // 09:20 IST
+        assertThat(NseSession.barsBetween(fridayLastBar, mondayMorning, 60_000)).isEqualTo(6);
+        assertThat(NseSession.barsBetween(fridayLastBar, fridayLastBar + 60_000, 60_000)).isZero();
+    }
+
+    private void push(OHLCV bar) {
+        sinks.get("30451M").tryEmitNext(bar);
+    }
+}
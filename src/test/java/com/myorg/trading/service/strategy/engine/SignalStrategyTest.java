@@ -0,0 +1,277 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.myorg.trading.broker.api.BrokerCapability;
+import com.myorg.trading.broker.api.BrokerClient;
+import com.myorg.trading.broker.api.BrokerOrderRequest;
+import com.myorg.trading.broker.api.BrokerOrderResponse;
+import com.myorg.trading.broker.api.BrokerPosition;
+import com.myorg.trading.broker.api.OrderSide;
+import com.myorg.trading.domain.entity.BrokerAccount;
+import com.myorg.trading.domain.entity.StrategyPositionSnapshot;
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.domain.repository.StrategyPositionSnapshotRepository;
+import com.myorg.trading.service.strategy.TestCandles;
+import com.myorg.trading.service.strategy.data.NseSession;
+import com.myorg.trading.service.strategy.impl.BreakoutTemplate;
+import com.myorg.trading.service.strategy.impl.MACDMomentumTemplate;
+import com.myorg.trading.service.strategy.impl.RSIReversalTemplate;
+import com.myorg.trading.service.strategy.impl.SMACrossoverTemplate;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SignalStrategyTest {
+
+    private final List<OHLCV> candles = TestCandles.randomWalk(2000, 11, 100);
+    private final List<OHLCV> history = candles.subList(0, 300);
+    private final List<OHLCV> live = candles.subList(300, candles.size());
+
+    private final Sinks.Many<OHLCV> bars = Sinks.many().multicast().directBestEffort();
+    private final IndicatorRegistry registry = new IndicatorRegistry(
+            (instrument, interval) -> bars.asFlux(), (userId, instrument, interval, count) -> history, 300);
+    private final List<BrokerOrderRequest> orders = new CopyOnWriteArrayList<>();
+
+    @Test
+    void sharedIndicatorTemplatesTradeLikeTheirBarStrategies() {
+        List<StrategyTemplate<?>> templates = List.of(new SMACrossoverTemplate(), new RSIReversalTemplate(),
+                new BreakoutTemplate(), new MACDMomentumTemplate());
+        List<List<OrderSide>> actual = new ArrayList<>();
+        List<LiveStrategy> strategies = new ArrayList<>();
+        for (StrategyTemplate<?> template : templates) {
+            List<OrderSide> sides = new ArrayList<>();
+            actual.add(sides);
+            LiveStrategy strategy = bind(template, recordingClient(sides), settings(0, 0));
+            strategy.bars().subscribe(bar -> {
+                if (strategy.onBar(bar)) strategy.evaluate();
+            });
+            strategies.add(strategy);
+        }
+        live.forEach(bars::tryEmitNext);
+
+        for (int t = 0; t < templates.size(); t++) {
+            List<OrderSide> expected = expectedOrders(templates.get(t).templateId());
+            assertThat(expected).as(templates.get(t).templateId()).isNotEmpty();
+            assertThat(actual.get(t)).as(templates.get(t).templateId()).isEqualTo(expected);
+        }
+
+        strategies.forEach(LiveStrategy::close);
+        assertThat(registry.feedCount()).isZero();
+    }
+
+    @Test
+    void stopLossExitsOnThePriceFeed() {
+        List<OrderSide> sides = new ArrayList<>();
+        SignalStrategy strategy = new SignalStrategy(context(recordingClient(sides), settings(2, 5)),
+                (time, open, high, low, close, volume) -> BarStrategy.BUY, null);
+
+        assertThat(strategy.onBar(candles.get(0))).isTrue();
+        strategy.evaluate();
+        double entry = candles.get(0).getClose().doubleValue();
+        assertThat(strategy.isHolding()).isTrue();
+
+        assertThat(strategy.onPrice(entry * 0.99)).isFalse();
+        assertThat(strategy.onPrice(entry * 0.979)).isTrue();
+        strategy.evaluate();
+        assertThat(sides).containsExactly(OrderSide.BUY, OrderSide.SELL);
+        assertThat(strategy.isHolding()).isFalse();
+    }
+
+    @Test
+    void rejectedEntryStaysFlat() {
+        BrokerClient rejecting = client(req -> Mono.just(new BrokerOrderResponse(null, "REJECTED", "margin", null)));
+        SignalStrategy strategy = new SignalStrategy(context(rejecting, settings(0, 0)),
+                (time, open, high, low, close, volume) -> BarStrategy.BUY, null);
+        strategy.onBar(candles.get(0));
+        strategy.evaluate();
+        assertThat(strategy.isHolding()).isFalse();
+    }
+
+    @Test
+    void restartedStrategiesNeverReuseClientOrderIds() {
+        for (int run = 0; run < 3; run++) {
+            SignalStrategy strategy = new SignalStrategy(context(recordingClient(new ArrayList<>()), settings(0, 0)),
+                    (time, open, high, low, close, volume) -> BarStrategy.BUY, null);
+            strategy.onBar(candles.get(0));
+            strategy.evaluate();
+        }
+        assertThat(orders).extracting(BrokerOrderRequest::getClientOrderId).hasSize(3).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void timedOutOrdersAreReconciledBeforeTradingAgain() {
+        AtomicReference<BigDecimal> net = new AtomicReference<>(BigDecimal.ONE);
+        AtomicInteger placed = new AtomicInteger();
+        BrokerClient timingOut = client(req -> {
+            placed.incrementAndGet();
+            return Mono.error(new TimeoutException("simulated"));
+        }, () -> Mono.just(List.of(BrokerPosition.builder().securityId("3045").netQuantity(net.get()).build())));
+        SignalStrategy strategy = new SignalStrategy(context(timingOut, settings(2, 5)),
+                (time, open, high, low, close, volume) -> BarStrategy.BUY, null);
+
+        // The entry timed out but reached the broker: holding, with levels from the signal price
+        strategy.onBar(candles.get(0));
+        strategy.evaluate();
+        assertThat(strategy.isHolding()).isFalse();
+        double entry = candles.get(0).getClose().doubleValue();
+        assertThat(strategy.onPrice(entry)).isTrue(); // unknown, so every price asks to reconcile
+        strategy.evaluate();
+        assertThat(strategy.isHolding()).isTrue();
+        assertThat(placed).hasValue(1);
+        assertThat(strategy.onPrice(entry)).isFalse();
+
+        // The stop exit timed out and never reached it: still holding once reconciled
+        assertThat(strategy.onPrice(entry * 0.97)).isTrue();
+        strategy.evaluate();
+        assertThat(placed).hasValue(2);
+        assertThat(strategy.onPrice(entry)).isTrue();
+        strategy.evaluate();
+        assertThat(strategy.isHolding()).isTrue();
+        assertThat(strategy.onPrice(entry)).isFalse();
+
+        // This one was filled: flat after reconciling, without placing another order
+        net.set(BigDecimal.ZERO);
+        strategy.onPrice(entry * 0.97);
+        strategy.evaluate();
+        assertThat(placed).hasValue(3);
+        strategy.onPrice(entry);
+        strategy.evaluate();
+        assertThat(strategy.isHolding()).isFalse();
+        assertThat(placed).hasValue(3);
+    }
+
+    @Test
+    void fencedOutStrategyPlacesNoOrders() {
+        List<OrderSide> sides = new ArrayList<>();
+        BrokerAccount account = new BrokerAccount();
+        account.setId(5L);
+        OrderFence lost = new OrderFence() {
+            @Override
+            public boolean permits() { return false; }
+
+            @Override
+            public long token() { return 3; }
+        };
+        StrategyContext context = new StrategyContext(1L, 2L, settings(0, 0), recordingClient(sides), account,
+                registry, null, null, lost);
+        SignalStrategy strategy = new SignalStrategy(context,
+                (time, open, high, low, close, volume) -> BarStrategy.BUY, null);
+        strategy.onBar(candles.get(0));
+        strategy.evaluate();
+        assertThat(sides).isEmpty();
+        assertThat(strategy.isHolding()).isFalse();
+    }
+
+    @Test
+    void positionIsRestoredOnlyWithinItsSession() {
+        StrategyPositionSnapshotRepository positions = mock(StrategyPositionSnapshotRepository.class);
+        StrategySnapshots snapshots = new StrategySnapshots(null, positions);
+        LocalDate today = LocalDate.ofEpochDay(NseSession.tradingDay(System.currentTimeMillis()));
+        BrokerAccount account = new BrokerAccount();
+        account.setId(5L);
+        StrategyContext context = new StrategyContext(1L, 2L, settings(2, 5), recordingClient(new ArrayList<>()),
+                account, registry, null, snapshots, null);
+
+        when(positions.findById(1L)).thenReturn(Optional.of(held(today.minusDays(1))));
+        assertThat(new SignalStrategy(context, (t, o, h, l, c, v) -> BarStrategy.HOLD, null).isHolding()).isFalse();
+
+        when(positions.findById(1L)).thenReturn(Optional.of(held(today)));
+        SignalStrategy resumed = new SignalStrategy(context, (t, o, h, l, c, v) -> BarStrategy.HOLD, null);
+        assertThat(resumed.isHolding()).isTrue();
+        assertThat(resumed.onPrice(97)).isTrue(); // restored stop at 98
+    }
+
+    private static StrategyPositionSnapshot held(LocalDate day) {
+        return StrategyPositionSnapshot.builder().strategyId(1L).holding(true).tradingDay(day)
+                .entryPrice(100.0).stopPrice(98.0).build();
+    }
+
+    // Long-only replay of the backtest strategy over the same bars, signals during history ignored
+    private List<OrderSide> expectedOrders(String templateId) {
+        BarStrategy strategy = BarStrategies.create(templateId, MissingNode.getInstance());
+        List<OrderSide> sides = new ArrayList<>();
+        boolean holding = false;
+        for (int i = 0; i < candles.size(); i++) {
+            OHLCV b = candles.get(i);
+            int signal = strategy.onBar(b.getTime(), b.getOpen().doubleValue(), b.getHigh().doubleValue(),
+                    b.getLow().doubleValue(), b.getClose().doubleValue(), b.getVolume());
+            if (i < history.size()) continue;
+            if (signal == BarStrategy.BUY && !holding) {
+                sides.add(OrderSide.BUY);
+                holding = true;
+            } else if (signal == BarStrategy.SELL && holding) {
+                sides.add(OrderSide.SELL);
+                holding = false;
+            }
+        }
+        return sides;
+    }
+
+    private LiveStrategy bind(StrategyTemplate<?> template, BrokerClient client, LiveSettings settings) {
+        return bindWith(template, context(client, settings));
+    }
+
+    private static <P> LiveStrategy bindWith(StrategyTemplate<P> template, StrategyContext context) {
+        return template.bind(template.compile(MissingNode.getInstance()), context);
+    }
+
+    private StrategyContext context(BrokerClient client, LiveSettings settings) {
+        BrokerAccount account = new BrokerAccount();
+        account.setId(5L);
+        return new StrategyContext(1L, 2L, settings, client, account, registry, null, null, null);
+    }
+
+    private static LiveSettings settings(double stopLossPercent, double targetPercent) {
+        return new LiveSettings("3045", "1M", 1, stopLossPercent, targetPercent, 0);
+    }
+
+    private BrokerClient recordingClient(List<OrderSide> sides) {
+        return client(req -> {
+            orders.add(req);
+            sides.add(req.getSide());
+            return Mono.just(new BrokerOrderResponse("order-" + orders.size(), "PLACED", null, null));
+        });
+    }
+
+    private static BrokerClient client(Function<BrokerOrderRequest, Mono<BrokerOrderResponse>> orders) {
+        return client(orders, () -> Mono.just(List.of()));
+    }
+
+    private static BrokerClient client(Function<BrokerOrderRequest, Mono<BrokerOrderResponse>> orders,
+                                       Supplier<Mono<List<BrokerPosition>>> positions) {
+        return new BrokerClient() {
+            @Override
+            public String getBrokerId() { return "test"; }
+
+            @Override
+            public Set<BrokerCapability> capabilities() { return Set.of(); }
+
+            @Override
+            public Mono<BrokerOrderResponse> placeOrder(String accountId, BrokerOrderRequest req) {
+                return orders.apply(req);
+            }
+
+            @Override
+            public Mono<List<BrokerPosition>> getPositions(String accountId) {
+                return positions.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.myorg.trading.broker.api.MarketDataTick;
+import com.myorg.trading.domain.model.OHLCV;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StrategyExecutorTest {
+
+    private final StrategyExecutor executor =
+            new StrategyExecutor(null, null, null, null, null, null, null, null, null, Duration.ofMillis(20), 1, 4, 100);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void slowEvaluationSkipsTicksInsteadOfQueueing() throws Exception {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch firstRun = new CountDownLatch(1);
+        CountDownLatch secondRun = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<CountDownLatch> afterStop = new AtomicReference<>(new CountDownLatch(0));
+        executor.schedule(1L, () -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            runs.incrementAndGet();
+            firstRun.countDown();
+            secondRun.countDown();
+            afterStop.get().countDown();
+            await(release);
+            concurrent.decrementAndGet();
+        });
+
+        assertThat(firstRun.await(5, TimeUnit.SECONDS)).isTrue();
+        // Ticks due while the first run is stuck are skipped and counted, never queued behind it
+        awaitUntil(() -> executor.skippedRuns(1L) >= 5);
+        assertThat(runs.get()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(secondRun.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxConcurrent.get()).isEqualTo(1);
+
+        // At most one run already handed to a worker may still start after the stop
+        afterStop.set(new CountDownLatch(2));
+        executor.stopStrategy(1L);
+        assertThat(executor.isRunning(1L)).isFalse();
+        assertThat(afterStop.get().await(200, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void manyStrategiesShareTheBoundedWorkerPool() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        // 500 strategies against 4 workers and a queue of 100, all stuck until released
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch allRan = new CountDownLatch(500);
+        for (long id = 0; id < 500; id++) {
+            AtomicInteger once = new AtomicInteger();
+            executor.schedule(id, () -> {
+                threads.add(Thread.currentThread().getName());
+                if (once.getAndIncrement() == 0) allRan.countDown();
+                await(release);
+            });
+        }
+
+        // Strategies that find the queue full are skipped and counted, not lost
+        awaitUntil(() -> LongStream.range(0, 500).filter(id -> executor.skippedRuns(id) > 0).count() >= 396);
+        assertThat(allRan.getCount()).isGreaterThanOrEqualTo(396);
+
+        release.countDown();
+        assertThat(allRan.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(threads).hasSizeLessThanOrEqualTo(4).allMatch(name -> name.startsWith("strategy-worker-"));
+    }
+
+    @Test
+    void barsAndLargeMovesTriggerAndConflateWhileEvaluating() throws Exception {
+        Sinks.Many<OHLCV> bars = Sinks.many().multicast().onBackpressureBuffer();
+        Sinks.Many<MarketDataTick> ticks = Sinks.many().multicast().onBackpressureBuffer();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch firstRunStarted = new CountDownLatch(1);
+        CountDownLatch twoRunsDone = new CountDownLatch(2);
+        CountDownLatch thirdRun = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.subscribe(7L, bars.asFlux(), ticks.asFlux(), 1.0, () -> {
+            runs.incrementAndGet();
+            thirdRun.countDown();
+            firstRunStarted.countDown();
+            await(release);
+            twoRunsDone.countDown();
+        });
+
+        Instant open = Instant.parse("2024-01-02T03:45:00Z"); // 09:15 IST
+        ticks.tryEmitNext(tick(open, 100.0));
+        ticks.tryEmitNext(tick(open.plusSeconds(30), 100.5)); // below the 1% move
+        assertThat(runs.get()).isZero();
+
+        ticks.tryEmitNext(tick(open.plusSeconds(40), 101.2)); // 1.2% move
+        assertThat(firstRunStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        // Bars and moves arriving during the slow evaluation collapse into one follow-up
+        for (int i = 1; i < 50; i++) {
+            bars.tryEmitNext(bar(open.plusSeconds(60L * i), 101.0));
+            ticks.tryEmitNext(tick(open.plusSeconds(60L * i), i % 2 == 0 ? 104.0 : 98.0));
+        }
+        assertThat(executor.skippedRuns(7L)).isGreaterThan(90);
+        release.countDown();
+        assertThat(twoRunsDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(thirdRun.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+        executor.stopStrategy(7L);
+        bars.tryEmitNext(bar(open.plusSeconds(3600), 150.0));
+        assertThat(thirdRun.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Bounded wait for a condition only observable by polling (skip counters)
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not reached in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static MarketDataTick tick(Instant time, double price) {
+        return new MarketDataTick("3045", BigDecimal.valueOf(price), BigDecimal.ZERO, BigDecimal.ZERO, 10L, time);
+    }
+
+    private static OHLCV bar(Instant time, double close) {
+        BigDecimal c = BigDecimal.valueOf(close);
+        return OHLCV.builder().timestamp(time).open(c).high(c).low(c).close(c).volume(0L).build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.myorg.trading.service.strategy.TestCandles;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StrategySnapshotsTest {
+
+    @Test
+    void barsRoundTrip() {
+        CandleSeries bars = CandleSeries.of(TestCandles.randomWalk(300, 3, 250));
+        byte[] data = StrategySnapshots.encode(bars);
+        assertThat(data).hasSize(8 + 300 * 48);
+
+        CandleSeries decoded = StrategySnapshots.decode(data);
+        assertThat(decoded.size()).isEqualTo(300);
+        assertThat(decoded.contentHash()).isEqualTo(bars.contentHash());
+        assertThat(decoded.volumeAt(299)).isEqualTo(bars.volumeAt(299));
+    }
+
+    @Test
+    void truncatedBlobIsRejected() {
+        byte[] data = StrategySnapshots.encode(CandleSeries.of(TestCandles.randomWalk(10, 3, 250)));
+        assertThatThrownBy(() -> StrategySnapshots.decode(Arrays.copyOf(data, data.length - 8)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.myorg.trading.service.strategy.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.myorg.trading.service.strategy.impl.BreakoutTemplate;
+import com.myorg.trading.service.strategy.impl.MACDMomentumTemplate;
+import com.myorg.trading.service.strategy.impl.OpeningRangeTemplate;
+import com.myorg.trading.service.strategy.impl.RSIReversalTemplate;
+import com.myorg.trading.service.strategy.impl.SMACrossoverTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StrategyTemplateRegistryTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final StrategyTemplateRegistry registry = new StrategyTemplateRegistry(List.of(
+            new SMACrossoverTemplate(), new RSIReversalTemplate(), new BreakoutTemplate(),
+            new MACDMomentumTemplate(), new OpeningRangeTemplate()));
+
+    @Test
+    void registersEveryBuiltInTemplate() {
+        assertThat(registry.templateIds()).containsExactlyInAnyOrderElementsOf(BarStrategies.TEMPLATES);
+        assertThatThrownBy(() -> registry.getById("bollinger_squeeze"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown strategy template");
+        assertThatThrownBy(() -> new StrategyTemplateRegistry(
+                List.of(new SMACrossoverTemplate(), new SMACrossoverTemplate())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void compilesStrategyBuilderParamNames() throws Exception {
+        JsonNode json = mapper.readTree("""
+                {"rsiPeriod": 10, "oversoldLevel": 25, "overboughtLevel": "75",
+                 "symbol": "NSE:TCS", "quantity": 3, "stopLoss": 2, "target": 3}""");
+
+        RSIReversalTemplate.Params params = new RSIReversalTemplate().compile(json);
+        assertThat(params).isEqualTo(new RSIReversalTemplate.Params(10, 25, 75));
+
+        LiveSettings settings = LiveSettings.compile(json);
+        assertThat(settings.symbol()).isEqualTo("NSE:TCS");
+        assertThat(settings.interval()).isEqualTo("5M");
+        assertThat(settings.quantity()).isEqualTo(3);
+        assertThat(settings.stopLossPercent()).isEqualTo(2);
+        assertThat(settings.targetPercent()).isEqualTo(3);
+
+        MACDMomentumTemplate.Params macd = new MACDMomentumTemplate()
+                .compile(mapper.readTree("{\"fastEMA\": 8, \"slowEMA\": 21, \"signalSMA\": 5}"));
+        assertThat(macd).isEqualTo(new MACDMomentumTemplate.Params(8, 21, 5));
+    }
+
+    @Test
+    void missingParamsTakeTemplateDefaults() {
+        assertThat(new OpeningRangeTemplate().compile(MissingNode.getInstance()))
+                .isEqualTo(new OpeningRangeTemplate.Params(20, LocalTime.of(15, 15)));
+        assertThat(new BreakoutTemplate().compile(MissingNode.getInstance()))
+                .isEqualTo(new BreakoutTemplate.Params(20, 1.5));
+    }
+
+    @Test
+    void invalidParamsAreRejectedAtCompileTime() throws Exception {
+        assertThatThrownBy(() -> new SMACrossoverTemplate().compile(mapper.readTree("{\"fastSMA\": 30, \"slowSMA\": 20}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SMACrossoverTemplate().compile(mapper.readTree("{\"fastSMA\": \"fast\"}")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("fastSMA");
+        assertThatThrownBy(() -> new OpeningRangeTemplate().compile(mapper.readTree("{\"squareOff\": \"3pm\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LiveSettings.compile(mapper.readTree("{\"quantity\": 0}")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void periodsAreBoundedForEveryTemplate() throws Exception {
+        String huge = String.valueOf(ParamReader.MAX_PERIOD + 1);
+        assertThatThrownBy(() -> new SMACrossoverTemplate().compile(mapper.readTree("{\"slowSMA\": " + huge + "}")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("slowSMA");
+        assertThatThrownBy(() -> new RSIReversalTemplate().compile(mapper.readTree("{\"period\": 2000000000}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BreakoutTemplate().compile(mapper.readTree("{\"lookback\": " + huge + "}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MACDMomentumTemplate().compile(mapper.readTree("{\"signalSMA\": " + huge + "}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OpeningRangeTemplate().compile(mapper.readTree("{\"rangeMinutes\": 400}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new SMACrossoverTemplate().compile(
+                mapper.readTree("{\"fastSMA\": 1, \"slowSMA\": " + ParamReader.MAX_PERIOD + "}")).slowPeriod())
+                .isEqualTo(ParamReader.MAX_PERIOD);
+    }
+}
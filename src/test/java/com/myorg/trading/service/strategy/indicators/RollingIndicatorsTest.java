@@ -0,0 +1,82 @@
+package com.myorg.trading.service.strategy.indicators;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RollingIndicatorsTest {
+
+    @Test
+    void smaWarmsUpThenEvictsTheOldestValue() {
+        RollingSma sma = new RollingSma(3);
+
+        assertThat(sma.update(1)).isNaN();
+        assertThat(sma.update(2)).isNaN();
+        assertThat(sma.isReady()).isFalse();
+        assertThat(sma.update(3)).isEqualTo(2.0);
+        assertThat(sma.isReady()).isTrue();
+        assertThat(sma.update(10)).isEqualTo(5.0); // 1 dropped
+        assertThat(sma.update(20)).isEqualTo(11.0);
+        assertThat(sma.count()).isEqualTo(5);
+
+        sma.reset();
+        assertThat(sma.update(4)).isNaN();
+        assertThat(sma.count()).isEqualTo(1);
+    }
+
+    @Test
+    void bollingerWarmsUpThenEvictsTheOldestValue() {
+        RollingBollinger bands = new RollingBollinger(4, 2.0);
+
+        for (double price : new double[]{2, 4, 4}) {
+            assertThat(bands.update(price)).isNaN();
+            assertThat(bands.stdDev()).isNaN();
+        }
+        assertThat(bands.update(6)).isEqualTo(4.0);
+        assertThat(bands.stdDev()).isCloseTo(Math.sqrt(2), within(1e-12));
+
+        // 2 dropped: window 4, 4, 6, 10
+        assertThat(bands.update(10)).isEqualTo(6.0);
+        assertThat(bands.stdDev()).isCloseTo(Math.sqrt(6), within(1e-12));
+        assertThat(bands.upper()).isCloseTo(6 + 2 * Math.sqrt(6), within(1e-12));
+        assertThat(bands.lower()).isCloseTo(6 - 2 * Math.sqrt(6), within(1e-12));
+    }
+
+    @Test
+    void longRunsDoNotDrift() {
+        int period = 20;
+        RollingSma sma = new RollingSma(period);
+        RollingBollinger bands = new RollingBollinger(period, 2.0);
+        double[] window = new double[period];
+        SplittableRandom random = new SplittableRandom(7);
+
+        // Large level with small, unrepresentable moves: where uncompensated running sums drift most
+        double price = 1e7;
+        int updates = 5_000_000;
+        for (int i = 0; i < updates; i++) {
+            price += random.nextDouble(-1, 1) * 0.37;
+            window[i % period] = price;
+            sma.update(price);
+            bands.update(price);
+        }
+
+        BigDecimal sum = BigDecimal.ZERO;
+        for (double x : window) sum = sum.add(new BigDecimal(x));
+        BigDecimal mean = sum.divide(BigDecimal.valueOf(period), MathContext.DECIMAL128);
+        BigDecimal squares = BigDecimal.ZERO;
+        for (double x : window) {
+            BigDecimal d = new BigDecimal(x).subtract(mean);
+            squares = squares.add(d.multiply(d));
+        }
+        double stdDev = Math.sqrt(squares.divide(BigDecimal.valueOf(period), MathContext.DECIMAL128).doubleValue());
+
+        assertThat(sma.value()).isCloseTo(mean.doubleValue(), within(1e-8));
+        assertThat(bands.value()).isCloseTo(mean.doubleValue(), within(1e-8));
+        assertThat(bands.stdDev()).isCloseTo(stdDev, within(1e-6));
+    }
+}
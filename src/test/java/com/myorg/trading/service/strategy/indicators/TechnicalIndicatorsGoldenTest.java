@@ -0,0 +1,208 @@
+package com.myorg.trading.service.strategy.indicators;
+
+import com.myorg.trading.domain.model.OHLCV;
+import com.myorg.trading.service.strategy.data.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.myorg.trading.service.strategy.TestCandles.randomWalk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Golden-output checks: the O(n) sliding-window kernels must match the original
+ * O(n*period) BigDecimal implementations (kept below as reference) within tolerance.
+ */
+class TechnicalIndicatorsGoldenTest {
+
+    private static final double PRICE_TOLERANCE = 0.011; // reference rounds to 2dp
+
+    private final TechnicalIndicators indicators = new TechnicalIndicators();
+
+    @Test
+    void smaMatchesReference() {
+        List<OHLCV> candles = randomWalk(5_000, 42L, 2500.0);
+        for (int period : new int[]{1, 2, 9, 21, 50, 200}) {
+            List<BigDecimal> expected = referenceSMA(candles, period);
+            List<BigDecimal> actual = indicators.calculateSMA(candles, period);
+
+            assertThat(actual).hasSameSizeAs(expected);
+            for (int i = 0; i < expected.size(); i++) {
+                if (expected.get(i) == null) {
+                    assertThat(actual.get(i)).as("warm-up slot %d, period %d", i, period).isNull();
+                } else {
+                    assertThat(actual.get(i).doubleValue()).as("index %d, period %d", i, period)
+                            .isCloseTo(expected.get(i).doubleValue(), within(PRICE_TOLERANCE));
+                }
+            }
+        }
+    }
+
+    @Test
+    void bollingerMatchesReference() {
+        List<OHLCV> candles = randomWalk(5_000, 7L, 180.0);
+        for (int period : new int[]{2, 20, 200}) {
+            BandsRef expected = referenceBollinger(candles, period, 2.0);
+            TechnicalIndicators.BollingerBands actual = indicators.calculateBollingerBands(candles, period, 2.0);
+
+            for (int i = 0; i < candles.size(); i++) {
+                if (expected.upper.get(i) == null) {
+                    assertThat(actual.upper.get(i)).isNull();
+                    assertThat(actual.lower.get(i)).isNull();
+                    continue;
+                }
+                assertThat(actual.middle.get(i).doubleValue())
+                        .isCloseTo(expected.middle.get(i).doubleValue(), within(PRICE_TOLERANCE));
+                assertThat(actual.upper.get(i).doubleValue()).as("upper %d, period %d", i, period)
+                        .isCloseTo(expected.upper.get(i).doubleValue(), within(PRICE_TOLERANCE));
+                assertThat(actual.lower.get(i).doubleValue()).as("lower %d, period %d", i, period)
+                        .isCloseTo(expected.lower.get(i).doubleValue(), within(PRICE_TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void slidingSumDoesNotDriftOnLongSeries() {
+        // Large price level with tiny moves is the worst case for a naive running sum
+        List<OHLCV> candles = randomWalk(50_000, 99L, 45_000.0);
+        int period = 200;
+        List<BigDecimal> expected = referenceSMA(candles, period);
+        double[] close = CandleSeries.of(candles).close();
+        double[] sma = FastIndicators.sma(close, close.length, period, new double[close.length]);
+
+        for (int i = close.length - 1000; i < close.length; i++) {
+            assertThat(sma[i]).isCloseTo(expected.get(i).doubleValue(), within(PRICE_TOLERANCE));
+        }
+    }
+
+    @Test
+    void streamingIndicatorsMatchBatchKernels() {
+        CandleSeries series = CandleSeries.of(randomWalk(3_000, 11L, 950.0));
+        double[] close = series.close();
+        int n = series.size();
+
+        double[] sma = FastIndicators.sma(close, n, 20, new double[n]);
+        double[] ema = FastIndicators.ema(close, n, 20, new double[n]);
+        double[] rsi = FastIndicators.rsi(close, n, 14, new double[n]);
+        double[] macd = new double[n], signal = new double[n], hist = new double[n];
+        FastIndicators.macd(close, n, 12, 26, 9, macd, signal, hist);
+        double[] mid = new double[n], upper = new double[n], lower = new double[n];
+        FastIndicators.bollinger(close, n, 20, 2.0, mid, upper, lower);
+
+        RollingSma rollingSma = new RollingSma(20);
+        RollingEma rollingEma = new RollingEma(20);
+        RollingRsi rollingRsi = new RollingRsi(14);
+        RollingMacd rollingMacd = new RollingMacd(12, 26, 9);
+        RollingBollinger rollingBands = new RollingBollinger(20, 2.0);
+
+        for (int i = 0; i < n; i++) {
+            assertSame(sma[i], rollingSma.update(close[i]));
+            assertSame(ema[i], rollingEma.update(close[i]));
+            assertSame(rsi[i], rollingRsi.update(close[i]));
+            assertSame(macd[i], rollingMacd.update(close[i]));
+            assertSame(signal[i], rollingMacd.signal());
+            assertSame(mid[i], rollingBands.update(close[i]));
+            assertSame(upper[i], rollingBands.upper());
+            assertSame(lower[i], rollingBands.lower());
+        }
+    }
+
+    @Test
+    void supportResistanceMatchesReference() {
+        List<OHLCV> candles = randomWalk(4_000, 5L, 620.0);
+        for (int lookback : new int[]{1, 3, 10}) {
+            assertThat(indicators.findSupportResistance(candles, lookback))
+                    .as("lookback %d", lookback)
+                    .containsExactlyElementsOf(referenceSupportResistance(candles, lookback));
+        }
+    }
+
+    @Test
+    void clusteredLevelsAreSortedAndMerged() {
+        double[] raw = {101.00, 100.00, 100.05, 250.10, 100.10, 250.00, 180.0};
+        double[] levels = SupportResistance.cluster(raw, raw.length, 2 * SupportResistance.NSE_TICK_SIZE);
+
+        assertThat(levels).containsExactly(new double[]{100.05, 101.00, 180.0, 250.05}, within(1e-9));
+        assertThat(SupportResistance.nextAbove(levels, 101.00)).isEqualTo(180.0);
+        assertThat(SupportResistance.nextBelow(levels, 101.00)).isCloseTo(100.05, within(1e-9));
+        assertThat(SupportResistance.nextAbove(levels, 300.0)).isNaN();
+    }
+
+    private static void assertSame(double expected, double actual) {
+        if (Double.isNaN(expected)) {
+            assertThat(actual).isNaN();
+        } else {
+            assertThat(actual).isCloseTo(expected, within(1e-6));
+        }
+    }
+
+    // --- Reference implementations (original nested-loop BigDecimal code) ---
+
+    private static List<BigDecimal> referenceSMA(List<OHLCV> candles, int period) {
+        List<BigDecimal> sma = new ArrayList<>();
+        for (int i = 0; i < candles.size(); i++) {
+            if (i < period - 1) {
+                sma.add(null);
+                continue;
+            }
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int j = 0; j < period; j++) {
+                sum = sum.add(candles.get(i - j).getClose());
+            }
+            sma.add(sum.divide(BigDecimal.valueOf(period), 2, RoundingMode.HALF_UP));
+        }
+        return sma;
+    }
+
+    private static BandsRef referenceBollinger(List<OHLCV> candles, int period, double stdDevMultiplier) {
+        List<BigDecimal> sma = referenceSMA(candles, period);
+        List<BigDecimal> upperBand = new ArrayList<>();
+        List<BigDecimal> lowerBand = new ArrayList<>();
+        for (int i = 0; i < candles.size(); i++) {
+            if (i < period - 1) {
+                upperBand.add(null);
+                lowerBand.add(null);
+                continue;
+            }
+            BigDecimal mean = sma.get(i);
+            double variance = 0;
+            for (int j = 0; j < period; j++) {
+                double diff = candles.get(i - j).getClose().subtract(mean).doubleValue();
+                variance += diff * diff;
+            }
+            BigDecimal stdDevBD = BigDecimal.valueOf(Math.sqrt(variance / period));
+            upperBand.add(mean.add(stdDevBD.multiply(BigDecimal.valueOf(stdDevMultiplier))));
+            lowerBand.add(mean.subtract(stdDevBD.multiply(BigDecimal.valueOf(stdDevMultiplier))));
+        }
+        return new BandsRef(sma, upperBand, lowerBand);
+    }
+
+    private static List<BigDecimal> referenceSupportResistance(List<OHLCV> candles, int lookbackPeriod) {
+        List<BigDecimal> levels = new ArrayList<>();
+        for (int i = lookbackPeriod; i < candles.size() - lookbackPeriod; i++) {
+            OHLCV current = candles.get(i);
+            boolean isLocalHigh = true;
+            boolean isLocalLow = true;
+            for (int j = 1; j <= lookbackPeriod; j++) {
+                if (candles.get(i - j).getHigh().compareTo(current.getHigh()) > 0 ||
+                        candles.get(i + j).getHigh().compareTo(current.getHigh()) > 0) {
+                    isLocalHigh = false;
+                }
+                if (candles.get(i - j).getLow().compareTo(current.getLow()) < 0 ||
+                        candles.get(i + j).getLow().compareTo(current.getLow()) < 0) {
+                    isLocalLow = false;
+                }
+            }
+            if (isLocalHigh) levels.add(current.getHigh());
+            if (isLocalLow) levels.add(current.getLow());
+        }
+        return levels;
+    }
+
+    private record BandsRef(List<BigDecimal> middle, List<BigDecimal> upper, List<BigDecimal> lower) {
+    }
+}